@@ -62,14 +62,31 @@ abstract class SpreadsheetExpressionFunction<T> implements ExpressionFunction<T,
     private final Optional<ExpressionFunctionName> name;
 
     /**
-     * All functions are pure except for cell.
+     * Purity bits, see the public constants of the same name in {@link walkingkooka.spreadsheet.expression.function.SpreadsheetExpressionFunctions}.
+     */
+    final static int PURITY_PURE = 0;
+
+    final static int PURITY_CELL = 1;
+
+    final static int PURITY_READ = 1 << 1;
+
+    final static int PURITY_WRITE = 1 << 2;
+
+    final static int PURITY_VOLATILE = 1 << 3;
+
+    /**
+     * Only functions without any purity bits are pure.
      */
     @Override
     public final boolean isPure(final ExpressionPurityContext context) {
-        return !(
-            this instanceof SpreadsheetExpressionFunctionObjectCell ||
-                this instanceof SpreadsheetExpressionFunctionOffset
-        );
+        return PURITY_PURE == this.purity();
+    }
+
+    /**
+     * Sub-classes that depend on the current cell, read or write storage or are volatile should override.
+     */
+    int purity() {
+        return PURITY_PURE;
     }
 
     @Override
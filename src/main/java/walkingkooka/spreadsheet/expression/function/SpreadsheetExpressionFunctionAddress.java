@@ -105,10 +105,12 @@ final class SpreadsheetExpressionFunctionAddress extends SpreadsheetExpressionFu
             throw new IllegalArgumentException("Invalid " + A1_STYLE + " must be true, got " + absNum);
         }
 
-        return rowKind.row(row)
-            .setColumn(
-                columnKind.column(column)
-            );
+        return SpreadsheetExpressionFunctionAddressCache.cell(
+            rowKind,
+            row,
+            columnKind,
+            column
+        );
     }
 
     private final static ExpressionFunctionParameter<ExpressionNumber> ROW_NUM = ExpressionFunctionParameterName.with("row-num")
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2022 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.expression.function;
+
+import walkingkooka.spreadsheet.reference.SpreadsheetCellReference;
+import walkingkooka.spreadsheet.reference.SpreadsheetColumnReference;
+import walkingkooka.spreadsheet.reference.SpreadsheetReferenceKind;
+import walkingkooka.spreadsheet.reference.SpreadsheetRowReference;
+
+/**
+ * A flyweight cache of {@link SpreadsheetColumnReference}, {@link SpreadsheetRowReference} and {@link SpreadsheetCellReference}
+ * for the hot region of {@link #COLUMNS} columns by {@link #ROWS} rows, A1:P64. Every reference is created while the
+ * class (or for cells {@link Cells}) is initialized, so the arrays are never written afterwards and are safely published
+ * to all threads, without any locking. Values outside the region are created each time.
+ */
+final class SpreadsheetExpressionFunctionAddressCache {
+
+    final static int COLUMNS = 16;
+
+    final static int ROWS = 64;
+
+    /**
+     * Returns the cell with the given kinds and values, cached when inside the region.
+     */
+    static SpreadsheetCellReference cell(final SpreadsheetReferenceKind rowKind,
+                                         final int row,
+                                         final SpreadsheetReferenceKind columnKind,
+                                         final int column) {
+        return column >= 0 && column < COLUMNS && row >= 0 && row < ROWS ?
+            Cells.CELLS[index(rowKind) * 2 + index(columnKind)][row * COLUMNS + column] :
+            row(rowKind, row)
+                .setColumn(
+                    column(columnKind, column)
+                );
+    }
+
+    /**
+     * Returns the column with the given kind and value, cached when inside the region.
+     */
+    static SpreadsheetColumnReference column(final SpreadsheetReferenceKind kind,
+                                             final int value) {
+        return value >= 0 && value < COLUMNS ?
+            COLUMN_REFERENCES[index(kind)][value] :
+            kind.column(value);
+    }
+
+    /**
+     * Returns the row with the given kind and value, cached when inside the region.
+     */
+    static SpreadsheetRowReference row(final SpreadsheetReferenceKind kind,
+                                       final int value) {
+        return value >= 0 && value < ROWS ?
+            ROW_REFERENCES[index(kind)][value] :
+            kind.row(value);
+    }
+
+    private static int index(final SpreadsheetReferenceKind kind) {
+        return SpreadsheetReferenceKind.ABSOLUTE == kind ?
+            0 :
+            1;
+    }
+
+    private static SpreadsheetReferenceKind kind(final int index) {
+        return 0 == index ?
+            SpreadsheetReferenceKind.ABSOLUTE :
+            SpreadsheetReferenceKind.RELATIVE;
+    }
+
+    private final static SpreadsheetColumnReference[][] COLUMN_REFERENCES = new SpreadsheetColumnReference[2][COLUMNS];
+
+    private final static SpreadsheetRowReference[][] ROW_REFERENCES = new SpreadsheetRowReference[2][ROWS];
+
+    static {
+        for (int k = 0; k < 2; k++) {
+            final SpreadsheetReferenceKind kind = kind(k);
+
+            for (int c = 0; c < COLUMNS; c++) {
+                COLUMN_REFERENCES[k][c] = kind.column(c);
+            }
+            for (int r = 0; r < ROWS; r++) {
+                ROW_REFERENCES[k][r] = kind.row(r);
+            }
+        }
+    }
+
+    /**
+     * Holds the cells for each combination of row and column {@link SpreadsheetReferenceKind}, so they are only
+     * created when a cell is first requested.
+     */
+    private static final class Cells {
+
+        final static SpreadsheetCellReference[][] CELLS = new SpreadsheetCellReference[4][COLUMNS * ROWS];
+
+        static {
+            for (int kinds = 0; kinds < 4; kinds++) {
+                final SpreadsheetRowReference[] rows = ROW_REFERENCES[kinds / 2];
+                final SpreadsheetColumnReference[] columns = COLUMN_REFERENCES[kinds % 2];
+                final SpreadsheetCellReference[] cells = CELLS[kinds];
+
+                for (int r = 0; r < ROWS; r++) {
+                    for (int c = 0; c < COLUMNS; c++) {
+                        cells[r * COLUMNS + c] = rows[r].setColumn(columns[c]);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Stop creation
+     */
+    private SpreadsheetExpressionFunctionAddressCache() {
+        throw new UnsupportedOperationException();
+    }
+}
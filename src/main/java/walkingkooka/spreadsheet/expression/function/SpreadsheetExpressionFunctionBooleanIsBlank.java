@@ -69,4 +69,9 @@ final class SpreadsheetExpressionFunctionBooleanIsBlank extends SpreadsheetExpre
     }
 
     private final static List<ExpressionFunctionParameter<?>> PARAMETERS = ExpressionFunctionParameter.list(REFERENCE);
+
+    @Override
+    int purity() {
+        return PURITY_READ;
+    }
 }
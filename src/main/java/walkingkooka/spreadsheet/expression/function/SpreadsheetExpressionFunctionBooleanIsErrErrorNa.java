@@ -89,10 +89,18 @@ final class SpreadsheetExpressionFunctionBooleanIsErrErrorNa extends Spreadsheet
                          final SpreadsheetExpressionEvaluationContext context) {
         this.checkParameterCount(parameters);
 
-        final Object value = VALUE.getOrFail(parameters, 0);
+        return this.test(
+            VALUE.getOrFail(parameters, 0)
+        );
+    }
+
+    /**
+     * Tests if the given value is an error matching the kind, also used by the range forms of these functions.
+     */
+    boolean test(final Object value) {
         boolean is = false;
 
-        if (value instanceof HasSpreadsheetErrorKind) {
+        if (SpreadsheetExpressionFunctionValueTag.ERROR == SpreadsheetExpressionFunctionValueTag.tag(value)) {
             final HasSpreadsheetErrorKind has = (HasSpreadsheetErrorKind) value;
             is = this.kind.test(has.spreadsheetErrorKind());
         }
@@ -65,4 +65,9 @@ final class SpreadsheetExpressionFunctionBooleanIsFormula extends SpreadsheetExp
     }
 
     private final static List<ExpressionFunctionParameter<?>> PARAMETERS = ExpressionFunctionParameter.list(REFERENCE);
+
+    @Override
+    int purity() {
+        return PURITY_READ;
+    }
 }
@@ -50,4 +50,9 @@ abstract class SpreadsheetExpressionFunctionCell<T> extends SpreadsheetExpressio
     }
 
     abstract T extractCellPropertyOrNull(final SpreadsheetCell cell);
+
+    @Override
+    int purity() {
+        return PURITY_CELL;
+    }
 }
@@ -20,20 +20,40 @@ package walkingkooka.spreadsheet.expression.function;
 import walkingkooka.collect.list.Lists;
 import walkingkooka.spreadsheet.expression.SpreadsheetExpressionEvaluationContext;
 import walkingkooka.spreadsheet.reference.SpreadsheetCellReference;
+import walkingkooka.spreadsheet.reference.SpreadsheetExpressionReference;
 import walkingkooka.tree.expression.function.ExpressionFunctionParameter;
 
 import java.util.List;
+import java.util.Objects;
+import java.util.function.BiConsumer;
 
 // https://exceljet.net/excel-functions/excel-indirect-function
+/**
+ * The excel indirect function. Each resolved reference is reported to the listener, allowing a dependency tracker to
+ * record the cell actually referenced.
+ */
 final class SpreadsheetExpressionFunctionIndirect extends SpreadsheetExpressionFunction<SpreadsheetCellReference> {
 
+    /**
+     * A listener that ignores all references, shared with {@link SpreadsheetExpressionFunctionOffset}.
+     */
+    final static BiConsumer<SpreadsheetExpressionReference, SpreadsheetExpressionEvaluationContext> NO_LISTENER = (r, c) -> {
+    };
+
     /**
      * Singleton
      */
-    final static SpreadsheetExpressionFunctionIndirect INSTANCE = new SpreadsheetExpressionFunctionIndirect();
+    final static SpreadsheetExpressionFunctionIndirect INSTANCE = new SpreadsheetExpressionFunctionIndirect(NO_LISTENER);
+
+    static SpreadsheetExpressionFunctionIndirect with(final BiConsumer<SpreadsheetExpressionReference, SpreadsheetExpressionEvaluationContext> listener) {
+        Objects.requireNonNull(listener, "listener");
 
-    private SpreadsheetExpressionFunctionIndirect() {
+        return new SpreadsheetExpressionFunctionIndirect(listener);
+    }
+
+    private SpreadsheetExpressionFunctionIndirect(final BiConsumer<SpreadsheetExpressionReference, SpreadsheetExpressionEvaluationContext> listener) {
         super("indirect");
+        this.listener = listener;
     }
 
     @Override
@@ -46,13 +66,34 @@ final class SpreadsheetExpressionFunctionIndirect extends SpreadsheetExpressionF
                                           final SpreadsheetExpressionEvaluationContext context) {
         this.checkParameterCount(parameters);
 
-        return REFERENCE.getOrFail(parameters, 0); // parameter will be converted during get to SpreadsheetCellReference
+        final SpreadsheetCellReference reference = REFERENCE.getOrFail(parameters, 0); // parameter will be converted during get to SpreadsheetCellReference
+
+        this.listener.accept(
+            reference,
+            context
+        );
+
+        return reference;
     }
 
+    /**
+     * Receives each reference resolved by this function.
+     */
+    private final BiConsumer<SpreadsheetExpressionReference, SpreadsheetExpressionEvaluationContext> listener;
+
     @Override
     public List<ExpressionFunctionParameter<?>> parameters(final int count) {
         return PARAMETERS;
     }
 
     private final static List<ExpressionFunctionParameter<?>> PARAMETERS = Lists.of(REFERENCE);
+
+    /**
+     * The reference comes from text and is unknown to any dependency tracker, and any listener must receive it every
+     * time the formula is evaluated, so this function is always volatile.
+     */
+    @Override
+    int purity() {
+        return PURITY_VOLATILE;
+    }
 }
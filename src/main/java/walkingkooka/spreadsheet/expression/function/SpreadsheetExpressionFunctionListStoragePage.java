@@ -0,0 +1,183 @@
+/*
+ * Copyright 2022 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.expression.function;
+
+import walkingkooka.collect.list.Lists;
+import walkingkooka.spreadsheet.expression.SpreadsheetExpressionEvaluationContext;
+import walkingkooka.storage.StoragePath;
+import walkingkooka.storage.StorageValueInfo;
+import walkingkooka.storage.StorageValueInfoList;
+import walkingkooka.tree.expression.ExpressionNumber;
+import walkingkooka.tree.expression.function.ExpressionFunctionParameter;
+import walkingkooka.tree.expression.function.ExpressionFunctionParameterKind;
+import walkingkooka.tree.expression.function.ExpressionFunctionParameterName;
+
+import java.util.List;
+
+/**
+ * A function that returns a page of the entries within a storage directory, optionally only those whose name starts
+ * with a prefix. Without a prefix the offset and count are passed to the storage, so only the page is listed. With a
+ * prefix the directory is listed in batches and stops as soon as the page is full.
+ * <pre>
+ * listStoragePage("/reports/", 0, 20, "2024-")
+ * </pre>
+ */
+final class SpreadsheetExpressionFunctionListStoragePage extends SpreadsheetExpressionFunction<StorageValueInfoList> {
+
+    /**
+     * Singleton
+     */
+    final static SpreadsheetExpressionFunctionListStoragePage INSTANCE = new SpreadsheetExpressionFunctionListStoragePage();
+
+    /**
+     * The number of entries listed at a time when filtering by a prefix.
+     */
+    final static int BATCH_SIZE = 256;
+
+    private SpreadsheetExpressionFunctionListStoragePage() {
+        super("listStoragePage");
+    }
+
+    @Override
+    public List<ExpressionFunctionParameter<?>> parameters(final int count) {
+        return PARAMETERS;
+    }
+
+    private final static ExpressionFunctionParameter<ExpressionNumber> OFFSET = ExpressionFunctionParameterName.with("offset")
+        .required(ExpressionNumber.class)
+        .setKinds(ExpressionFunctionParameterKind.CONVERT_EVALUATE_RESOLVE_REFERENCES);
+
+    private final static ExpressionFunctionParameter<ExpressionNumber> COUNT = ExpressionFunctionParameterName.with("count")
+        .required(ExpressionNumber.class)
+        .setKinds(ExpressionFunctionParameterKind.CONVERT_EVALUATE_RESOLVE_REFERENCES);
+
+    private final static ExpressionFunctionParameter<String> PREFIX = ExpressionFunctionParameterName.with("prefix")
+        .optional(String.class)
+        .setKinds(ExpressionFunctionParameterKind.CONVERT_EVALUATE_RESOLVE_REFERENCES);
+
+    private final static List<ExpressionFunctionParameter<?>> PARAMETERS = ExpressionFunctionParameter.list(
+        SpreadsheetExpressionFunctionObjectReadStorageLines.PATH,
+        OFFSET,
+        COUNT,
+        PREFIX
+    );
+
+    @Override
+    public Class<StorageValueInfoList> returnType() {
+        return StorageValueInfoList.class;
+    }
+
+    @Override
+    public StorageValueInfoList apply(final List<Object> parameters,
+                                      final SpreadsheetExpressionEvaluationContext context) {
+        this.checkParameterCount(parameters);
+
+        final StoragePath parent = context.parseStoragePath(
+            SpreadsheetExpressionFunctionObjectReadStorageLines.PATH.getOrFail(parameters, 0)
+        );
+        final int offset = OFFSET.getOrFail(parameters, 1)
+            .intValue();
+        if (offset < 0) {
+            throw new IllegalArgumentException("Invalid offset " + offset + " < 0");
+        }
+        final int count = COUNT.getOrFail(parameters, 2)
+            .intValue();
+        if (count < 0) {
+            throw new IllegalArgumentException("Invalid count " + count + " < 0");
+        }
+        final String prefix = PREFIX.get(parameters, 3)
+            .orElse("");
+
+        return StorageValueInfoList.EMPTY.setElements(
+            prefix.isEmpty() ?
+                context.listStorage(
+                    parent,
+                    offset,
+                    count
+                ) :
+                list(
+                    parent,
+                    offset,
+                    count,
+                    prefix,
+                    context
+                )
+        );
+    }
+
+    /**
+     * Lists the directory in batches, skipping entries that do not start with the prefix, until the page is full or
+     * the directory is exhausted.
+     */
+    private static List<StorageValueInfo> list(final StoragePath parent,
+                                               final int offset,
+                                               final int count,
+                                               final String prefix,
+                                               final SpreadsheetExpressionEvaluationContext context) {
+        final List<StorageValueInfo> page = Lists.array();
+        int skip = offset;
+        int from = 0;
+
+        while (page.size() < count) {
+            final List<StorageValueInfo> batch = context.listStorage(
+                parent,
+                from,
+                BATCH_SIZE
+            );
+
+            for (final StorageValueInfo info : batch) {
+                if (name(info).startsWith(prefix)) {
+                    if (skip > 0) {
+                        skip--;
+                    } else {
+                        page.add(info);
+                        if (page.size() == count) {
+                            break;
+                        }
+                    }
+                }
+            }
+
+            if (batch.size() < BATCH_SIZE) {
+                break;
+            }
+            from += BATCH_SIZE;
+        }
+
+        return page;
+    }
+
+    /**
+     * Returns the last component of the path of the given {@link StorageValueInfo}, ignoring any trailing separator.
+     */
+    static String name(final StorageValueInfo info) {
+        String path = info.path()
+            .toString();
+        if (path.length() > 1 && path.endsWith("/")) {
+            path = path.substring(0, path.length() - 1);
+        }
+        return path.substring(
+            path.lastIndexOf('/') + 1
+        );
+    }
+
+    @Override
+    int purity() {
+        return PURITY_READ;
+    }
+}
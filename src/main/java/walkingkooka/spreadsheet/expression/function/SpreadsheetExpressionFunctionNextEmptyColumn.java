@@ -20,6 +20,7 @@ package walkingkooka.spreadsheet.expression.function;
 import walkingkooka.collect.list.Lists;
 import walkingkooka.spreadsheet.expression.SpreadsheetExpressionEvaluationContext;
 import walkingkooka.spreadsheet.reference.SpreadsheetColumnReference;
+import walkingkooka.spreadsheet.reference.SpreadsheetReferenceKind;
 import walkingkooka.spreadsheet.reference.SpreadsheetRowReference;
 import walkingkooka.spreadsheet.value.SpreadsheetErrorKind;
 import walkingkooka.tree.expression.function.ExpressionFunctionParameter;
@@ -27,6 +28,7 @@ import walkingkooka.tree.expression.function.ExpressionFunctionParameterKind;
 import walkingkooka.tree.expression.function.ExpressionFunctionParameterName;
 
 import java.util.List;
+import java.util.Objects;
 
 /**
  * A function that returns the next empty column for a given row. This will be useful when forms attempt to find a column to store a form.
@@ -37,14 +39,29 @@ import java.util.List;
 final class SpreadsheetExpressionFunctionNextEmptyColumn extends SpreadsheetExpressionFunction<SpreadsheetColumnReference> {
 
     /**
-     * Singleton
+     * Singleton that returns the next empty column from the context without skipping any reservations.
      */
-    final static SpreadsheetExpressionFunctionNextEmptyColumn INSTANCE = new SpreadsheetExpressionFunctionNextEmptyColumn();
+    final static SpreadsheetExpressionFunctionNextEmptyColumn INSTANCE = new SpreadsheetExpressionFunctionNextEmptyColumn(null);
 
-    private SpreadsheetExpressionFunctionNextEmptyColumn() {
+    /**
+     * Creates a new function that skips columns reserved in the given {@link SpreadsheetExpressionFunctionNextEmptyReservations}.
+     */
+    static SpreadsheetExpressionFunctionNextEmptyColumn with(final SpreadsheetExpressionFunctionNextEmptyReservations reservations) {
+        return new SpreadsheetExpressionFunctionNextEmptyColumn(
+            Objects.requireNonNull(reservations, "reservations")
+        );
+    }
+
+    private SpreadsheetExpressionFunctionNextEmptyColumn(final SpreadsheetExpressionFunctionNextEmptyReservations reservations) {
         super("nextEmptyColumn");
+        this.reservations = reservations;
     }
 
+    /**
+     * Reserved columns that are skipped, or null when there are none.
+     */
+    private final SpreadsheetExpressionFunctionNextEmptyReservations reservations;
+
     @Override
     public List<ExpressionFunctionParameter<?>> parameters(final int count) {
         return PARAMETERS;
@@ -70,10 +87,34 @@ final class SpreadsheetExpressionFunctionNextEmptyColumn extends SpreadsheetExpr
                                             final SpreadsheetExpressionEvaluationContext context) {
         final SpreadsheetRowReference row = ROW.getOrFail(parameters, 0);
 
-        return context.nextEmptyColumn(row)
+        final SpreadsheetColumnReference next = context.nextEmptyColumn(row)
             .orElseThrow(
                 () -> SpreadsheetErrorKind.VALUE.setMessage("Row " + row + " full")
                     .exception()
             );
+
+        final SpreadsheetExpressionFunctionNextEmptyReservations reservations = this.reservations;
+        if (null == reservations) {
+            return next;
+        }
+
+        // skip any columns reserved but not yet written
+        final int value = reservations.next(
+            row.value(),
+            next.value(),
+            context
+        );
+        if (SpreadsheetExpressionFunctionNextEmptyReservations.FULL == value) {
+            throw SpreadsheetErrorKind.VALUE.setMessage("Row " + row + " full")
+                .exception();
+        }
+        return value == next.value() ?
+            next :
+            SpreadsheetReferenceKind.RELATIVE.column(value);
+    }
+
+    @Override
+    int purity() {
+        return PURITY_READ | PURITY_VOLATILE;
     }
 }
@@ -0,0 +1,227 @@
+/*
+ * Copyright 2022 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.expression.function;
+
+import walkingkooka.spreadsheet.expression.SpreadsheetExpressionEvaluationContext;
+import walkingkooka.spreadsheet.meta.SpreadsheetId;
+import walkingkooka.spreadsheet.meta.SpreadsheetMetadataPropertyName;
+import walkingkooka.spreadsheet.reference.SpreadsheetColumnReference;
+import walkingkooka.spreadsheet.reference.SpreadsheetRowReference;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Records rows or columns that have been reserved by {@link SpreadsheetExpressionFunctionReserveEmptyRows} or
+ * {@link SpreadsheetExpressionFunctionReserveEmptyColumns} but have not yet been written. The next empty row or column
+ * reported by the {@link SpreadsheetExpressionEvaluationContext} is combined with the highest reservation, so
+ * concurrent form submissions never receive the same rows. Reservations are discarded once the context catches up or
+ * they expire, which releases rows that were reserved but never written.
+ * <br>
+ * Reservations are held for each {@link SpreadsheetId} by the instance shared by the functions of one provider, see
+ * {@link SpreadsheetExpressionFunctions#nextEmptyReserving()}. Nothing is held for a context without a
+ * {@link SpreadsheetId}, as there is nothing that identifies its spreadsheet to other contexts.
+ */
+final class SpreadsheetExpressionFunctionNextEmptyReservations {
+
+    /**
+     * Returned by {@link #next(int, int, SpreadsheetExpressionEvaluationContext)} and
+     * {@link #reserve(int, int, int, SpreadsheetExpressionEvaluationContext)} when there are not enough rows or columns.
+     */
+    final static int FULL = -1;
+
+    /**
+     * The number of seconds a reservation is held without being written.
+     */
+    final static int EXPIRY_SECONDS = 60;
+
+    /**
+     * Creates a new instance that holds reserved rows for each column.
+     */
+    static SpreadsheetExpressionFunctionNextEmptyReservations rows() {
+        return new SpreadsheetExpressionFunctionNextEmptyReservations(
+            SpreadsheetRowReference.MAX_VALUE,
+            EXPIRY_SECONDS
+        );
+    }
+
+    /**
+     * Creates a new instance that holds reserved columns for each row.
+     */
+    static SpreadsheetExpressionFunctionNextEmptyReservations columns() {
+        return new SpreadsheetExpressionFunctionNextEmptyReservations(
+            SpreadsheetColumnReference.MAX_VALUE,
+            EXPIRY_SECONDS
+        );
+    }
+
+    // @VisibleForTesting
+    SpreadsheetExpressionFunctionNextEmptyReservations(final int max,
+                                                       final int expirySeconds) {
+        super();
+        this.max = max;
+        this.expirySeconds = expirySeconds;
+    }
+
+    /**
+     * Returns the first value that is neither occupied nor reserved, given the next empty value from the context, or
+     * {@link #FULL}.
+     */
+    int next(final int line,
+             final int next,
+             final SpreadsheetExpressionEvaluationContext context) {
+        return this.reserve(
+            line,
+            next,
+            0,
+            context
+        );
+    }
+
+    /**
+     * Reserves count consecutive values, returning the first or {@link #FULL} if the last would be past the maximum,
+     * in which case nothing is reserved. Without a {@link SpreadsheetId} only the maximum is checked.
+     */
+    int reserve(final int line,
+                final int next,
+                final int count,
+                final SpreadsheetExpressionEvaluationContext context) {
+        final SpreadsheetId key = context.spreadsheetMetadata()
+            .get(SpreadsheetMetadataPropertyName.SPREADSHEET_ID)
+            .orElse(null);
+        if (null == key) {
+            return (long) next + Math.max(count, 1) - 1 > this.max ?
+                FULL :
+                next;
+        }
+
+        final LocalDateTime now = context.now();
+
+        synchronized (this.spreadsheetToLineToReservation) {
+            this.removeExpired(now);
+
+            Map<Integer, Reservation> lineToReservation = this.spreadsheetToLineToReservation.get(key);
+            if (null == lineToReservation) {
+                lineToReservation = new HashMap<>();
+                this.spreadsheetToLineToReservation.put(
+                    key,
+                    lineToReservation
+                );
+            }
+
+            final Reservation reserved = lineToReservation.get(line);
+
+            final int first = null != reserved && reserved.after > next ?
+                reserved.after :
+                next;
+            final long last = (long) first + Math.max(count, 1) - 1;
+
+            final int result;
+            if (last > this.max) {
+                result = FULL;
+            } else {
+                final int after = first + count;
+
+                // context has caught up with all reservations, forget them
+                if (after == next) {
+                    lineToReservation.remove(line);
+                } else {
+                    if (count > 0) {
+                        lineToReservation.put(
+                            line,
+                            new Reservation(
+                                after,
+                                now.plusSeconds(this.expirySeconds)
+                            )
+                        );
+                    }
+                }
+
+                result = first;
+            }
+
+            if (lineToReservation.isEmpty()) {
+                this.spreadsheetToLineToReservation.remove(key);
+            }
+
+            return result;
+        }
+    }
+
+    /**
+     * Removes all reservations that have expired.
+     */
+    private void removeExpired(final LocalDateTime now) {
+        final Iterator<Map<Integer, Reservation>> spreadsheets = this.spreadsheetToLineToReservation.values()
+            .iterator();
+
+        while (spreadsheets.hasNext()) {
+            final Map<Integer, Reservation> lineToReservation = spreadsheets.next();
+            lineToReservation.values()
+                .removeIf(r -> false == r.expires.isAfter(now));
+
+            if (lineToReservation.isEmpty()) {
+                spreadsheets.remove();
+            }
+        }
+    }
+
+    /**
+     * The highest row or column value.
+     */
+    private final int max;
+
+    private final int expirySeconds;
+
+    /**
+     * Reservations by spreadsheet then row or column, guarded by synchronizing on the map itself.
+     */
+    private final Map<SpreadsheetId, Map<Integer, Reservation>> spreadsheetToLineToReservation = new HashMap<>();
+
+    /**
+     * The value after the last reserved row or column and when it expires.
+     */
+    private final static class Reservation {
+
+        Reservation(final int after,
+                    final LocalDateTime expires) {
+            this.after = after;
+            this.expires = expires;
+        }
+
+        final int after;
+
+        final LocalDateTime expires;
+
+        @Override
+        public String toString() {
+            return this.after + " " + this.expires;
+        }
+    }
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        synchronized (this.spreadsheetToLineToReservation) {
+            return this.spreadsheetToLineToReservation.toString();
+        }
+    }
+}
@@ -20,6 +20,7 @@ package walkingkooka.spreadsheet.expression.function;
 import walkingkooka.collect.list.Lists;
 import walkingkooka.spreadsheet.expression.SpreadsheetExpressionEvaluationContext;
 import walkingkooka.spreadsheet.reference.SpreadsheetColumnReference;
+import walkingkooka.spreadsheet.reference.SpreadsheetReferenceKind;
 import walkingkooka.spreadsheet.reference.SpreadsheetRowReference;
 import walkingkooka.spreadsheet.value.SpreadsheetErrorKind;
 import walkingkooka.tree.expression.function.ExpressionFunctionParameter;
@@ -27,6 +28,7 @@ import walkingkooka.tree.expression.function.ExpressionFunctionParameterKind;
 import walkingkooka.tree.expression.function.ExpressionFunctionParameterName;
 
 import java.util.List;
+import java.util.Objects;
 
 /**
  * A function that returns the next empty row for a given column. This will be useful when forms attempt to find a row to store a form.
@@ -37,14 +39,29 @@ import java.util.List;
 final class SpreadsheetExpressionFunctionNextEmptyRow extends SpreadsheetExpressionFunction<SpreadsheetRowReference> {
 
     /**
-     * Singleton
+     * Singleton that returns the next empty row from the context without skipping any reservations.
      */
-    final static SpreadsheetExpressionFunctionNextEmptyRow INSTANCE = new SpreadsheetExpressionFunctionNextEmptyRow();
+    final static SpreadsheetExpressionFunctionNextEmptyRow INSTANCE = new SpreadsheetExpressionFunctionNextEmptyRow(null);
 
-    private SpreadsheetExpressionFunctionNextEmptyRow() {
+    /**
+     * Creates a new function that skips rows reserved in the given {@link SpreadsheetExpressionFunctionNextEmptyReservations}.
+     */
+    static SpreadsheetExpressionFunctionNextEmptyRow with(final SpreadsheetExpressionFunctionNextEmptyReservations reservations) {
+        return new SpreadsheetExpressionFunctionNextEmptyRow(
+            Objects.requireNonNull(reservations, "reservations")
+        );
+    }
+
+    private SpreadsheetExpressionFunctionNextEmptyRow(final SpreadsheetExpressionFunctionNextEmptyReservations reservations) {
         super("nextEmptyRow");
+        this.reservations = reservations;
     }
 
+    /**
+     * Reserved rows that are skipped, or null when there are none.
+     */
+    private final SpreadsheetExpressionFunctionNextEmptyReservations reservations;
+
     @Override
     public List<ExpressionFunctionParameter<?>> parameters(final int count) {
         return PARAMETERS;
@@ -70,10 +87,34 @@ final class SpreadsheetExpressionFunctionNextEmptyRow extends SpreadsheetExpress
                                          final SpreadsheetExpressionEvaluationContext context) {
         final SpreadsheetColumnReference column = COLUMN.getOrFail(parameters, 0);
 
-        return context.nextEmptyRow(column)
+        final SpreadsheetRowReference next = context.nextEmptyRow(column)
             .orElseThrow(
                 () -> SpreadsheetErrorKind.VALUE.setMessage("Column " + column + " full")
                     .exception()
             );
+
+        final SpreadsheetExpressionFunctionNextEmptyReservations reservations = this.reservations;
+        if (null == reservations) {
+            return next;
+        }
+
+        // skip any rows reserved but not yet written
+        final int value = reservations.next(
+            column.value(),
+            next.value(),
+            context
+        );
+        if (SpreadsheetExpressionFunctionNextEmptyReservations.FULL == value) {
+            throw SpreadsheetErrorKind.VALUE.setMessage("Column " + column + " full")
+                .exception();
+        }
+        return value == next.value() ?
+            next :
+            SpreadsheetReferenceKind.RELATIVE.row(value);
+    }
+
+    @Override
+    int purity() {
+        return PURITY_READ | PURITY_VOLATILE;
     }
 }
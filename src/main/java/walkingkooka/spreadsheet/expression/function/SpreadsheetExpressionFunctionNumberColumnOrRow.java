@@ -92,4 +92,9 @@ final class SpreadsheetExpressionFunctionNumberColumnOrRow extends SpreadsheetEx
     }
 
     private final static List<ExpressionFunctionParameter<?>> PARAMETERS = ExpressionFunctionParameter.list(REFERENCE_OPTIONAL);
+
+    @Override
+    int purity() {
+        return PURITY_CELL;
+    }
 }
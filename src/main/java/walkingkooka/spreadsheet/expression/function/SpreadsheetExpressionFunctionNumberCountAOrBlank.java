@@ -0,0 +1,179 @@
+/*
+ * Copyright 2022 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.expression.function;
+
+import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.set.Sets;
+import walkingkooka.spreadsheet.expression.SpreadsheetExpressionEvaluationContext;
+import walkingkooka.spreadsheet.reference.SpreadsheetCellRangeReference;
+import walkingkooka.spreadsheet.reference.SpreadsheetExpressionReference;
+import walkingkooka.spreadsheet.reference.SpreadsheetLabelName;
+import walkingkooka.spreadsheet.reference.SpreadsheetSelection;
+import walkingkooka.spreadsheet.value.SpreadsheetCell;
+import walkingkooka.tree.expression.ExpressionNumber;
+import walkingkooka.tree.expression.function.ExpressionFunctionParameter;
+import walkingkooka.tree.expression.function.ExpressionFunctionParameterKind;
+import walkingkooka.tree.expression.function.ExpressionFunctionParameterName;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Counts the number of present or blank parameters given to this function. References are not flattened into values,
+ * instead the present cells of each range are loaded once, and blanks are the size of the range less the cells with
+ * a value.
+ */
+final class SpreadsheetExpressionFunctionNumberCountAOrBlank extends SpreadsheetExpressionFunctionNumber {
+
+    /**
+     * Counts the values present in the parameter values, skipping missing or null values.
+     */
+    static final SpreadsheetExpressionFunctionNumberCountAOrBlank COUNT_A = new SpreadsheetExpressionFunctionNumberCountAOrBlank(
+        "countA",
+        false
+    );
+
+    /**
+     * Counts the missing values or cells or null values
+     */
+    static final SpreadsheetExpressionFunctionNumberCountAOrBlank COUNT_BLANK = new SpreadsheetExpressionFunctionNumberCountAOrBlank(
+        "countBlank",
+        true
+    );
+
+    private SpreadsheetExpressionFunctionNumberCountAOrBlank(final String name,
+                                                            final boolean blank) {
+        super(name);
+        this.blank = blank;
+    }
+
+    @Override
+    public List<ExpressionFunctionParameter<?>> parameters(final int count) {
+        return PARAMETERS;
+    }
+
+    private final static ExpressionFunctionParameter<Object> VALUE = ExpressionFunctionParameterName.VALUE.variable(Object.class)
+        .setKinds(
+            Sets.of(ExpressionFunctionParameterKind.EVALUATE)
+        );
+
+    final static List<ExpressionFunctionParameter<?>> PARAMETERS = Lists.of(
+        VALUE
+    );
+
+    @Override
+    public ExpressionNumber apply(final List<Object> parameters,
+                                  final SpreadsheetExpressionEvaluationContext context) {
+        final long[] presentAndTotal = new long[2];
+
+        for (final Object value : VALUE.getVariable(parameters, 0)) {
+            count(
+                value,
+                context,
+                presentAndTotal
+            );
+        }
+
+        final long present = presentAndTotal[PRESENT];
+
+        return context.expressionNumberKind()
+            .create(
+                this.blank ?
+                    presentAndTotal[TOTAL] - present :
+                    present
+            );
+    }
+
+    private final static int PRESENT = 0;
+
+    private final static int TOTAL = 1;
+
+    /**
+     * Adds the present and total values, loading the present cells for any reference rather than every cell.
+     */
+    private static void count(final Object value,
+                              final SpreadsheetExpressionEvaluationContext context,
+                              final long[] presentAndTotal) {
+        if (value instanceof Collection) {
+            for (final Object element : (Collection<?>) value) {
+                count(
+                    element,
+                    context,
+                    presentAndTotal
+                );
+            }
+        } else {
+            final SpreadsheetCellRangeReference range = range(
+                value,
+                context
+            );
+            if (null != range) {
+                for (final SpreadsheetCell cell : context.loadCellRange(range)) {
+                    // stores may return cells outside the range, which must not be counted
+                    if (SpreadsheetExpressionFunctionObjectCellRange.isWithin(range, cell) &&
+                        SpreadsheetExpressionFunctionValueTag.isPresent(
+                            cell.formula()
+                                .errorOrValue()
+                                .orElse(null))) {
+                        presentAndTotal[PRESENT]++;
+                    }
+                }
+                presentAndTotal[TOTAL] += (long) range.width() * range.height();
+            } else {
+                // unresolved labels are treated as missing cells
+                if (false == value instanceof SpreadsheetLabelName && SpreadsheetExpressionFunctionValueTag.isPresent(value)) {
+                    presentAndTotal[PRESENT]++;
+                }
+                presentAndTotal[TOTAL]++;
+            }
+        }
+    }
+
+    /**
+     * Returns the range for a cell, range or label, or null for any other value.
+     */
+    private static SpreadsheetCellRangeReference range(final Object value,
+                                                       final SpreadsheetExpressionEvaluationContext context) {
+        SpreadsheetCellRangeReference range = null;
+
+        if (value instanceof SpreadsheetLabelName) {
+            final Optional<SpreadsheetSelection> resolved = context.resolveLabel((SpreadsheetLabelName) value);
+            if (resolved.isPresent()) {
+                range = resolved.get()
+                    .toCellRange();
+            }
+        } else {
+            if (value instanceof SpreadsheetExpressionReference) {
+                range = ((SpreadsheetExpressionReference) value).toCellRange();
+            }
+        }
+
+        return range;
+    }
+
+    /**
+     * When true blanks are counted, otherwise present values.
+     */
+    private final boolean blank;
+
+    @Override
+    int purity() {
+        return PURITY_READ;
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2022 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.expression.function;
+
+import walkingkooka.spreadsheet.expression.SpreadsheetExpressionEvaluationContext;
+import walkingkooka.spreadsheet.reference.SpreadsheetCellRangeReference;
+import walkingkooka.spreadsheet.value.HasSpreadsheetErrorKind;
+import walkingkooka.spreadsheet.value.SpreadsheetCell;
+import walkingkooka.tree.expression.ExpressionNumber;
+import walkingkooka.tree.expression.function.ExpressionFunctionParameter;
+import walkingkooka.tree.expression.function.ExpressionFunctionParameterKind;
+import walkingkooka.tree.expression.function.ExpressionFunctionParameterName;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Counts the cells within a cell or range that hold an error, optionally only errors with the given
+ * {@link SpreadsheetExpressionFunctionObjectErrorType} number. All cells are loaded with a single batch.
+ * <pre>
+ * countErrors(A1:Z999)
+ * countErrors(A1:Z999, 7)
+ * </pre>
+ */
+final class SpreadsheetExpressionFunctionNumberCountErrors extends SpreadsheetExpressionFunctionNumber {
+
+    /**
+     * Singleton
+     */
+    final static SpreadsheetExpressionFunctionNumberCountErrors INSTANCE = new SpreadsheetExpressionFunctionNumberCountErrors();
+
+    private SpreadsheetExpressionFunctionNumberCountErrors() {
+        super("countErrors");
+    }
+
+    @Override
+    public List<ExpressionFunctionParameter<?>> parameters(final int count) {
+        return PARAMETERS;
+    }
+
+    private final static ExpressionFunctionParameter<ExpressionNumber> TYPE = ExpressionFunctionParameterName.with("type")
+        .optional(ExpressionNumber.class)
+        .setKinds(
+            ExpressionFunctionParameterKind.CONVERT_EVALUATE
+        );
+
+    private final static List<ExpressionFunctionParameter<?>> PARAMETERS = ExpressionFunctionParameter.list(
+        CELL_OR_RANGE_REFERENCE,
+        TYPE
+    );
+
+    @Override
+    public ExpressionNumber apply(final List<Object> parameters,
+                                  final SpreadsheetExpressionEvaluationContext context) {
+        this.checkParameterCount(parameters);
+
+        final SpreadsheetCellRangeReference range = CELL_OR_RANGE_REFERENCE.getOrFail(parameters, 0)
+            .toCellRange();
+        final Optional<ExpressionNumber> type = TYPE.get(parameters, 1);
+        final int typeValue = type.isPresent() ?
+            type.get()
+                .intValue() :
+            -1;
+
+        long count = 0;
+
+        // order does not matter when counting, so the loaded cells are visited as is
+        for (final SpreadsheetCell cell : context.loadCellRange(range)) {
+            if (SpreadsheetExpressionFunctionObjectCellRange.isWithin(range, cell)) {
+                final Object value = SpreadsheetExpressionFunctionObjectCellRange.value(cell);
+                if (SpreadsheetExpressionFunctionValueTag.ERROR == SpreadsheetExpressionFunctionValueTag.tag(value)) {
+                    if (-1 == typeValue || typeValue == ((HasSpreadsheetErrorKind) value).spreadsheetErrorKind().value()) {
+                        count++;
+                    }
+                }
+            }
+        }
+
+        return context.expressionNumberKind()
+            .create(count);
+    }
+
+    @Override
+    int purity() {
+        return PURITY_READ;
+    }
+}
@@ -19,15 +19,10 @@ package walkingkooka.spreadsheet.expression.function;
 
 import walkingkooka.collect.set.Sets;
 import walkingkooka.spreadsheet.expression.SpreadsheetExpressionEvaluationContext;
-import walkingkooka.spreadsheet.reference.SpreadsheetCellRangeReference;
-import walkingkooka.spreadsheet.reference.SpreadsheetCellReference;
-import walkingkooka.spreadsheet.value.HasSpreadsheetErrorKind;
 import walkingkooka.tree.expression.ExpressionNumber;
 import walkingkooka.tree.expression.function.ExpressionFunctionParameter;
 import walkingkooka.tree.expression.function.ExpressionFunctionParameterKind;
 
-import java.time.temporal.Temporal;
-import java.util.Collection;
 import java.util.List;
 
 // https://exceljet.net/excel-functions/excel-type-function
@@ -45,28 +40,33 @@ final class SpreadsheetExpressionFunctionNumberType extends SpreadsheetExpressio
         this.checkParameterCount(parameters);
 
         final Object value = VALUE.getOrFail(parameters, 0);
-        int type = 0;
+        final int type;
 
-        if (null == value || value instanceof ExpressionNumber || value instanceof Temporal || value instanceof SpreadsheetCellReference) {
-            type = 1;
-        } else {
-            if (context.isText(value)) {
-                type = 2;
-            } else {
-                if (value instanceof Boolean) {
-                    type = 4;
-                } else {
-                    if (value instanceof HasSpreadsheetErrorKind) {
-                        type = 16;
-                    } else {
-                        if (value instanceof Collection || value instanceof SpreadsheetCellRangeReference) {
-                            type = 64;
-                        } else {
-                            type = 128;
-                        }
-                    }
-                }
-            }
+        switch (SpreadsheetExpressionFunctionValueTag.tag(value)) {
+            case SpreadsheetExpressionFunctionValueTag.NULL:
+            case SpreadsheetExpressionFunctionValueTag.NUMBER:
+            case SpreadsheetExpressionFunctionValueTag.DATE:
+            case SpreadsheetExpressionFunctionValueTag.DATE_TIME:
+            case SpreadsheetExpressionFunctionValueTag.TIME:
+            case SpreadsheetExpressionFunctionValueTag.TEMPORAL:
+            case SpreadsheetExpressionFunctionValueTag.CELL:
+                type = 1;
+                break;
+            case SpreadsheetExpressionFunctionValueTag.BOOLEAN:
+                type = 4;
+                break;
+            case SpreadsheetExpressionFunctionValueTag.ERROR:
+                type = 16;
+                break;
+            case SpreadsheetExpressionFunctionValueTag.CELL_RANGE:
+            case SpreadsheetExpressionFunctionValueTag.COLLECTION:
+                type = 64;
+                break;
+            default:
+                type = context.isText(value) ?
+                    2 :
+                    128;
+                break;
         }
 
         return context.expressionNumberKind()
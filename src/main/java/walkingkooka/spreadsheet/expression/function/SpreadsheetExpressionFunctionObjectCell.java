@@ -72,4 +72,9 @@ final class SpreadsheetExpressionFunctionObjectCell extends SpreadsheetExpressio
                 context
             );
     }
+
+    @Override
+    int purity() {
+        return PURITY_CELL | PURITY_READ;
+    }
 }
@@ -0,0 +1,335 @@
+/*
+ * Copyright 2022 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.expression.function;
+
+import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.spreadsheet.expression.SpreadsheetExpressionEvaluationContext;
+import walkingkooka.spreadsheet.reference.SpreadsheetCellRangeReference;
+import walkingkooka.spreadsheet.reference.SpreadsheetCellReference;
+import walkingkooka.spreadsheet.value.SpreadsheetCell;
+import walkingkooka.tree.expression.function.ExpressionFunctionParameter;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+
+/**
+ * A function that loads all the cells within a cell or range with a single {@link SpreadsheetExpressionEvaluationContext#loadCellRange(SpreadsheetCellRangeReference)},
+ * returning a {@link List} with a value for every cell in row major order. This avoids a separate load for each cell
+ * when the same single cell function would otherwise be repeated for every cell in a block. Only the values of present
+ * cells are held, absent cells share a single value, so large ranges such as whole columns remain cheap.
+ */
+final class SpreadsheetExpressionFunctionObjectCellRange extends SpreadsheetExpressionFunctionObject {
+
+    /**
+     * Range form of {@link SpreadsheetExpressionFunctionObjectCellTypeInfo#CONTENTS}.
+     */
+    final static SpreadsheetExpressionFunctionObjectCellRange CELL_CONTENTS = new SpreadsheetExpressionFunctionObjectCellRange(
+        "cellContents",
+        (c, ctx) -> SpreadsheetExpressionFunctionObjectCellTypeInfo.contents(c)
+    );
+
+    /**
+     * Range form of {@link SpreadsheetExpressionFunctionCellFormattedValue}, absent cells return null.
+     */
+    final static SpreadsheetExpressionFunctionObjectCellRange CELL_FORMATTED_VALUES = cellProperty(
+        "cellFormattedValues",
+        SpreadsheetExpressionFunctionCellFormattedValue.INSTANCE
+    );
+
+    /**
+     * Range form of {@link SpreadsheetExpressionFunctionCellFormatter}, absent cells return null.
+     */
+    final static SpreadsheetExpressionFunctionObjectCellRange CELL_FORMATTERS = cellProperty(
+        "cellFormatters",
+        SpreadsheetExpressionFunctionCellFormatter.INSTANCE
+    );
+
+    /**
+     * Range form of {@link SpreadsheetExpressionFunctionCellFormula}, absent cells return null.
+     */
+    final static SpreadsheetExpressionFunctionObjectCellRange CELL_FORMULAS = cellProperty(
+        "cellFormulas",
+        SpreadsheetExpressionFunctionCellFormula.INSTANCE
+    );
+
+    /**
+     * Range form of {@link SpreadsheetExpressionFunctionCellParser}, absent cells return null.
+     */
+    final static SpreadsheetExpressionFunctionObjectCellRange CELL_PARSERS = cellProperty(
+        "cellParsers",
+        SpreadsheetExpressionFunctionCellParser.INSTANCE
+    );
+
+    /**
+     * Range form of {@link SpreadsheetExpressionFunctionCellStyle}, absent cells return null.
+     */
+    final static SpreadsheetExpressionFunctionObjectCellRange CELL_STYLES = cellProperty(
+        "cellStyles",
+        SpreadsheetExpressionFunctionCellStyle.INSTANCE
+    );
+
+    /**
+     * Range form of {@link SpreadsheetExpressionFunctionCellValidator}, absent cells return null.
+     */
+    final static SpreadsheetExpressionFunctionObjectCellRange CELL_VALIDATORS = cellProperty(
+        "cellValidators",
+        SpreadsheetExpressionFunctionCellValidator.INSTANCE
+    );
+
+    /**
+     * Range form of {@link SpreadsheetExpressionFunctionCellValue}, absent cells return null.
+     */
+    final static SpreadsheetExpressionFunctionObjectCellRange CELL_VALUES = cellProperty(
+        "cellValues",
+        SpreadsheetExpressionFunctionCellValue.INSTANCE
+    );
+
+    /**
+     * Range form of {@link SpreadsheetExpressionFunctionCellValueType}, absent cells return null.
+     */
+    final static SpreadsheetExpressionFunctionObjectCellRange CELL_VALUE_TYPES = cellProperty(
+        "cellValueTypes",
+        SpreadsheetExpressionFunctionCellValueType.INSTANCE
+    );
+
+    /**
+     * Range form of {@link SpreadsheetExpressionFunctionObjectErrorType}, absent cells and non errors return a
+     * {@link walkingkooka.spreadsheet.value.SpreadsheetErrorKind#NA}.
+     */
+    final static SpreadsheetExpressionFunctionObjectCellRange ERROR_TYPES = new SpreadsheetExpressionFunctionObjectCellRange(
+        "errorTypes",
+        (c, ctx) -> SpreadsheetExpressionFunctionObjectErrorType.errorType(
+            value(c),
+            ctx
+        )
+    );
+
+    /**
+     * Range form of {@link SpreadsheetExpressionFunctionStringFormulaText}, absent cells return null.
+     */
+    final static SpreadsheetExpressionFunctionObjectCellRange FORMULA_TEXTS = new SpreadsheetExpressionFunctionObjectCellRange(
+        "formulaTexts",
+        (c, ctx) -> null != c ?
+            c.formula()
+                .text() :
+            null
+    );
+
+    /**
+     * Range form of {@link SpreadsheetExpressionFunctionBooleanIsBlank}.
+     */
+    final static SpreadsheetExpressionFunctionObjectCellRange IS_BLANKS = new SpreadsheetExpressionFunctionObjectCellRange(
+        "isBlanks",
+        (c, ctx) -> null == c
+    );
+
+    /**
+     * Range form of {@link SpreadsheetExpressionFunctionBooleanIsErrErrorNa#isErr()}.
+     */
+    final static SpreadsheetExpressionFunctionObjectCellRange IS_ERRS = isErrErrorNa(
+        "isErrs",
+        SpreadsheetExpressionFunctionBooleanIsErrErrorNa.isErr()
+    );
+
+    /**
+     * Range form of {@link SpreadsheetExpressionFunctionBooleanIsErrErrorNa#isError()}.
+     */
+    final static SpreadsheetExpressionFunctionObjectCellRange IS_ERRORS = isErrErrorNa(
+        "isErrors",
+        SpreadsheetExpressionFunctionBooleanIsErrErrorNa.isError()
+    );
+
+    /**
+     * Range form of {@link SpreadsheetExpressionFunctionBooleanIsFormula}.
+     */
+    final static SpreadsheetExpressionFunctionObjectCellRange IS_FORMULAS = new SpreadsheetExpressionFunctionObjectCellRange(
+        "isFormulas",
+        (c, ctx) -> null != c &&
+            c.formula()
+                .isNotEmpty()
+    );
+
+    /**
+     * Range form of {@link SpreadsheetExpressionFunctionBooleanIsErrErrorNa#isNa()}.
+     */
+    final static SpreadsheetExpressionFunctionObjectCellRange IS_NAS = isErrErrorNa(
+        "isNas",
+        SpreadsheetExpressionFunctionBooleanIsErrErrorNa.isNa()
+    );
+
+    private static SpreadsheetExpressionFunctionObjectCellRange isErrErrorNa(final String name,
+                                                                             final SpreadsheetExpressionFunctionBooleanIsErrErrorNa function) {
+        return new SpreadsheetExpressionFunctionObjectCellRange(
+            name,
+            (c, ctx) -> function.test(
+                value(c)
+            )
+        );
+    }
+
+    /**
+     * Creates a function that returns the property of each cell extracted by the given single cell function.
+     */
+    private static SpreadsheetExpressionFunctionObjectCellRange cellProperty(final String name,
+                                                                             final SpreadsheetExpressionFunctionCell<?> function) {
+        return new SpreadsheetExpressionFunctionObjectCellRange(
+            name,
+            (c, ctx) -> null != c ?
+                function.extractCellPropertyOrNull(c) :
+                null
+        );
+    }
+
+    private SpreadsheetExpressionFunctionObjectCellRange(final String name,
+                                                         final BiFunction<SpreadsheetCell, SpreadsheetExpressionEvaluationContext, Object> mapper) {
+        super(name);
+        this.mapper = mapper;
+    }
+
+    @Override
+    public List<Object> apply(final List<Object> parameters,
+                              final SpreadsheetExpressionEvaluationContext context) {
+        this.checkParameterCount(parameters);
+
+        final SpreadsheetCellRangeReference range = CELL_OR_RANGE_REFERENCE.getOrFail(parameters, 0)
+            .toCellRange();
+        final int size = size(range);
+
+        final SpreadsheetCellReference topLeft = range.toCell();
+        final int left = topLeft.column()
+            .value();
+        final int top = topLeft.row()
+            .value();
+        final int width = range.width();
+
+        final BiFunction<SpreadsheetCell, SpreadsheetExpressionEvaluationContext, Object> mapper = this.mapper;
+        final Map<Integer, Object> values = Maps.sorted();
+
+        for (final SpreadsheetCell cell : cells(range, context)) {
+            final SpreadsheetCellReference reference = cell.reference();
+
+            values.put(
+                (reference.row().value() - top) * width + reference.column().value() - left,
+                mapper.apply(
+                    cell,
+                    context
+                )
+            );
+        }
+
+        return SpreadsheetExpressionFunctionObjectCellRangeList.with(
+            values,
+            mapper.apply(
+                null,
+                context
+            ),
+            size
+        );
+    }
+
+    /**
+     * Returns the number of cells within the range, failing if the range holds more cells than a {@link List} can.
+     */
+    static int size(final SpreadsheetCellRangeReference range) {
+        final long size = (long) range.width() * range.height();
+        if (size > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Range " + range + " too large with " + size + " cells");
+        }
+        return (int) size;
+    }
+
+    /**
+     * Loads all cells within the range in a single batch, returning only the present cells in row major order, ignoring
+     * any outside the range.
+     */
+    static List<SpreadsheetCell> cells(final SpreadsheetCellRangeReference range,
+                                       final SpreadsheetExpressionEvaluationContext context) {
+        final List<SpreadsheetCell> cells = Lists.array();
+
+        for (final SpreadsheetCell cell : context.loadCellRange(range)) {
+            if (isWithin(range, cell)) {
+                cells.add(cell);
+            }
+        }
+
+        cells.sort(ROW_MAJOR);
+        return cells;
+    }
+
+    /**
+     * Tests if the cell is within the range, any others returned by a load are ignored.
+     */
+    static boolean isWithin(final SpreadsheetCellRangeReference range,
+                            final SpreadsheetCell cell) {
+        final SpreadsheetCellReference topLeft = range.toCell();
+        final SpreadsheetCellReference reference = cell.reference();
+        final int x = reference.column().value() - topLeft.column().value();
+        final int y = reference.row().value() - topLeft.row().value();
+
+        return x >= 0 && x < range.width() && y >= 0 && y < range.height();
+    }
+
+    private final static Comparator<SpreadsheetCell> ROW_MAJOR = (l, r) -> {
+        final SpreadsheetCellReference left = l.reference();
+        final SpreadsheetCellReference right = r.reference();
+
+        final int compare = Integer.compare(
+            left.row().value(),
+            right.row().value()
+        );
+        return 0 != compare ?
+            compare :
+            Integer.compare(
+                left.column().value(),
+                right.column().value()
+            );
+    };
+
+    /**
+     * Returns the error or value of the given cell, or null if the cell is absent or has no value.
+     */
+    static Object value(final SpreadsheetCell cell) {
+        return null != cell ?
+            cell.formula()
+                .errorOrValue()
+                .orElse(null) :
+            null;
+    }
+
+    /**
+     * Maps each cell or null if absent to a value.
+     */
+    private final BiFunction<SpreadsheetCell, SpreadsheetExpressionEvaluationContext, Object> mapper;
+
+    @Override
+    public List<ExpressionFunctionParameter<?>> parameters(final int count) {
+        return PARAMETERS;
+    }
+
+    private final static List<ExpressionFunctionParameter<?>> PARAMETERS = ExpressionFunctionParameter.list(
+        CELL_OR_RANGE_REFERENCE
+    );
+
+    @Override
+    int purity() {
+        return PURITY_READ;
+    }
+}
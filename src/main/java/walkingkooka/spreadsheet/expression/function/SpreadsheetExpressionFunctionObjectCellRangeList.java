@@ -0,0 +1,76 @@
+/*
+ * Copyright 2022 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.expression.function;
+
+import java.util.AbstractList;
+import java.util.Map;
+
+/**
+ * A read only {@link java.util.List} returned by {@link SpreadsheetExpressionFunctionObjectCellRange}, holding only the
+ * values of present cells by row major index, with every other index returning the single absent value.
+ */
+final class SpreadsheetExpressionFunctionObjectCellRangeList extends AbstractList<Object> {
+
+    static SpreadsheetExpressionFunctionObjectCellRangeList with(final Map<Integer, Object> values,
+                                                                 final Object absent,
+                                                                 final int size) {
+        return new SpreadsheetExpressionFunctionObjectCellRangeList(
+            values,
+            absent,
+            size
+        );
+    }
+
+    private SpreadsheetExpressionFunctionObjectCellRangeList(final Map<Integer, Object> values,
+                                                             final Object absent,
+                                                             final int size) {
+        super();
+        this.values = values;
+        this.absent = absent;
+        this.size = size;
+    }
+
+    @Override
+    public Object get(final int index) {
+        if (index < 0 || index >= this.size) {
+            throw new IndexOutOfBoundsException("Invalid index " + index + " not between 0 and " + this.size);
+        }
+
+        final Object value = this.values.get(index);
+        return null != value || this.values.containsKey(index) ?
+            value :
+            this.absent;
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * The values of present cells by row major index.
+     */
+    private final Map<Integer, Object> values;
+
+    /**
+     * The value for every absent cell.
+     */
+    private final Object absent;
+
+    private final int size;
+}
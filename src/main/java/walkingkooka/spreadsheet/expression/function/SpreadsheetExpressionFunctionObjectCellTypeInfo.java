@@ -19,14 +19,20 @@ package walkingkooka.spreadsheet.expression.function;
 
 import walkingkooka.NeverError;
 import walkingkooka.spreadsheet.expression.SpreadsheetExpressionEvaluationContext;
+import walkingkooka.spreadsheet.format.provider.SpreadsheetFormatterSelector;
+import walkingkooka.spreadsheet.meta.SpreadsheetMetadata;
+import walkingkooka.spreadsheet.meta.SpreadsheetMetadataPropertyName;
 import walkingkooka.spreadsheet.reference.SpreadsheetCellReference;
 import walkingkooka.spreadsheet.value.SpreadsheetCell;
 import walkingkooka.text.CharSequences;
+import walkingkooka.tree.text.Length;
 import walkingkooka.tree.text.TextAlign;
+import walkingkooka.tree.text.TextNode;
 import walkingkooka.tree.text.TextStylePropertyName;
 
-import java.util.Arrays;
+import java.util.Map;
 import java.util.Optional;
+import java.util.TreeMap;
 
 /**
  * An enum value for each type info parameter for the "cell" function.
@@ -54,12 +60,25 @@ enum SpreadsheetExpressionFunctionObjectCellTypeInfo {
         }
     },
 
+    // returns 1 if the cell has a text color, otherwise 0
     COLOR {
         @Override
         Object value(final SpreadsheetCellReference reference,
                      final SpreadsheetCell cell,
                      final SpreadsheetExpressionEvaluationContext context) {
-            throw new UnsupportedOperationException();
+            final SpreadsheetCell loaded = cellOrLoad(
+                reference,
+                cell,
+                context
+            );
+            return context.expressionNumberKind()
+                .create(
+                    null != loaded && loaded.style()
+                        .get(TextStylePropertyName.COLOR)
+                        .isPresent() ?
+                        1 :
+                        0
+                );
         }
     },
 
@@ -69,13 +88,13 @@ enum SpreadsheetExpressionFunctionObjectCellTypeInfo {
         Object value(final SpreadsheetCellReference reference,
                      final SpreadsheetCell cell,
                      final SpreadsheetExpressionEvaluationContext context) {
-            final Optional<SpreadsheetCell> loaded = context.loadCell(reference);
-            return loaded.isPresent() ?
-                loaded.get()
-                    .formattedValue()
-                    .get()
-                    .text() :
-                "0"; // cell absent use 0
+            return contents(
+                cellOrLoad(
+                    reference,
+                    cell,
+                    context
+                )
+            );
         }
     },
 
@@ -88,21 +107,43 @@ enum SpreadsheetExpressionFunctionObjectCellTypeInfo {
         }
     },
 
+    // returns the excel format code of the formatter of the cell, eg "F2" for 0.00, or "G" for general when absent
     FORMAT {
         @Override
         Object value(final SpreadsheetCellReference reference,
                      final SpreadsheetCell cell,
                      final SpreadsheetExpressionEvaluationContext context) {
-            throw new UnsupportedOperationException();
+            final SpreadsheetCell loaded = cellOrLoad(
+                reference,
+                cell,
+                context
+            );
+            return null != loaded ?
+                loaded.formatter()
+                    .map(SpreadsheetExpressionFunctionObjectCellTypeInfo::formatCode)
+                    .orElse(GENERAL) :
+                GENERAL;
         }
     },
 
+    // returns 1 if the formatter of the cell includes parenthesis, otherwise 0
     PARENTHESIS {
         @Override
         Object value(final SpreadsheetCellReference reference,
                      final SpreadsheetCell cell,
                      final SpreadsheetExpressionEvaluationContext context) {
-            throw new UnsupportedOperationException();
+            final Object format = FORMAT.value(
+                reference,
+                cell,
+                context
+            );
+            return context.expressionNumberKind()
+                .create(
+                    format.toString()
+                        .contains("(") ?
+                        1 :
+                        0
+                );
         }
     },
 
@@ -111,10 +152,15 @@ enum SpreadsheetExpressionFunctionObjectCellTypeInfo {
         Object value(final SpreadsheetCellReference reference,
                      final SpreadsheetCell cell,
                      final SpreadsheetExpressionEvaluationContext context) {
+            final SpreadsheetCell loaded = cellOrLoad(
+                reference,
+                cell,
+                context
+            );
             String value = "";
 
-            if (cell.formattedValue().isPresent()) {
-                final Optional<TextAlign> maybeTextAlign = cell.style()
+            if (null != loaded && loaded.formattedValue().isPresent()) {
+                final Optional<TextAlign> maybeTextAlign = loaded.style()
                     .get(TextStylePropertyName.TEXT_ALIGN);
                 if (maybeTextAlign.isPresent()) {
 
@@ -142,12 +188,14 @@ enum SpreadsheetExpressionFunctionObjectCellTypeInfo {
         }
     },
 
+    // returns 1 as cells cannot be unlocked, matching the excel default where every cell is locked
     PROTECT {
         @Override
         Object value(final SpreadsheetCellReference reference,
                      final SpreadsheetCell cell,
                      final SpreadsheetExpressionEvaluationContext context) {
-            throw new UnsupportedOperationException();
+            return context.expressionNumberKind()
+                .one();
         }
     },
 
@@ -175,16 +223,60 @@ enum SpreadsheetExpressionFunctionObjectCellTypeInfo {
         Object value(final SpreadsheetCellReference reference,
                      final SpreadsheetCell cell,
                      final SpreadsheetExpressionEvaluationContext context) {
-            throw new UnsupportedOperationException();
+            final SpreadsheetCell loaded = cellOrLoad(
+                reference,
+                cell,
+                context
+            );
+
+            final String type;
+            if (null == loaded || false == loaded.formula().isNotEmpty()) {
+                type = "b";
+            } else {
+                type = loaded.formula()
+                    .errorOrValue()
+                    .orElse(null) instanceof String ?
+                    "l" :
+                    "v";
+            }
+            return type;
         }
     },
 
+    // returns the width of the cell in characters, using the cell character width from the metadata
     WIDTH {
         @Override
         Object value(final SpreadsheetCellReference reference,
                      final SpreadsheetCell cell,
                      final SpreadsheetExpressionEvaluationContext context) {
-            throw new UnsupportedOperationException();
+            final SpreadsheetCell loaded = cellOrLoad(
+                reference,
+                cell,
+                context
+            );
+            final SpreadsheetMetadata metadata = context.spreadsheetMetadata();
+
+            Optional<Length<?>> width = null != loaded ?
+                loaded.style()
+                    .get(TextStylePropertyName.WIDTH)
+                    .filter(SpreadsheetExpressionFunctionObjectCellTypeInfo::hasPixelValue) :
+                Optional.empty();
+            if (false == width.isPresent()) {
+                width = metadata.getOrFail(SpreadsheetMetadataPropertyName.STYLE)
+                    .get(TextStylePropertyName.WIDTH)
+                    .filter(SpreadsheetExpressionFunctionObjectCellTypeInfo::hasPixelValue);
+            }
+
+            return context.expressionNumberKind()
+                .create(
+                    width.isPresent() ?
+                        Math.round(
+                            width.get()
+                                .pixelValue() /
+                                metadata.getOrFail(SpreadsheetMetadataPropertyName.CELL_CHARACTER_WIDTH)
+                        ) :
+                        0
+                );
         }
     };
 
@@ -192,10 +284,216 @@ enum SpreadsheetExpressionFunctionObjectCellTypeInfo {
                           final SpreadsheetCell cell,
                           final SpreadsheetExpressionEvaluationContext context);
 
+    /**
+     * Returns the formatted text of the given cell, or 0 if the cell is absent, also used by {@link SpreadsheetExpressionFunctionObjectCellRange#CELL_CONTENTS}.
+     */
+    static Object contents(final SpreadsheetCell cell) {
+        return null != cell ?
+            cell.formattedValue()
+                .map(TextNode::text)
+                .orElse("") :
+            "0"; // cell absent use 0
+    }
+
+    /**
+     * Returns the current cell when the reference is the current cell, avoiding another load, otherwise loads the
+     * referenced cell returning null if absent.
+     */
+    static SpreadsheetCell cellOrLoad(final SpreadsheetCellReference reference,
+                                      final SpreadsheetCell cell,
+                                      final SpreadsheetExpressionEvaluationContext context) {
+        return cell.reference()
+            .equals(reference) ?
+            cell :
+            context.loadCell(reference)
+                .orElse(null);
+    }
+
+    /**
+     * Only a "none" or "normal" {@link Length} has no pixel value, these are ignored by {@link #WIDTH}.
+     */
+    private static boolean hasPixelValue(final Length<?> length) {
+        return false == length.isNone() && false == length.isNormal();
+    }
+
+    private final static String GENERAL = "G";
+
+    /**
+     * Returns the excel format code for the given {@link SpreadsheetFormatterSelector}, failing for formatters that are
+     * not general or a pattern.
+     * <pre>
+     * G    general or fractions
+     * F2   0.00
+     * ,2   #,##0.00
+     * C2   $#,##0.00
+     * P2   0.00%
+     * S2   0.00E+00
+     * D1   d-mmm-yy
+     * D2   d-mmm
+     * D3   mmm-yy
+     * D4   m/d/yy
+     * D5   mm/dd
+     * D6   h:mm:ss AM/PM
+     * D7   h:mm AM/PM
+     * D8   h:mm:ss
+     * D9   h:mm
+     * &#64;    text
+     * </pre>
+     * Number codes end with "-" when negative numbers are colored and "()" when positive numbers have parenthesis.
+     */
+    static String formatCode(final SpreadsheetFormatterSelector formatter) {
+        final String pattern = formatter.valueText();
+        final String code;
+
+        switch (formatter.name().value()) {
+            case "general":
+                code = GENERAL;
+                break;
+            case "number-format-pattern":
+                code = numberFormatCode(pattern);
+                break;
+            case "date-format-pattern":
+            case "date-time-format-pattern":
+            case "time-format-pattern":
+                code = dateTimeFormatCode(pattern);
+                break;
+            case "text-format-pattern":
+                code = "@";
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported formatter " + CharSequences.quoteAndEscape(formatter.toString()) + " for format");
+        }
+
+        return code;
+    }
+
+    private static String numberFormatCode(final String pattern) {
+        final String[] sections = withoutLiterals(pattern).split(";");
+        final String positive = sections[0];
+
+        final String code;
+        if (positive.contains("/")) {
+            code = GENERAL;
+        } else {
+            final int decimalPoint = positive.indexOf('.');
+            int decimals = 0;
+            if (decimalPoint >= 0) {
+                for (int i = decimalPoint + 1; i < positive.length(); i++) {
+                    final char c = positive.charAt(i);
+                    if ('0' == c || '#' == c || '?' == c) {
+                        decimals++;
+                    }
+                }
+            }
+
+            final String kind;
+            if (positive.contains("%")) {
+                kind = "P";
+            } else if (positive.contains("E") || positive.contains("e")) {
+                kind = "S";
+            } else if (positive.contains("$")) {
+                kind = "C";
+            } else if (positive.contains(",")) {
+                kind = ",";
+            } else {
+                kind = "F";
+            }
+
+            code = kind +
+                decimals +
+                (sections.length > 1 && sections[1].contains("[") ? "-" : "") +
+                (positive.contains("(") ? "()" : "");
+        }
+
+        return code;
+    }
+
+    private static String dateTimeFormatCode(final String pattern) {
+        final String lower = withoutLiterals(pattern).toLowerCase();
+        final boolean day = lower.contains("d");
+        final boolean year = lower.contains("y");
+
+        final String code;
+        if (day || year) {
+            if (lower.contains("mmm")) {
+                code = day && year ?
+                    "D1" :
+                    day ?
+                        "D2" :
+                        "D3";
+            } else {
+                code = year ?
+                    "D4" :
+                    "D5";
+            }
+        } else {
+            final boolean amPm = lower.contains("am/pm") || lower.contains("a/p");
+            code = lower.contains("s") ?
+                amPm ? "D6" : "D8" :
+                amPm ? "D7" : "D9";
+        }
+
+        return code;
+    }
+
+    /**
+     * Removes quoted text, escaped characters and bracketed colors or conditions from a pattern.
+     */
+    private static String withoutLiterals(final String pattern) {
+        final StringBuilder b = new StringBuilder();
+        final int length = pattern.length();
+
+        for (int i = 0; i < length; i++) {
+            final char c = pattern.charAt(i);
+            switch (c) {
+                case '"':
+                    i = skipUntil(pattern, i, '"');
+                    break;
+                case '[':
+                    // keep a marker so colored sections can be detected
+                    b.append('[');
+                    i = skipUntil(pattern, i, ']');
+                    break;
+                case '\\':
+                    i++;
+                    break;
+                default:
+                    b.append(c);
+                    break;
+            }
+        }
+
+        return b.toString();
+    }
+
+    private static int skipUntil(final String pattern,
+                                 final int start,
+                                 final char end) {
+        final int index = pattern.indexOf(end, start + 1);
+        return index < 0 ?
+            pattern.length() :
+            index;
+    }
+
     static SpreadsheetExpressionFunctionObjectCellTypeInfo typeInfo(final String typeInfo) {
-        return Arrays.stream(values())
-            .filter(v -> v.name().toLowerCase().equals(typeInfo))
-            .findFirst()
-            .orElseThrow(() -> new IllegalArgumentException("Unknown typeInfo " + CharSequences.quoteAndEscape(typeInfo)));
+        final SpreadsheetExpressionFunctionObjectCellTypeInfo value = NAME_TO_TYPE_INFO.get(typeInfo);
+        if (null == value) {
+            throw new IllegalArgumentException("Unknown typeInfo " + CharSequences.quoteAndEscape(typeInfo));
+        }
+        return value;
+    }
+
+    /**
+     * Names to each value ignoring case, used by {@link #typeInfo(String)}.
+     */
+    private final static Map<String, SpreadsheetExpressionFunctionObjectCellTypeInfo> NAME_TO_TYPE_INFO = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+
+    static {
+        for (final SpreadsheetExpressionFunctionObjectCellTypeInfo value : values()) {
+            NAME_TO_TYPE_INFO.put(
+                value.name(),
+                value
+            );
+        }
     }
 }
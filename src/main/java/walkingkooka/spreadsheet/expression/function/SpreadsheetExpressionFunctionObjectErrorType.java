@@ -44,8 +44,17 @@ final class SpreadsheetExpressionFunctionObjectErrorType extends SpreadsheetExpr
                         final SpreadsheetExpressionEvaluationContext context) {
         this.checkParameterCount(parameters);
 
-        final Object value = VALUE.getOrFail(parameters, 0);
+        return errorType(
+            VALUE.getOrFail(parameters, 0),
+            context
+        );
+    }
 
+    /**
+     * Returns the number of the error kind or a {@link SpreadsheetErrorKind#NA} if the value is not an error.
+     */
+    static Object errorType(final Object value,
+                            final SpreadsheetExpressionEvaluationContext context) {
         Object result;
 
         if (value instanceof HasSpreadsheetErrorKind) {
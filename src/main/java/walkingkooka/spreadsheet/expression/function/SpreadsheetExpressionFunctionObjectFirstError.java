@@ -0,0 +1,76 @@
+/*
+ * Copyright 2022 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.expression.function;
+
+import walkingkooka.spreadsheet.expression.SpreadsheetExpressionEvaluationContext;
+import walkingkooka.spreadsheet.value.SpreadsheetCell;
+import walkingkooka.tree.expression.function.ExpressionFunctionParameter;
+
+import java.util.List;
+
+/**
+ * Returns the first error in row major order within a cell or range, or null if no cell holds an error. Only the
+ * loaded cells are visited in row major order, absent cells are never materialized, and the scan stops at the first
+ * error found.
+ */
+final class SpreadsheetExpressionFunctionObjectFirstError extends SpreadsheetExpressionFunctionObject {
+
+    /**
+     * Singleton
+     */
+    final static SpreadsheetExpressionFunctionObjectFirstError INSTANCE = new SpreadsheetExpressionFunctionObjectFirstError();
+
+    private SpreadsheetExpressionFunctionObjectFirstError() {
+        super("firstError");
+    }
+
+    @Override
+    public Object apply(final List<Object> parameters,
+                        final SpreadsheetExpressionEvaluationContext context) {
+        this.checkParameterCount(parameters);
+
+        final List<SpreadsheetCell> cells = SpreadsheetExpressionFunctionObjectCellRange.cells(
+            CELL_OR_RANGE_REFERENCE.getOrFail(parameters, 0)
+                .toCellRange(),
+            context
+        );
+
+        for (final SpreadsheetCell cell : cells) {
+            final Object value = SpreadsheetExpressionFunctionObjectCellRange.value(cell);
+            if (SpreadsheetExpressionFunctionValueTag.ERROR == SpreadsheetExpressionFunctionValueTag.tag(value)) {
+                return value;
+            }
+        }
+
+        return null;
+    }
+
+    @Override
+    public List<ExpressionFunctionParameter<?>> parameters(final int count) {
+        return PARAMETERS;
+    }
+
+    private final static List<ExpressionFunctionParameter<?>> PARAMETERS = ExpressionFunctionParameter.list(
+        CELL_OR_RANGE_REFERENCE
+    );
+
+    @Override
+    int purity() {
+        return PURITY_READ;
+    }
+}
@@ -52,4 +52,9 @@ final class SpreadsheetExpressionFunctionObjectGetFormatValue extends Spreadshee
         return context.formatValue()
             .orElse(null); //unwrap Optional
     }
+
+    @Override
+    int purity() {
+        return PURITY_CELL;
+    }
 }
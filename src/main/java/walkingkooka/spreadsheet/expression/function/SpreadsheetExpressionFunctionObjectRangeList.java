@@ -0,0 +1,163 @@
+/*
+ * Copyright 2022 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.expression.function;
+
+import walkingkooka.spreadsheet.expression.SpreadsheetExpressionEvaluationContext;
+import walkingkooka.spreadsheet.reference.SpreadsheetCellRangeReference;
+import walkingkooka.spreadsheet.reference.SpreadsheetCellReference;
+import walkingkooka.tree.expression.ExpressionNumberKind;
+import walkingkooka.tree.expression.function.ExpressionFunctionParameter;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.function.BiFunction;
+
+/**
+ * A function that accepts a cell or range and returns a {@link List} with the column numbers, row numbers or addresses
+ * within it. The returned {@link List} computes each element on demand, so only the range itself is held regardless
+ * of its size.
+ */
+final class SpreadsheetExpressionFunctionObjectRangeList extends SpreadsheetExpressionFunctionObject {
+
+    /**
+     * Range form of {@link SpreadsheetExpressionFunctionAddress} returning every cell in row major order.
+     */
+    final static SpreadsheetExpressionFunctionObjectRangeList ADDRESSES = new SpreadsheetExpressionFunctionObjectRangeList(
+        "addresses",
+        (r, c) -> addresses(r)
+    );
+
+    /**
+     * Range form of {@link SpreadsheetExpressionFunctionNumberColumnOrRow#COLUMN} returning one number for each column.
+     */
+    final static SpreadsheetExpressionFunctionObjectRangeList COLUMN_NUMBERS = new SpreadsheetExpressionFunctionObjectRangeList(
+        "columnNumbers",
+        (r, c) -> numbers(
+            r.toCell()
+                .column()
+                .value(),
+            r.width(),
+            c.expressionNumberKind()
+        )
+    );
+
+    /**
+     * Range form of {@link SpreadsheetExpressionFunctionNumberColumnOrRow#ROW} returning one number for each row.
+     */
+    final static SpreadsheetExpressionFunctionObjectRangeList ROW_NUMBERS = new SpreadsheetExpressionFunctionObjectRangeList(
+        "rowNumbers",
+        (r, c) -> numbers(
+            r.toCell()
+                .row()
+                .value(),
+            r.height(),
+            c.expressionNumberKind()
+        )
+    );
+
+    private SpreadsheetExpressionFunctionObjectRangeList(final String name,
+                                                         final BiFunction<SpreadsheetCellRangeReference, SpreadsheetExpressionEvaluationContext, List<Object>> mapper) {
+        super(name);
+        this.mapper = mapper;
+    }
+
+    @Override
+    public List<Object> apply(final List<Object> parameters,
+                              final SpreadsheetExpressionEvaluationContext context) {
+        this.checkParameterCount(parameters);
+
+        return this.mapper.apply(
+            CELL_OR_RANGE_REFERENCE.getOrFail(parameters, 0)
+                .toCellRange(),
+            context
+        );
+    }
+
+    /**
+     * Returns a {@link List} of consecutive numbers beginning with first.
+     */
+    static List<Object> numbers(final int first,
+                                final int count,
+                                final ExpressionNumberKind kind) {
+        return new AbstractList<Object>() {
+            @Override
+            public Object get(final int index) {
+                checkIndex(
+                    index,
+                    count
+                );
+                return kind.create(first + index);
+            }
+
+            @Override
+            public int size() {
+                return count;
+            }
+        };
+    }
+
+    /**
+     * Returns a {@link List} with every {@link SpreadsheetCellReference} in the range in row major order, failing if the
+     * range holds more cells than a {@link List} can.
+     */
+    static List<Object> addresses(final SpreadsheetCellRangeReference range) {
+        final SpreadsheetCellReference topLeft = range.toCell();
+        final int width = range.width();
+        final int count = SpreadsheetExpressionFunctionObjectCellRange.size(range);
+
+        return new AbstractList<Object>() {
+            @Override
+            public Object get(final int index) {
+                checkIndex(
+                    index,
+                    count
+                );
+                return topLeft.add(
+                    index % width,
+                    index / width
+                );
+            }
+
+            @Override
+            public int size() {
+                return count;
+            }
+        };
+    }
+
+    private static void checkIndex(final int index,
+                                   final int count) {
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException("Invalid index " + index + " not between 0 and " + count);
+        }
+    }
+
+    /**
+     * Creates the {@link List} for a range.
+     */
+    private final BiFunction<SpreadsheetCellRangeReference, SpreadsheetExpressionEvaluationContext, List<Object>> mapper;
+
+    @Override
+    public List<ExpressionFunctionParameter<?>> parameters(final int count) {
+        return PARAMETERS;
+    }
+
+    private final static List<ExpressionFunctionParameter<?>> PARAMETERS = ExpressionFunctionParameter.list(
+        CELL_OR_RANGE_REFERENCE
+    );
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright 2022 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.expression.function;
+
+import walkingkooka.collect.list.Lists;
+import walkingkooka.spreadsheet.expression.SpreadsheetExpressionEvaluationContext;
+import walkingkooka.storage.StoragePath;
+import walkingkooka.storage.StorageValue;
+import walkingkooka.tree.expression.function.ExpressionFunctionParameter;
+import walkingkooka.tree.expression.function.ExpressionFunctionParameterKind;
+import walkingkooka.tree.expression.function.ExpressionFunctionParameterName;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * A function that reads the text of a storage value returning a {@link List} of its lines, or null if the path does
+ * not exist. The lines are found on demand as they are requested, and each line is only copied from the text when it
+ * is read, so consumers that stop early never scan or copy the remainder. Lines may end with CR, LF or CRLF and the
+ * line ending is not included.
+ * <br>
+ * Only functions that accept a {@link List} benefit from the lazy lines. Functions taking text such as textJoin, len
+ * and template have their parameters converted to a {@link String} before they run, which reads every line.
+ * <pre>
+ * readStorageLines("/reports/lookup.txt")
+ * </pre>
+ */
+final class SpreadsheetExpressionFunctionObjectReadStorageLines extends SpreadsheetExpressionFunctionObject {
+
+    /**
+     * Singleton
+     */
+    final static SpreadsheetExpressionFunctionObjectReadStorageLines INSTANCE = new SpreadsheetExpressionFunctionObjectReadStorageLines();
+
+    private SpreadsheetExpressionFunctionObjectReadStorageLines() {
+        super("readStorageLines");
+    }
+
+    @Override
+    public List<String> apply(final List<Object> parameters,
+                              final SpreadsheetExpressionEvaluationContext context) {
+        this.checkParameterCount(parameters);
+
+        final StoragePath path = context.parseStoragePath(
+            PATH.getOrFail(parameters, 0)
+        );
+
+        final Optional<Object> value = context.loadStorage(path)
+            .flatMap(StorageValue::value);
+
+        return value.isPresent() ?
+            lines(
+                text(
+                    value.get(),
+                    context
+                )
+            ) :
+            null;
+    }
+
+    final static ExpressionFunctionParameter<String> PATH = ExpressionFunctionParameterName.with("path")
+        .required(String.class)
+        .setKinds(ExpressionFunctionParameterKind.CONVERT_EVALUATE_RESOLVE_REFERENCES);
+
+    @Override
+    public List<ExpressionFunctionParameter<?>> parameters(final int count) {
+        return PARAMETERS;
+    }
+
+    private final static List<ExpressionFunctionParameter<?>> PARAMETERS = Lists.of(
+        PATH
+    );
+
+    static String text(final Object value,
+                       final SpreadsheetExpressionEvaluationContext context) {
+        return value instanceof CharSequence ?
+            value.toString() :
+            context.convertOrFail(
+                value,
+                String.class
+            );
+    }
+
+    /**
+     * Returns a {@link List} that finds the lines of the text as they are requested.
+     */
+    static List<String> lines(final String text) {
+        return new AbstractList<String>() {
+
+            @Override
+            public synchronized String get(final int index) {
+                if (index >= 0) {
+                    this.scan(index);
+                }
+                if (index < 0 || index >= this.count) {
+                    throw new IndexOutOfBoundsException("Invalid index " + index + " not between 0 and " + this.count);
+                }
+                return text.substring(
+                    this.starts[index],
+                    this.ends[index]
+                );
+            }
+
+            @Override
+            public synchronized int size() {
+                this.scan(Integer.MAX_VALUE - 1);
+                return this.count;
+            }
+
+            /**
+             * Finds lines until the line with the given index is known or the text is exhausted.
+             */
+            private void scan(final int index) {
+                final int length = text.length();
+                int position = this.position;
+
+                while (this.count <= index && position < length) {
+                    int end = position;
+                    while (end < length && '\n' != text.charAt(end) && '\r' != text.charAt(end)) {
+                        end++;
+                    }
+
+                    if (this.count == this.starts.length) {
+                        this.starts = copyOf(this.starts);
+                        this.ends = copyOf(this.ends);
+                    }
+                    this.starts[this.count] = position;
+                    this.ends[this.count] = end;
+                    this.count++;
+
+                    position = end;
+                    if (position < length) {
+                        position += '\r' == text.charAt(position) && position + 1 < length && '\n' == text.charAt(position + 1) ?
+                            2 :
+                            1;
+                    }
+                }
+
+                this.position = position;
+            }
+
+            private int[] copyOf(final int[] array) {
+                final int[] copy = new int[array.length * 2];
+                System.arraycopy(
+                    array,
+                    0,
+                    copy,
+                    0,
+                    array.length
+                );
+                return copy;
+            }
+
+            private int[] starts = new int[16];
+
+            private int[] ends = new int[16];
+
+            /**
+             * The number of lines found so far.
+             */
+            private int count;
+
+            /**
+             * The start of the next line to be found.
+             */
+            private int position;
+        };
+    }
+
+    @Override
+    int purity() {
+        return PURITY_READ;
+    }
+}
@@ -19,26 +19,42 @@
 package walkingkooka.spreadsheet.expression.function;
 
 import walkingkooka.spreadsheet.expression.SpreadsheetExpressionEvaluationContext;
-import walkingkooka.spreadsheet.reference.SpreadsheetCellRangeReference;
 import walkingkooka.spreadsheet.reference.SpreadsheetCellReference;
+import walkingkooka.spreadsheet.reference.SpreadsheetColumnReference;
 import walkingkooka.spreadsheet.reference.SpreadsheetExpressionReference;
+import walkingkooka.spreadsheet.reference.SpreadsheetRowReference;
 import walkingkooka.tree.expression.ExpressionNumber;
 import walkingkooka.tree.expression.function.ExpressionFunctionParameter;
 import walkingkooka.tree.expression.function.ExpressionFunctionParameterKind;
 import walkingkooka.tree.expression.function.ExpressionFunctionParameterName;
 
 import java.util.List;
+import java.util.Objects;
+import java.util.function.BiConsumer;
 
 // https://exceljet.net/excel-functions/excel-offset-function
+/**
+ * The excel offset function. Each computed reference is reported to the listener, allowing a dependency tracker to
+ * record the cells actually referenced rather than treating the formula as volatile.
+ */
 final class SpreadsheetExpressionFunctionOffset extends SpreadsheetExpressionFunction<SpreadsheetExpressionReference> {
 
     /**
      * Singleton
      */
-    final static SpreadsheetExpressionFunctionOffset INSTANCE = new SpreadsheetExpressionFunctionOffset();
+    final static SpreadsheetExpressionFunctionOffset INSTANCE = new SpreadsheetExpressionFunctionOffset(
+        SpreadsheetExpressionFunctionIndirect.NO_LISTENER
+    );
+
+    static SpreadsheetExpressionFunctionOffset with(final BiConsumer<SpreadsheetExpressionReference, SpreadsheetExpressionEvaluationContext> listener) {
+        Objects.requireNonNull(listener, "listener");
+
+        return new SpreadsheetExpressionFunctionOffset(listener);
+    }
 
-    private SpreadsheetExpressionFunctionOffset() {
+    private SpreadsheetExpressionFunctionOffset(final BiConsumer<SpreadsheetExpressionReference, SpreadsheetExpressionEvaluationContext> listener) {
         super("offset");
+        this.listener = listener;
     }
 
     @Override
@@ -72,22 +88,54 @@ final class SpreadsheetExpressionFunctionOffset extends SpreadsheetExpressionFun
                     .one()
             ).intValue();
 
-        final SpreadsheetCellReference topLeft = start.add(
+        final SpreadsheetCellReference topLeft = add(
+            start,
             columns,
             rows
         );
-        final SpreadsheetCellReference bottomRight = topLeft.add(
-            width - BIAS,
-            height - BIAS
+
+        // a single cell needs no bottom right or range
+        final SpreadsheetExpressionReference reference = 1 == width && 1 == height ?
+            topLeft :
+            topLeft.cellRange(
+                add(
+                    topLeft,
+                    width - BIAS,
+                    height - BIAS
+                )
+            );
+
+        this.listener.accept(
+            reference,
+            context
         );
 
-        final SpreadsheetCellRangeReference range = topLeft.cellRange(bottomRight);
+        return reference;
+    }
 
-        return range.width() == 1 && range.height() == 1 ?
-            range.toCell() :
-            range;
+    /**
+     * Adds the given columns and rows to the cell, keeping its reference kinds and drawing the result from the
+     * {@link SpreadsheetExpressionFunctionAddressCache}.
+     */
+    private static SpreadsheetCellReference add(final SpreadsheetCellReference cell,
+                                                final int columns,
+                                                final int rows) {
+        final SpreadsheetColumnReference column = cell.column();
+        final SpreadsheetRowReference row = cell.row();
+
+        return SpreadsheetExpressionFunctionAddressCache.cell(
+            row.referenceKind(),
+            row.value() + rows,
+            column.referenceKind(),
+            column.value() + columns
+        );
     }
 
+    /**
+     * Receives each reference computed by this function.
+     */
+    private final BiConsumer<SpreadsheetExpressionReference, SpreadsheetExpressionEvaluationContext> listener;
+
     private final static ExpressionFunctionParameter<ExpressionNumber> ROWS = ExpressionFunctionParameterName.with("rows")
         .required(ExpressionNumber.class)
         .setKinds(ExpressionFunctionParameterKind.CONVERT_EVALUATE);
@@ -119,4 +167,13 @@ final class SpreadsheetExpressionFunctionOffset extends SpreadsheetExpressionFun
         WIDTH,
         HEIGHT
     );
+
+    /**
+     * Always volatile like {@link SpreadsheetExpressionFunctionIndirect}, even with a listener, as the listener must
+     * receive the reference every time the formula is evaluated.
+     */
+    @Override
+    int purity() {
+        return PURITY_VOLATILE;
+    }
 }
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2022 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.expression.function;
+
+import walkingkooka.spreadsheet.expression.SpreadsheetExpressionEvaluationContext;
+import walkingkooka.tree.expression.ExpressionFunctionName;
+import walkingkooka.tree.expression.ExpressionPurityContext;
+import walkingkooka.tree.expression.function.ExpressionFunction;
+import walkingkooka.tree.expression.function.ExpressionFunctionParameter;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Wraps an {@link ExpressionFunction} from another project attaching the purity bits given by its factory,
+ * with {@link #isPure(ExpressionPurityContext)} derived from those bits.
+ */
+final class SpreadsheetExpressionFunctionPurity<T> implements ExpressionFunction<T, SpreadsheetExpressionEvaluationContext> {
+
+    static <T> SpreadsheetExpressionFunctionPurity<T> with(final ExpressionFunction<T, SpreadsheetExpressionEvaluationContext> function,
+                                                           final int purity) {
+        if (function instanceof SpreadsheetExpressionFunction || function instanceof SpreadsheetExpressionFunctionPurity) {
+            throw new IllegalArgumentException("Function " + function + " already has purity");
+        }
+        if (0 != (purity & ~ALL)) {
+            throw new IllegalArgumentException("Invalid purity " + purity);
+        }
+
+        return new SpreadsheetExpressionFunctionPurity<>(
+            function,
+            purity
+        );
+    }
+
+    private final static int ALL = SpreadsheetExpressionFunction.PURITY_CELL |
+        SpreadsheetExpressionFunction.PURITY_READ |
+        SpreadsheetExpressionFunction.PURITY_WRITE |
+        SpreadsheetExpressionFunction.PURITY_VOLATILE;
+
+    private SpreadsheetExpressionFunctionPurity(final ExpressionFunction<T, SpreadsheetExpressionEvaluationContext> function,
+                                                final int purity) {
+        this.function = function;
+        this.purity = purity;
+    }
+
+    @Override
+    public Optional<ExpressionFunctionName> name() {
+        return this.function.name();
+    }
+
+    @Override
+    public List<ExpressionFunctionParameter<?>> parameters(final int count) {
+        return this.function.parameters(count);
+    }
+
+    @Override
+    public Class<T> returnType() {
+        return this.function.returnType();
+    }
+
+    @Override
+    public boolean isPure(final ExpressionPurityContext context) {
+        return SpreadsheetExpressionFunction.PURITY_PURE == this.purity;
+    }
+
+    @Override
+    public T apply(final List<Object> parameters,
+                   final SpreadsheetExpressionEvaluationContext context) {
+        return this.function.apply(
+            parameters,
+            context
+        );
+    }
+
+    private final ExpressionFunction<T, SpreadsheetExpressionEvaluationContext> function;
+
+    final int purity;
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return this.function.toString();
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2022 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.expression.function;
+
+import walkingkooka.spreadsheet.expression.SpreadsheetExpressionEvaluationContext;
+import walkingkooka.spreadsheet.reference.SpreadsheetRowReference;
+import walkingkooka.spreadsheet.reference.SpreadsheetReferenceKind;
+import walkingkooka.spreadsheet.reference.SpreadsheetColumnReference;
+import walkingkooka.spreadsheet.value.SpreadsheetErrorKind;
+import walkingkooka.tree.expression.ExpressionNumber;
+import walkingkooka.tree.expression.function.ExpressionFunctionParameter;
+import walkingkooka.tree.expression.function.ExpressionFunctionParameterKind;
+import walkingkooka.tree.expression.function.ExpressionFunctionParameterName;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A function that reserves one or more consecutive empty columns for a given row, returning the first. Columns reserved
+ * are skipped by {@link SpreadsheetExpressionFunctionNextEmptyColumn} and later reservations, which allows concurrent form
+ * submissions to each receive their own columns.
+ * <pre>
+ * ReserveEmptyColumns("3", 2)
+ * </pre>
+ */
+final class SpreadsheetExpressionFunctionReserveEmptyColumns extends SpreadsheetExpressionFunction<SpreadsheetColumnReference> {
+
+    /**
+     * Singleton without any {@link SpreadsheetExpressionFunctionNextEmptyReservations}, which only checks there are
+     * enough empty columns and holds nothing.
+     */
+    final static SpreadsheetExpressionFunctionReserveEmptyColumns INSTANCE = new SpreadsheetExpressionFunctionReserveEmptyColumns(null);
+
+    /**
+     * Creates a new function that holds its columns in the given {@link SpreadsheetExpressionFunctionNextEmptyReservations}.
+     */
+    static SpreadsheetExpressionFunctionReserveEmptyColumns with(final SpreadsheetExpressionFunctionNextEmptyReservations reservations) {
+        return new SpreadsheetExpressionFunctionReserveEmptyColumns(
+            Objects.requireNonNull(reservations, "reservations")
+        );
+    }
+
+    private SpreadsheetExpressionFunctionReserveEmptyColumns(final SpreadsheetExpressionFunctionNextEmptyReservations reservations) {
+        super("reserveEmptyColumns");
+        this.reservations = reservations;
+    }
+
+    /**
+     * Holds reserved columns, or null when nothing is held.
+     */
+    private final SpreadsheetExpressionFunctionNextEmptyReservations reservations;
+
+    @Override
+    public List<ExpressionFunctionParameter<?>> parameters(final int count) {
+        return PARAMETERS;
+    }
+
+    private final static ExpressionFunctionParameter<SpreadsheetRowReference> ROW = ExpressionFunctionParameterName.with("row")
+        .required(SpreadsheetRowReference.class)
+        .setKinds(
+            ExpressionFunctionParameterKind.CONVERT_EVALUATE
+        );
+
+    private final static ExpressionFunctionParameter<ExpressionNumber> COUNT = ExpressionFunctionParameterName.with("count")
+        .optional(ExpressionNumber.class)
+        .setKinds(
+            ExpressionFunctionParameterKind.CONVERT_EVALUATE
+        );
+
+    private final static List<ExpressionFunctionParameter<?>> PARAMETERS = ExpressionFunctionParameter.list(
+        ROW,
+        COUNT
+    );
+
+    @Override
+    public Class<SpreadsheetColumnReference> returnType() {
+        return SpreadsheetColumnReference.class;
+    }
+
+    @Override
+    public SpreadsheetColumnReference apply(final List<Object> parameters,
+                                            final SpreadsheetExpressionEvaluationContext context) {
+        this.checkParameterCount(parameters);
+
+        final SpreadsheetRowReference row = ROW.getOrFail(parameters, 0);
+        final int count = COUNT.get(parameters, 1)
+            .orElseGet(
+                () -> context.expressionNumberKind()
+                    .one()
+            ).intValue();
+        if (count <= 0) {
+            throw new IllegalArgumentException("Invalid count " + count + " <= 0");
+        }
+
+        final SpreadsheetColumnReference next = context.nextEmptyColumn(row)
+            .orElseThrow(
+                () -> SpreadsheetErrorKind.VALUE.setMessage("Row " + row + " full")
+                    .exception()
+            );
+
+        final SpreadsheetExpressionFunctionNextEmptyReservations reservations = this.reservations;
+        final int first = null != reservations ?
+            reservations.reserve(
+                row.value(),
+                next.value(),
+                count,
+                context
+            ) :
+            (long) next.value() + count - 1 > SpreadsheetColumnReference.MAX_VALUE ?
+                SpreadsheetExpressionFunctionNextEmptyReservations.FULL :
+                next.value();
+        if (SpreadsheetExpressionFunctionNextEmptyReservations.FULL == first) {
+            throw SpreadsheetErrorKind.VALUE.setMessage("Row " + row + " full")
+                .exception();
+        }
+
+        return SpreadsheetReferenceKind.RELATIVE.column(first);
+    }
+
+    @Override
+    int purity() {
+        return PURITY_READ | PURITY_WRITE;
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2022 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.expression.function;
+
+import walkingkooka.spreadsheet.expression.SpreadsheetExpressionEvaluationContext;
+import walkingkooka.spreadsheet.reference.SpreadsheetColumnReference;
+import walkingkooka.spreadsheet.reference.SpreadsheetReferenceKind;
+import walkingkooka.spreadsheet.reference.SpreadsheetRowReference;
+import walkingkooka.spreadsheet.value.SpreadsheetErrorKind;
+import walkingkooka.tree.expression.ExpressionNumber;
+import walkingkooka.tree.expression.function.ExpressionFunctionParameter;
+import walkingkooka.tree.expression.function.ExpressionFunctionParameterKind;
+import walkingkooka.tree.expression.function.ExpressionFunctionParameterName;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A function that reserves one or more consecutive empty rows for a given column, returning the first. Rows reserved
+ * are skipped by {@link SpreadsheetExpressionFunctionNextEmptyRow} and later reservations, which allows concurrent form
+ * submissions to each receive their own rows.
+ * <pre>
+ * ReserveEmptyRows("C", 2)
+ * </pre>
+ */
+final class SpreadsheetExpressionFunctionReserveEmptyRows extends SpreadsheetExpressionFunction<SpreadsheetRowReference> {
+
+    /**
+     * Singleton without any {@link SpreadsheetExpressionFunctionNextEmptyReservations}, which only checks there are
+     * enough empty rows and holds nothing.
+     */
+    final static SpreadsheetExpressionFunctionReserveEmptyRows INSTANCE = new SpreadsheetExpressionFunctionReserveEmptyRows(null);
+
+    /**
+     * Creates a new function that holds its rows in the given {@link SpreadsheetExpressionFunctionNextEmptyReservations}.
+     */
+    static SpreadsheetExpressionFunctionReserveEmptyRows with(final SpreadsheetExpressionFunctionNextEmptyReservations reservations) {
+        return new SpreadsheetExpressionFunctionReserveEmptyRows(
+            Objects.requireNonNull(reservations, "reservations")
+        );
+    }
+
+    private SpreadsheetExpressionFunctionReserveEmptyRows(final SpreadsheetExpressionFunctionNextEmptyReservations reservations) {
+        super("reserveEmptyRows");
+        this.reservations = reservations;
+    }
+
+    /**
+     * Holds reserved rows, or null when nothing is held.
+     */
+    private final SpreadsheetExpressionFunctionNextEmptyReservations reservations;
+
+    @Override
+    public List<ExpressionFunctionParameter<?>> parameters(final int count) {
+        return PARAMETERS;
+    }
+
+    private final static ExpressionFunctionParameter<SpreadsheetColumnReference> COLUMN = ExpressionFunctionParameterName.with("column")
+        .required(SpreadsheetColumnReference.class)
+        .setKinds(
+            ExpressionFunctionParameterKind.CONVERT_EVALUATE
+        );
+
+    private final static ExpressionFunctionParameter<ExpressionNumber> COUNT = ExpressionFunctionParameterName.with("count")
+        .optional(ExpressionNumber.class)
+        .setKinds(
+            ExpressionFunctionParameterKind.CONVERT_EVALUATE
+        );
+
+    private final static List<ExpressionFunctionParameter<?>> PARAMETERS = ExpressionFunctionParameter.list(
+        COLUMN,
+        COUNT
+    );
+
+    @Override
+    public Class<SpreadsheetRowReference> returnType() {
+        return SpreadsheetRowReference.class;
+    }
+
+    @Override
+    public SpreadsheetRowReference apply(final List<Object> parameters,
+                                         final SpreadsheetExpressionEvaluationContext context) {
+        this.checkParameterCount(parameters);
+
+        final SpreadsheetColumnReference column = COLUMN.getOrFail(parameters, 0);
+        final int count = COUNT.get(parameters, 1)
+            .orElseGet(
+                () -> context.expressionNumberKind()
+                    .one()
+            ).intValue();
+        if (count <= 0) {
+            throw new IllegalArgumentException("Invalid count " + count + " <= 0");
+        }
+
+        final SpreadsheetRowReference next = context.nextEmptyRow(column)
+            .orElseThrow(
+                () -> SpreadsheetErrorKind.VALUE.setMessage("Column " + column + " full")
+                    .exception()
+            );
+
+        final SpreadsheetExpressionFunctionNextEmptyReservations reservations = this.reservations;
+        final int first = null != reservations ?
+            reservations.reserve(
+                column.value(),
+                next.value(),
+                count,
+                context
+            ) :
+            (long) next.value() + count - 1 > SpreadsheetRowReference.MAX_VALUE ?
+                SpreadsheetExpressionFunctionNextEmptyReservations.FULL :
+                next.value();
+        if (SpreadsheetExpressionFunctionNextEmptyReservations.FULL == first) {
+            throw SpreadsheetErrorKind.VALUE.setMessage("Column " + column + " full")
+                .exception();
+        }
+
+        return SpreadsheetReferenceKind.RELATIVE.row(first);
+    }
+
+    @Override
+    int purity() {
+        return PURITY_READ | PURITY_WRITE;
+    }
+}
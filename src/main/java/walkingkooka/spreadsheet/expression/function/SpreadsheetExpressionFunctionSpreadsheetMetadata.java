@@ -18,12 +18,16 @@
 package walkingkooka.spreadsheet.expression.function;
 
 import walkingkooka.Cast;
+import walkingkooka.spreadsheet.expression.SpreadsheetExpressionEvaluationContext;
 import walkingkooka.spreadsheet.meta.SpreadsheetId;
 import walkingkooka.spreadsheet.meta.SpreadsheetMetadataPropertyName;
 import walkingkooka.tree.expression.function.ExpressionFunctionParameter;
 import walkingkooka.tree.expression.function.ExpressionFunctionParameterKind;
 import walkingkooka.tree.expression.function.ExpressionFunctionParameterName;
 
+import java.util.HashMap;
+import java.util.Map;
+
 abstract class SpreadsheetExpressionFunctionSpreadsheetMetadata<T> extends SpreadsheetExpressionFunction<T> {
 
     SpreadsheetExpressionFunctionSpreadsheetMetadata(final String name) {
@@ -36,6 +40,70 @@ abstract class SpreadsheetExpressionFunctionSpreadsheetMetadata<T> extends Sprea
             .setKinds(ExpressionFunctionParameterKind.CONVERT_EVALUATE)
     );
 
+    /**
+     * Converts the given value to a {@link SpreadsheetMetadataPropertyName}, remembering the name for each text so
+     * repeated conversions skip the converter. This is used for names that are not a {@link #PROPERTY_NAME} parameter,
+     * such as the keys of the map given to setSpreadsheetMetadataValues.
+     */
+    static SpreadsheetMetadataPropertyName<?> propertyName(final Object value,
+                                                           final SpreadsheetExpressionEvaluationContext context) {
+        final SpreadsheetMetadataPropertyName<?> propertyName;
+
+        if (value instanceof SpreadsheetMetadataPropertyName) {
+            propertyName = (SpreadsheetMetadataPropertyName<?>) value;
+        } else if (value instanceof String) {
+            final String text = (String) value;
+            final SpreadsheetMetadataPropertyName<?> cached = textToPropertyName.get(text);
+            if (null != cached) {
+                propertyName = cached;
+            } else {
+                propertyName = context.convertOrFail(
+                    text,
+                    SpreadsheetMetadataPropertyName.class
+                );
+
+                synchronized (SpreadsheetExpressionFunctionSpreadsheetMetadata.class) {
+                    final Map<String, SpreadsheetMetadataPropertyName<?>> copy = new HashMap<>(textToPropertyName);
+                    copy.put(
+                        text,
+                        propertyName
+                    );
+                    textToPropertyName = copy;
+                }
+            }
+        } else {
+            propertyName = context.convertOrFail(
+                value,
+                SpreadsheetMetadataPropertyName.class
+            );
+        }
+
+        return propertyName;
+    }
+
+    /**
+     * Text to {@link SpreadsheetMetadataPropertyName}, replaced with a copy when a new name is added, so reads never lock.
+     * Only successfully converted names are added, which keeps it bounded by the number of properties.
+     */
+    private static volatile Map<String, SpreadsheetMetadataPropertyName<?>> textToPropertyName = new HashMap<>();
+
+    /**
+     * Converts the value to the type of the {@link SpreadsheetMetadataPropertyName}, skipping the converter when the
+     * value already has the exact type.
+     */
+    static Object convertValue(final Object value,
+                               final SpreadsheetMetadataPropertyName<?> propertyName,
+                               final SpreadsheetExpressionEvaluationContext context) {
+        final Class<?> type = propertyName.type();
+
+        return null != value && value.getClass() == type ?
+            value :
+            context.convertOrFail(
+                value,
+                type
+            );
+    }
+
     final static ExpressionFunctionParameter<SpreadsheetId> SPREADSHEET_ID = ExpressionFunctionParameterName.with("spreadsheetId")
         .required(SpreadsheetId.class)
         .setKinds(ExpressionFunctionParameterKind.CONVERT_EVALUATE_RESOLVE_REFERENCES);
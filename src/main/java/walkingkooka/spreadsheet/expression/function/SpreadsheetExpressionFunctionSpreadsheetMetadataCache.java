@@ -0,0 +1,259 @@
+/*
+ * Copyright 2022 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package walkingkooka.spreadsheet.expression.function;
+
+import walkingkooka.spreadsheet.expression.SpreadsheetExpressionEvaluationContext;
+import walkingkooka.spreadsheet.meta.SpreadsheetId;
+import walkingkooka.spreadsheet.meta.SpreadsheetMetadata;
+import walkingkooka.spreadsheet.meta.SpreadsheetMetadataPropertyName;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * A read-through cache of {@link SpreadsheetMetadata} keyed by {@link SpreadsheetId}, including ids that were not found.
+ * Entries expire after a time to live measured with {@link SpreadsheetExpressionEvaluationContext#now()} and the least
+ * recently used entry is evicted when full.
+ * <br>
+ * There is no shared instance, each is created by {@link SpreadsheetExpressionFunctions#spreadsheetMetadataCaching(int, int)}
+ * and shared only by the metadata functions created with it, so it must only be used with contexts that load from the
+ * same store. Saves and deletes made through {@link SpreadsheetExpressionFunctionSpreadsheetMetadataSave} and
+ * {@link SpreadsheetExpressionFunctionSpreadsheetMetadataDelete} remove the matching entry, and a load that was running
+ * while its id was saved or deleted is not remembered.
+ */
+final class SpreadsheetExpressionFunctionSpreadsheetMetadataCache {
+
+    static SpreadsheetExpressionFunctionSpreadsheetMetadataCache with(final int maxSize,
+                                                                      final int timeToLiveSeconds) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Invalid maxSize " + maxSize + " <= 0");
+        }
+        if (timeToLiveSeconds <= 0) {
+            throw new IllegalArgumentException("Invalid timeToLiveSeconds " + timeToLiveSeconds + " <= 0");
+        }
+
+        return new SpreadsheetExpressionFunctionSpreadsheetMetadataCache(
+            maxSize,
+            timeToLiveSeconds
+        );
+    }
+
+    private SpreadsheetExpressionFunctionSpreadsheetMetadataCache(final int maxSize,
+                                                                  final int timeToLiveSeconds) {
+        this.maxSize = maxSize;
+        this.timeToLiveSeconds = timeToLiveSeconds;
+
+        // access order makes the eldest entry the least recently used.
+        this.entries = new LinkedHashMap<SpreadsheetId, Entry>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<SpreadsheetId, Entry> eldest) {
+                final boolean remove = this.size() > SpreadsheetExpressionFunctionSpreadsheetMetadataCache.this.maxSize;
+                if (remove) {
+                    SpreadsheetExpressionFunctionSpreadsheetMetadataCache.this.evictions++;
+                }
+                return remove;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached {@link SpreadsheetMetadata} or loads and remembers it.
+     */
+    Optional<SpreadsheetMetadata> load(final SpreadsheetId id,
+                                       final SpreadsheetExpressionEvaluationContext context) {
+        final LocalDateTime now = context.now();
+        final Loading loading;
+        final long generation;
+
+        synchronized (this.entries) {
+            final Entry entry = this.entries.get(id);
+            if (null != entry) {
+                if (now.isBefore(entry.expires)) {
+                    this.hits++;
+                    return entry.metadata;
+                }
+                this.entries.remove(id);
+                this.evictions++;
+            }
+            this.misses++;
+
+            loading = this.loading(id);
+            loading.count++;
+            generation = loading.generation;
+        }
+
+        Optional<SpreadsheetMetadata> metadata = null;
+        try {
+            metadata = context.loadMetadata(id);
+        } finally {
+            synchronized (this.entries) {
+                loading.count--;
+                if (0 == loading.count) {
+                    this.loading.remove(id);
+                }
+
+                // a save or delete of the same id while loading makes the loaded metadata stale
+                if (null != metadata && generation == loading.generation) {
+                    this.entries.put(
+                        id,
+                        new Entry(
+                            metadata,
+                            now.plusSeconds(this.timeToLiveSeconds)
+                        )
+                    );
+                }
+            }
+        }
+
+        return metadata;
+    }
+
+    /**
+     * Saves the given {@link SpreadsheetMetadata} and forgets any cached copy.
+     */
+    SpreadsheetMetadata save(final SpreadsheetMetadata metadata,
+                             final SpreadsheetExpressionEvaluationContext context) {
+        final SpreadsheetMetadata saved = context.saveMetadata(metadata);
+
+        this.remove(
+            saved.get(SpreadsheetMetadataPropertyName.SPREADSHEET_ID)
+                .orElse(null)
+        );
+
+        return saved;
+    }
+
+    /**
+     * Deletes the {@link SpreadsheetMetadata} with the given id and forgets any cached copy.
+     */
+    void delete(final SpreadsheetId id,
+                final SpreadsheetExpressionEvaluationContext context) {
+        context.deleteMetadata(id);
+
+        this.remove(id);
+    }
+
+    private void remove(final SpreadsheetId id) {
+        synchronized (this.entries) {
+            this.entries.remove(id);
+
+            final Loading loading = this.loading.get(id);
+            if (null != loading) {
+                loading.generation++;
+            }
+        }
+    }
+
+    /**
+     * Returns the {@link Loading} for the given id, creating it if necessary. Must be called while holding the lock.
+     */
+    private Loading loading(final SpreadsheetId id) {
+        Loading loading = this.loading.get(id);
+        if (null == loading) {
+            loading = new Loading();
+            this.loading.put(
+                id,
+                loading
+            );
+        }
+        return loading;
+    }
+
+    long hits() {
+        synchronized (this.entries) {
+            return this.hits;
+        }
+    }
+
+    long misses() {
+        synchronized (this.entries) {
+            return this.misses;
+        }
+    }
+
+    long evictions() {
+        synchronized (this.entries) {
+            return this.evictions;
+        }
+    }
+
+    int size() {
+        synchronized (this.entries) {
+            return this.entries.size();
+        }
+    }
+
+    private final int maxSize;
+
+    private final int timeToLiveSeconds;
+
+    /**
+     * The least recently used entries, also used as the lock guarding all other state.
+     */
+    private final Map<SpreadsheetId, Entry> entries;
+
+    /**
+     * The ids with loads in progress, removed once the last load finishes.
+     */
+    private final Map<SpreadsheetId, Loading> loading = new HashMap<>();
+
+    private long hits;
+
+    private long misses;
+
+    private long evictions;
+
+    /**
+     * The loads in progress for a single id, and a generation that is increased each time the id is saved or deleted.
+     */
+    private final static class Loading {
+
+        int count;
+
+        long generation;
+    }
+
+    /**
+     * A loaded {@link SpreadsheetMetadata} or empty if it was not found, and when it expires.
+     */
+    private final static class Entry {
+
+        Entry(final Optional<SpreadsheetMetadata> metadata,
+              final LocalDateTime expires) {
+            this.metadata = metadata;
+            this.expires = expires;
+        }
+
+        final Optional<SpreadsheetMetadata> metadata;
+
+        final LocalDateTime expires;
+    }
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        synchronized (this.entries) {
+            return "hits=" + this.hits + " misses=" + this.misses + " evictions=" + this.evictions + " size=" + this.entries.size();
+        }
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2022 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.expression.function;
+
+import walkingkooka.collect.list.Lists;
+import walkingkooka.spreadsheet.expression.SpreadsheetExpressionEvaluationContext;
+import walkingkooka.text.CharSequences;
+import walkingkooka.tree.expression.function.ExpressionFunctionParameter;
+import walkingkooka.tree.expression.function.ExpressionFunctionParameterKind;
+import walkingkooka.tree.expression.function.ExpressionFunctionParameterName;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * A function that returns the statistics of the {@link SpreadsheetExpressionFunctionSpreadsheetMetadataCache} shared
+ * with the metadata functions it was created with. A named statistic, one of hits, misses, evictions or size, returns
+ * a number, otherwise all are returned as text. Null is returned when there is no cache.
+ * <pre>
+ * spreadsheetMetadataCacheStatistics("hits") / (spreadsheetMetadataCacheStatistics("hits") + spreadsheetMetadataCacheStatistics("misses"))
+ * </pre>
+ */
+final class SpreadsheetExpressionFunctionSpreadsheetMetadataCacheStatistics extends SpreadsheetExpressionFunctionSpreadsheetMetadata<Object> {
+
+    /**
+     * Singleton without any cache, which always returns null.
+     */
+    final static SpreadsheetExpressionFunctionSpreadsheetMetadataCacheStatistics INSTANCE = new SpreadsheetExpressionFunctionSpreadsheetMetadataCacheStatistics(null);
+
+    /**
+     * Returns a function reporting the statistics of the given cache.
+     */
+    static SpreadsheetExpressionFunctionSpreadsheetMetadataCacheStatistics with(final SpreadsheetExpressionFunctionSpreadsheetMetadataCache cache) {
+        return new SpreadsheetExpressionFunctionSpreadsheetMetadataCacheStatistics(
+            Objects.requireNonNull(cache, "cache")
+        );
+    }
+
+    private SpreadsheetExpressionFunctionSpreadsheetMetadataCacheStatistics(final SpreadsheetExpressionFunctionSpreadsheetMetadataCache cache) {
+        super("spreadsheetMetadataCacheStatistics");
+        this.cache = cache;
+    }
+
+    /**
+     * The cache shared with the other metadata functions created with it, or null.
+     */
+    private final SpreadsheetExpressionFunctionSpreadsheetMetadataCache cache;
+
+    @Override
+    public List<ExpressionFunctionParameter<?>> parameters(final int i) {
+        return PARAMETERS;
+    }
+
+    private final static ExpressionFunctionParameter<String> STATISTIC = ExpressionFunctionParameterName.with("statistic")
+        .optional(String.class)
+        .setKinds(ExpressionFunctionParameterKind.CONVERT_EVALUATE_RESOLVE_REFERENCES);
+
+    private final static List<ExpressionFunctionParameter<?>> PARAMETERS = Lists.of(
+        STATISTIC
+    );
+
+    @Override
+    public Class<Object> returnType() {
+        return Object.class;
+    }
+
+    @Override
+    public Object apply(final List<Object> parameters,
+                        final SpreadsheetExpressionEvaluationContext context) {
+        this.checkParameterCount(parameters);
+
+        final SpreadsheetExpressionFunctionSpreadsheetMetadataCache cache = this.cache;
+        final Optional<String> statistic = STATISTIC.get(parameters, 0);
+
+        final Object value;
+        if (null == cache) {
+            value = null;
+        } else if (statistic.isPresent()) {
+            final String name = statistic.get();
+            final long number;
+
+            switch (name.toLowerCase()) {
+                case "hits":
+                    number = cache.hits();
+                    break;
+                case "misses":
+                    number = cache.misses();
+                    break;
+                case "evictions":
+                    number = cache.evictions();
+                    break;
+                case "size":
+                    number = cache.size();
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown statistic " + CharSequences.quoteAndEscape(name));
+            }
+
+            value = context.expressionNumberKind()
+                .create(number);
+        } else {
+            value = cache.toString();
+        }
+
+        return value;
+    }
+
+    @Override
+    int purity() {
+        return PURITY_VOLATILE;
+    }
+}
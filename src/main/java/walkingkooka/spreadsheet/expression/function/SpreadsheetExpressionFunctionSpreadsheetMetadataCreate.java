@@ -80,4 +80,9 @@ final class SpreadsheetExpressionFunctionSpreadsheetMetadataCreate extends Sprea
             locale
         );
     }
+
+    @Override
+    int purity() {
+        return PURITY_WRITE;
+    }
 }
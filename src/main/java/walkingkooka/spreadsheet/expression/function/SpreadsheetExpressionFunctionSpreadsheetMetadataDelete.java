@@ -32,17 +32,29 @@ import java.util.Objects;
 final class SpreadsheetExpressionFunctionSpreadsheetMetadataDelete extends SpreadsheetExpressionFunctionSpreadsheetMetadata<Void> {
 
     /**
-     * Singleton
+     * Singleton that uses the context directly without any cache.
      */
-    final static SpreadsheetExpressionFunctionSpreadsheetMetadataDelete INSTANCE = new SpreadsheetExpressionFunctionSpreadsheetMetadataDelete();
+    final static SpreadsheetExpressionFunctionSpreadsheetMetadataDelete INSTANCE = new SpreadsheetExpressionFunctionSpreadsheetMetadataDelete(null);
 
     /**
-     * Private constructor use singleton
+     * Returns a function using the given cache.
      */
-    private SpreadsheetExpressionFunctionSpreadsheetMetadataDelete() {
+    static SpreadsheetExpressionFunctionSpreadsheetMetadataDelete with(final SpreadsheetExpressionFunctionSpreadsheetMetadataCache cache) {
+        return new SpreadsheetExpressionFunctionSpreadsheetMetadataDelete(
+            Objects.requireNonNull(cache, "cache")
+        );
+    }
+
+    private SpreadsheetExpressionFunctionSpreadsheetMetadataDelete(final SpreadsheetExpressionFunctionSpreadsheetMetadataCache cache) {
         super("deleteSpreadsheetMetadata");
+        this.cache = cache;
     }
 
+    /**
+     * The cache shared with the other metadata functions created with it, or null.
+     */
+    private final SpreadsheetExpressionFunctionSpreadsheetMetadataCache cache;
+
     @Override
     public List<ExpressionFunctionParameter<?>> parameters(final int i) {
         return PARAMETERS;
@@ -68,10 +80,21 @@ final class SpreadsheetExpressionFunctionSpreadsheetMetadataDelete extends Sprea
             0
         );
 
-        context.deleteMetadata(
-            spreadsheetId
-        );
+        final SpreadsheetExpressionFunctionSpreadsheetMetadataCache cache = this.cache;
+        if (null != cache) {
+            cache.delete(
+                spreadsheetId,
+                context
+            );
+        } else {
+            context.deleteMetadata(spreadsheetId);
+        }
 
         return null;
     }
+
+    @Override
+    int purity() {
+        return PURITY_WRITE;
+    }
 }
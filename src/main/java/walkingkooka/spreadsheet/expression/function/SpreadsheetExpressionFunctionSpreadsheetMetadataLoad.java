@@ -32,17 +32,29 @@ import java.util.Objects;
 final class SpreadsheetExpressionFunctionSpreadsheetMetadataLoad extends SpreadsheetExpressionFunctionSpreadsheetMetadata<SpreadsheetMetadata> {
 
     /**
-     * Singleton
+     * Singleton that uses the context directly without any cache.
      */
-    final static SpreadsheetExpressionFunctionSpreadsheetMetadataLoad INSTANCE = new SpreadsheetExpressionFunctionSpreadsheetMetadataLoad();
+    final static SpreadsheetExpressionFunctionSpreadsheetMetadataLoad INSTANCE = new SpreadsheetExpressionFunctionSpreadsheetMetadataLoad(null);
 
     /**
-     * Private constructor use singleton
+     * Returns a function using the given cache.
      */
-    private SpreadsheetExpressionFunctionSpreadsheetMetadataLoad() {
+    static SpreadsheetExpressionFunctionSpreadsheetMetadataLoad with(final SpreadsheetExpressionFunctionSpreadsheetMetadataCache cache) {
+        return new SpreadsheetExpressionFunctionSpreadsheetMetadataLoad(
+            Objects.requireNonNull(cache, "cache")
+        );
+    }
+
+    private SpreadsheetExpressionFunctionSpreadsheetMetadataLoad(final SpreadsheetExpressionFunctionSpreadsheetMetadataCache cache) {
         super("loadSpreadsheetMetadata");
+        this.cache = cache;
     }
 
+    /**
+     * The cache shared with the other metadata functions created with it, or null.
+     */
+    private final SpreadsheetExpressionFunctionSpreadsheetMetadataCache cache;
+
     @Override
     public List<ExpressionFunctionParameter<?>> parameters(final int i) {
         return PARAMETERS;
@@ -68,8 +80,20 @@ final class SpreadsheetExpressionFunctionSpreadsheetMetadataLoad extends Spreads
             0
         );
 
-        return context.loadMetadata(
-            spreadsheetId
+        final SpreadsheetExpressionFunctionSpreadsheetMetadataCache cache = this.cache;
+
+        return (
+            null != cache ?
+                cache.load(
+                    spreadsheetId,
+                    context
+                ) :
+                context.loadMetadata(spreadsheetId)
         ).orElse(null);
     }
+
+    @Override
+    int purity() {
+        return PURITY_READ;
+    }
 }
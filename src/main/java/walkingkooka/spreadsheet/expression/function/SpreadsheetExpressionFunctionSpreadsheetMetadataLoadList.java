@@ -0,0 +1,155 @@
+/*
+ * Copyright 2022 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.expression.function;
+
+import walkingkooka.Cast;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.set.Sets;
+import walkingkooka.spreadsheet.expression.SpreadsheetExpressionEvaluationContext;
+import walkingkooka.spreadsheet.meta.SpreadsheetId;
+import walkingkooka.spreadsheet.meta.SpreadsheetMetadata;
+import walkingkooka.tree.expression.function.ExpressionFunctionParameter;
+import walkingkooka.tree.expression.function.ExpressionFunctionParameterKind;
+import walkingkooka.tree.expression.function.ExpressionFunctionParameterName;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A function that loads the {@link SpreadsheetMetadata} for many {@link SpreadsheetId}, returning a {@link List} in
+ * the same order with nulls for ids that were not found. Ids may be given as separate parameters or lists, each
+ * distinct id is loaded once, through the {@link SpreadsheetExpressionFunctionSpreadsheetMetadataCache} when it has one.
+ */
+final class SpreadsheetExpressionFunctionSpreadsheetMetadataLoadList extends SpreadsheetExpressionFunctionSpreadsheetMetadata<List<SpreadsheetMetadata>> {
+
+    /**
+     * Singleton that uses the context directly without any cache.
+     */
+    final static SpreadsheetExpressionFunctionSpreadsheetMetadataLoadList INSTANCE = new SpreadsheetExpressionFunctionSpreadsheetMetadataLoadList(null);
+
+    /**
+     * Returns a function using the given cache.
+     */
+    static SpreadsheetExpressionFunctionSpreadsheetMetadataLoadList with(final SpreadsheetExpressionFunctionSpreadsheetMetadataCache cache) {
+        return new SpreadsheetExpressionFunctionSpreadsheetMetadataLoadList(
+            Objects.requireNonNull(cache, "cache")
+        );
+    }
+
+    private SpreadsheetExpressionFunctionSpreadsheetMetadataLoadList(final SpreadsheetExpressionFunctionSpreadsheetMetadataCache cache) {
+        super("loadSpreadsheetMetadatas");
+        this.cache = cache;
+    }
+
+    /**
+     * The cache shared with the other metadata functions created with it, or null.
+     */
+    private final SpreadsheetExpressionFunctionSpreadsheetMetadataCache cache;
+
+    @Override
+    public List<ExpressionFunctionParameter<?>> parameters(final int i) {
+        return PARAMETERS;
+    }
+
+    private final static ExpressionFunctionParameter<Object> SPREADSHEET_IDS = ExpressionFunctionParameterName.with("spreadsheetId")
+        .variable(Object.class)
+        .setKinds(
+            Sets.of(ExpressionFunctionParameterKind.EVALUATE_RESOLVE_REFERENCES)
+        );
+
+    private final static List<ExpressionFunctionParameter<?>> PARAMETERS = Lists.of(
+        SPREADSHEET_IDS
+    );
+
+    @Override
+    public Class<List<SpreadsheetMetadata>> returnType() {
+        return Cast.to(List.class);
+    }
+
+    @Override
+    public List<SpreadsheetMetadata> apply(final List<Object> parameters,
+                                           final SpreadsheetExpressionEvaluationContext context) {
+        Objects.requireNonNull(parameters, "parameters");
+        Objects.requireNonNull(context, "context");
+
+        final List<SpreadsheetId> ids = Lists.array();
+        for (final Object parameter : parameters) {
+            addIds(
+                parameter,
+                ids,
+                context
+            );
+        }
+
+        final SpreadsheetExpressionFunctionSpreadsheetMetadataCache cache = this.cache;
+        final Map<SpreadsheetId, SpreadsheetMetadata> idToMetadata = new HashMap<>();
+        final List<SpreadsheetMetadata> loaded = Lists.array();
+
+        for (final SpreadsheetId id : ids) {
+            SpreadsheetMetadata metadata = idToMetadata.get(id);
+            if (null == metadata && false == idToMetadata.containsKey(id)) {
+                metadata = (
+                    null != cache ?
+                        cache.load(
+                            id,
+                            context
+                        ) :
+                        context.loadMetadata(id)
+                ).orElse(null);
+                idToMetadata.put(
+                    id,
+                    metadata
+                );
+            }
+            loaded.add(metadata);
+        }
+
+        return loaded;
+    }
+
+    private static void addIds(final Object value,
+                               final List<SpreadsheetId> ids,
+                               final SpreadsheetExpressionEvaluationContext context) {
+        if (value instanceof Collection) {
+            for (final Object element : (Collection<?>) value) {
+                addIds(
+                    element,
+                    ids,
+                    context
+                );
+            }
+        } else {
+            ids.add(
+                value instanceof SpreadsheetId ?
+                    (SpreadsheetId) value :
+                    context.convertOrFail(
+                        value,
+                        SpreadsheetId.class
+                    )
+            );
+        }
+    }
+
+    @Override
+    int purity() {
+        return PURITY_READ;
+    }
+}
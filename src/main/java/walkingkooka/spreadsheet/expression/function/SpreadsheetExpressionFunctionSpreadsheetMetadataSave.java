@@ -33,17 +33,29 @@ import java.util.Objects;
 final class SpreadsheetExpressionFunctionSpreadsheetMetadataSave extends SpreadsheetExpressionFunctionSpreadsheetMetadata<SpreadsheetMetadata> {
 
     /**
-     * Singleton
+     * Singleton that uses the context directly without any cache.
      */
-    final static SpreadsheetExpressionFunctionSpreadsheetMetadataSave INSTANCE = new SpreadsheetExpressionFunctionSpreadsheetMetadataSave();
+    final static SpreadsheetExpressionFunctionSpreadsheetMetadataSave INSTANCE = new SpreadsheetExpressionFunctionSpreadsheetMetadataSave(null);
 
     /**
-     * Private constructor use singleton
+     * Returns a function using the given cache.
      */
-    private SpreadsheetExpressionFunctionSpreadsheetMetadataSave() {
+    static SpreadsheetExpressionFunctionSpreadsheetMetadataSave with(final SpreadsheetExpressionFunctionSpreadsheetMetadataCache cache) {
+        return new SpreadsheetExpressionFunctionSpreadsheetMetadataSave(
+            Objects.requireNonNull(cache, "cache")
+        );
+    }
+
+    private SpreadsheetExpressionFunctionSpreadsheetMetadataSave(final SpreadsheetExpressionFunctionSpreadsheetMetadataCache cache) {
         super("saveSpreadsheetMetadata");
+        this.cache = cache;
     }
 
+    /**
+     * The cache shared with the other metadata functions created with it, or null.
+     */
+    private final SpreadsheetExpressionFunctionSpreadsheetMetadataCache cache;
+
     @Override
     public List<ExpressionFunctionParameter<?>> parameters(final int i) {
         return PARAMETERS;
@@ -73,8 +85,18 @@ final class SpreadsheetExpressionFunctionSpreadsheetMetadataSave extends Spreads
             0
         );
 
-        return context.saveMetadata(
-            spreadsheetMetadata
-        );
+        final SpreadsheetExpressionFunctionSpreadsheetMetadataCache cache = this.cache;
+
+        return null != cache ?
+            cache.save(
+                spreadsheetMetadata,
+                context
+            ) :
+            context.saveMetadata(spreadsheetMetadata);
+    }
+
+    @Override
+    int purity() {
+        return PURITY_WRITE;
     }
 }
@@ -113,4 +113,9 @@ abstract class SpreadsheetExpressionFunctionSpreadsheetMetadataValue<T> extends
                                             final int parameterIndexOffset,
                                             final List<Object> parameters,
                                             final SpreadsheetExpressionEvaluationContext context);
+
+    @Override
+    int purity() {
+        return PURITY_READ;
+    }
 }
@@ -67,12 +67,13 @@ final class SpreadsheetExpressionFunctionSpreadsheetMetadataValueSet extends Spr
             parameterIndexOffset + 0
         );
 
-        final Object value = context.convertOrFail(
+        final Object value = convertValue(
             VALUE.getOrFail(
                 parameters,
                 parameterIndexOffset + 1
             ),
-            propertyName.type()
+            propertyName,
+            context
         );
 
         return spreadsheetMetadata.set(
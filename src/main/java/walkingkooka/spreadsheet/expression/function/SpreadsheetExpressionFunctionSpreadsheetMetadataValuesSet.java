@@ -0,0 +1,139 @@
+/*
+ * Copyright 2022 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.expression.function;
+
+import walkingkooka.Cast;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.set.Sets;
+import walkingkooka.spreadsheet.expression.SpreadsheetExpressionEvaluationContext;
+import walkingkooka.spreadsheet.meta.SpreadsheetMetadata;
+import walkingkooka.spreadsheet.meta.SpreadsheetMetadataPropertyName;
+import walkingkooka.tree.expression.function.ExpressionFunctionParameter;
+import walkingkooka.tree.expression.function.ExpressionFunctionParameterKind;
+import walkingkooka.tree.expression.function.ExpressionFunctionParameterName;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A function that returns the {@link SpreadsheetMetadata} after setting many {@link SpreadsheetMetadataPropertyName}
+ * and value pairs. If the {@link SpreadsheetMetadata} is missing, indicated by an even number of parameters, the
+ * current is used.
+ * <br>
+ * All names and values are converted before any are set, so a conversion failure produces no copies, and a name
+ * repeated in the pairs is only set once with its last value.
+ * <pre>
+ * setSpreadsheetMetadataValues(metadata, "locale", "en-AU", "precision", 10)
+ * setSpreadsheetMetadataValues("locale", "en-AU")
+ * </pre>
+ */
+final class SpreadsheetExpressionFunctionSpreadsheetMetadataValuesSet extends SpreadsheetExpressionFunctionSpreadsheetMetadata<SpreadsheetMetadata> {
+
+    /**
+     * Singleton
+     */
+    final static SpreadsheetExpressionFunctionSpreadsheetMetadataValuesSet INSTANCE = new SpreadsheetExpressionFunctionSpreadsheetMetadataValuesSet();
+
+    /**
+     * Private constructor use singleton
+     */
+    private SpreadsheetExpressionFunctionSpreadsheetMetadataValuesSet() {
+        super("setSpreadsheetMetadataValues");
+    }
+
+    @Override
+    public List<ExpressionFunctionParameter<?>> parameters(final int i) {
+        return PARAMETERS;
+    }
+
+    private final static ExpressionFunctionParameter<Object> VALUES = ExpressionFunctionParameterName.with("values")
+        .variable(Object.class)
+        .setKinds(
+            Sets.of(ExpressionFunctionParameterKind.EVALUATE)
+        );
+
+    private final static List<ExpressionFunctionParameter<?>> PARAMETERS = Lists.of(
+        VALUES
+    );
+
+    @Override
+    public Class<SpreadsheetMetadata> returnType() {
+        return SpreadsheetMetadata.class;
+    }
+
+    @Override
+    public SpreadsheetMetadata apply(final List<Object> parameters,
+                                     final SpreadsheetExpressionEvaluationContext context) {
+        Objects.requireNonNull(parameters, "parameters");
+        Objects.requireNonNull(context, "context");
+
+        final int count = parameters.size();
+        final boolean missingSpreadsheetMetadata = 0 == count % 2;
+
+        SpreadsheetMetadata spreadsheetMetadata = missingSpreadsheetMetadata ?
+            context.spreadsheetMetadata() :
+            spreadsheetMetadata(
+                parameters.get(0),
+                context
+            );
+
+        final Map<SpreadsheetMetadataPropertyName<?>, Object> propertyNameToValue = new LinkedHashMap<>();
+
+        for (int i = missingSpreadsheetMetadata ? 0 : 1; i < count; i = i + 2) {
+            final SpreadsheetMetadataPropertyName<?> propertyName = propertyName(
+                parameters.get(i),
+                context
+            );
+
+            propertyNameToValue.put(
+                propertyName,
+                convertValue(
+                    parameters.get(i + 1),
+                    propertyName,
+                    context
+                )
+            );
+        }
+
+        for (final Map.Entry<SpreadsheetMetadataPropertyName<?>, Object> propertyNameAndValue : propertyNameToValue.entrySet()) {
+            spreadsheetMetadata = spreadsheetMetadata.set(
+                propertyNameAndValue.getKey(),
+                Cast.to(propertyNameAndValue.getValue())
+            );
+        }
+
+        return spreadsheetMetadata;
+    }
+
+    private static SpreadsheetMetadata spreadsheetMetadata(final Object value,
+                                                           final SpreadsheetExpressionEvaluationContext context) {
+        return value instanceof SpreadsheetMetadata ?
+            (SpreadsheetMetadata) value :
+            context.convertOrFail(
+                value,
+                SpreadsheetMetadata.class
+            );
+    }
+
+    @Override
+    int purity() {
+        return PURITY_READ;
+    }
+}
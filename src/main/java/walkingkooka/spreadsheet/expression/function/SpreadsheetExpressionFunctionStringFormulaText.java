@@ -55,4 +55,9 @@ final class SpreadsheetExpressionFunctionStringFormulaText extends SpreadsheetEx
     final static List<ExpressionFunctionParameter<?>> PARAMETERS = ExpressionFunctionParameter.list(
         REFERENCE
     );
+
+    @Override
+    int purity() {
+        return PURITY_READ;
+    }
 }
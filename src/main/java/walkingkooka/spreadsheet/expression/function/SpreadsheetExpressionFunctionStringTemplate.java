@@ -172,4 +172,9 @@ final class SpreadsheetExpressionFunctionStringTemplate extends SpreadsheetExpre
             LineEnding.NL // TODO parameterise, maybe store in SpreadsheetMetadata.DEFAULT_LINE_ENDING
         );
     }
+
+    @Override
+    int purity() {
+        return PURITY_CELL;
+    }
 }
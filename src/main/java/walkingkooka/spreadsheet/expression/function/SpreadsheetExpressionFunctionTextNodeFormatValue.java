@@ -90,4 +90,9 @@ final class SpreadsheetExpressionFunctionTextNodeFormatValue extends Spreadsheet
             formatterContext
         ).orElse(null);
     }
+
+    @Override
+    int purity() {
+        return PURITY_CELL;
+    }
 }
@@ -76,4 +76,9 @@ final class SpreadsheetExpressionFunctionValidationError extends SpreadsheetExpr
                 .reference()
         );
     }
+
+    @Override
+    int purity() {
+        return PURITY_CELL;
+    }
 }
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2022 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.expression.function;
+
+import walkingkooka.spreadsheet.reference.SpreadsheetCellRangeReference;
+import walkingkooka.spreadsheet.reference.SpreadsheetCellReference;
+import walkingkooka.spreadsheet.value.HasSpreadsheetErrorKind;
+import walkingkooka.spreadsheet.value.SpreadsheetError;
+import walkingkooka.tree.expression.ExpressionNumber;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.Temporal;
+import java.util.Collection;
+
+/**
+ * Classifies values into a small set of tags with a single chain of instanceof tests, shared by the counting, type and
+ * error functions.
+ */
+final class SpreadsheetExpressionFunctionValueTag {
+
+    final static int NULL = 0;
+
+    final static int NUMBER = 1;
+
+    final static int DATE = 2;
+
+    final static int DATE_TIME = 3;
+
+    final static int TIME = 4;
+
+    /**
+     * Any other {@link Temporal}.
+     */
+    final static int TEMPORAL = 5;
+
+    final static int BOOLEAN = 6;
+
+    /**
+     * Any {@link HasSpreadsheetErrorKind}.
+     */
+    final static int ERROR = 7;
+
+    final static int CELL = 8;
+
+    final static int CELL_RANGE = 9;
+
+    final static int COLLECTION = 10;
+
+    final static int OTHER = 11;
+
+    /**
+     * Returns the tag for the given value.
+     */
+    static int tag(final Object value) {
+        final int tag;
+
+        if (null == value) {
+            tag = NULL;
+        } else if (value instanceof ExpressionNumber) {
+            tag = NUMBER;
+        } else if (value instanceof LocalDate) {
+            tag = DATE;
+        } else if (value instanceof LocalDateTime) {
+            tag = DATE_TIME;
+        } else if (value instanceof LocalTime) {
+            tag = TIME;
+        } else if (value instanceof Temporal) {
+            tag = TEMPORAL;
+        } else if (value instanceof Boolean) {
+            tag = BOOLEAN;
+        } else if (value instanceof HasSpreadsheetErrorKind) {
+            tag = ERROR;
+        } else if (value instanceof SpreadsheetCellReference) {
+            tag = CELL;
+        } else if (value instanceof SpreadsheetCellRangeReference) {
+            tag = CELL_RANGE;
+        } else if (value instanceof Collection) {
+            tag = COLLECTION;
+        } else {
+            tag = OTHER;
+        }
+
+        return tag;
+    }
+
+    /**
+     * Returns true for values counted by count, numbers, dates, date times and times. This is the same as testing
+     * {@link #tag(Object)} for {@link #NUMBER} to {@link #TIME}, without walking the rest of the chain for other values.
+     */
+    static boolean isNumber(final Object value) {
+        return value instanceof ExpressionNumber ||
+            value instanceof LocalDate ||
+            value instanceof LocalDateTime ||
+            value instanceof LocalTime;
+    }
+
+    /**
+     * Returns true if the value is not null and not a missing cell {@link SpreadsheetError}. Text and other common
+     * values only need the null and {@link SpreadsheetError} tests and never call {@link #tag(Object)}.
+     */
+    static boolean isPresent(final Object value) {
+        return null != value &&
+            false == (value instanceof SpreadsheetError && ((SpreadsheetError) value).isMissingCell());
+    }
+
+    /**
+     * Stop creation
+     */
+    private SpreadsheetExpressionFunctionValueTag() {
+        throw new UnsupportedOperationException();
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2022 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.expression.function;
+
+import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.set.Sets;
+import walkingkooka.spreadsheet.expression.SpreadsheetExpressionEvaluationContext;
+import walkingkooka.storage.StorageValue;
+import walkingkooka.tree.expression.function.ExpressionFunctionParameter;
+import walkingkooka.tree.expression.function.ExpressionFunctionParameterKind;
+import walkingkooka.tree.expression.function.ExpressionFunctionParameterName;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * A function that writes lines as the text of a storage value, each line followed by a LF. Lines may be given as
+ * separate parameters or lists, such as those returned by {@link SpreadsheetExpressionFunctionObjectReadStorageLines},
+ * and are appended to a single buffer as they are read, so no intermediate joined copies are made.
+ * <pre>
+ * writeStorageLines("/reports/out.txt", readStorageLines("/reports/in.txt"), "Total")
+ * </pre>
+ */
+final class SpreadsheetExpressionFunctionWriteStorageLines extends SpreadsheetExpressionFunction<Void> {
+
+    /**
+     * Singleton
+     */
+    final static SpreadsheetExpressionFunctionWriteStorageLines INSTANCE = new SpreadsheetExpressionFunctionWriteStorageLines();
+
+    private SpreadsheetExpressionFunctionWriteStorageLines() {
+        super("writeStorageLines");
+    }
+
+    @Override
+    public List<ExpressionFunctionParameter<?>> parameters(final int count) {
+        return PARAMETERS;
+    }
+
+    private final static ExpressionFunctionParameter<Object> LINES = ExpressionFunctionParameterName.with("lines")
+        .variable(Object.class)
+        .setKinds(
+            Sets.of(ExpressionFunctionParameterKind.EVALUATE_RESOLVE_REFERENCES)
+        );
+
+    private final static List<ExpressionFunctionParameter<?>> PARAMETERS = Lists.of(
+        SpreadsheetExpressionFunctionObjectReadStorageLines.PATH,
+        LINES
+    );
+
+    @Override
+    public Class<Void> returnType() {
+        return Void.class;
+    }
+
+    @Override
+    public Void apply(final List<Object> parameters,
+                      final SpreadsheetExpressionEvaluationContext context) {
+        this.checkParameterCount(parameters);
+
+        final StringBuilder text = new StringBuilder();
+
+        final int count = parameters.size();
+        for (int i = 1; i < count; i++) {
+            append(
+                parameters.get(i),
+                text,
+                context
+            );
+        }
+
+        context.saveStorage(
+            StorageValue.with(
+                context.parseStoragePath(
+                    SpreadsheetExpressionFunctionObjectReadStorageLines.PATH.getOrFail(parameters, 0)
+                )
+            ).setValue(
+                Optional.of(
+                    text.toString()
+                )
+            )
+        );
+
+        return null;
+    }
+
+    private static void append(final Object value,
+                               final StringBuilder text,
+                               final SpreadsheetExpressionEvaluationContext context) {
+        if (value instanceof Collection) {
+            for (final Object element : (Collection<?>) value) {
+                append(
+                    element,
+                    text,
+                    context
+                );
+            }
+        } else {
+            if (value instanceof CharSequence) {
+                text.append((CharSequence) value);
+            } else if (null != value) {
+                text.append(
+                    SpreadsheetExpressionFunctionObjectReadStorageLines.text(
+                        value,
+                        context
+                    )
+                );
+            }
+            text.append('\n');
+        }
+    }
+
+    @Override
+    int purity() {
+        return PURITY_WRITE;
+    }
+}
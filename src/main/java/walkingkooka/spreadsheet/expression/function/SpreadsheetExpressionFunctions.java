@@ -19,6 +19,7 @@ package walkingkooka.spreadsheet.expression.function;
 
 import javaemul.internal.annotations.GwtIncompatible;
 import walkingkooka.Cast;
+import walkingkooka.collect.list.Lists;
 import walkingkooka.color.AlphaRgbColorComponent;
 import walkingkooka.color.BlueRgbColorComponent;
 import walkingkooka.color.Color;
@@ -63,6 +64,7 @@ import walkingkooka.text.Indentation;
 import walkingkooka.text.LineEnding;
 import walkingkooka.tree.expression.ExpressionFunctionName;
 import walkingkooka.tree.expression.ExpressionNumber;
+import walkingkooka.tree.expression.ExpressionPurityContext;
 import walkingkooka.tree.expression.function.ExpressionFunction;
 import walkingkooka.tree.expression.function.ExpressionFunctions;
 import walkingkooka.tree.expression.function.booleann.BooleanExpressionFunctions;
@@ -98,7 +100,9 @@ import java.time.ZoneOffset;
 import java.util.Currency;
 import java.util.List;
 import java.util.Locale;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.BiConsumer;
 
 /**
  * Collection of static factory methods for numerous {@link ExpressionFunction}.
@@ -237,6 +241,13 @@ public final class SpreadsheetExpressionFunctions implements PublicStaticHelper
         return SpreadsheetExpressionFunctionAddress.INSTANCE;
     }
 
+    /**
+     * {@see SpreadsheetExpressionFunctionObjectRangeList#ADDRESSES}
+     */
+    public static ExpressionFunction<Object, SpreadsheetExpressionEvaluationContext> addresses() {
+        return SpreadsheetExpressionFunctionObjectRangeList.ADDRESSES;
+    }
+
     /**
      * {@see BooleanExpressionFunctions#and}
      */
@@ -383,6 +394,13 @@ public final class SpreadsheetExpressionFunctions implements PublicStaticHelper
         return SpreadsheetExpressionFunctionObjectCell.INSTANCE;
     }
 
+    /**
+     * {@see SpreadsheetExpressionFunctionObjectCellRange}
+     */
+    public static ExpressionFunction<Object, SpreadsheetExpressionEvaluationContext> cellContents() {
+        return SpreadsheetExpressionFunctionObjectCellRange.CELL_CONTENTS;
+    }
+
     /**
      * {@see SpreadsheetExpressionFunctionCellCurrency}
      */
@@ -411,6 +429,13 @@ public final class SpreadsheetExpressionFunctions implements PublicStaticHelper
         return SpreadsheetExpressionFunctionCellFormattedValue.INSTANCE;
     }
 
+    /**
+     * {@see SpreadsheetExpressionFunctionObjectCellRange#CELL_FORMATTED_VALUES}
+     */
+    public static ExpressionFunction<Object, SpreadsheetExpressionEvaluationContext> cellFormattedValues() {
+        return SpreadsheetExpressionFunctionObjectCellRange.CELL_FORMATTED_VALUES;
+    }
+
     /**
      * {@see SpreadsheetExpressionFunctionCellFormatter}
      */
@@ -418,6 +443,20 @@ public final class SpreadsheetExpressionFunctions implements PublicStaticHelper
         return SpreadsheetExpressionFunctionCellFormatter.INSTANCE;
     }
 
+    /**
+     * {@see SpreadsheetExpressionFunctionObjectCellRange#CELL_FORMATTERS}
+     */
+    public static ExpressionFunction<Object, SpreadsheetExpressionEvaluationContext> cellFormatters() {
+        return SpreadsheetExpressionFunctionObjectCellRange.CELL_FORMATTERS;
+    }
+
+    /**
+     * {@see SpreadsheetExpressionFunctionObjectCellRange#CELL_FORMULAS}
+     */
+    public static ExpressionFunction<Object, SpreadsheetExpressionEvaluationContext> cellFormulas() {
+        return SpreadsheetExpressionFunctionObjectCellRange.CELL_FORMULAS;
+    }
+
     /**
      * {@see SpreadsheetExpressionFunctionCellLocale}
      */
@@ -439,6 +478,13 @@ public final class SpreadsheetExpressionFunctions implements PublicStaticHelper
         return SpreadsheetExpressionFunctionCellParser.INSTANCE;
     }
 
+    /**
+     * {@see SpreadsheetExpressionFunctionObjectCellRange#CELL_PARSERS}
+     */
+    public static ExpressionFunction<Object, SpreadsheetExpressionEvaluationContext> cellParsers() {
+        return SpreadsheetExpressionFunctionObjectCellRange.CELL_PARSERS;
+    }
+
     /**
      * {@see SpreadsheetExpressionFunctionCellStyle}
      */
@@ -446,6 +492,13 @@ public final class SpreadsheetExpressionFunctions implements PublicStaticHelper
         return SpreadsheetExpressionFunctionCellStyle.INSTANCE;
     }
 
+    /**
+     * {@see SpreadsheetExpressionFunctionObjectCellRange#CELL_STYLES}
+     */
+    public static ExpressionFunction<Object, SpreadsheetExpressionEvaluationContext> cellStyles() {
+        return SpreadsheetExpressionFunctionObjectCellRange.CELL_STYLES;
+    }
+
     /**
      * {@see SpreadsheetExpressionFunctionObjectCellValidator}
      */
@@ -453,6 +506,13 @@ public final class SpreadsheetExpressionFunctions implements PublicStaticHelper
         return SpreadsheetExpressionFunctionCellValidator.INSTANCE;
     }
 
+    /**
+     * {@see SpreadsheetExpressionFunctionObjectCellRange#CELL_VALIDATORS}
+     */
+    public static ExpressionFunction<Object, SpreadsheetExpressionEvaluationContext> cellValidators() {
+        return SpreadsheetExpressionFunctionObjectCellRange.CELL_VALIDATORS;
+    }
+
     /**
      * {@see SpreadsheetExpressionFunctionObjectCellValue}
      */
@@ -460,6 +520,13 @@ public final class SpreadsheetExpressionFunctions implements PublicStaticHelper
         return SpreadsheetExpressionFunctionCellValue.INSTANCE;
     }
 
+    /**
+     * {@see SpreadsheetExpressionFunctionObjectCellRange#CELL_VALUES}
+     */
+    public static ExpressionFunction<Object, SpreadsheetExpressionEvaluationContext> cellValues() {
+        return SpreadsheetExpressionFunctionObjectCellRange.CELL_VALUES;
+    }
+
     /**
      * {@see SpreadsheetExpressionFunctionObjectCellValueType}
      */
@@ -467,6 +534,13 @@ public final class SpreadsheetExpressionFunctions implements PublicStaticHelper
         return SpreadsheetExpressionFunctionCellValueType.INSTANCE;
     }
 
+    /**
+     * {@see SpreadsheetExpressionFunctionObjectCellRange#CELL_VALUE_TYPES}
+     */
+    public static ExpressionFunction<Object, SpreadsheetExpressionEvaluationContext> cellValueTypes() {
+        return SpreadsheetExpressionFunctionObjectCellRange.CELL_VALUE_TYPES;
+    }
+
     /**
      * {@see StringExpressionFunctions#ascii}
      */
@@ -521,6 +595,13 @@ public final class SpreadsheetExpressionFunctions implements PublicStaticHelper
         return SpreadsheetExpressionFunctionNumberColumnOrRow.COLUMN;
     }
 
+    /**
+     * {@see SpreadsheetExpressionFunctionObjectRangeList#COLUMN_NUMBERS}
+     */
+    public static ExpressionFunction<Object, SpreadsheetExpressionEvaluationContext> columnNumbers() {
+        return SpreadsheetExpressionFunctionObjectRangeList.COLUMN_NUMBERS;
+    }
+
     /**
      * {@see SpreadsheetExpressionFunctionNumberColumnsOrRows#COLUMNS}
      */
@@ -571,28 +652,28 @@ public final class SpreadsheetExpressionFunctions implements PublicStaticHelper
 
     private static boolean filterNumbers(final Object value,
                                          final SpreadsheetExpressionEvaluationContext context) {
-        return value instanceof ExpressionNumber |
-            value instanceof LocalDate |
-            value instanceof LocalDateTime |
-            value instanceof LocalTime;
+        return SpreadsheetExpressionFunctionValueTag.isNumber(value);
     }
 
     /**
-     * Counts the values present in the parameter values, skipping missing or null values.
+     * {@see SpreadsheetExpressionFunctionNumberCountAOrBlank#COUNT_A}
      */
     public static ExpressionFunction<ExpressionNumber, SpreadsheetExpressionEvaluationContext> countA() {
-        return COUNTA;
+        return SpreadsheetExpressionFunctionNumberCountAOrBlank.COUNT_A;
     }
 
-    private final static ExpressionFunction<ExpressionNumber, SpreadsheetExpressionEvaluationContext> COUNTA = StatExpressionFunctions.<SpreadsheetExpressionEvaluationContext>count()
-        .filterParameterValues(SpreadsheetExpressionFunctions::filterNonNullAndNotMissingCell)
-        .setName(functionName("countA"));
-
     /**
-     * Counts the missing values or cells or null values
+     * {@see SpreadsheetExpressionFunctionNumberCountAOrBlank#COUNT_BLANK}
      */
     public static ExpressionFunction<ExpressionNumber, SpreadsheetExpressionEvaluationContext> countBlank() {
-        return SpreadsheetExpressionFunctionNumberCountBlank.INSTANCE;
+        return SpreadsheetExpressionFunctionNumberCountAOrBlank.COUNT_BLANK;
+    }
+
+    /**
+     * {@see SpreadsheetExpressionFunctionNumberCountErrors}
+     */
+    public static ExpressionFunction<ExpressionNumber, SpreadsheetExpressionEvaluationContext> countErrors() {
+        return SpreadsheetExpressionFunctionNumberCountErrors.INSTANCE;
     }
 
     /**
@@ -719,8 +800,11 @@ public final class SpreadsheetExpressionFunctions implements PublicStaticHelper
      * {@see StorageExpressionFunctions#storageDelete}
      */
     public static ExpressionFunction<Void, SpreadsheetExpressionEvaluationContext> deleteStorage() {
-        return fixName(
-            StorageExpressionFunctions.deleteStorage()
+        return setPurity(
+            fixName(
+                StorageExpressionFunctions.deleteStorage()
+            ),
+            PURITY_WRITE
         );
     }
 
@@ -767,6 +851,13 @@ public final class SpreadsheetExpressionFunctions implements PublicStaticHelper
         );
     }
 
+    /**
+     * {@see SpreadsheetExpressionFunctionObjectCellRange}
+     */
+    public static ExpressionFunction<Object, SpreadsheetExpressionEvaluationContext> errorTypes() {
+        return SpreadsheetExpressionFunctionObjectCellRange.ERROR_TYPES;
+    }
+
     /**
      * {@see ExpressionFunctions#eval()}
      */
@@ -799,8 +890,11 @@ public final class SpreadsheetExpressionFunctions implements PublicStaticHelper
      * {@see TerminalExpressionFunctions#exit}
      */
     public static ExpressionFunction<Void, SpreadsheetExpressionEvaluationContext> exit() {
-        return fixName(
-            TerminalExpressionFunctions.exit()
+        return setPurity(
+            fixName(
+                TerminalExpressionFunctions.exit()
+            ),
+            PURITY_WRITE
         );
     }
 
@@ -831,10 +925,13 @@ public final class SpreadsheetExpressionFunctions implements PublicStaticHelper
     }
 
     @GwtIncompatible
-    private final static ExpressionFunction<Storage<SpreadsheetExpressionEvaluationContext>, SpreadsheetExpressionEvaluationContext> FILE_STORAGE = StorageExpressionFunctions.<SpreadsheetExpressionEvaluationContext>fileStorage()
-        .setName(
-            functionName("fileStorage")
-        );
+    private final static ExpressionFunction<Storage<SpreadsheetExpressionEvaluationContext>, SpreadsheetExpressionEvaluationContext> FILE_STORAGE = setPurity(
+        StorageExpressionFunctions.<SpreadsheetExpressionEvaluationContext>fileStorage()
+            .setName(
+                functionName("fileStorage")
+            ),
+        PURITY_VOLATILE
+    );
 
     /**
      * {@see SpreadsheetExpressionFunctionObjectFind}
@@ -843,6 +940,13 @@ public final class SpreadsheetExpressionFunctions implements PublicStaticHelper
         return SpreadsheetExpressionFunctionObjectFind.INSTANCE;
     }
 
+    /**
+     * {@see SpreadsheetExpressionFunctionObjectFirstError}
+     */
+    public static ExpressionFunction<Object, SpreadsheetExpressionEvaluationContext> firstError() {
+        return SpreadsheetExpressionFunctionObjectFirstError.INSTANCE;
+    }
+
     /**
      * {@see NumberExpressionFunctions#fixed()}
      */
@@ -884,6 +988,13 @@ public final class SpreadsheetExpressionFunctions implements PublicStaticHelper
         return SpreadsheetExpressionFunctionTextNodeFormatValue.INSTANCE;
     }
 
+    /**
+     * {@see SpreadsheetExpressionFunctionObjectCellRange}
+     */
+    public static ExpressionFunction<Object, SpreadsheetExpressionEvaluationContext> formulaTexts() {
+        return SpreadsheetExpressionFunctionObjectCellRange.FORMULA_TEXTS;
+    }
+
     /**
      * {@see ColorExpressionFunctions#getAlpha}
      */
@@ -906,8 +1017,11 @@ public final class SpreadsheetExpressionFunctions implements PublicStaticHelper
      * {@see EnvironmentExpressionFunctions#getCharset}
      */
     public static ExpressionFunction<Charset, SpreadsheetExpressionEvaluationContext> getCharset() {
-        return fixName(
-            EnvironmentExpressionFunctions.getCharset()
+        return setPurity(
+            fixName(
+                EnvironmentExpressionFunctions.getCharset()
+            ),
+            PURITY_READ
         );
     }
     
@@ -915,8 +1029,11 @@ public final class SpreadsheetExpressionFunctions implements PublicStaticHelper
      * {@see EnvironmentExpressionFunctions#getCurrency}
      */
     public static ExpressionFunction<Currency, SpreadsheetExpressionEvaluationContext> getCurrency() {
-        return fixName(
-            EnvironmentExpressionFunctions.getCurrency()
+        return setPurity(
+            fixName(
+                EnvironmentExpressionFunctions.getCurrency()
+            ),
+            PURITY_READ
         );
     }
 
@@ -924,8 +1041,11 @@ public final class SpreadsheetExpressionFunctions implements PublicStaticHelper
      * {@see StorageExpressionFunctions#getCurrentWorkingDirectory()}
      */
     public static ExpressionFunction<StoragePath, SpreadsheetExpressionEvaluationContext> getCurrentWorkingDirectory() {
-        return fixName(
-            StorageExpressionFunctions.getCurrentWorkingDirectory()
+        return setPurity(
+            fixName(
+                StorageExpressionFunctions.getCurrentWorkingDirectory()
+            ),
+            PURITY_READ
         );
     }
 
@@ -947,8 +1067,11 @@ public final class SpreadsheetExpressionFunctions implements PublicStaticHelper
      * {@see EnvironmentExpressionFunctions#getEnv}
      */
     public static ExpressionFunction<Object, SpreadsheetExpressionEvaluationContext> getEnv() {
-        return fixName(
-            EnvironmentExpressionFunctions.getEnv()
+        return setPurity(
+            fixName(
+                EnvironmentExpressionFunctions.getEnv()
+            ),
+            PURITY_READ
         );
     }
 
@@ -986,8 +1109,11 @@ public final class SpreadsheetExpressionFunctions implements PublicStaticHelper
      * {@see StorageExpressionFunctions#getHomeDirectory()}
      */
     public static ExpressionFunction<StoragePath, SpreadsheetExpressionEvaluationContext> getHomeDirectory() {
-        return fixName(
-            StorageExpressionFunctions.getHomeDirectory()
+        return setPurity(
+            fixName(
+                StorageExpressionFunctions.getHomeDirectory()
+            ),
+            PURITY_READ
         );
     }
     
@@ -1004,8 +1130,11 @@ public final class SpreadsheetExpressionFunctions implements PublicStaticHelper
      * {@see EnvironmentExpressionFunctions#getIndentation}
      */
     public static ExpressionFunction<Indentation, SpreadsheetExpressionEvaluationContext> getIndentation() {
-        return fixName(
-            EnvironmentExpressionFunctions.getIndentation()
+        return setPurity(
+            fixName(
+                EnvironmentExpressionFunctions.getIndentation()
+            ),
+            PURITY_READ
         );
     }
     
@@ -1013,8 +1142,11 @@ public final class SpreadsheetExpressionFunctions implements PublicStaticHelper
      * {@see EnvironmentExpressionFunctions#getLineEnding}
      */
     public static ExpressionFunction<LineEnding, SpreadsheetExpressionEvaluationContext> getLineEnding() {
-        return fixName(
-            EnvironmentExpressionFunctions.getLineEnding()
+        return setPurity(
+            fixName(
+                EnvironmentExpressionFunctions.getLineEnding()
+            ),
+            PURITY_READ
         );
     }
 
@@ -1022,8 +1154,11 @@ public final class SpreadsheetExpressionFunctions implements PublicStaticHelper
      * {@see EnvironmentExpressionFunctions#getLocale}
      */
     public static ExpressionFunction<Locale, SpreadsheetExpressionEvaluationContext> getLocale() {
-        return fixName(
-            EnvironmentExpressionFunctions.getLocale()
+        return setPurity(
+            fixName(
+                EnvironmentExpressionFunctions.getLocale()
+            ),
+            PURITY_READ
         );
     }
 
@@ -1072,8 +1207,11 @@ public final class SpreadsheetExpressionFunctions implements PublicStaticHelper
      * {@see EnvironmentExpressionFunctions#getTimeOffset}
      */
     public static ExpressionFunction<ZoneOffset, SpreadsheetExpressionEvaluationContext> getTimeOffset() {
-        return fixName(
-            EnvironmentExpressionFunctions.getTimeOffset()
+        return setPurity(
+            fixName(
+                EnvironmentExpressionFunctions.getTimeOffset()
+            ),
+            PURITY_READ
         );
     }
     
@@ -1081,8 +1219,11 @@ public final class SpreadsheetExpressionFunctions implements PublicStaticHelper
      * {@see EnvironmentExpressionFunctions#getUser}
      */
     public static ExpressionFunction<EmailAddress, SpreadsheetExpressionEvaluationContext> getUser() {
-        return fixName(
-            EnvironmentExpressionFunctions.getUser()
+        return setPurity(
+            fixName(
+                EnvironmentExpressionFunctions.getUser()
+            ),
+            PURITY_READ
         );
     }
 
@@ -1090,8 +1231,11 @@ public final class SpreadsheetExpressionFunctions implements PublicStaticHelper
      * {@link ValidatorExpressionFunctions#getValidator}
      */
     public static ExpressionFunction<ValidatorSelector, SpreadsheetExpressionEvaluationContext> getValidator() {
-        return fixName(
-            ValidatorExpressionFunctions.getValidator()
+        return setPurity(
+            fixName(
+                ValidatorExpressionFunctions.getValidator()
+            ),
+            PURITY_CELL
         );
     }
 
@@ -1181,6 +1325,13 @@ public final class SpreadsheetExpressionFunctions implements PublicStaticHelper
         return SpreadsheetExpressionFunctionIndirect.INSTANCE;
     }
 
+    /**
+     * {@see SpreadsheetExpressionFunctionIndirect}, reporting each resolved reference to the given listener.
+     */
+    public static ExpressionFunction<SpreadsheetCellReference, SpreadsheetExpressionEvaluationContext> indirect(final BiConsumer<SpreadsheetExpressionReference, SpreadsheetExpressionEvaluationContext> listener) {
+        return SpreadsheetExpressionFunctionIndirect.with(listener);
+    }
+
     /**
      * {@see NumberExpressionFunctions#intFunction}
      */
@@ -1206,6 +1357,13 @@ public final class SpreadsheetExpressionFunctions implements PublicStaticHelper
         return SpreadsheetExpressionFunctionBooleanIsBlank.INSTANCE;
     }
 
+    /**
+     * {@see SpreadsheetExpressionFunctionObjectCellRange}
+     */
+    public static ExpressionFunction<Object, SpreadsheetExpressionEvaluationContext> isBlanks() {
+        return SpreadsheetExpressionFunctionObjectCellRange.IS_BLANKS;
+    }
+
     /**
      * {@see DateTimeExpressionFunctions#isDate}
      */
@@ -1229,6 +1387,20 @@ public final class SpreadsheetExpressionFunctions implements PublicStaticHelper
         return SpreadsheetExpressionFunctionBooleanIsErrErrorNa.isError();
     }
 
+    /**
+     * {@see SpreadsheetExpressionFunctionObjectCellRange}
+     */
+    public static ExpressionFunction<Object, SpreadsheetExpressionEvaluationContext> isErrors() {
+        return SpreadsheetExpressionFunctionObjectCellRange.IS_ERRORS;
+    }
+
+    /**
+     * {@see SpreadsheetExpressionFunctionObjectCellRange}
+     */
+    public static ExpressionFunction<Object, SpreadsheetExpressionEvaluationContext> isErrs() {
+        return SpreadsheetExpressionFunctionObjectCellRange.IS_ERRS;
+    }
+
     /**
      * {@see NumberExpressionFunctions#isEven}
      */
@@ -1245,6 +1417,13 @@ public final class SpreadsheetExpressionFunctions implements PublicStaticHelper
         return SpreadsheetExpressionFunctionBooleanIsFormula.INSTANCE;
     }
 
+    /**
+     * {@see SpreadsheetExpressionFunctionObjectCellRange}
+     */
+    public static ExpressionFunction<Object, SpreadsheetExpressionEvaluationContext> isFormulas() {
+        return SpreadsheetExpressionFunctionObjectCellRange.IS_FORMULAS;
+    }
+
     /**
      * {@see BooleanExpressionFunctions#isBoolean}
      */
@@ -1262,6 +1441,13 @@ public final class SpreadsheetExpressionFunctions implements PublicStaticHelper
         return SpreadsheetExpressionFunctionBooleanIsErrErrorNa.isNa();
     }
 
+    /**
+     * {@see SpreadsheetExpressionFunctionObjectCellRange}
+     */
+    public static ExpressionFunction<Object, SpreadsheetExpressionEvaluationContext> isNas() {
+        return SpreadsheetExpressionFunctionObjectCellRange.IS_NAS;
+    }
+
     /**
      * {@see StringExpressionFunctions#isNonText}
      */
@@ -1398,11 +1584,21 @@ public final class SpreadsheetExpressionFunctions implements PublicStaticHelper
      * {@see StorageExpressionFunctions#storageList}
      */
     public static ExpressionFunction<StorageValueInfoList, SpreadsheetExpressionEvaluationContext> listStorage() {
-        return fixName(
-            StorageExpressionFunctions.listStorage()
+        return setPurity(
+            fixName(
+                StorageExpressionFunctions.listStorage()
+            ),
+            PURITY_READ
         );
     }
 
+    /**
+     * {@see SpreadsheetExpressionFunctionListStoragePage}
+     */
+    public static ExpressionFunction<StorageValueInfoList, SpreadsheetExpressionEvaluationContext> listStoragePage() {
+        return SpreadsheetExpressionFunctionListStoragePage.INSTANCE;
+    }
+
     /**
      * {@see NumberExpressionFunctions#ln}
      */
@@ -1419,6 +1615,13 @@ public final class SpreadsheetExpressionFunctions implements PublicStaticHelper
         return SpreadsheetExpressionFunctionSpreadsheetMetadataLoad.INSTANCE;
     }
 
+    /**
+     * {@see SpreadsheetExpressionFunctionSpreadsheetMetadataLoadList}
+     */
+    public static ExpressionFunction<List<SpreadsheetMetadata>, SpreadsheetExpressionEvaluationContext> loadSpreadsheetMetadatas() {
+        return SpreadsheetExpressionFunctionSpreadsheetMetadataLoadList.INSTANCE;
+    }
+
     /**
      * {@see ExpressionFunctions#locale}
      */
@@ -1499,10 +1702,13 @@ public final class SpreadsheetExpressionFunctions implements PublicStaticHelper
         return MEMORY_STORAGE;
     }
 
-    private final static ExpressionFunction<Storage<SpreadsheetExpressionEvaluationContext>, SpreadsheetExpressionEvaluationContext> MEMORY_STORAGE = StorageExpressionFunctions.<SpreadsheetExpressionEvaluationContext>treeMapStorage()
-        .setName(
-            functionName("memoryStorage")
-        );
+    private final static ExpressionFunction<Storage<SpreadsheetExpressionEvaluationContext>, SpreadsheetExpressionEvaluationContext> MEMORY_STORAGE = setPurity(
+        StorageExpressionFunctions.<SpreadsheetExpressionEvaluationContext>treeMapStorage()
+            .setName(
+                functionName("memoryStorage")
+            ),
+        PURITY_VOLATILE
+    );
 
     /**
      * {@see TreeTextExpressionFunctions#mergeStyle}
@@ -1581,10 +1787,13 @@ public final class SpreadsheetExpressionFunctions implements PublicStaticHelper
         return MOUNT;
     }
 
-    private final static ExpressionFunction<Void, SpreadsheetExpressionEvaluationContext> MOUNT = StorageExpressionFunctions.<SpreadsheetExpressionEvaluationContext>mountStorage()
-        .setName(
-            functionName("mount")
-        );
+    private final static ExpressionFunction<Void, SpreadsheetExpressionEvaluationContext> MOUNT = setPurity(
+        StorageExpressionFunctions.<SpreadsheetExpressionEvaluationContext>mountStorage()
+            .setName(
+                functionName("mount")
+            ),
+        PURITY_WRITE
+    );
 
     /**
      * {@see StorageExpressionFunctionMountPoints}
@@ -1593,10 +1802,13 @@ public final class SpreadsheetExpressionFunctions implements PublicStaticHelper
         return MOUNT_POINTS;
     }
 
-    private final static ExpressionFunction<List<StorageMountPoint<SpreadsheetExpressionEvaluationContext>>, SpreadsheetExpressionEvaluationContext> MOUNT_POINTS = StorageExpressionFunctions.<SpreadsheetExpressionEvaluationContext>mountPoints()
-        .setName(
-            functionName("mountPoints")
-        );
+    private final static ExpressionFunction<List<StorageMountPoint<SpreadsheetExpressionEvaluationContext>>, SpreadsheetExpressionEvaluationContext> MOUNT_POINTS = setPurity(
+        StorageExpressionFunctions.<SpreadsheetExpressionEvaluationContext>mountPoints()
+            .setName(
+                functionName("mountPoints")
+            ),
+        PURITY_READ
+    );
 
     /**
      * {@see SpreadsheetExpressionFunctionNextEmptyColumn#not}
@@ -1612,6 +1824,24 @@ public final class SpreadsheetExpressionFunctions implements PublicStaticHelper
         return SpreadsheetExpressionFunctionNextEmptyRow.INSTANCE;
     }
 
+    /**
+     * Returns nextEmptyColumn, nextEmptyRow, reserveEmptyColumns and reserveEmptyRows sharing new
+     * {@link SpreadsheetExpressionFunctionNextEmptyReservations}, so rows and columns reserved by one are skipped by the
+     * others. The functions returned by {@link #nextEmptyColumn()}, {@link #nextEmptyRow()},
+     * {@link #reserveEmptyColumns()} and {@link #reserveEmptyRows()} hold no reservations.
+     */
+    public static List<ExpressionFunction<?, SpreadsheetExpressionEvaluationContext>> nextEmptyReserving() {
+        final SpreadsheetExpressionFunctionNextEmptyReservations rows = SpreadsheetExpressionFunctionNextEmptyReservations.rows();
+        final SpreadsheetExpressionFunctionNextEmptyReservations columns = SpreadsheetExpressionFunctionNextEmptyReservations.columns();
+
+        return Lists.of(
+            SpreadsheetExpressionFunctionNextEmptyColumn.with(columns),
+            SpreadsheetExpressionFunctionNextEmptyRow.with(rows),
+            SpreadsheetExpressionFunctionReserveEmptyColumns.with(columns),
+            SpreadsheetExpressionFunctionReserveEmptyRows.with(rows)
+        );
+    }
+
     /**
      * {@see BooleanExpressionFunctions#not}
      */
@@ -1625,8 +1855,11 @@ public final class SpreadsheetExpressionFunctions implements PublicStaticHelper
      * {@see DateTimeExpressionFunctions#now}
      */
     public static ExpressionFunction<LocalDateTime, SpreadsheetExpressionEvaluationContext> now() {
-        return fixName(
-            DateTimeExpressionFunctions.now()
+        return setPurity(
+            fixName(
+                DateTimeExpressionFunctions.now()
+            ),
+            PURITY_VOLATILE
         );
     }
 
@@ -1689,6 +1922,13 @@ public final class SpreadsheetExpressionFunctions implements PublicStaticHelper
         return SpreadsheetExpressionFunctionOffset.INSTANCE;
     }
 
+    /**
+     * {@see SpreadsheetExpressionFunctionOffset}, reporting each computed reference to the given listener.
+     */
+    public static ExpressionFunction<SpreadsheetExpressionReference, SpreadsheetExpressionEvaluationContext> offset(final BiConsumer<SpreadsheetExpressionReference, SpreadsheetExpressionEvaluationContext> listener) {
+        return SpreadsheetExpressionFunctionOffset.with(listener);
+    }
+
     /**
      * {@see BooleanExpressionFunctions#or}
      */
@@ -1720,8 +1960,11 @@ public final class SpreadsheetExpressionFunctions implements PublicStaticHelper
      * {@see TerminalExpressionFunctions#print}
      */
     public static ExpressionFunction<Void, SpreadsheetExpressionEvaluationContext> print() {
-        return fixName(
-            TerminalExpressionFunctions.print()
+        return setPurity(
+            fixName(
+                TerminalExpressionFunctions.print()
+            ),
+            PURITY_WRITE
         );
     }
 
@@ -1729,8 +1972,11 @@ public final class SpreadsheetExpressionFunctions implements PublicStaticHelper
      * {@see TerminalExpressionFunctions#printEnv}
      */
     public static ExpressionFunction<Void, SpreadsheetExpressionEvaluationContext> printEnv() {
-        return fixName(
-            TerminalExpressionFunctions.printEnv()
+        return setPurity(
+            fixName(
+                TerminalExpressionFunctions.printEnv()
+            ),
+            PURITY_READ
         );
     }
 
@@ -1738,8 +1984,11 @@ public final class SpreadsheetExpressionFunctions implements PublicStaticHelper
      * {@see TerminalExpressionFunctions#println}
      */
     public static ExpressionFunction<Void, SpreadsheetExpressionEvaluationContext> println() {
-        return fixName(
-            TerminalExpressionFunctions.println()
+        return setPurity(
+            fixName(
+                TerminalExpressionFunctions.println()
+            ),
+            PURITY_WRITE
         );
     }
 
@@ -1786,8 +2035,11 @@ public final class SpreadsheetExpressionFunctions implements PublicStaticHelper
         return RAND;
     }
 
-    private final static ExpressionFunction<ExpressionNumber, SpreadsheetExpressionEvaluationContext> RAND = NumberExpressionFunctions.<SpreadsheetExpressionEvaluationContext>random()
-        .setName(functionName("rand"));
+    private final static ExpressionFunction<ExpressionNumber, SpreadsheetExpressionEvaluationContext> RAND = setPurity(
+        NumberExpressionFunctions.<SpreadsheetExpressionEvaluationContext>random()
+            .setName(functionName("rand")),
+        PURITY_VOLATILE
+    );
 
     /**
      * {@see NumberExpressionFunctions#randomBetween}
@@ -1796,15 +2048,21 @@ public final class SpreadsheetExpressionFunctions implements PublicStaticHelper
         return RANDBETWEEN;
     }
 
-    private final static ExpressionFunction<ExpressionNumber, SpreadsheetExpressionEvaluationContext> RANDBETWEEN = NumberExpressionFunctions.<SpreadsheetExpressionEvaluationContext>randomBetween()
-        .setName(functionName("randBetween"));
+    private final static ExpressionFunction<ExpressionNumber, SpreadsheetExpressionEvaluationContext> RANDBETWEEN = setPurity(
+        NumberExpressionFunctions.<SpreadsheetExpressionEvaluationContext>randomBetween()
+            .setName(functionName("randBetween")),
+        PURITY_VOLATILE
+    );
 
     /**
      * {@see TerminalExpressionFunctions#readLine}
      */
     public static ExpressionFunction<String, SpreadsheetExpressionEvaluationContext> readLine() {
-        return fixName(
-            TerminalExpressionFunctions.readLine()
+        return setPurity(
+            fixName(
+                TerminalExpressionFunctions.readLine()
+            ),
+            PURITY_VOLATILE
         );
     }
 
@@ -1812,17 +2070,30 @@ public final class SpreadsheetExpressionFunctions implements PublicStaticHelper
      * {@see StorageExpressionFunctions#storageRead}
      */
     public static ExpressionFunction<Object, SpreadsheetExpressionEvaluationContext> readStorage() {
-        return fixName(
-            StorageExpressionFunctions.readStorage()
+        return setPurity(
+            fixName(
+                StorageExpressionFunctions.readStorage()
+            ),
+            PURITY_READ
         );
     }
 
+    /**
+     * {@see SpreadsheetExpressionFunctionObjectReadStorageLines}
+     */
+    public static ExpressionFunction<Object, SpreadsheetExpressionEvaluationContext> readStorageLines() {
+        return SpreadsheetExpressionFunctionObjectReadStorageLines.INSTANCE;
+    }
+
     /**
      * {@see StorageExpressionFunctions#storageReadText}
      */
     public static ExpressionFunction<String, SpreadsheetExpressionEvaluationContext> readStorageText() {
-        return fixName(
-            StorageExpressionFunctions.readStorageText()
+        return setPurity(
+            fixName(
+                StorageExpressionFunctions.readStorageText()
+            ),
+            PURITY_READ
         );
     }
 
@@ -1830,8 +2101,11 @@ public final class SpreadsheetExpressionFunctions implements PublicStaticHelper
      * {@see EnvironmentExpressionFunctions#removeEnv}
      */
     public static ExpressionFunction<Object, SpreadsheetExpressionEvaluationContext> removeEnv() {
-        return fixName(
-            EnvironmentExpressionFunctions.removeEnv()
+        return setPurity(
+            fixName(
+                EnvironmentExpressionFunctions.removeEnv()
+            ),
+            PURITY_WRITE
         );
     }
 
@@ -1861,6 +2135,20 @@ public final class SpreadsheetExpressionFunctions implements PublicStaticHelper
     private final static ExpressionFunction<String, SpreadsheetExpressionEvaluationContext> REPT = StringExpressionFunctions.<SpreadsheetExpressionEvaluationContext>repeat()
         .setName(functionName("rept"));
 
+    /**
+     * {@see SpreadsheetExpressionFunctionReserveEmptyColumns}
+     */
+    public static ExpressionFunction<SpreadsheetColumnReference, SpreadsheetExpressionEvaluationContext> reserveEmptyColumns() {
+        return SpreadsheetExpressionFunctionReserveEmptyColumns.INSTANCE;
+    }
+
+    /**
+     * {@see SpreadsheetExpressionFunctionReserveEmptyRows}
+     */
+    public static ExpressionFunction<SpreadsheetRowReference, SpreadsheetExpressionEvaluationContext> reserveEmptyRows() {
+        return SpreadsheetExpressionFunctionReserveEmptyRows.INSTANCE;
+    }
+
     /**
      * {@see StringExpressionFunctions#right}
      */
@@ -1914,6 +2202,13 @@ public final class SpreadsheetExpressionFunctions implements PublicStaticHelper
         return SpreadsheetExpressionFunctionNumberColumnOrRow.ROW;
     }
 
+    /**
+     * {@see SpreadsheetExpressionFunctionObjectRangeList#ROW_NUMBERS}
+     */
+    public static ExpressionFunction<Object, SpreadsheetExpressionEvaluationContext> rowNumbers() {
+        return SpreadsheetExpressionFunctionObjectRangeList.ROW_NUMBERS;
+    }
+
     /**
      * {@see SpreadsheetExpressionFunctionNumberColumnsOrRows.ROWS}
      */
@@ -1932,8 +2227,11 @@ public final class SpreadsheetExpressionFunctions implements PublicStaticHelper
      * {@see StorageExpressionFunctions#script}
      */
     public static ExpressionFunction<Object, SpreadsheetExpressionEvaluationContext> script() {
-        return fixName(
-            StorageExpressionFunctions.script()
+        return setPurity(
+            fixName(
+                StorageExpressionFunctions.script()
+            ),
+            PURITY_WRITE
         );
     }
 
@@ -1978,8 +2276,11 @@ public final class SpreadsheetExpressionFunctions implements PublicStaticHelper
      * {@see EnvironmentExpressionFunctions#setCharset}
      */
     public static ExpressionFunction<Void, SpreadsheetExpressionEvaluationContext> setCharset() {
-        return fixName(
-            EnvironmentExpressionFunctions.setCharset()
+        return setPurity(
+            fixName(
+                EnvironmentExpressionFunctions.setCharset()
+            ),
+            PURITY_WRITE
         );
     }
 
@@ -1987,8 +2288,11 @@ public final class SpreadsheetExpressionFunctions implements PublicStaticHelper
      * {@see EnvironmentExpressionFunctions#setCurrency}
      */
     public static ExpressionFunction<Void, SpreadsheetExpressionEvaluationContext> setCurrency() {
-        return fixName(
-            EnvironmentExpressionFunctions.setCurrency()
+        return setPurity(
+            fixName(
+                EnvironmentExpressionFunctions.setCurrency()
+            ),
+            PURITY_WRITE
         );
     }
 
@@ -1996,8 +2300,11 @@ public final class SpreadsheetExpressionFunctions implements PublicStaticHelper
      * {@see EnvironmentExpressionFunctions#setCurrentWorkingDirectory}
      */
     public static ExpressionFunction<Void, SpreadsheetExpressionEvaluationContext> setCurrentWorkingDirectory() {
-        return fixName(
-            StorageExpressionFunctions.setCurrentWorkingDirectory()
+        return setPurity(
+            fixName(
+                StorageExpressionFunctions.setCurrentWorkingDirectory()
+            ),
+            PURITY_WRITE
         );
     }
     
@@ -2005,8 +2312,11 @@ public final class SpreadsheetExpressionFunctions implements PublicStaticHelper
      * {@see EnvironmentExpressionFunctions.setEnv()}
      */
     public static ExpressionFunction<Object, SpreadsheetExpressionEvaluationContext> setEnv() {
-        return fixName(
-            EnvironmentExpressionFunctions.setEnv()
+        return setPurity(
+            fixName(
+                EnvironmentExpressionFunctions.setEnv()
+            ),
+            PURITY_WRITE
         );
     }
 
@@ -2024,8 +2334,11 @@ public final class SpreadsheetExpressionFunctions implements PublicStaticHelper
      * {@see EnvironmentExpressionFunctions#setHomeDirectory}
      */
     public static ExpressionFunction<Void, SpreadsheetExpressionEvaluationContext> setHomeDirectory() {
-        return fixName(
-            StorageExpressionFunctions.setHomeDirectory()
+        return setPurity(
+            fixName(
+                StorageExpressionFunctions.setHomeDirectory()
+            ),
+            PURITY_WRITE
         );
     }
     
@@ -2042,8 +2355,11 @@ public final class SpreadsheetExpressionFunctions implements PublicStaticHelper
      * {@see EnvironmentExpressionFunctions#setIndentation}
      */
     public static ExpressionFunction<Void, SpreadsheetExpressionEvaluationContext> setIndentation() {
-        return fixName(
-            EnvironmentExpressionFunctions.setIndentation()
+        return setPurity(
+            fixName(
+                EnvironmentExpressionFunctions.setIndentation()
+            ),
+            PURITY_WRITE
         );
     }
     
@@ -2051,8 +2367,11 @@ public final class SpreadsheetExpressionFunctions implements PublicStaticHelper
      * {@see EnvironmentExpressionFunctions#setLineEnding}
      */
     public static ExpressionFunction<Void, SpreadsheetExpressionEvaluationContext> setLineEnding() {
-        return fixName(
-            EnvironmentExpressionFunctions.setLineEnding()
+        return setPurity(
+            fixName(
+                EnvironmentExpressionFunctions.setLineEnding()
+            ),
+            PURITY_WRITE
         );
     }
     
@@ -2060,8 +2379,11 @@ public final class SpreadsheetExpressionFunctions implements PublicStaticHelper
      * {@see EnvironmentExpressionFunctions#setLocale}
      */
     public static ExpressionFunction<Void, SpreadsheetExpressionEvaluationContext> setLocale() {
-        return fixName(
-            EnvironmentExpressionFunctions.setLocale()
+        return setPurity(
+            fixName(
+                EnvironmentExpressionFunctions.setLocale()
+            ),
+            PURITY_WRITE
         );
     }
 
@@ -2081,6 +2403,13 @@ public final class SpreadsheetExpressionFunctions implements PublicStaticHelper
         return SpreadsheetExpressionFunctionSpreadsheetMetadataValueSet.INSTANCE;
     }
 
+    /**
+     * {@see SpreadsheetExpressionFunctionSpreadsheetMetadataValuesSet}
+     */
+    public static ExpressionFunction<SpreadsheetMetadata, SpreadsheetExpressionEvaluationContext> setSpreadsheetMetadataValues() {
+        return SpreadsheetExpressionFunctionSpreadsheetMetadataValuesSet.INSTANCE;
+    }
+
     /**
      * {@see TreeTextExpressionFunctions#setStyle}
      */
@@ -2103,8 +2432,11 @@ public final class SpreadsheetExpressionFunctions implements PublicStaticHelper
      * {@see EnvironmentExpressionFunctions#setTimeOffset}
      */
     public static ExpressionFunction<Void, SpreadsheetExpressionEvaluationContext> setTimeOffset() {
-        return fixName(
-            EnvironmentExpressionFunctions.setTimeOffset()
+        return setPurity(
+            fixName(
+                EnvironmentExpressionFunctions.setTimeOffset()
+            ),
+            PURITY_WRITE
         );
     }
     
@@ -2112,8 +2444,11 @@ public final class SpreadsheetExpressionFunctions implements PublicStaticHelper
      * {@see TerminalExpressionFunctions#shell}
      */
     public static ExpressionFunction<Integer, SpreadsheetExpressionEvaluationContext> shell() {
-        return fixName(
-            TerminalExpressionFunctions.shell()
+        return setPurity(
+            fixName(
+                TerminalExpressionFunctions.shell()
+            ),
+            PURITY_WRITE
         );
     }
 
@@ -2144,6 +2479,34 @@ public final class SpreadsheetExpressionFunctions implements PublicStaticHelper
         );
     }
 
+    /**
+     * {@see SpreadsheetExpressionFunctionSpreadsheetMetadataCacheStatistics}, without any cache so it always returns null.
+     */
+    public static ExpressionFunction<Object, SpreadsheetExpressionEvaluationContext> spreadsheetMetadataCacheStatistics() {
+        return SpreadsheetExpressionFunctionSpreadsheetMetadataCacheStatistics.INSTANCE;
+    }
+
+    /**
+     * Returns deleteSpreadsheetMetadata, loadSpreadsheetMetadata, loadSpreadsheetMetadatas, saveSpreadsheetMetadata and
+     * spreadsheetMetadataCacheStatistics sharing a new {@link SpreadsheetExpressionFunctionSpreadsheetMetadataCache}.
+     * The functions should only be used with contexts that load from the same store.
+     */
+    public static List<ExpressionFunction<?, SpreadsheetExpressionEvaluationContext>> spreadsheetMetadataCaching(final int maxSize,
+                                                                                                                 final int timeToLiveSeconds) {
+        final SpreadsheetExpressionFunctionSpreadsheetMetadataCache cache = SpreadsheetExpressionFunctionSpreadsheetMetadataCache.with(
+            maxSize,
+            timeToLiveSeconds
+        );
+
+        return Lists.of(
+            SpreadsheetExpressionFunctionSpreadsheetMetadataDelete.with(cache),
+            SpreadsheetExpressionFunctionSpreadsheetMetadataLoad.with(cache),
+            SpreadsheetExpressionFunctionSpreadsheetMetadataLoadList.with(cache),
+            SpreadsheetExpressionFunctionSpreadsheetMetadataSave.with(cache),
+            SpreadsheetExpressionFunctionSpreadsheetMetadataCacheStatistics.with(cache)
+        );
+    }
+
     /**
      * {@see SpreadsheetExpressionFunctionUrlSpreadsheetUrl}
      */
@@ -2329,8 +2692,11 @@ public final class SpreadsheetExpressionFunctions implements PublicStaticHelper
      * {@see DateTimeExpressionFunctions#today}
      */
     public static ExpressionFunction<LocalDate, SpreadsheetExpressionEvaluationContext> today() {
-        return fixName(
-            DateTimeExpressionFunctions.today()
+        return setPurity(
+            fixName(
+                DateTimeExpressionFunctions.today()
+            ),
+            PURITY_VOLATILE
         );
     }
 
@@ -2459,10 +2825,13 @@ public final class SpreadsheetExpressionFunctions implements PublicStaticHelper
         return UNMOUNT;
     }
 
-    private final static ExpressionFunction<Void, SpreadsheetExpressionEvaluationContext> UNMOUNT = StorageExpressionFunctions.<SpreadsheetExpressionEvaluationContext>unmountStorage()
-        .setName(
-            functionName("unmount")
-        );
+    private final static ExpressionFunction<Void, SpreadsheetExpressionEvaluationContext> UNMOUNT = setPurity(
+        StorageExpressionFunctions.<SpreadsheetExpressionEvaluationContext>unmountStorage()
+            .setName(
+                functionName("unmount")
+            ),
+        PURITY_WRITE
+    );
 
     /**
      * {@see StringExpressionFunctions#upper}
@@ -2505,8 +2874,11 @@ public final class SpreadsheetExpressionFunctions implements PublicStaticHelper
      * {@see ValidatorExpressionFunctions#validationErrorIf}
      */
     public static ExpressionFunction<ValidationError<SpreadsheetValidationReference>, SpreadsheetExpressionEvaluationContext> validationErrorIf() {
-        return fixName(
-            ValidatorExpressionFunctions.validationErrorIf()
+        return setPurity(
+            fixName(
+                ValidatorExpressionFunctions.validationErrorIf()
+            ),
+            PURITY_CELL
         );
     }
 
@@ -2514,8 +2886,11 @@ public final class SpreadsheetExpressionFunctions implements PublicStaticHelper
      * {@see ValidatorExpressionFunctions.validationValue}
      */
     public static ExpressionFunction<Object, SpreadsheetExpressionEvaluationContext> validationValue() {
-        return fixName(
-            ValidatorExpressionFunctions.validationValue()
+        return setPurity(
+            fixName(
+                ValidatorExpressionFunctions.validationValue()
+            ),
+            PURITY_CELL
         );
     }
 
@@ -2551,17 +2926,30 @@ public final class SpreadsheetExpressionFunctions implements PublicStaticHelper
      * {@see StorageExpressionFunctions#storageWrite}
      */
     public static ExpressionFunction<Void, SpreadsheetExpressionEvaluationContext> writeStorage() {
-        return fixName(
-            StorageExpressionFunctions.writeStorage()
+        return setPurity(
+            fixName(
+                StorageExpressionFunctions.writeStorage()
+            ),
+            PURITY_WRITE
         );
     }
 
+    /**
+     * {@see SpreadsheetExpressionFunctionWriteStorageLines}
+     */
+    public static ExpressionFunction<Void, SpreadsheetExpressionEvaluationContext> writeStorageLines() {
+        return SpreadsheetExpressionFunctionWriteStorageLines.INSTANCE;
+    }
+
     /**
      * {@see StorageExpressionFunctions#storageWriteText}
      */
     public static ExpressionFunction<Void, SpreadsheetExpressionEvaluationContext> writeStorageText() {
-        return fixName(
-            StorageExpressionFunctions.writeStorageText()
+        return setPurity(
+            fixName(
+                StorageExpressionFunctions.writeStorageText()
+            ),
+            PURITY_WRITE
         );
     }
 
@@ -2583,10 +2971,78 @@ public final class SpreadsheetExpressionFunctions implements PublicStaticHelper
         );
     }
 
+    // purity...........................................................................................................
+
+    /**
+     * The function result depends only on its parameters.
+     */
+    public final static int PURITY_PURE = SpreadsheetExpressionFunction.PURITY_PURE;
+
+    /**
+     * The function result depends on the current cell or its formatting value.
+     */
+    public final static int PURITY_CELL = SpreadsheetExpressionFunction.PURITY_CELL;
+
+    /**
+     * The function reads cells, metadata, storage or the environment.
+     */
+    public final static int PURITY_READ = SpreadsheetExpressionFunction.PURITY_READ;
+
+    /**
+     * The function writes metadata, storage, the environment or the terminal.
+     */
+    public final static int PURITY_WRITE = SpreadsheetExpressionFunction.PURITY_WRITE;
+
+    /**
+     * The function may return a different result each time it is called, eg NOW or RAND.
+     */
+    public final static int PURITY_VOLATILE = SpreadsheetExpressionFunction.PURITY_VOLATILE;
+
+    /**
+     * Returns the purity bits of the given function. Functions in this project declare their own bits, and the factories
+     * in this class attach bits with {@link #setPurity(ExpressionFunction, int)} to impure functions from other projects.
+     * Any other function uses {@link ExpressionFunction#isPure(ExpressionPurityContext)}, with impure functions assumed
+     * {@link #PURITY_VOLATILE}. A function with {@link #PURITY_PURE} may be skipped or cached during a recalculation
+     * when its parameters are unchanged.
+     */
+    public static int purity(final ExpressionFunction<?, SpreadsheetExpressionEvaluationContext> function,
+                             final ExpressionPurityContext context) {
+        Objects.requireNonNull(function, "function");
+        Objects.requireNonNull(context, "context");
+
+        final int purity;
+
+        if (function instanceof SpreadsheetExpressionFunction) {
+            purity = ((SpreadsheetExpressionFunction<?>) function).purity();
+        } else {
+            if (function instanceof SpreadsheetExpressionFunctionPurity) {
+                purity = ((SpreadsheetExpressionFunctionPurity<?>) function).purity;
+            } else {
+                purity = function.isPure(context) ?
+                    PURITY_PURE :
+                    PURITY_VOLATILE;
+            }
+        }
+
+        return purity;
+    }
+
+    /**
+     * Attaches purity bits to a function from another project that does not already have them.
+     */
+    public static <T> ExpressionFunction<T, SpreadsheetExpressionEvaluationContext> setPurity(final ExpressionFunction<T, SpreadsheetExpressionEvaluationContext> function,
+                                                                                             final int purity) {
+        Objects.requireNonNull(function, "function");
+
+        return SpreadsheetExpressionFunctionPurity.with(
+            function,
+            purity
+        );
+    }
+
     private static boolean filterNonNullAndNotMissingCell(final Object value,
                                                           final SpreadsheetExpressionEvaluationContext context) {
-        return null != value &&
-            false == (value instanceof SpreadsheetError && ((SpreadsheetError) value).isMissingCell());
+        return SpreadsheetExpressionFunctionValueTag.isPresent(value);
     }
 
     private static Optional<ExpressionFunctionName> functionName(final String name) {
@@ -0,0 +1,236 @@
+/*
+ * Copyright 2022 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.expression.function.provider;
+
+import walkingkooka.Cast;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.plugin.ProviderContext;
+import walkingkooka.spreadsheet.expression.SpreadsheetExpressionEvaluationContext;
+import walkingkooka.text.CaseSensitivity;
+import walkingkooka.tree.expression.ExpressionFunctionName;
+import walkingkooka.tree.expression.function.ExpressionFunction;
+import walkingkooka.tree.expression.function.provider.ExpressionFunctionInfoSet;
+import walkingkooka.tree.expression.function.provider.ExpressionFunctionProvider;
+import walkingkooka.tree.expression.function.provider.ExpressionFunctionSelector;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+
+/**
+ * An {@link ExpressionFunctionProvider} that resolves functions by name using a pre-computed open-addressing hash table,
+ * delegating to a wrapped {@link ExpressionFunctionProvider} for {@link ExpressionFunctionInfoSet}, functions with values
+ * and unknown functions so errors remain identical.
+ * <br>
+ * Hashes for {@link CaseSensitivity#INSENSITIVE} are computed by lower-casing each character, avoiding the creation
+ * of a lower-cased copy of the name for each lookup.
+ * <br>
+ * The category bits registered with each function are kept in a parallel slot, see {@link #categories(String)}.
+ */
+final class HashTableExpressionFunctionProvider implements ExpressionFunctionProvider<SpreadsheetExpressionEvaluationContext> {
+
+    static HashTableExpressionFunctionProvider with(final ExpressionFunctionProvider<SpreadsheetExpressionEvaluationContext> provider,
+                                                    final Map<ExpressionFunction<?, SpreadsheetExpressionEvaluationContext>, Integer> functions,
+                                                    final CaseSensitivity nameCaseSensitivity) {
+        Objects.requireNonNull(provider, "provider");
+        Objects.requireNonNull(functions, "functions");
+        Objects.requireNonNull(nameCaseSensitivity, "nameCaseSensitivity");
+
+        return new HashTableExpressionFunctionProvider(
+            provider,
+            functions,
+            nameCaseSensitivity
+        );
+    }
+
+    private HashTableExpressionFunctionProvider(final ExpressionFunctionProvider<SpreadsheetExpressionEvaluationContext> provider,
+                                                final Map<ExpressionFunction<?, SpreadsheetExpressionEvaluationContext>, Integer> functions,
+                                                final CaseSensitivity nameCaseSensitivity) {
+        this.provider = provider;
+        this.insensitive = CaseSensitivity.INSENSITIVE == nameCaseSensitivity;
+
+        // power of two at least twice the function count keeps probe sequences short.
+        int capacity = 16;
+        while (capacity < functions.size() * 2) {
+            capacity = capacity << 1;
+        }
+        this.mask = capacity - 1;
+
+        this.names = new String[capacity];
+        this.hashes = new int[capacity];
+        this.functions = Cast.to(new ExpressionFunction[capacity]);
+        this.categories = new int[capacity];
+
+        for (final Entry<ExpressionFunction<?, SpreadsheetExpressionEvaluationContext>, Integer> functionAndCategories : functions.entrySet()) {
+            final ExpressionFunction<?, SpreadsheetExpressionEvaluationContext> function = functionAndCategories.getKey();
+            final String name = function.name()
+                .orElseThrow(() -> new IllegalArgumentException("Function missing name " + function))
+                .value();
+            final int hash = this.hash(name);
+
+            int i = hash & this.mask;
+            while (null != this.names[i]) {
+                if (this.hashes[i] == hash && this.equals(this.names[i], name)) {
+                    throw new IllegalArgumentException("Duplicate function " + name);
+                }
+                i = (i + 1) & this.mask;
+            }
+
+            this.names[i] = name;
+            this.hashes[i] = hash;
+            this.functions[i] = function;
+            this.categories[i] = functionAndCategories.getValue();
+        }
+    }
+
+    @Override
+    public ExpressionFunction<?, SpreadsheetExpressionEvaluationContext> expressionFunction(final ExpressionFunctionSelector selector,
+                                                                                            final ProviderContext context) {
+        Objects.requireNonNull(selector, "selector");
+
+        return selector.valueText().isEmpty() ?
+            this.expressionFunction(
+                selector.name(),
+                Lists.empty(),
+                context
+            ) :
+            this.provider.expressionFunction(
+                selector,
+                context
+            );
+    }
+
+    @Override
+    public ExpressionFunction<?, SpreadsheetExpressionEvaluationContext> expressionFunction(final ExpressionFunctionName name,
+                                                                                            final List<?> values,
+                                                                                            final ProviderContext context) {
+        Objects.requireNonNull(name, "name");
+        Objects.requireNonNull(values, "values");
+        Objects.requireNonNull(context, "context");
+
+        final ExpressionFunction<?, SpreadsheetExpressionEvaluationContext> function = values.isEmpty() ?
+            this.get(name.value()) :
+            null;
+
+        return null != function ?
+            function :
+            this.provider.expressionFunction(
+                name,
+                values,
+                context
+            );
+    }
+
+    /**
+     * Returns the function with the given name or null if none exists.
+     */
+    ExpressionFunction<?, SpreadsheetExpressionEvaluationContext> get(final String name) {
+        final int i = this.index(name);
+        return -1 == i ?
+            null :
+            this.functions[i];
+    }
+
+    /**
+     * Returns the category bits registered for the function with the given name, or zero if none exists.
+     */
+    int categories(final String name) {
+        final int i = this.index(name);
+        return -1 == i ?
+            0 :
+            this.categories[i];
+    }
+
+    private int index(final String name) {
+        final int hash = this.hash(name);
+        final String[] names = this.names;
+
+        int index = -1;
+
+        int i = hash & this.mask;
+        while (null != names[i]) {
+            if (this.hashes[i] == hash && this.equals(names[i], name)) {
+                index = i;
+                break;
+            }
+            i = (i + 1) & this.mask;
+        }
+
+        return index;
+    }
+
+    private int hash(final String name) {
+        final boolean insensitive = this.insensitive;
+        final int length = name.length();
+
+        int hash = 0;
+        for (int i = 0; i < length; i++) {
+            final char c = name.charAt(i);
+            hash = 31 * hash + (
+                insensitive ?
+                    Character.toLowerCase(c) :
+                    c
+            );
+        }
+
+        // spread the high bits so similar names do not cluster in the low bits used as the index.
+        return hash ^ (hash >>> 16);
+    }
+
+    private boolean equals(final String name,
+                           final String other) {
+        return this.insensitive ?
+            name.equalsIgnoreCase(other) :
+            name.equals(other);
+    }
+
+    private final boolean insensitive;
+
+    private final int mask;
+
+    private final String[] names;
+
+    private final int[] hashes;
+
+    private final ExpressionFunction<?, SpreadsheetExpressionEvaluationContext>[] functions;
+
+    private final int[] categories;
+
+    @Override
+    public ExpressionFunctionInfoSet expressionFunctionInfos() {
+        return this.provider.expressionFunctionInfos();
+    }
+
+    @Override
+    public CaseSensitivity expressionFunctionNameCaseSensitivity() {
+        return this.provider.expressionFunctionNameCaseSensitivity();
+    }
+
+    /**
+     * The wrapped {@link ExpressionFunctionProvider}, used for {@link ExpressionFunctionInfoSet} and to report unknown functions.
+     */
+    private final ExpressionFunctionProvider<SpreadsheetExpressionEvaluationContext> provider;
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return this.provider.toString();
+    }
+}
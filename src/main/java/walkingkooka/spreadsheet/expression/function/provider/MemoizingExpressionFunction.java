@@ -0,0 +1,345 @@
+/*
+ * Copyright 2022 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.expression.function.provider;
+
+import walkingkooka.collect.list.Lists;
+import walkingkooka.environment.EnvironmentValueName;
+import walkingkooka.spreadsheet.expression.SpreadsheetExpressionEvaluationContext;
+import walkingkooka.spreadsheet.expression.function.SpreadsheetExpressionFunction;
+import walkingkooka.spreadsheet.expression.function.SpreadsheetExpressionFunctions;
+import walkingkooka.spreadsheet.meta.SpreadsheetMetadata;
+import walkingkooka.spreadsheet.reference.SpreadsheetExpressionReference;
+import walkingkooka.tree.expression.Expression;
+import walkingkooka.tree.expression.ExpressionFunctionName;
+import walkingkooka.tree.expression.ExpressionPurityContext;
+import walkingkooka.tree.expression.function.ExpressionFunction;
+import walkingkooka.tree.expression.function.ExpressionFunctionParameter;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Wraps a pure {@link ExpressionFunction} remembering the results for the most recently used parameter values.
+ * <br>
+ * Only functions whose purity bits are {@link SpreadsheetExpressionFunction#PURITY_PURE} are remembered, and only calls
+ * where every parameter, including the elements of any nested {@link Collection}, is a constant. Parameters holding an
+ * {@link Expression} or a {@link SpreadsheetExpressionReference} are always evaluated because their values may change
+ * between calls. The {@link SpreadsheetMetadata}, {@link Locale} and environment values of the context are part of each
+ * key, as formatting and conversion depend upon them.
+ * <br>
+ * Keys are kept cheap compared to the call. The {@link SpreadsheetMetadata} is compared by identity, as it is immutable
+ * and a changed metadata is always a new instance. The environment values are snapshotted with their hash once and
+ * the snapshot is reused while the values of each context remain the same.
+ */
+final class MemoizingExpressionFunction<T> implements ExpressionFunction<T, SpreadsheetExpressionEvaluationContext> {
+
+    static <T> MemoizingExpressionFunction<T> with(final ExpressionFunction<T, SpreadsheetExpressionEvaluationContext> function,
+                                                   final int maxSize) {
+        Objects.requireNonNull(function, "function");
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Invalid maxSize " + maxSize + " <= 0");
+        }
+
+        return new MemoizingExpressionFunction<>(
+            function,
+            maxSize
+        );
+    }
+
+    private MemoizingExpressionFunction(final ExpressionFunction<T, SpreadsheetExpressionEvaluationContext> function,
+                                        final int maxSize) {
+        this.function = function;
+        this.maxSize = maxSize;
+
+        // access order makes the eldest entry the least recently used.
+        this.results = new LinkedHashMap<Key, T>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<Key, T> eldest) {
+                return this.size() > MemoizingExpressionFunction.this.maxSize;
+            }
+        };
+    }
+
+    @Override
+    public Optional<ExpressionFunctionName> name() {
+        return this.function.name();
+    }
+
+    @Override
+    public List<ExpressionFunctionParameter<?>> parameters(final int count) {
+        return this.function.parameters(count);
+    }
+
+    @Override
+    public Class<T> returnType() {
+        return this.function.returnType();
+    }
+
+    @Override
+    public boolean isPure(final ExpressionPurityContext context) {
+        return this.function.isPure(context);
+    }
+
+    @Override
+    public T apply(final List<Object> parameters,
+                   final SpreadsheetExpressionEvaluationContext context) {
+        final ExpressionFunction<T, SpreadsheetExpressionEvaluationContext> function = this.function;
+
+        T result = null;
+        boolean cached = false;
+
+        Key key = null;
+        if (SpreadsheetExpressionFunction.PURITY_PURE == SpreadsheetExpressionFunctions.purity(function, context) &&
+            isConstants(parameters)) {
+            key = new Key(
+                context.spreadsheetMetadata(),
+                context.locale(),
+                this.environment(context),
+                parameters
+            );
+
+            synchronized (this.results) {
+                result = this.results.get(key);
+                cached = null != result || this.results.containsKey(key);
+            }
+        }
+
+        if (false == cached) {
+            result = function.apply(
+                parameters,
+                context
+            );
+
+            if (null != key) {
+                synchronized (this.results) {
+                    this.results.put(
+                        key,
+                        result
+                    );
+                }
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Only parameters without any {@link Expression} or {@link SpreadsheetExpressionReference}, including within nested
+     * {@link Collection collections}, are safe to remember.
+     */
+    private static boolean isConstants(final Collection<?> parameters) {
+        boolean constants = true;
+
+        for (final Object parameter : parameters) {
+            if (parameter instanceof Expression ||
+                parameter instanceof SpreadsheetExpressionReference ||
+                (parameter instanceof Collection && false == isConstants((Collection<?>) parameter))) {
+                constants = false;
+                break;
+            }
+        }
+
+        return constants;
+    }
+
+    /**
+     * Returns the last environment snapshot if the context still has the same values, otherwise takes a new snapshot,
+     * so results computed with different values are never shared.
+     */
+    private Environment environment(final SpreadsheetExpressionEvaluationContext context) {
+        Environment environment = this.environment;
+
+        if (null == environment || false == environment.isSame(context)) {
+            environment = Environment.with(context);
+            this.environment = environment;
+        }
+
+        return environment;
+    }
+
+    /**
+     * The most recent environment snapshot.
+     */
+    private volatile Environment environment;
+
+    /**
+     * Returns true if the given function is the one wrapped by this.
+     */
+    boolean wraps(final ExpressionFunction<?, SpreadsheetExpressionEvaluationContext> function) {
+        return this.function == function;
+    }
+
+    private final ExpressionFunction<T, SpreadsheetExpressionEvaluationContext> function;
+
+    private final int maxSize;
+
+    /**
+     * The least recently used results, guarded by synchronizing on the map itself.
+     */
+    private final Map<Key, T> results;
+
+    /**
+     * The environment value names and values of a context, with the hash computed once.
+     */
+    private final static class Environment {
+
+        static Environment with(final SpreadsheetExpressionEvaluationContext context) {
+            final List<EnvironmentValueName<?>> names = Lists.array();
+            final List<Object> values = Lists.array();
+
+            for (final EnvironmentValueName<?> name : context.environmentValueNames()) {
+                names.add(name);
+                values.add(
+                    context.environmentValue(name)
+                        .orElse(null)
+                );
+            }
+
+            return new Environment(
+                names,
+                values
+            );
+        }
+
+        private Environment(final List<EnvironmentValueName<?>> names,
+                            final List<Object> values) {
+            this.names = names;
+            this.values = values;
+            this.hash = Objects.hash(
+                names,
+                values
+            );
+        }
+
+        /**
+         * Compares the values of the context with this snapshot without creating another.
+         */
+        boolean isSame(final SpreadsheetExpressionEvaluationContext context) {
+            final Set<EnvironmentValueName<?>> names = context.environmentValueNames();
+            boolean same = names.size() == this.names.size();
+
+            if (same) {
+                int i = 0;
+                for (final EnvironmentValueName<?> name : names) {
+                    if (false == name.equals(this.names.get(i)) ||
+                        false == Objects.equals(
+                            context.environmentValue(name)
+                                .orElse(null),
+                            this.values.get(i)
+                        )) {
+                        same = false;
+                        break;
+                    }
+                    i++;
+                }
+            }
+
+            return same;
+        }
+
+        private final List<EnvironmentValueName<?>> names;
+
+        private final List<Object> values;
+
+        private final int hash;
+
+        @Override
+        public int hashCode() {
+            return this.hash;
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            return this == other ||
+                other instanceof Environment && this.equals0((Environment) other);
+        }
+
+        private boolean equals0(final Environment other) {
+            return this.hash == other.hash &&
+                this.names.equals(other.names) &&
+                this.values.equals(other.values);
+        }
+    }
+
+    /**
+     * A remembered result key, with the {@link SpreadsheetMetadata} compared by identity.
+     */
+    private final static class Key {
+
+        Key(final SpreadsheetMetadata metadata,
+            final Locale locale,
+            final Environment environment,
+            final List<Object> parameters) {
+            this.metadata = metadata;
+            this.locale = locale;
+            this.environment = environment;
+            this.parameters = Lists.array();
+            this.parameters.addAll(parameters);
+            this.hash = Objects.hash(
+                System.identityHashCode(metadata),
+                locale,
+                environment,
+                parameters
+            );
+        }
+
+        private final SpreadsheetMetadata metadata;
+
+        private final Locale locale;
+
+        private final Environment environment;
+
+        private final List<Object> parameters;
+
+        private final int hash;
+
+        @Override
+        public int hashCode() {
+            return this.hash;
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            return this == other ||
+                other instanceof Key && this.equals0((Key) other);
+        }
+
+        private boolean equals0(final Key other) {
+            return this.hash == other.hash &&
+                this.metadata == other.metadata &&
+                Objects.equals(this.locale, other.locale) &&
+                this.environment.equals(other.environment) &&
+                this.parameters.equals(other.parameters);
+        }
+    }
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return this.function.toString();
+    }
+}
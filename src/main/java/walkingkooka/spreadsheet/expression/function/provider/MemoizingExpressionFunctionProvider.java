@@ -0,0 +1,151 @@
+/*
+ * Copyright 2022 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.expression.function.provider;
+
+import walkingkooka.Cast;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.collect.set.Sets;
+import walkingkooka.plugin.ProviderContext;
+import walkingkooka.spreadsheet.expression.SpreadsheetExpressionEvaluationContext;
+import walkingkooka.text.CaseSensitivity;
+import walkingkooka.tree.expression.ExpressionFunctionName;
+import walkingkooka.tree.expression.function.ExpressionFunction;
+import walkingkooka.tree.expression.function.provider.ExpressionFunctionInfoSet;
+import walkingkooka.tree.expression.function.provider.ExpressionFunctionProvider;
+import walkingkooka.tree.expression.function.provider.ExpressionFunctionSelector;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * An {@link ExpressionFunctionProvider} that wraps the named functions in a {@link MemoizingExpressionFunction}.
+ * The same wrapper is returned each time a function is requested, so remembered results survive across the many
+ * requests made during a recalculation, unless the wrapped provider returns a different function for the name. Functions
+ * with values are never wrapped.
+ */
+final class MemoizingExpressionFunctionProvider implements ExpressionFunctionProvider<SpreadsheetExpressionEvaluationContext> {
+
+    static MemoizingExpressionFunctionProvider with(final ExpressionFunctionProvider<SpreadsheetExpressionEvaluationContext> provider,
+                                                    final Set<ExpressionFunctionName> names,
+                                                    final int maxSize) {
+        Objects.requireNonNull(provider, "provider");
+        Objects.requireNonNull(names, "names");
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Invalid maxSize " + maxSize + " <= 0");
+        }
+
+        return new MemoizingExpressionFunctionProvider(
+            provider,
+            Sets.immutable(names),
+            maxSize
+        );
+    }
+
+    private MemoizingExpressionFunctionProvider(final ExpressionFunctionProvider<SpreadsheetExpressionEvaluationContext> provider,
+                                                final Set<ExpressionFunctionName> names,
+                                                final int maxSize) {
+        this.provider = provider;
+        this.names = names;
+        this.maxSize = maxSize;
+    }
+
+    @Override
+    public ExpressionFunction<?, SpreadsheetExpressionEvaluationContext> expressionFunction(final ExpressionFunctionSelector selector,
+                                                                                            final ProviderContext context) {
+        return this.memoize(
+            this.provider.expressionFunction(
+                selector,
+                context
+            ),
+            selector.valueText().isEmpty()
+        );
+    }
+
+    @Override
+    public ExpressionFunction<?, SpreadsheetExpressionEvaluationContext> expressionFunction(final ExpressionFunctionName name,
+                                                                                            final List<?> values,
+                                                                                            final ProviderContext context) {
+        return this.memoize(
+            this.provider.expressionFunction(
+                name,
+                values,
+                context
+            ),
+            values.isEmpty()
+        );
+    }
+
+    private ExpressionFunction<?, SpreadsheetExpressionEvaluationContext> memoize(final ExpressionFunction<?, SpreadsheetExpressionEvaluationContext> function,
+                                                                                  final boolean noValues) {
+        ExpressionFunction<?, SpreadsheetExpressionEvaluationContext> memoized = function;
+
+        final ExpressionFunctionName name = function.name()
+            .orElse(null);
+        if (noValues && null != name && this.names.contains(name)) {
+            synchronized (this.memoized) {
+                MemoizingExpressionFunction<?> wrapper = this.memoized.get(name);
+                if (null == wrapper || false == wrapper.wraps(function)) {
+                    wrapper = MemoizingExpressionFunction.with(
+                        Cast.to(function),
+                        this.maxSize
+                    );
+                    this.memoized.put(
+                        name,
+                        wrapper
+                    );
+                }
+                memoized = wrapper;
+            }
+        }
+
+        return memoized;
+    }
+
+    /**
+     * The names of the functions that will be memoized.
+     */
+    private final Set<ExpressionFunctionName> names;
+
+    private final int maxSize;
+
+    /**
+     * Wrappers created so far, guarded by synchronizing on the map itself.
+     */
+    private final Map<ExpressionFunctionName, MemoizingExpressionFunction<?>> memoized = Maps.sorted();
+
+    @Override
+    public ExpressionFunctionInfoSet expressionFunctionInfos() {
+        return this.provider.expressionFunctionInfos();
+    }
+
+    @Override
+    public CaseSensitivity expressionFunctionNameCaseSensitivity() {
+        return this.provider.expressionFunctionNameCaseSensitivity();
+    }
+
+    private final ExpressionFunctionProvider<SpreadsheetExpressionEvaluationContext> provider;
+
+    // Object...........................................................................................................
+
+    @Override
+    public String toString() {
+        return this.provider.toString();
+    }
+}
@@ -19,134 +19,164 @@ package walkingkooka.spreadsheet.expression.function.provider;
 
 import javaemul.internal.annotations.GwtIncompatible;
 import walkingkooka.Cast;
-import walkingkooka.collect.set.Sets;
 import walkingkooka.net.Url;
 import walkingkooka.reflect.PublicStaticHelper;
 import walkingkooka.spreadsheet.expression.SpreadsheetExpressionEvaluationContext;
 import walkingkooka.spreadsheet.expression.function.SpreadsheetExpressionFunctions;
+import walkingkooka.spreadsheet.reference.SpreadsheetExpressionReference;
 import walkingkooka.text.CaseSensitivity;
+import walkingkooka.tree.expression.ExpressionFunctionName;
 import walkingkooka.tree.expression.function.ExpressionFunction;
 import walkingkooka.tree.expression.function.provider.ExpressionFunctionAliasSet;
-import walkingkooka.tree.expression.function.provider.ExpressionFunctionInfo;
 import walkingkooka.tree.expression.function.provider.ExpressionFunctionInfoSet;
 import walkingkooka.tree.expression.function.provider.ExpressionFunctionProvider;
 import walkingkooka.tree.expression.function.provider.ExpressionFunctionProviders;
 
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.function.BiConsumer;
 
 /**
  * Provider getter.
  */
 public final class SpreadsheetExpressionFunctionProviders extends SpreadsheetExpressionFunctionProvidersGwt implements PublicStaticHelper {
 
+    /**
+     * Category bits attached to each function when it is registered, used to build alias sets without any name matching.
+     */
+    public final static int CATEGORY_NONE = 0;
+
+    public final static int CATEGORY_COLOR = 1;
+
+    public final static int CATEGORY_FORMATTING = 1 << 1;
+
+    public final static int CATEGORY_METADATA = 1 << 2;
+
+    public final static int CATEGORY_STYLE = 1 << 3;
+
+    public final static int CATEGORY_TERMINAL = 1 << 4;
+
+    public final static int CATEGORY_VALIDATION = 1 << 5;
+
     public final static ExpressionFunctionInfoSet ALL = expressionFunctionProvider(walkingkooka.spreadsheet.expression.SpreadsheetExpressionFunctions.NAME_CASE_SENSITIVITY)
         .expressionFunctionInfos();
 
-    public final static ExpressionFunctionAliasSet FIND = ALL.deleteIf(SpreadsheetExpressionFunctionProviders::filterColor)
-        .deleteIf(SpreadsheetExpressionFunctionProviders::filterFormatting)
-        .deleteIf(SpreadsheetExpressionFunctionProviders::filterMetadata)
-        .deleteIf(SpreadsheetExpressionFunctionProviders::filterStyle)
-        .deleteIf(SpreadsheetExpressionFunctionProviders::filterTerminal)
-        .deleteIf(SpreadsheetExpressionFunctionProviders::filterValidation)
-        .aliasSet();
-
-    public final static ExpressionFunctionAliasSet FORMATTING = ALL.deleteIf(SpreadsheetExpressionFunctionProviders::filterMetadata)
-        .deleteIf(SpreadsheetExpressionFunctionProviders::filterTerminal)
-        .deleteIf(SpreadsheetExpressionFunctionProviders::filterValidation)
-        .aliasSet();
-
-    public final static ExpressionFunctionAliasSet FORMULA = ALL.deleteIf(SpreadsheetExpressionFunctionProviders::filterColor)
-        .deleteIf(SpreadsheetExpressionFunctionProviders::filterFormatting)
-        .deleteIf(SpreadsheetExpressionFunctionProviders::filterMetadata)
-        .deleteIf(SpreadsheetExpressionFunctionProviders::filterStyle)
-        .deleteIf(SpreadsheetExpressionFunctionProviders::filterTerminal)
-        .deleteIf(SpreadsheetExpressionFunctionProviders::filterValidation)
-        .aliasSet();
+    public final static ExpressionFunctionAliasSet FIND = ALL.deleteIf(
+        SpreadsheetExpressionFunctionProvidersSnapshot.names(SpreadsheetExpressionFunctionProvidersSnapshot.FIND)
+    ).aliasSet();
+
+    public final static ExpressionFunctionAliasSet FORMATTING = ALL.deleteIf(
+        SpreadsheetExpressionFunctionProvidersSnapshot.names(SpreadsheetExpressionFunctionProvidersSnapshot.FORMATTING)
+    ).aliasSet();
+
+    public final static ExpressionFunctionAliasSet FORMULA = ALL.deleteIf(
+        SpreadsheetExpressionFunctionProvidersSnapshot.names(SpreadsheetExpressionFunctionProvidersSnapshot.FORMULA)
+    ).aliasSet();
 
     public final static ExpressionFunctionAliasSet TERMINAL = ALL.aliasSet();
 
-    public final static ExpressionFunctionAliasSet VALIDATION = ALL.deleteIf(SpreadsheetExpressionFunctionProviders::filterColor)
-        .deleteIf(SpreadsheetExpressionFunctionProviders::filterFormatting)
-        .deleteIf(SpreadsheetExpressionFunctionProviders::filterMetadata)
-        .deleteIf(SpreadsheetExpressionFunctionProviders::filterStyle)
-        .deleteIf(SpreadsheetExpressionFunctionProviders::filterTerminal)
-        .aliasSet();
-
-    private static boolean filterCell(final ExpressionFunctionInfo info) {
-        final String name = info.name()
-            .value()
-            .toLowerCase();
-        return name.startsWith("cell") ||
-            name.equals("cell");
-    }
+    public final static ExpressionFunctionAliasSet VALIDATION = ALL.deleteIf(
+        SpreadsheetExpressionFunctionProvidersSnapshot.names(SpreadsheetExpressionFunctionProvidersSnapshot.VALIDATION)
+    ).aliasSet();
 
-    private static boolean filterColor(final ExpressionFunctionInfo info) {
-        final String name = info.name()
-            .value()
-            .toLowerCase();
-        return name.contains("color") ||
-            name.contains("rgb") ||
-            name.equals("setalpha") ||
-            name.equals("setblue") ||
-            name.equals("setgreen") ||
-            name.equals("setred") ||
-            name.equals("getalpha") ||
-            name.equals("getblue") ||
-            name.equals("getgreen") ||
-            name.equals("getred") ||
-            name.equals("togray");
-    }
+    /**
+     * Builds an {@link ExpressionFunctionAliasSet} with all functions except those belonging to any of the given
+     * category bits, eg <code>CATEGORY_STYLE | CATEGORY_TERMINAL</code>.
+     */
+    public static ExpressionFunctionAliasSet aliasSet(final int excludedCategories) {
+        final HashTableExpressionFunctionProvider provider = provider(walkingkooka.spreadsheet.expression.SpreadsheetExpressionFunctions.NAME_CASE_SENSITIVITY);
 
-    private static boolean filterFormatting(final ExpressionFunctionInfo info) {
-        final String name = info.name()
-            .value()
-            .toLowerCase();
-        return name.equals("hyperlink") ||
-            name.equals("image");
+        return ALL.deleteIf(
+            (i) -> 0 != (excludedCategories & provider.categories(i.name().value()))
+        ).aliasSet();
     }
 
-    private static boolean filterMetadata(final ExpressionFunctionInfo info) {
-        final String name = info.name()
-            .value()
-            .toLowerCase();
-        return name.contains("metadata");
+    /**
+     * Wraps the given {@link ExpressionFunctionProvider}, remembering the results of pure functions with the given names
+     * for up to maxSize different constant parameter values each. Only functions without values are memoized.
+     */
+    public static ExpressionFunctionProvider<SpreadsheetExpressionEvaluationContext> memoizing(final ExpressionFunctionProvider<SpreadsheetExpressionEvaluationContext> provider,
+                                                                                             final Set<ExpressionFunctionName> names,
+                                                                                             final int maxSize) {
+        return MemoizingExpressionFunctionProvider.with(
+            provider,
+            names,
+            maxSize
+        );
     }
 
-    private static boolean filterStyle(final ExpressionFunctionInfo info) {
-        final String name = info.name()
-            .value()
-            .toLowerCase();
-        return name.contains("style");
+    /**
+     * An {@link ExpressionFunctionProvider} with all the functions in this project.
+     */
+    public static ExpressionFunctionProvider<SpreadsheetExpressionEvaluationContext> expressionFunctionProvider(final CaseSensitivity nameCaseSensitivity) {
+        return provider(nameCaseSensitivity);
     }
 
-    private static boolean filterTerminal(final ExpressionFunctionInfo info) {
-        final String name = info.name()
-            .value()
-            .toLowerCase();
-        return name.equals("print") ||
-            name.equalsIgnoreCase("printEnv") ||
-            name.equals("println") ||
-            name.equals("readline") ||
-            name.equals("getenv") ||
-            name.equals("exit") ||
-            name.equals("shell");
-    }
+    /**
+     * An {@link ExpressionFunctionProvider} with all the functions in this project, where the indirect and offset
+     * functions report each reference they resolve to the given listener, eg to record precise dependencies.
+     */
+    public static ExpressionFunctionProvider<SpreadsheetExpressionEvaluationContext> expressionFunctionProvider(final CaseSensitivity nameCaseSensitivity,
+                                                                                                              final BiConsumer<SpreadsheetExpressionReference, SpreadsheetExpressionEvaluationContext> referenceListener) {
+        Objects.requireNonNull(nameCaseSensitivity, "nameCaseSensitivity");
+        Objects.requireNonNull(referenceListener, "referenceListener");
+
+        final Map<ExpressionFunction<?, SpreadsheetExpressionEvaluationContext>, Integer> functions = functions();
+
+        functions.remove(SpreadsheetExpressionFunctions.indirect());
+        functions.put(
+            SpreadsheetExpressionFunctions.indirect(referenceListener),
+            CATEGORY_NONE
+        );
 
-    private static boolean filterValidation(final ExpressionFunctionInfo info) {
-        final String name = info.name()
-            .value()
-            .toLowerCase();
-        return name.startsWith("nextempty") ||
-            name.equals("validationchoicelist") ||
-            name.startsWith("validationerror") || // validationError | validationErrorIf
-            name.equals("validationvalue");
+        functions.remove(SpreadsheetExpressionFunctions.offset());
+        functions.put(
+            SpreadsheetExpressionFunctions.offset(referenceListener),
+            CATEGORY_NONE
+        );
+
+        return create(
+            nameCaseSensitivity,
+            functions
+        );
     }
 
     /**
-     * An {@link ExpressionFunctionProvider} with all the functions in this project.
+     * An {@link ExpressionFunctionProvider} with all the functions in this project, where the metadata functions share a
+     * new cache of up to maxSize {@link walkingkooka.spreadsheet.meta.SpreadsheetMetadata} each kept for timeToLiveSeconds.
+     * The cache belongs to the returned provider alone, so it should only be used with contexts that load from the same store.
      */
-    public static ExpressionFunctionProvider<SpreadsheetExpressionEvaluationContext> expressionFunctionProvider(final CaseSensitivity nameCaseSensitivity) {
-        final ExpressionFunctionProvider<SpreadsheetExpressionEvaluationContext> expressionFunctionProvider;
+    public static ExpressionFunctionProvider<SpreadsheetExpressionEvaluationContext> expressionFunctionProvider(final CaseSensitivity nameCaseSensitivity,
+                                                                                                              final int metadataCacheMaxSize,
+                                                                                                              final int metadataCacheTimeToLiveSeconds) {
+        Objects.requireNonNull(nameCaseSensitivity, "nameCaseSensitivity");
+
+        final Map<ExpressionFunction<?, SpreadsheetExpressionEvaluationContext>, Integer> functions = functions();
+
+        functions.remove(SpreadsheetExpressionFunctions.deleteSpreadsheetMetadata());
+        functions.remove(SpreadsheetExpressionFunctions.loadSpreadsheetMetadata());
+        functions.remove(SpreadsheetExpressionFunctions.loadSpreadsheetMetadatas());
+        functions.remove(SpreadsheetExpressionFunctions.saveSpreadsheetMetadata());
+        functions.remove(SpreadsheetExpressionFunctions.spreadsheetMetadataCacheStatistics());
+
+        for (final ExpressionFunction<?, SpreadsheetExpressionEvaluationContext> function : SpreadsheetExpressionFunctions.spreadsheetMetadataCaching(metadataCacheMaxSize, metadataCacheTimeToLiveSeconds)) {
+            functions.put(
+                function,
+                CATEGORY_METADATA
+            );
+        }
+
+        return create(
+            nameCaseSensitivity,
+            functions
+        );
+    }
+
+    private static HashTableExpressionFunctionProvider provider(final CaseSensitivity nameCaseSensitivity) {
+        final HashTableExpressionFunctionProvider expressionFunctionProvider;
 
         if (nameCaseSensitivity == CaseSensitivity.SENSITIVE) {
             if (null == caseSensitive) {
@@ -163,302 +193,349 @@ public final class SpreadsheetExpressionFunctionProviders extends SpreadsheetExp
         return expressionFunctionProvider;
     }
 
-    private static ExpressionFunctionProvider<SpreadsheetExpressionEvaluationContext> caseSensitive;
+    private static HashTableExpressionFunctionProvider caseSensitive;
 
-    private static ExpressionFunctionProvider<SpreadsheetExpressionEvaluationContext> caseInsensitive;
+    private static HashTableExpressionFunctionProvider caseInsensitive;
 
     /**
      * Factory that is called twice lazily once for each {@link CaseSensitivity}.
      */
-    private static ExpressionFunctionProvider<SpreadsheetExpressionEvaluationContext> create(final CaseSensitivity nameCaseSensitivity) {
-        return ExpressionFunctionProviders.basic(
-            Url.parseAbsolute("https://github.com/mP1/walkingkooka-spreadsheet-expression-function/"),
+    private static HashTableExpressionFunctionProvider create(final CaseSensitivity nameCaseSensitivity) {
+        return create(
             nameCaseSensitivity,
-            Cast.to(
-                nonGwtFunctions(
-                    Sets.of(
-                        SpreadsheetExpressionFunctions.abs(),
-                        SpreadsheetExpressionFunctions.acos(),
-                        SpreadsheetExpressionFunctions.address(),
-                        SpreadsheetExpressionFunctions.and(),
-                        SpreadsheetExpressionFunctions.asin(),
-                        SpreadsheetExpressionFunctions.atan(),
-                        SpreadsheetExpressionFunctions.average(),
-                        SpreadsheetExpressionFunctions.averageIf(),
-                        SpreadsheetExpressionFunctions.badge(),
-                        SpreadsheetExpressionFunctions.base(),
-                        SpreadsheetExpressionFunctions.bin2dec(),
-                        SpreadsheetExpressionFunctions.bin2hex(),
-                        SpreadsheetExpressionFunctions.bin2oct(),
-                        SpreadsheetExpressionFunctions.bitAnd(),
-                        SpreadsheetExpressionFunctions.bitOr(),
-                        SpreadsheetExpressionFunctions.bitXor(),
-                        SpreadsheetExpressionFunctions.border(),
-                        SpreadsheetExpressionFunctions.ceil(),
-                        SpreadsheetExpressionFunctions.cell(),
-                        SpreadsheetExpressionFunctions.cellCurrency(),
-                        SpreadsheetExpressionFunctions.cellDateTimeSymbols(),
-                        SpreadsheetExpressionFunctions.cellDecimalNumberSymbols(),
-                        SpreadsheetExpressionFunctions.cellFormattedValue(),
-                        SpreadsheetExpressionFunctions.cellFormatter(),
-                        SpreadsheetExpressionFunctions.cellFormula(),
-                        SpreadsheetExpressionFunctions.cellLocale(),
-                        SpreadsheetExpressionFunctions.cellParser(),
-                        SpreadsheetExpressionFunctions.cellStyle(),
-                        SpreadsheetExpressionFunctions.cellValidator(),
-                        SpreadsheetExpressionFunctions.cellValue(),
-                        SpreadsheetExpressionFunctions.cellValueType(),
-                        SpreadsheetExpressionFunctions.charFunction(),
-                        SpreadsheetExpressionFunctions.choose(),
-                        SpreadsheetExpressionFunctions.clean(),
-                        SpreadsheetExpressionFunctions.code(),
-                        SpreadsheetExpressionFunctions.color(),
-                        SpreadsheetExpressionFunctions.column(),
-                        SpreadsheetExpressionFunctions.columns(),
-                        SpreadsheetExpressionFunctions.concat(),
-                        SpreadsheetExpressionFunctions.cos(),
-                        SpreadsheetExpressionFunctions.cosh(),
-                        SpreadsheetExpressionFunctions.count(),
-                        SpreadsheetExpressionFunctions.countA(),
-                        SpreadsheetExpressionFunctions.countBlank(),
-                        SpreadsheetExpressionFunctions.countIf(),
-                        SpreadsheetExpressionFunctions.createSpreadsheetMetadata(),
-                        SpreadsheetExpressionFunctions.currency(),
-                        SpreadsheetExpressionFunctions.currencyCode(),
-                        SpreadsheetExpressionFunctions.currencyValue(),
-                        SpreadsheetExpressionFunctions.date(),
-                        SpreadsheetExpressionFunctions.day(),
-                        SpreadsheetExpressionFunctions.days(),
-                        SpreadsheetExpressionFunctions.decimal(),
-                        SpreadsheetExpressionFunctions.dec2bin(),
-                        SpreadsheetExpressionFunctions.dec2hex(),
-                        SpreadsheetExpressionFunctions.dec2oct(),
-                        SpreadsheetExpressionFunctions.degrees(),
-                        SpreadsheetExpressionFunctions.deleteSpreadsheetMetadata(),
-                        SpreadsheetExpressionFunctions.deleteStorage(),
-                        SpreadsheetExpressionFunctions.delta(),
-                        SpreadsheetExpressionFunctions.dollar(),
-                        SpreadsheetExpressionFunctions.e(),
-                        SpreadsheetExpressionFunctions.emailAddress(),
-                        SpreadsheetExpressionFunctions.error(),
-                        SpreadsheetExpressionFunctions.eval(),
-                        SpreadsheetExpressionFunctions.even(),
-                        SpreadsheetExpressionFunctions.exact(),
-                        SpreadsheetExpressionFunctions.exit(),
-                        SpreadsheetExpressionFunctions.exp(),
-                        SpreadsheetExpressionFunctions.falseFunction(),
-                        //SpreadsheetExpressionFunctions.fileStorage(), see #fileStorage below
-                        SpreadsheetExpressionFunctions.find(),
-                        SpreadsheetExpressionFunctions.fixed(),
-                        SpreadsheetExpressionFunctions.flag(),
-                        SpreadsheetExpressionFunctions.floor(),
-                        SpreadsheetExpressionFunctions.formatValue(),
-                        SpreadsheetExpressionFunctions.formulaText(),
-                        SpreadsheetExpressionFunctions.getAlpha(),
-                        SpreadsheetExpressionFunctions.getBlue(),
-                        SpreadsheetExpressionFunctions.getCharset(),
-                        SpreadsheetExpressionFunctions.getCurrency(),
-                        SpreadsheetExpressionFunctions.getCurrentWorkingDirectory(),
-                        SpreadsheetExpressionFunctions.getDateTimeSymbols(),
-                        SpreadsheetExpressionFunctions.getDecimalNumberSymbols(),
-                        SpreadsheetExpressionFunctions.getEnv(),
-                        SpreadsheetExpressionFunctions.getGreen(),
-                        SpreadsheetExpressionFunctions.getFormatter(),
-                        SpreadsheetExpressionFunctions.getFormatValue(),
-                        SpreadsheetExpressionFunctions.getFormulaText(),
-                        SpreadsheetExpressionFunctions.getHomeDirectory(),
-                        SpreadsheetExpressionFunctions.getHost(),
-                        SpreadsheetExpressionFunctions.getIndentation(),
-                        SpreadsheetExpressionFunctions.getLineEnding(),
-                        SpreadsheetExpressionFunctions.getLocale(),
-                        SpreadsheetExpressionFunctions.getParser(),
-                        SpreadsheetExpressionFunctions.getRed(),
-                        SpreadsheetExpressionFunctions.getSpreadsheetMetadataValue(),
-                        SpreadsheetExpressionFunctions.getStyle(),
-                        SpreadsheetExpressionFunctions.getTextNode(),
-                        SpreadsheetExpressionFunctions.getTimeOffset(),
-                        SpreadsheetExpressionFunctions.getUser(),
-                        SpreadsheetExpressionFunctions.getValidator(),
-                        SpreadsheetExpressionFunctions.getValue(),
-                        SpreadsheetExpressionFunctions.hex2bin(),
-                        SpreadsheetExpressionFunctions.hex2dec(),
-                        SpreadsheetExpressionFunctions.hex2oct(),
-                        SpreadsheetExpressionFunctions.hour(),
-                        SpreadsheetExpressionFunctions.hyperlink(),
-                        SpreadsheetExpressionFunctions.ifFunction(),
-                        SpreadsheetExpressionFunctions.ifs(),
-                        SpreadsheetExpressionFunctions.image(),
-                        SpreadsheetExpressionFunctions.indirect(),
-                        SpreadsheetExpressionFunctions.intFunction(),
-                        SpreadsheetExpressionFunctions.invertColor(),
-                        SpreadsheetExpressionFunctions.isBlank(),
-                        SpreadsheetExpressionFunctions.isDate(),
-                        SpreadsheetExpressionFunctions.isErr(),
-                        SpreadsheetExpressionFunctions.isError(),
-                        SpreadsheetExpressionFunctions.isEven(),
-                        SpreadsheetExpressionFunctions.isFormula(),
-                        SpreadsheetExpressionFunctions.isLogical(),
-                        SpreadsheetExpressionFunctions.isNa(),
-                        SpreadsheetExpressionFunctions.isNonText(),
-                        SpreadsheetExpressionFunctions.isNull(),
-                        SpreadsheetExpressionFunctions.isNumber(),
-                        SpreadsheetExpressionFunctions.isOdd(),
-                        SpreadsheetExpressionFunctions.isoWeekNum(),
-                        SpreadsheetExpressionFunctions.isRef(),
-                        SpreadsheetExpressionFunctions.isText(),
-                        SpreadsheetExpressionFunctions.json(),
-                        SpreadsheetExpressionFunctions.jsonText(),
-                        SpreadsheetExpressionFunctions.lambda(),
-                        SpreadsheetExpressionFunctions.left(),
-                        SpreadsheetExpressionFunctions.len(),
-                        SpreadsheetExpressionFunctions.let(),
-                        SpreadsheetExpressionFunctions.list(),
-                        SpreadsheetExpressionFunctions.listNonNull(),
-                        SpreadsheetExpressionFunctions.listStorage(),
-                        SpreadsheetExpressionFunctions.ln(),
-                        SpreadsheetExpressionFunctions.loadSpreadsheetMetadata(),
-                        SpreadsheetExpressionFunctions.locale(),
-                        SpreadsheetExpressionFunctions.localeLanguageTag(),
-                        SpreadsheetExpressionFunctions.log(),
-                        SpreadsheetExpressionFunctions.log10(),
-                        SpreadsheetExpressionFunctions.lower(),
-                        SpreadsheetExpressionFunctions.margin(),
-                        SpreadsheetExpressionFunctions.max(),
-                        SpreadsheetExpressionFunctions.maxIf(),
-                        SpreadsheetExpressionFunctions.memoryStorage(),
-                        SpreadsheetExpressionFunctions.mergeStyle(),
-                        SpreadsheetExpressionFunctions.mid(),
-                        SpreadsheetExpressionFunctions.min(),
-                        SpreadsheetExpressionFunctions.minIf(),
-                        SpreadsheetExpressionFunctions.minute(),
-                        SpreadsheetExpressionFunctions.mixColor(),
-                        SpreadsheetExpressionFunctions.mod(),
-                        SpreadsheetExpressionFunctions.month(),
-                        SpreadsheetExpressionFunctions.mount(),
-                        SpreadsheetExpressionFunctions.mountPoints(),
-                        SpreadsheetExpressionFunctions.nextEmptyColumn(),
-                        SpreadsheetExpressionFunctions.nextEmptyRow(),
-                        SpreadsheetExpressionFunctions.not(),
-                        SpreadsheetExpressionFunctions.now(),
-                        SpreadsheetExpressionFunctions.nullFunction(),
-                        SpreadsheetExpressionFunctions.numberValue(),
-                        SpreadsheetExpressionFunctions.oct2bin(),
-                        SpreadsheetExpressionFunctions.oct2dec(),
-                        SpreadsheetExpressionFunctions.oct2hex(),
-                        SpreadsheetExpressionFunctions.odd(),
-                        SpreadsheetExpressionFunctions.offset(),
-                        SpreadsheetExpressionFunctions.or(),
-                        SpreadsheetExpressionFunctions.padding(),
-                        SpreadsheetExpressionFunctions.pi(),
-                        SpreadsheetExpressionFunctions.print(),
-                        SpreadsheetExpressionFunctions.printEnv(),
-                        SpreadsheetExpressionFunctions.println(),
-                        SpreadsheetExpressionFunctions.product(),
-                        SpreadsheetExpressionFunctions.proper(),
-                        SpreadsheetExpressionFunctions.quotient(),
-                        SpreadsheetExpressionFunctions.radians(),
-                        SpreadsheetExpressionFunctions.rand(),
-                        SpreadsheetExpressionFunctions.randBetween(),
-                        SpreadsheetExpressionFunctions.readLine(),
-                        SpreadsheetExpressionFunctions.readStorage(),
-                        SpreadsheetExpressionFunctions.readStorageText(),
-                        SpreadsheetExpressionFunctions.removeEnv(),
-                        SpreadsheetExpressionFunctions.removeSpreadsheetMetadataValue(),
-                        SpreadsheetExpressionFunctions.replace(),
-                        SpreadsheetExpressionFunctions.rept(),
-                        SpreadsheetExpressionFunctions.right(),
-                        SpreadsheetExpressionFunctions.roman(),
-                        SpreadsheetExpressionFunctions.round(),
-                        SpreadsheetExpressionFunctions.roundDown(),
-                        SpreadsheetExpressionFunctions.roundUp(),
-                        SpreadsheetExpressionFunctions.row(),
-                        SpreadsheetExpressionFunctions.rows(),
-                        SpreadsheetExpressionFunctions.saveSpreadsheetMetadata(),
-                        SpreadsheetExpressionFunctions.script(),
-                        SpreadsheetExpressionFunctions.search(),
-                        SpreadsheetExpressionFunctions.second(),
-                        SpreadsheetExpressionFunctions.setAlpha(),
-                        SpreadsheetExpressionFunctions.setBlue(),
-                        SpreadsheetExpressionFunctions.setCharset(),
-                        SpreadsheetExpressionFunctions.setCurrency(),
-                        SpreadsheetExpressionFunctions.setCurrentWorkingDirectory(),
-                        SpreadsheetExpressionFunctions.setEnv(),
-                        SpreadsheetExpressionFunctions.setGreen(),
-                        SpreadsheetExpressionFunctions.setHomeDirectory(),
-                        SpreadsheetExpressionFunctions.setHost(),
-                        SpreadsheetExpressionFunctions.setIndentation(),
-                        SpreadsheetExpressionFunctions.setLineEnding(),
-                        SpreadsheetExpressionFunctions.setLocale(),
-                        SpreadsheetExpressionFunctions.setRed(),
-                        SpreadsheetExpressionFunctions.setSpreadsheetMetadataValue(),
-                        SpreadsheetExpressionFunctions.setStyle(),
-                        SpreadsheetExpressionFunctions.setText(),
-                        SpreadsheetExpressionFunctions.setTimeOffset(),
-                        SpreadsheetExpressionFunctions.shell(),
-                        SpreadsheetExpressionFunctions.sign(),
-                        SpreadsheetExpressionFunctions.sin(),
-                        SpreadsheetExpressionFunctions.sinh(),
-                        SpreadsheetExpressionFunctions.spreadsheetUrl(),
-                        SpreadsheetExpressionFunctions.sqrt(),
-                        SpreadsheetExpressionFunctions.style(),
-                        SpreadsheetExpressionFunctions.styleGet(),
-                        SpreadsheetExpressionFunctions.styleRemove(),
-                        SpreadsheetExpressionFunctions.styleRemoveIf(),
-                        SpreadsheetExpressionFunctions.styleReplaceIf(),
-                        SpreadsheetExpressionFunctions.styleSet(),
-                        SpreadsheetExpressionFunctions.styledText(),
-                        SpreadsheetExpressionFunctions.substitute(),
-                        SpreadsheetExpressionFunctions.sum(),
-                        SpreadsheetExpressionFunctions.sumIf(),
-                        SpreadsheetExpressionFunctions.switchFunction(),
-                        SpreadsheetExpressionFunctions.t(),
-                        SpreadsheetExpressionFunctions.tan(),
-                        SpreadsheetExpressionFunctions.tanh(),
-                        SpreadsheetExpressionFunctions.template(),
-                        SpreadsheetExpressionFunctions.text(),
-                        SpreadsheetExpressionFunctions.textJoin(),
-                        SpreadsheetExpressionFunctions.textMatch(),
-                        SpreadsheetExpressionFunctions.time(),
-                        SpreadsheetExpressionFunctions.today(),
-                        SpreadsheetExpressionFunctions.toGray(),
-                        SpreadsheetExpressionFunctions.toHslColor(),
-                        SpreadsheetExpressionFunctions.toHsvColor(),
-                        SpreadsheetExpressionFunctions.toRgbColor(),
-                        SpreadsheetExpressionFunctions.toRgbHexString(),
-                        SpreadsheetExpressionFunctions.toWebColorName(),
-                        SpreadsheetExpressionFunctions.treeText(),
-                        SpreadsheetExpressionFunctions.trim(),
-                        SpreadsheetExpressionFunctions.trueFunction(),
-                        SpreadsheetExpressionFunctions.trunc(),
-                        SpreadsheetExpressionFunctions.type(),
-                        SpreadsheetExpressionFunctions.unichar(),
-                        SpreadsheetExpressionFunctions.unicode(),
-                        SpreadsheetExpressionFunctions.unmount(),
-                        SpreadsheetExpressionFunctions.upper(),
-                        SpreadsheetExpressionFunctions.url(),
-                        SpreadsheetExpressionFunctions.validationChoiceList(),
-                        SpreadsheetExpressionFunctions.validationError(),
-                        SpreadsheetExpressionFunctions.validationErrorIf(),
-                        SpreadsheetExpressionFunctions.validationValue(),
-                        SpreadsheetExpressionFunctions.value(),
-                        SpreadsheetExpressionFunctions.weekDay(),
-                        SpreadsheetExpressionFunctions.weekNum(),
-                        SpreadsheetExpressionFunctions.writeStorage(),
-                        SpreadsheetExpressionFunctions.writeStorageText(),
-                        SpreadsheetExpressionFunctions.year(),
-                        SpreadsheetExpressionFunctions.xor()
-                    )
-                )
-            )
+            functions()
         );
     }
 
+    private static HashTableExpressionFunctionProvider create(final CaseSensitivity nameCaseSensitivity,
+                                                              final Map<ExpressionFunction<?, SpreadsheetExpressionEvaluationContext>, Integer> functions) {
+        return HashTableExpressionFunctionProvider.with(
+            ExpressionFunctionProviders.basic(
+                Url.parseAbsolute("https://github.com/mP1/walkingkooka-spreadsheet-expression-function/"),
+                nameCaseSensitivity,
+                Cast.to(functions.keySet())
+            ),
+            functions,
+            nameCaseSensitivity
+        );
+    }
+
+    /**
+     * All the functions in this project, including any that are not GWT compatible, with their categories.
+     */
+    private static Map<ExpressionFunction<?, SpreadsheetExpressionEvaluationContext>, Integer> functions() {
+        final Map<ExpressionFunction<?, SpreadsheetExpressionEvaluationContext>, Integer> functions = new LinkedHashMap<>();
+
+        // each provider holds its own reservations, shared by these four functions
+        final List<ExpressionFunction<?, SpreadsheetExpressionEvaluationContext>> nextEmpty = SpreadsheetExpressionFunctions.nextEmptyReserving();
+
+        functions.put(SpreadsheetExpressionFunctions.abs(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.acos(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.address(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.addresses(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.and(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.asin(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.atan(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.average(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.averageIf(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.badge(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.base(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.bin2dec(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.bin2hex(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.bin2oct(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.bitAnd(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.bitOr(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.bitXor(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.border(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.ceil(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.cell(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.cellContents(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.cellCurrency(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.cellDateTimeSymbols(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.cellDecimalNumberSymbols(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.cellFormattedValue(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.cellFormattedValues(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.cellFormatter(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.cellFormatters(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.cellFormula(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.cellFormulas(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.cellLocale(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.cellParser(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.cellParsers(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.cellStyle(), CATEGORY_STYLE);
+        functions.put(SpreadsheetExpressionFunctions.cellStyles(), CATEGORY_STYLE);
+        functions.put(SpreadsheetExpressionFunctions.cellValidator(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.cellValidators(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.cellValue(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.cellValues(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.cellValueType(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.cellValueTypes(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.charFunction(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.choose(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.clean(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.code(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.color(), CATEGORY_COLOR);
+        functions.put(SpreadsheetExpressionFunctions.column(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.columnNumbers(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.columns(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.concat(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.cos(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.cosh(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.count(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.countA(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.countBlank(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.countErrors(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.countIf(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.createSpreadsheetMetadata(), CATEGORY_METADATA);
+        functions.put(SpreadsheetExpressionFunctions.currency(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.currencyCode(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.currencyValue(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.date(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.day(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.days(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.decimal(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.dec2bin(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.dec2hex(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.dec2oct(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.degrees(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.deleteSpreadsheetMetadata(), CATEGORY_METADATA);
+        functions.put(SpreadsheetExpressionFunctions.deleteStorage(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.delta(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.dollar(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.e(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.emailAddress(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.error(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.errorTypes(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.eval(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.even(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.exact(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.exit(), CATEGORY_TERMINAL);
+        functions.put(SpreadsheetExpressionFunctions.exp(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.falseFunction(), CATEGORY_NONE);
+        //functions.put(SpreadsheetExpressionFunctions.fileStorage(), CATEGORY_NONE); see #nonGwtFunctions below
+        functions.put(SpreadsheetExpressionFunctions.find(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.firstError(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.fixed(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.flag(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.floor(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.formatValue(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.formulaText(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.formulaTexts(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.getAlpha(), CATEGORY_COLOR);
+        functions.put(SpreadsheetExpressionFunctions.getBlue(), CATEGORY_COLOR);
+        functions.put(SpreadsheetExpressionFunctions.getCharset(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.getCurrency(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.getCurrentWorkingDirectory(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.getDateTimeSymbols(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.getDecimalNumberSymbols(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.getEnv(), CATEGORY_TERMINAL);
+        functions.put(SpreadsheetExpressionFunctions.getGreen(), CATEGORY_COLOR);
+        functions.put(SpreadsheetExpressionFunctions.getFormatter(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.getFormatValue(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.getFormulaText(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.getHomeDirectory(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.getHost(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.getIndentation(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.getLineEnding(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.getLocale(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.getParser(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.getRed(), CATEGORY_COLOR);
+        functions.put(SpreadsheetExpressionFunctions.getSpreadsheetMetadataValue(), CATEGORY_METADATA);
+        functions.put(SpreadsheetExpressionFunctions.getStyle(), CATEGORY_STYLE);
+        functions.put(SpreadsheetExpressionFunctions.getTextNode(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.getTimeOffset(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.getUser(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.getValidator(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.getValue(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.hex2bin(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.hex2dec(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.hex2oct(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.hour(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.hyperlink(), CATEGORY_FORMATTING);
+        functions.put(SpreadsheetExpressionFunctions.ifFunction(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.ifs(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.image(), CATEGORY_FORMATTING);
+        functions.put(SpreadsheetExpressionFunctions.indirect(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.intFunction(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.invertColor(), CATEGORY_COLOR);
+        functions.put(SpreadsheetExpressionFunctions.isBlank(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.isBlanks(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.isDate(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.isErr(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.isError(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.isErrors(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.isErrs(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.isEven(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.isFormula(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.isFormulas(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.isLogical(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.isNa(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.isNas(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.isNonText(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.isNull(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.isNumber(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.isOdd(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.isoWeekNum(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.isRef(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.isText(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.json(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.jsonText(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.lambda(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.left(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.len(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.let(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.list(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.listNonNull(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.listStorage(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.listStoragePage(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.ln(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.loadSpreadsheetMetadata(), CATEGORY_METADATA);
+        functions.put(SpreadsheetExpressionFunctions.loadSpreadsheetMetadatas(), CATEGORY_METADATA);
+        functions.put(SpreadsheetExpressionFunctions.locale(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.localeLanguageTag(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.log(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.log10(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.lower(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.margin(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.max(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.maxIf(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.memoryStorage(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.mergeStyle(), CATEGORY_STYLE);
+        functions.put(SpreadsheetExpressionFunctions.mid(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.min(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.minIf(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.minute(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.mixColor(), CATEGORY_COLOR);
+        functions.put(SpreadsheetExpressionFunctions.mod(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.month(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.mount(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.mountPoints(), CATEGORY_NONE);
+        functions.put(nextEmpty.get(0), CATEGORY_VALIDATION);
+        functions.put(nextEmpty.get(1), CATEGORY_VALIDATION);
+        functions.put(SpreadsheetExpressionFunctions.not(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.now(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.nullFunction(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.numberValue(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.oct2bin(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.oct2dec(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.oct2hex(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.odd(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.offset(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.or(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.padding(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.pi(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.print(), CATEGORY_TERMINAL);
+        functions.put(SpreadsheetExpressionFunctions.printEnv(), CATEGORY_TERMINAL);
+        functions.put(SpreadsheetExpressionFunctions.println(), CATEGORY_TERMINAL);
+        functions.put(SpreadsheetExpressionFunctions.product(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.proper(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.quotient(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.radians(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.rand(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.randBetween(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.readLine(), CATEGORY_TERMINAL);
+        functions.put(SpreadsheetExpressionFunctions.readStorage(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.readStorageLines(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.readStorageText(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.removeEnv(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.removeSpreadsheetMetadataValue(), CATEGORY_METADATA);
+        functions.put(SpreadsheetExpressionFunctions.replace(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.rept(), CATEGORY_NONE);
+        functions.put(nextEmpty.get(2), CATEGORY_VALIDATION);
+        functions.put(nextEmpty.get(3), CATEGORY_VALIDATION);
+        functions.put(SpreadsheetExpressionFunctions.right(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.roman(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.round(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.roundDown(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.roundUp(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.row(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.rowNumbers(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.rows(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.saveSpreadsheetMetadata(), CATEGORY_METADATA);
+        functions.put(SpreadsheetExpressionFunctions.script(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.search(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.second(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.setAlpha(), CATEGORY_COLOR);
+        functions.put(SpreadsheetExpressionFunctions.setBlue(), CATEGORY_COLOR);
+        functions.put(SpreadsheetExpressionFunctions.setCharset(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.setCurrency(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.setCurrentWorkingDirectory(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.setEnv(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.setGreen(), CATEGORY_COLOR);
+        functions.put(SpreadsheetExpressionFunctions.setHomeDirectory(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.setHost(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.setIndentation(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.setLineEnding(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.setLocale(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.setRed(), CATEGORY_COLOR);
+        functions.put(SpreadsheetExpressionFunctions.setSpreadsheetMetadataValue(), CATEGORY_METADATA);
+        functions.put(SpreadsheetExpressionFunctions.setSpreadsheetMetadataValues(), CATEGORY_METADATA);
+        functions.put(SpreadsheetExpressionFunctions.setStyle(), CATEGORY_STYLE);
+        functions.put(SpreadsheetExpressionFunctions.setText(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.setTimeOffset(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.shell(), CATEGORY_TERMINAL);
+        functions.put(SpreadsheetExpressionFunctions.sign(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.sin(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.sinh(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.spreadsheetMetadataCacheStatistics(), CATEGORY_METADATA);
+        functions.put(SpreadsheetExpressionFunctions.spreadsheetUrl(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.sqrt(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.style(), CATEGORY_STYLE);
+        functions.put(SpreadsheetExpressionFunctions.styleGet(), CATEGORY_STYLE);
+        functions.put(SpreadsheetExpressionFunctions.styleRemove(), CATEGORY_STYLE);
+        functions.put(SpreadsheetExpressionFunctions.styleRemoveIf(), CATEGORY_STYLE);
+        functions.put(SpreadsheetExpressionFunctions.styleReplaceIf(), CATEGORY_STYLE);
+        functions.put(SpreadsheetExpressionFunctions.styleSet(), CATEGORY_STYLE);
+        functions.put(SpreadsheetExpressionFunctions.styledText(), CATEGORY_STYLE);
+        functions.put(SpreadsheetExpressionFunctions.substitute(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.sum(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.sumIf(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.switchFunction(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.t(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.tan(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.tanh(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.template(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.text(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.textJoin(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.textMatch(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.time(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.today(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.toGray(), CATEGORY_COLOR);
+        functions.put(SpreadsheetExpressionFunctions.toHslColor(), CATEGORY_COLOR);
+        functions.put(SpreadsheetExpressionFunctions.toHsvColor(), CATEGORY_COLOR);
+        functions.put(SpreadsheetExpressionFunctions.toRgbColor(), CATEGORY_COLOR);
+        functions.put(SpreadsheetExpressionFunctions.toRgbHexString(), CATEGORY_COLOR);
+        functions.put(SpreadsheetExpressionFunctions.toWebColorName(), CATEGORY_COLOR);
+        functions.put(SpreadsheetExpressionFunctions.treeText(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.trim(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.trueFunction(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.trunc(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.type(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.unichar(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.unicode(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.unmount(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.upper(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.url(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.validationChoiceList(), CATEGORY_VALIDATION);
+        functions.put(SpreadsheetExpressionFunctions.validationError(), CATEGORY_VALIDATION);
+        functions.put(SpreadsheetExpressionFunctions.validationErrorIf(), CATEGORY_VALIDATION);
+        functions.put(SpreadsheetExpressionFunctions.validationValue(), CATEGORY_VALIDATION);
+        functions.put(SpreadsheetExpressionFunctions.value(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.weekDay(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.weekNum(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.writeStorage(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.writeStorageLines(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.writeStorageText(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.year(), CATEGORY_NONE);
+        functions.put(SpreadsheetExpressionFunctions.xor(), CATEGORY_NONE);
+
+        return nonGwtFunctions(functions);
+    }
+
     @GwtIncompatible
-    static Set<ExpressionFunction<?, SpreadsheetExpressionEvaluationContext>> nonGwtFunctions(final Set<ExpressionFunction<?, SpreadsheetExpressionEvaluationContext>> functions) {
-        return Sets.immutable(functions)
-            .concat(
-                SpreadsheetExpressionFunctions.fileStorage()
-            );
+    static Map<ExpressionFunction<?, SpreadsheetExpressionEvaluationContext>, Integer> nonGwtFunctions(final Map<ExpressionFunction<?, SpreadsheetExpressionEvaluationContext>, Integer> functions) {
+        functions.put(SpreadsheetExpressionFunctions.fileStorage(), CATEGORY_NONE);
+        return functions;
     }
 
     /**
@@ -20,14 +20,14 @@ package walkingkooka.spreadsheet.expression.function.provider;
 import walkingkooka.spreadsheet.expression.SpreadsheetExpressionEvaluationContext;
 import walkingkooka.tree.expression.function.ExpressionFunction;
 
-import java.util.Set;
+import java.util.Map;
 
 /**
  * Provider getter.
  */
 abstract class SpreadsheetExpressionFunctionProvidersGwt {
 
-    static Set<ExpressionFunction<?, SpreadsheetExpressionEvaluationContext>> nonGwtFunctions(final Set<ExpressionFunction<?, SpreadsheetExpressionEvaluationContext>> functions) {
+    static Map<ExpressionFunction<?, SpreadsheetExpressionEvaluationContext>, Integer> nonGwtFunctions(final Map<ExpressionFunction<?, SpreadsheetExpressionEvaluationContext>, Integer> functions) {
         return functions;
     }
 
@@ -0,0 +1,201 @@
+/*
+ * Copyright 2022 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.expression.function.provider;
+
+import walkingkooka.tree.expression.function.provider.ExpressionFunctionInfo;
+
+import java.util.Arrays;
+import java.util.function.Predicate;
+
+/**
+ * A generated snapshot of the function names removed from {@link SpreadsheetExpressionFunctionProviders#ALL} to produce
+ * each of the alias sets, allowing them to be built with a single pass and a binary search of each name, rather than
+ * several passes each testing every name.
+ * <br>
+ * Only the names are snapshotted, {@link SpreadsheetExpressionFunctionProviders#ALL} itself is still built from the
+ * provider when the class is initialized. It cannot be snapshotted as its content differs between the JVM, which
+ * includes the functions registered by SpreadsheetExpressionFunctionProviders#nonGwtFunctions, and GWT/J2CL which does not.
+ * <br>
+ * SpreadsheetExpressionFunctionProvidersSnapshotTest verifies this snapshot against the function categories and prints the
+ * replacement arrays when they differ. Each array must be sorted using {@link String#CASE_INSENSITIVE_ORDER}, which is
+ * also used to search them, so names are matched ignoring case.
+ */
+final class SpreadsheetExpressionFunctionProvidersSnapshot {
+
+    static final String[] FIND = {
+        "cellStyle",
+        "cellStyles",
+        "color",
+        "createSpreadsheetMetadata",
+        "deleteSpreadsheetMetadata",
+        "exit",
+        "getAlpha",
+        "getBlue",
+        "getEnv",
+        "getGreen",
+        "getRed",
+        "getSpreadsheetMetadataValue",
+        "getStyle",
+        "hyperlink",
+        "image",
+        "invertColor",
+        "loadSpreadsheetMetadata",
+        "loadSpreadsheetMetadatas",
+        "mergeStyle",
+        "mixColor",
+        "nextEmptyColumn",
+        "nextEmptyRow",
+        "print",
+        "printEnv",
+        "println",
+        "readLine",
+        "removeSpreadsheetMetadataValue",
+        "reserveEmptyColumns",
+        "reserveEmptyRows",
+        "saveSpreadsheetMetadata",
+        "setAlpha",
+        "setBlue",
+        "setGreen",
+        "setRed",
+        "setSpreadsheetMetadataValue",
+        "setSpreadsheetMetadataValues",
+        "setStyle",
+        "shell",
+        "spreadsheetMetadataCacheStatistics",
+        "style",
+        "styledText",
+        "styleGet",
+        "styleRemove",
+        "styleRemoveIf",
+        "styleReplaceIf",
+        "styleSet",
+        "toGray",
+        "toHslColor",
+        "toHsvColor",
+        "toRgbColor",
+        "toRgbHexString",
+        "toWebColorName",
+        "validationChoiceList",
+        "validationError",
+        "validationErrorIf",
+        "validationValue"
+    };
+
+    static final String[] FORMATTING = {
+        "createSpreadsheetMetadata",
+        "deleteSpreadsheetMetadata",
+        "exit",
+        "getEnv",
+        "getSpreadsheetMetadataValue",
+        "loadSpreadsheetMetadata",
+        "loadSpreadsheetMetadatas",
+        "nextEmptyColumn",
+        "nextEmptyRow",
+        "print",
+        "printEnv",
+        "println",
+        "readLine",
+        "removeSpreadsheetMetadataValue",
+        "reserveEmptyColumns",
+        "reserveEmptyRows",
+        "saveSpreadsheetMetadata",
+        "setSpreadsheetMetadataValue",
+        "setSpreadsheetMetadataValues",
+        "shell",
+        "spreadsheetMetadataCacheStatistics",
+        "validationChoiceList",
+        "validationError",
+        "validationErrorIf",
+        "validationValue"
+    };
+
+    static final String[] FORMULA = FIND;
+
+    static final String[] TERMINAL = {
+    };
+
+    static final String[] VALIDATION = {
+        "cellStyle",
+        "cellStyles",
+        "color",
+        "createSpreadsheetMetadata",
+        "deleteSpreadsheetMetadata",
+        "exit",
+        "getAlpha",
+        "getBlue",
+        "getEnv",
+        "getGreen",
+        "getRed",
+        "getSpreadsheetMetadataValue",
+        "getStyle",
+        "hyperlink",
+        "image",
+        "invertColor",
+        "loadSpreadsheetMetadata",
+        "loadSpreadsheetMetadatas",
+        "mergeStyle",
+        "mixColor",
+        "print",
+        "printEnv",
+        "println",
+        "readLine",
+        "removeSpreadsheetMetadataValue",
+        "saveSpreadsheetMetadata",
+        "setAlpha",
+        "setBlue",
+        "setGreen",
+        "setRed",
+        "setSpreadsheetMetadataValue",
+        "setSpreadsheetMetadataValues",
+        "setStyle",
+        "shell",
+        "spreadsheetMetadataCacheStatistics",
+        "style",
+        "styledText",
+        "styleGet",
+        "styleRemove",
+        "styleRemoveIf",
+        "styleReplaceIf",
+        "styleSet",
+        "toGray",
+        "toHslColor",
+        "toHsvColor",
+        "toRgbColor",
+        "toRgbHexString",
+        "toWebColorName"
+    };
+
+    /**
+     * Returns a {@link Predicate} that matches any {@link ExpressionFunctionInfo} with a name in the given sorted array.
+     */
+    static Predicate<ExpressionFunctionInfo> names(final String[] names) {
+        return (i) -> Arrays.binarySearch(
+            names,
+            i.name()
+                .value(),
+            String.CASE_INSENSITIVE_ORDER
+        ) >= 0;
+    }
+
+    /**
+     * Stop creation
+     */
+    private SpreadsheetExpressionFunctionProvidersSnapshot() {
+        throw new UnsupportedOperationException();
+    }
+}
@@ -0,0 +1,232 @@
+/*
+ * Copyright 2022 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.expression.function;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.spreadsheet.reference.SpreadsheetCellReference;
+import walkingkooka.spreadsheet.reference.SpreadsheetReferenceKind;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public final class SpreadsheetExpressionFunctionAddressCacheTest implements ClassTesting2<SpreadsheetExpressionFunctionAddressCache> {
+
+    @Test
+    public void testCellCached() {
+        final SpreadsheetCellReference cell = this.cellAndCheck(
+            SpreadsheetReferenceKind.ABSOLUTE,
+            2,
+            SpreadsheetReferenceKind.RELATIVE,
+            3
+        );
+
+        assertSame(
+            cell,
+            SpreadsheetExpressionFunctionAddressCache.cell(
+                SpreadsheetReferenceKind.ABSOLUTE,
+                2,
+                SpreadsheetReferenceKind.RELATIVE,
+                3
+            )
+        );
+    }
+
+    @Test
+    public void testCellDifferentKinds() {
+        this.checkNotEquals(
+            this.cellAndCheck(
+                SpreadsheetReferenceKind.ABSOLUTE,
+                4,
+                SpreadsheetReferenceKind.ABSOLUTE,
+                5
+            ),
+            this.cellAndCheck(
+                SpreadsheetReferenceKind.RELATIVE,
+                4,
+                SpreadsheetReferenceKind.RELATIVE,
+                5
+            )
+        );
+    }
+
+    @Test
+    public void testCellOutsideWindow() {
+        this.cellAndCheck(
+            SpreadsheetReferenceKind.RELATIVE,
+            SpreadsheetExpressionFunctionAddressCache.ROWS + 1,
+            SpreadsheetReferenceKind.RELATIVE,
+            SpreadsheetExpressionFunctionAddressCache.COLUMNS + 1
+        );
+    }
+
+    @Test
+    public void testCellLastInsideRegionCached() {
+        assertSame(
+            this.cellAndCheck(
+                SpreadsheetReferenceKind.RELATIVE,
+                SpreadsheetExpressionFunctionAddressCache.ROWS - 1,
+                SpreadsheetReferenceKind.RELATIVE,
+                SpreadsheetExpressionFunctionAddressCache.COLUMNS - 1
+            ),
+            SpreadsheetExpressionFunctionAddressCache.cell(
+                SpreadsheetReferenceKind.RELATIVE,
+                SpreadsheetExpressionFunctionAddressCache.ROWS - 1,
+                SpreadsheetReferenceKind.RELATIVE,
+                SpreadsheetExpressionFunctionAddressCache.COLUMNS - 1
+            )
+        );
+    }
+
+    @Test
+    public void testCellOutsideRegionNotCached() {
+        assertNotSame(
+            this.cellAndCheck(
+                SpreadsheetReferenceKind.RELATIVE,
+                SpreadsheetExpressionFunctionAddressCache.ROWS,
+                SpreadsheetReferenceKind.RELATIVE,
+                0
+            ),
+            SpreadsheetExpressionFunctionAddressCache.cell(
+                SpreadsheetReferenceKind.RELATIVE,
+                SpreadsheetExpressionFunctionAddressCache.ROWS,
+                SpreadsheetReferenceKind.RELATIVE,
+                0
+            )
+        );
+    }
+
+    @Test
+    public void testCellConcurrentlyAlwaysComplete() throws Exception {
+        final int threads = 8;
+        final CountDownLatch start = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        try {
+            final List<Future<SpreadsheetCellReference[]>> futures = Lists.array();
+            for (int i = 0; i < threads; i++) {
+                final Callable<SpreadsheetCellReference[]> task = () -> {
+                    start.await();
+                    return this.allCells(true);
+                };
+                futures.add(
+                    executor.submit(task)
+                );
+            }
+
+            start.countDown();
+
+            final SpreadsheetCellReference[] expected = this.allCells(false);
+            SpreadsheetCellReference[] first = null;
+            for (final Future<SpreadsheetCellReference[]> future : futures) {
+                final SpreadsheetCellReference[] cells = future.get();
+                this.checkEquals(
+                    Lists.of(expected),
+                    Lists.of(cells)
+                );
+
+                if (null == first) {
+                    first = cells;
+                } else {
+                    for (int i = 0; i < cells.length; i++) {
+                        assertSame(
+                            first[i],
+                            cells[i],
+                            "different instances for " + cells[i]
+                        );
+                    }
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Returns every cell in the region for all kinds, either from the cache or created directly.
+     */
+    private SpreadsheetCellReference[] allCells(final boolean cached) {
+        final SpreadsheetReferenceKind[] kinds = SpreadsheetReferenceKind.values();
+        final SpreadsheetCellReference[] cells = new SpreadsheetCellReference[kinds.length * kinds.length * SpreadsheetExpressionFunctionAddressCache.ROWS * SpreadsheetExpressionFunctionAddressCache.COLUMNS];
+
+        int i = 0;
+        for (final SpreadsheetReferenceKind rowKind : kinds) {
+            for (final SpreadsheetReferenceKind columnKind : kinds) {
+                for (int row = 0; row < SpreadsheetExpressionFunctionAddressCache.ROWS; row++) {
+                    for (int column = 0; column < SpreadsheetExpressionFunctionAddressCache.COLUMNS; column++) {
+                        cells[i++] = cached ?
+                            SpreadsheetExpressionFunctionAddressCache.cell(
+                                rowKind,
+                                row,
+                                columnKind,
+                                column
+                            ) :
+                            rowKind.row(row)
+                                .setColumn(
+                                    columnKind.column(column)
+                                );
+                    }
+                }
+            }
+        }
+
+        return cells;
+    }
+
+    private SpreadsheetCellReference cellAndCheck(final SpreadsheetReferenceKind rowKind,
+                                                  final int row,
+                                                  final SpreadsheetReferenceKind columnKind,
+                                                  final int column) {
+        final SpreadsheetCellReference cell = SpreadsheetExpressionFunctionAddressCache.cell(
+            rowKind,
+            row,
+            columnKind,
+            column
+        );
+
+        this.checkEquals(
+            rowKind.row(row)
+                .setColumn(
+                    columnKind.column(column)
+                ),
+            cell
+        );
+        return cell;
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<SpreadsheetExpressionFunctionAddressCache> type() {
+        return SpreadsheetExpressionFunctionAddressCache.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
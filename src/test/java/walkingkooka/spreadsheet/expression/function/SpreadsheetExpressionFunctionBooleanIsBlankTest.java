@@ -116,6 +116,11 @@ public final class SpreadsheetExpressionFunctionBooleanIsBlankTest extends Sprea
         return SpreadsheetExpressionFunctionBooleanIsBlank.INSTANCE;
     }
 
+    @Override
+    int purity() {
+        return SpreadsheetExpressionFunction.PURITY_READ;
+    }
+
     @Override
     public int minimumParameterCount() {
         return 1;
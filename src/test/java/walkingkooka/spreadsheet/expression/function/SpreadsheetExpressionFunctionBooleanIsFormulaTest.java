@@ -93,6 +93,11 @@ public final class SpreadsheetExpressionFunctionBooleanIsFormulaTest extends Spr
         return SpreadsheetExpressionFunctionBooleanIsFormula.INSTANCE;
     }
 
+    @Override
+    int purity() {
+        return SpreadsheetExpressionFunction.PURITY_READ;
+    }
+
     @Override
     public int minimumParameterCount() {
         return 1;
@@ -32,6 +32,11 @@ public final class SpreadsheetExpressionFunctionCellDateTimeSymbolsTest extends
         return SpreadsheetExpressionFunctionCellDateTimeSymbols.INSTANCE;
     }
 
+    @Override
+    int purity() {
+        return SpreadsheetExpressionFunction.PURITY_CELL;
+    }
+
     @Override
     DateTimeSymbols valuePresent() {
         return DateTimeSymbols.fromDateFormatSymbols(
@@ -32,6 +32,11 @@ public final class SpreadsheetExpressionFunctionCellDecimalNumberSymbolsTest ext
         return SpreadsheetExpressionFunctionCellDecimalNumberSymbols.INSTANCE;
     }
 
+    @Override
+    int purity() {
+        return SpreadsheetExpressionFunction.PURITY_CELL;
+    }
+
     @Override
     DecimalNumberSymbols valuePresent() {
         return DecimalNumberSymbols.fromDecimalFormatSymbols(
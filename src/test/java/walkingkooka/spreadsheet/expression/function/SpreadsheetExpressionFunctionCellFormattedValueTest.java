@@ -32,6 +32,11 @@ public final class SpreadsheetExpressionFunctionCellFormattedValueTest extends S
         return SpreadsheetExpressionFunctionCellFormattedValue.INSTANCE;
     }
 
+    @Override
+    int purity() {
+        return SpreadsheetExpressionFunction.PURITY_CELL;
+    }
+
     @Override
     TextNode valuePresent() {
         return SpreadsheetText.with("Hello123")
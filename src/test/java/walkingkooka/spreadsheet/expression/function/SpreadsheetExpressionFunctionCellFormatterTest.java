@@ -31,6 +31,11 @@ public final class SpreadsheetExpressionFunctionCellFormatterTest extends Spread
         return SpreadsheetExpressionFunctionCellFormatter.INSTANCE;
     }
 
+    @Override
+    int purity() {
+        return SpreadsheetExpressionFunction.PURITY_CELL;
+    }
+
     @Override
     SpreadsheetFormatterSelector valuePresent() {
         return SpreadsheetPattern.parseDateFormatPattern("yyyy/mm/ddd")
@@ -28,6 +28,11 @@ public final class SpreadsheetExpressionFunctionCellFormulaTest extends Spreadsh
         return SpreadsheetExpressionFunctionCellFormula.INSTANCE;
     }
 
+    @Override
+    int purity() {
+        return SpreadsheetExpressionFunction.PURITY_CELL;
+    }
+
     @Override
     SpreadsheetFormula valuePresent() {
         return SpreadsheetFormula.EMPTY.setText("=1+2");
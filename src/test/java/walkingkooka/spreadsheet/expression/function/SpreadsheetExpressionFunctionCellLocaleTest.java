@@ -30,6 +30,11 @@ public final class SpreadsheetExpressionFunctionCellLocaleTest extends Spreadshe
         return SpreadsheetExpressionFunctionCellLocale.INSTANCE;
     }
 
+    @Override
+    int purity() {
+        return SpreadsheetExpressionFunction.PURITY_CELL;
+    }
+
     @Override
     Locale valuePresent() {
         return Locale.ENGLISH;
@@ -31,6 +31,11 @@ public final class SpreadsheetExpressionFunctionCellParserTest extends Spreadshe
         return SpreadsheetExpressionFunctionCellParser.INSTANCE;
     }
 
+    @Override
+    int purity() {
+        return SpreadsheetExpressionFunction.PURITY_CELL;
+    }
+
     @Override
     SpreadsheetParserSelector valuePresent() {
         return SpreadsheetPattern.parseDateParsePattern("yyyy/mm/ddd")
@@ -31,6 +31,11 @@ public final class SpreadsheetExpressionFunctionCellStyleTest extends Spreadshee
         return SpreadsheetExpressionFunctionCellStyle.INSTANCE;
     }
 
+    @Override
+    int purity() {
+        return SpreadsheetExpressionFunction.PURITY_CELL;
+    }
+
     @Override
     TextStyle valuePresent() {
         return TextStyle.EMPTY.set(
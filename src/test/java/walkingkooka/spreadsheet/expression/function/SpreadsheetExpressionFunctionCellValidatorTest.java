@@ -30,6 +30,11 @@ public final class SpreadsheetExpressionFunctionCellValidatorTest extends Spread
         return SpreadsheetExpressionFunctionCellValidator.INSTANCE;
     }
 
+    @Override
+    int purity() {
+        return SpreadsheetExpressionFunction.PURITY_CELL;
+    }
+
     @Override
     ValidatorSelector valuePresent() {
         return ValidatorSelector.parse("non-null");
@@ -30,6 +30,11 @@ public final class SpreadsheetExpressionFunctionCellValueTest extends Spreadshee
         return SpreadsheetExpressionFunctionCellValue.INSTANCE;
     }
 
+    @Override
+    int purity() {
+        return SpreadsheetExpressionFunction.PURITY_CELL;
+    }
+
     @Override
     Object valuePresent() {
         return ExpressionNumberKind.BIG_DECIMAL.create(1);
@@ -30,6 +30,11 @@ public final class SpreadsheetExpressionFunctionCellValueTypeTest extends Spread
         return SpreadsheetExpressionFunctionCellValueType.INSTANCE;
     }
 
+    @Override
+    int purity() {
+        return SpreadsheetExpressionFunction.PURITY_CELL;
+    }
+
     @Override
     Object valuePresent() {
         return ValueType.DATE;
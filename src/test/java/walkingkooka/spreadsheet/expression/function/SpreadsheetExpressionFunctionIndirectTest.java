@@ -21,6 +21,11 @@ import org.junit.jupiter.api.Test;
 import walkingkooka.collect.list.Lists;
 import walkingkooka.spreadsheet.expression.SpreadsheetExpressionEvaluationContext;
 import walkingkooka.spreadsheet.reference.SpreadsheetCellReference;
+import walkingkooka.spreadsheet.reference.SpreadsheetExpressionReference;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 public final class SpreadsheetExpressionFunctionIndirectTest extends SpreadsheetExpressionFunctionTestCase<SpreadsheetExpressionFunctionIndirect, SpreadsheetCellReference> {
 
@@ -32,6 +37,33 @@ public final class SpreadsheetExpressionFunctionIndirectTest extends Spreadsheet
         );
     }
 
+    @Test
+    public void testWithNullListenerFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> SpreadsheetExpressionFunctionIndirect.with(null)
+        );
+    }
+
+    @Test
+    public void testApplyReportsReferenceToListener() {
+        final List<SpreadsheetExpressionReference> references = Lists.array();
+
+        this.checkEquals(
+            REFERENCE,
+            SpreadsheetExpressionFunctionIndirect.with(
+                (r, c) -> references.add(r)
+            ).apply(
+                Lists.of(REFERENCE),
+                this.createContext()
+            )
+        );
+        this.checkEquals(
+            Lists.of(REFERENCE),
+            references
+        );
+    }
+
     @Test
     public void testToString() {
         this.toStringAndCheck(
@@ -45,6 +77,11 @@ public final class SpreadsheetExpressionFunctionIndirectTest extends Spreadsheet
         return SpreadsheetExpressionFunctionIndirect.INSTANCE;
     }
 
+    @Override
+    int purity() {
+        return SpreadsheetExpressionFunction.PURITY_VOLATILE;
+    }
+
     @Override
     public int minimumParameterCount() {
         return 1;
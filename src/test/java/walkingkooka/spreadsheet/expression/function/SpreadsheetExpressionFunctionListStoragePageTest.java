@@ -0,0 +1,274 @@
+/*
+ * Copyright 2022 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.expression.function;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.environment.AuditInfo;
+import walkingkooka.net.email.EmailAddress;
+import walkingkooka.spreadsheet.expression.FakeSpreadsheetExpressionEvaluationContext;
+import walkingkooka.spreadsheet.expression.SpreadsheetExpressionEvaluationContext;
+import walkingkooka.storage.StoragePath;
+import walkingkooka.storage.StorageValueInfo;
+import walkingkooka.storage.StorageValueInfoList;
+import walkingkooka.tree.expression.ExpressionNumberKind;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class SpreadsheetExpressionFunctionListStoragePageTest extends SpreadsheetExpressionFunctionTestCase<SpreadsheetExpressionFunctionListStoragePage, StorageValueInfoList> {
+
+    private final static ExpressionNumberKind KIND = ExpressionNumberKind.BIG_DECIMAL;
+
+    private final static String PARENT = "/dir/";
+
+    /**
+     * More entries than a single batch, half starting with a and half with b.
+     */
+    private final static int ENTRIES = SpreadsheetExpressionFunctionListStoragePage.BATCH_SIZE * 2;
+
+    @Test
+    public void testApplyWithoutPrefix() {
+        this.applyAndCheck2(
+            Lists.of(
+                PARENT,
+                KIND.create(2),
+                KIND.create(3)
+            ),
+            infos(
+                "a2",
+                "a3",
+                "a4"
+            )
+        );
+        this.checkEquals(
+            1,
+            this.lists,
+            "lists"
+        );
+    }
+
+    @Test
+    public void testApplyPrefix() {
+        this.applyAndCheck2(
+            Lists.of(
+                PARENT,
+                KIND.create(1),
+                KIND.create(2),
+                "b"
+            ),
+            infos(
+                "b1",
+                "b2"
+            )
+        );
+    }
+
+    @Test
+    public void testApplyPrefixStopsWhenPageFull() {
+        this.applyAndCheck2(
+            Lists.of(
+                PARENT,
+                KIND.create(0),
+                KIND.create(2),
+                "a"
+            ),
+            infos(
+                "a0",
+                "a1"
+            )
+        );
+        this.checkEquals(
+            1,
+            this.lists,
+            "lists"
+        );
+    }
+
+    @Test
+    public void testApplyPrefixLastPage() {
+        this.applyAndCheck2(
+            Lists.of(
+                PARENT,
+                KIND.create(ENTRIES / 2 - 1),
+                KIND.create(10),
+                "b"
+            ),
+            infos(
+                "b" + (ENTRIES / 2 - 1)
+            )
+        );
+    }
+
+    @Test
+    public void testApplyPrefixNoMatches() {
+        this.applyAndCheck2(
+            Lists.of(
+                PARENT,
+                KIND.create(0),
+                KIND.create(10),
+                "z"
+            ),
+            StorageValueInfoList.EMPTY
+        );
+    }
+
+    @Test
+    public void testApplyInvalidOffsetFails() {
+        final IllegalArgumentException thrown = assertThrows(
+            IllegalArgumentException.class,
+            () -> this.createBiFunction()
+                .apply(
+                    Lists.of(
+                        PARENT,
+                        KIND.create(-1),
+                        KIND.create(1),
+                        "a"
+                    ),
+                    this.createContext()
+                )
+        );
+        this.checkEquals(
+            "Invalid offset -1 < 0",
+            thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testName() {
+        this.checkEquals(
+            "file.txt",
+            SpreadsheetExpressionFunctionListStoragePage.name(
+                info("/dir/file.txt")
+            )
+        );
+    }
+
+    @Test
+    public void testNameDirectory() {
+        this.checkEquals(
+            "sub",
+            SpreadsheetExpressionFunctionListStoragePage.name(
+                info("/dir/sub/")
+            )
+        );
+    }
+
+    private static StorageValueInfoList infos(final String... names) {
+        final List<StorageValueInfo> infos = Lists.array();
+        for (final String name : names) {
+            infos.add(
+                info(PARENT + name)
+            );
+        }
+        return StorageValueInfoList.EMPTY.setElements(infos);
+    }
+
+    private static StorageValueInfo info(final String path) {
+        return StorageValueInfo.with(
+            StoragePath.parse(path),
+            AuditInfo.create(
+                EmailAddress.parse("user@example.com"),
+                LocalDateTime.of(
+                    1999,
+                    12,
+                    31,
+                    12,
+                    58
+                )
+            )
+        );
+    }
+
+    /**
+     * The entries in name order, a0, a1 ... b0, b1 ...
+     */
+    private final static List<StorageValueInfo> ALL = all();
+
+    private static List<StorageValueInfo> all() {
+        final List<StorageValueInfo> all = Lists.array();
+        for (final String prefix : new String[]{"a", "b"}) {
+            for (int i = 0; i < ENTRIES / 2; i++) {
+                all.add(
+                    info(PARENT + prefix + i)
+                );
+            }
+        }
+        return all;
+    }
+
+    @Override
+    public SpreadsheetExpressionEvaluationContext createContext() {
+        return new FakeSpreadsheetExpressionEvaluationContext() {
+
+            @Override
+            public StoragePath parseStoragePath(final String path) {
+                return StoragePath.parse(path);
+            }
+
+            @Override
+            public List<StorageValueInfo> listStorage(final StoragePath parent,
+                                                      final int offset,
+                                                      final int count) {
+                SpreadsheetExpressionFunctionListStoragePageTest.this.lists++;
+
+                SpreadsheetExpressionFunctionListStoragePageTest.this.checkEquals(
+                    StoragePath.parse(PARENT),
+                    parent,
+                    "parent"
+                );
+                return ALL.subList(
+                    Math.min(offset, ALL.size()),
+                    Math.min(offset + count, ALL.size())
+                );
+            }
+        };
+    }
+
+    private int lists;
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(
+            this.createBiFunction(),
+            "listStoragePage"
+        );
+    }
+
+    @Override
+    public SpreadsheetExpressionFunctionListStoragePage createBiFunction() {
+        return SpreadsheetExpressionFunctionListStoragePage.INSTANCE;
+    }
+
+    @Override
+    int purity() {
+        return SpreadsheetExpressionFunction.PURITY_READ;
+    }
+
+    @Override
+    public int minimumParameterCount() {
+        return 3;
+    }
+
+    @Override
+    public Class<SpreadsheetExpressionFunctionListStoragePage> type() {
+        return SpreadsheetExpressionFunctionListStoragePage.class;
+    }
+}
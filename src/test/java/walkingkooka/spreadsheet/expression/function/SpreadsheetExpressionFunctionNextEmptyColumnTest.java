@@ -48,6 +48,11 @@ public final class SpreadsheetExpressionFunctionNextEmptyColumnTest extends Spre
         return SpreadsheetExpressionFunctionNextEmptyColumn.INSTANCE;
     }
 
+    @Override
+    int purity() {
+        return SpreadsheetExpressionFunction.PURITY_READ | SpreadsheetExpressionFunction.PURITY_VOLATILE;
+    }
+
     @Override
     public int minimumParameterCount() {
         return 1;
@@ -0,0 +1,288 @@
+/*
+ * Copyright 2022 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.expression.function;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.spreadsheet.expression.FakeSpreadsheetExpressionEvaluationContext;
+import walkingkooka.spreadsheet.expression.SpreadsheetExpressionEvaluationContext;
+import walkingkooka.spreadsheet.meta.SpreadsheetId;
+import walkingkooka.spreadsheet.meta.SpreadsheetMetadata;
+import walkingkooka.spreadsheet.meta.SpreadsheetMetadataPropertyName;
+
+import java.time.LocalDateTime;
+
+public final class SpreadsheetExpressionFunctionNextEmptyReservationsTest implements ClassTesting2<SpreadsheetExpressionFunctionNextEmptyReservations> {
+
+    private final static int MAX = 9;
+
+    private final static int EXPIRY_SECONDS = 10;
+
+    private final static int LINE = 1;
+
+    private final static LocalDateTime NOW = LocalDateTime.of(
+        2000,
+        1,
+        2,
+        12,
+        0
+    );
+
+    @Test
+    public void testNext() {
+        this.nextAndCheck(
+            this.createReservations(),
+            3,
+            this.context(SpreadsheetId.with(1)),
+            3
+        );
+    }
+
+    @Test
+    public void testReserveThenNext() {
+        final SpreadsheetExpressionFunctionNextEmptyReservations reservations = this.createReservations();
+        final SpreadsheetExpressionEvaluationContext context = this.context(SpreadsheetId.with(1));
+
+        this.reserveAndCheck(
+            reservations,
+            0,
+            2,
+            context,
+            0
+        );
+        this.nextAndCheck(
+            reservations,
+            0,
+            context,
+            2
+        );
+    }
+
+    @Test
+    public void testReserveDifferentSpreadsheets() {
+        final SpreadsheetExpressionFunctionNextEmptyReservations reservations = this.createReservations();
+
+        this.reserveAndCheck(
+            reservations,
+            0,
+            2,
+            this.context(SpreadsheetId.with(1)),
+            0
+        );
+        this.nextAndCheck(
+            reservations,
+            0,
+            this.context(SpreadsheetId.with(2)),
+            0
+        );
+    }
+
+    @Test
+    public void testReserveWithoutSpreadsheetIdNotHeld() {
+        final SpreadsheetExpressionFunctionNextEmptyReservations reservations = this.createReservations();
+        final SpreadsheetExpressionEvaluationContext context = this.context(null);
+
+        this.reserveAndCheck(
+            reservations,
+            0,
+            2,
+            context,
+            0
+        );
+        this.nextAndCheck(
+            reservations,
+            0,
+            context,
+            0
+        );
+        this.checkEquals(
+            "{}",
+            reservations.toString()
+        );
+    }
+
+    @Test
+    public void testReserveWithoutSpreadsheetIdPastMaxFull() {
+        this.reserveAndCheck(
+            this.createReservations(),
+            8,
+            3,
+            this.context(null),
+            SpreadsheetExpressionFunctionNextEmptyReservations.FULL
+        );
+    }
+
+    @Test
+    public void testRowsNotShared() {
+        final SpreadsheetExpressionFunctionNextEmptyReservations reservations = SpreadsheetExpressionFunctionNextEmptyReservations.rows();
+        final SpreadsheetExpressionEvaluationContext context = this.context(SpreadsheetId.with(1));
+
+        this.reserveAndCheck(
+            reservations,
+            0,
+            2,
+            context,
+            0
+        );
+        this.nextAndCheck(
+            SpreadsheetExpressionFunctionNextEmptyReservations.rows(),
+            0,
+            context,
+            0
+        );
+    }
+
+    @Test
+    public void testReserveExpires() {
+        final SpreadsheetExpressionFunctionNextEmptyReservations reservations = this.createReservations();
+
+        this.reserveAndCheck(
+            reservations,
+            0,
+            2,
+            this.context(SpreadsheetId.with(1)),
+            0
+        );
+
+        this.now = NOW.plusSeconds(EXPIRY_SECONDS);
+
+        this.nextAndCheck(
+            reservations,
+            0,
+            this.context(SpreadsheetId.with(1)),
+            0
+        );
+    }
+
+    @Test
+    public void testReservePastMaxFull() {
+        final SpreadsheetExpressionFunctionNextEmptyReservations reservations = this.createReservations();
+        final SpreadsheetExpressionEvaluationContext context = this.context(SpreadsheetId.with(1));
+
+        this.reserveAndCheck(
+            reservations,
+            8,
+            3,
+            context,
+            SpreadsheetExpressionFunctionNextEmptyReservations.FULL
+        );
+
+        // nothing was reserved
+        this.nextAndCheck(
+            reservations,
+            8,
+            context,
+            8
+        );
+    }
+
+    @Test
+    public void testNextPastMaxFull() {
+        final SpreadsheetExpressionFunctionNextEmptyReservations reservations = this.createReservations();
+        final SpreadsheetExpressionEvaluationContext context = this.context(SpreadsheetId.with(1));
+
+        this.reserveAndCheck(
+            reservations,
+            8,
+            2,
+            context,
+            8
+        );
+        this.nextAndCheck(
+            reservations,
+            8,
+            context,
+            SpreadsheetExpressionFunctionNextEmptyReservations.FULL
+        );
+    }
+
+    private SpreadsheetExpressionFunctionNextEmptyReservations createReservations() {
+        return new SpreadsheetExpressionFunctionNextEmptyReservations(
+            MAX,
+            EXPIRY_SECONDS
+        );
+    }
+
+    private void nextAndCheck(final SpreadsheetExpressionFunctionNextEmptyReservations reservations,
+                              final int next,
+                              final SpreadsheetExpressionEvaluationContext context,
+                              final int expected) {
+        this.checkEquals(
+            expected,
+            reservations.next(
+                LINE,
+                next,
+                context
+            ),
+            () -> "next " + next
+        );
+    }
+
+    private void reserveAndCheck(final SpreadsheetExpressionFunctionNextEmptyReservations reservations,
+                                 final int next,
+                                 final int count,
+                                 final SpreadsheetExpressionEvaluationContext context,
+                                 final int expected) {
+        this.checkEquals(
+            expected,
+            reservations.reserve(
+                LINE,
+                next,
+                count,
+                context
+            ),
+            () -> "reserve " + next + " " + count
+        );
+    }
+
+    private LocalDateTime now = NOW;
+
+    private SpreadsheetExpressionEvaluationContext context(final SpreadsheetId id) {
+        final SpreadsheetMetadata metadata = null != id ?
+            SpreadsheetMetadata.EMPTY.set(
+                SpreadsheetMetadataPropertyName.SPREADSHEET_ID,
+                id
+            ) :
+            SpreadsheetMetadata.EMPTY;
+
+        return new FakeSpreadsheetExpressionEvaluationContext() {
+            @Override
+            public SpreadsheetMetadata spreadsheetMetadata() {
+                return metadata;
+            }
+
+            @Override
+            public LocalDateTime now() {
+                return SpreadsheetExpressionFunctionNextEmptyReservationsTest.this.now;
+            }
+        };
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<SpreadsheetExpressionFunctionNextEmptyReservations> type() {
+        return SpreadsheetExpressionFunctionNextEmptyReservations.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
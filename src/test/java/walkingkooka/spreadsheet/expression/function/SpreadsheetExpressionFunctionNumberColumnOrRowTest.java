@@ -102,6 +102,11 @@ public final class SpreadsheetExpressionFunctionNumberColumnOrRowTest extends Sp
         return SpreadsheetExpressionFunctionNumberColumnOrRow.COLUMN;
     }
 
+    @Override
+    int purity() {
+        return SpreadsheetExpressionFunction.PURITY_CELL;
+    }
+
     @Override
     public int minimumParameterCount() {
         return 1;
@@ -0,0 +1,280 @@
+/*
+ * Copyright 2022 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.expression.function;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.set.Sets;
+import walkingkooka.spreadsheet.expression.FakeSpreadsheetExpressionEvaluationContext;
+import walkingkooka.spreadsheet.expression.SpreadsheetExpressionEvaluationContext;
+import walkingkooka.spreadsheet.formula.SpreadsheetFormula;
+import walkingkooka.spreadsheet.reference.SpreadsheetCellRangeReference;
+import walkingkooka.spreadsheet.reference.SpreadsheetSelection;
+import walkingkooka.spreadsheet.value.SpreadsheetCell;
+import walkingkooka.spreadsheet.value.SpreadsheetError;
+import walkingkooka.tree.expression.ExpressionNumberKind;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.Set;
+
+public final class SpreadsheetExpressionFunctionNumberCountAOrBlankTest extends SpreadsheetExpressionFunctionNumberTestCase<SpreadsheetExpressionFunctionNumberCountAOrBlank> {
+
+    // countBlank......................................................................................................
+
+    @Test
+    public void testApplyEmptyParameters() {
+        this.applyAndCheck(
+            Lists.empty(),
+            EXPRESSION_NUMBER_KIND.zero()
+        );
+    }
+
+    @Test
+    public void testApplyNonNullBlank() {
+        this.applyAndCheck(
+            Lists.of(
+                11,
+                22
+            ),
+            EXPRESSION_NUMBER_KIND.zero()
+        );
+    }
+
+    @Test
+    public void testApplyOnlyNulls() {
+        this.applyAndCheck(
+            Lists.of(
+                null,
+                null
+            ),
+            EXPRESSION_NUMBER_KIND.create(2)
+        );
+    }
+
+    @Test
+    public void testApplyOnlySpreadsheetErrorNotFound() {
+        this.applyAndCheck(
+            Lists.of(
+                SpreadsheetError.selectionNotFound(SpreadsheetSelection.A1),
+                SpreadsheetError.selectionNotFound(SpreadsheetSelection.parseCell("B2"))
+            ),
+            EXPRESSION_NUMBER_KIND.create(2)
+        );
+    }
+
+    @Test
+    public void testApplyMixedNullNotFoundAndOthers() {
+        this.applyAndCheck(
+            Lists.of(
+                SpreadsheetError.selectionNotFound(SpreadsheetSelection.A1),
+                null,
+                EXPRESSION_NUMBER_KIND.create(2),
+                LocalDateTime.now()
+            ),
+            EXPRESSION_NUMBER_KIND.create(2)
+        );
+    }
+
+    @Test
+    public void testApplyRangeWithPresentCell() {
+        this.applyAndCheck2(
+            SpreadsheetExpressionFunctionNumberCountAOrBlank.COUNT_BLANK,
+            Lists.of(RANGE),
+            this.rangeContext(),
+            EXPRESSION_NUMBER_KIND.create(3)
+        );
+    }
+
+    @Test
+    public void testApplyRangeAbsentCells() {
+        this.applyAndCheck2(
+            SpreadsheetExpressionFunctionNumberCountAOrBlank.COUNT_BLANK,
+            Lists.of(RANGE),
+            this.rangeContext(new SpreadsheetCell[0]),
+            EXPRESSION_NUMBER_KIND.create(4)
+        );
+    }
+
+    @Test
+    public void testApplyRangeMissingCellError() {
+        this.applyAndCheck2(
+            SpreadsheetExpressionFunctionNumberCountAOrBlank.COUNT_BLANK,
+            Lists.of(RANGE),
+            this.rangeContext(
+                SpreadsheetSelection.A1.setFormula(
+                    SpreadsheetFormula.EMPTY.setText("=Z99")
+                        .setValue(
+                            Optional.of(
+                                SpreadsheetError.selectionNotFound(
+                                    SpreadsheetSelection.parseCell("Z99")
+                                )
+                            )
+                        )
+                ),
+                B2
+            ),
+            EXPRESSION_NUMBER_KIND.create(3)
+        );
+    }
+
+    @Test
+    public void testApplyRangeOutOfRangeCellIgnored() {
+        this.applyAndCheck2(
+            SpreadsheetExpressionFunctionNumberCountAOrBlank.COUNT_BLANK,
+            Lists.of(RANGE),
+            this.rangeContext(
+                B2,
+                C3
+            ),
+            EXPRESSION_NUMBER_KIND.create(3)
+        );
+    }
+
+    // countA...........................................................................................................
+
+    @Test
+    public void testCountAMixedNullNotFoundAndOthers() {
+        this.applyAndCheck2(
+            SpreadsheetExpressionFunctionNumberCountAOrBlank.COUNT_A,
+            Lists.of(
+                SpreadsheetError.selectionNotFound(SpreadsheetSelection.A1),
+                null,
+                EXPRESSION_NUMBER_KIND.create(2),
+                LocalDateTime.now()
+            ),
+            EXPRESSION_NUMBER_KIND.create(2)
+        );
+    }
+
+    @Test
+    public void testCountARangeWithPresentCell() {
+        this.applyAndCheck2(
+            SpreadsheetExpressionFunctionNumberCountAOrBlank.COUNT_A,
+            Lists.of(
+                RANGE,
+                "abc"
+            ),
+            this.rangeContext(),
+            EXPRESSION_NUMBER_KIND.create(2)
+        );
+    }
+
+    @Test
+    public void testCountARangeOutOfRangeCellIgnored() {
+        this.applyAndCheck2(
+            SpreadsheetExpressionFunctionNumberCountAOrBlank.COUNT_A,
+            Lists.of(RANGE),
+            this.rangeContext(
+                B2,
+                C3
+            ),
+            EXPRESSION_NUMBER_KIND.one()
+        );
+    }
+
+    @Test
+    public void testCountARangeAbsentCells() {
+        this.applyAndCheck2(
+            SpreadsheetExpressionFunctionNumberCountAOrBlank.COUNT_A,
+            Lists.of(RANGE),
+            this.rangeContext(new SpreadsheetCell[0]),
+            EXPRESSION_NUMBER_KIND.zero()
+        );
+    }
+
+    private final static SpreadsheetCellRangeReference RANGE = SpreadsheetSelection.parseCellRange("A1:B2");
+
+    private final static SpreadsheetCell B2 = SpreadsheetSelection.parseCell("B2")
+        .setFormula(
+            SpreadsheetFormula.EMPTY.setText("=1")
+                .setValue(
+                    Optional.of(
+                        EXPRESSION_NUMBER_KIND.one()
+                    )
+                )
+        );
+
+    /**
+     * A cell outside {@link #RANGE} with a value.
+     */
+    private final static SpreadsheetCell C3 = SpreadsheetSelection.parseCell("C3")
+        .setFormula(
+            SpreadsheetFormula.EMPTY.setText("=2")
+                .setValue(
+                    Optional.of(
+                        EXPRESSION_NUMBER_KIND.create(2)
+                    )
+                )
+        );
+
+    /**
+     * A context where B2 has a value and A2 has no value.
+     */
+    private SpreadsheetExpressionEvaluationContext rangeContext() {
+        return this.rangeContext(
+            SpreadsheetSelection.parseCell("A2")
+                .setFormula(SpreadsheetFormula.EMPTY),
+            B2
+        );
+    }
+
+    /**
+     * A context whose store returns the given cells for any range.
+     */
+    private SpreadsheetExpressionEvaluationContext rangeContext(final SpreadsheetCell... cells) {
+        return new FakeSpreadsheetExpressionEvaluationContext() {
+            @Override
+            public Set<SpreadsheetCell> loadCellRange(final SpreadsheetCellRangeReference range) {
+                return Sets.of(cells);
+            }
+
+            @Override
+            public ExpressionNumberKind expressionNumberKind() {
+                return EXPRESSION_NUMBER_KIND;
+            }
+        };
+    }
+
+    @Override
+    public SpreadsheetExpressionFunctionNumberCountAOrBlank createBiFunction() {
+        return SpreadsheetExpressionFunctionNumberCountAOrBlank.COUNT_BLANK;
+    }
+
+    @Override
+    int purity() {
+        return SpreadsheetExpressionFunction.PURITY_READ;
+    }
+
+    @Override
+    public int minimumParameterCount() {
+        return 0;
+    }
+
+    @Override
+    public SpreadsheetExpressionEvaluationContext createContext() {
+        return this.createContext0();
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<SpreadsheetExpressionFunctionNumberCountAOrBlank> type() {
+        return SpreadsheetExpressionFunctionNumberCountAOrBlank.class;
+    }
+}
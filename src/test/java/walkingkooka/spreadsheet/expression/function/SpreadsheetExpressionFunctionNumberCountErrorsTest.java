@@ -0,0 +1,141 @@
+/*
+ * Copyright 2022 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.expression.function;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.set.Sets;
+import walkingkooka.spreadsheet.expression.FakeSpreadsheetExpressionEvaluationContext;
+import walkingkooka.spreadsheet.expression.SpreadsheetExpressionEvaluationContext;
+import walkingkooka.spreadsheet.formula.SpreadsheetFormula;
+import walkingkooka.spreadsheet.reference.SpreadsheetCellRangeReference;
+import walkingkooka.spreadsheet.reference.SpreadsheetSelection;
+import walkingkooka.spreadsheet.value.SpreadsheetCell;
+import walkingkooka.spreadsheet.value.SpreadsheetErrorKind;
+import walkingkooka.tree.expression.ExpressionNumberKind;
+
+import java.util.Optional;
+import java.util.Set;
+
+public final class SpreadsheetExpressionFunctionNumberCountErrorsTest extends SpreadsheetExpressionFunctionNumberTestCase<SpreadsheetExpressionFunctionNumberCountErrors> {
+
+    private final static SpreadsheetCellRangeReference RANGE = SpreadsheetSelection.parseCellRange("A1:C3");
+
+    @Test
+    public void testApply() {
+        this.applyAndCheck2(
+            Lists.of(RANGE),
+            KIND.create(3)
+        );
+    }
+
+    @Test
+    public void testApplyWithType() {
+        this.applyAndCheck2(
+            Lists.of(
+                RANGE,
+                KIND.create(
+                    SpreadsheetErrorKind.NA.value()
+                )
+            ),
+            KIND.create(2)
+        );
+    }
+
+    @Test
+    public void testApplyWithTypeNoMatches() {
+        this.applyAndCheck2(
+            Lists.of(
+                RANGE,
+                KIND.create(
+                    SpreadsheetErrorKind.DIV0.value()
+                )
+            ),
+            KIND.zero()
+        );
+    }
+
+    @Test
+    public void testApplyRangeWithoutErrors() {
+        this.applyAndCheck2(
+            Lists.of(
+                SpreadsheetSelection.parseCellRange("A1:A2")
+            ),
+            KIND.zero()
+        );
+    }
+
+    @Override
+    public SpreadsheetExpressionEvaluationContext createContext() {
+        return new FakeSpreadsheetExpressionEvaluationContext() {
+            @Override
+            public Set<SpreadsheetCell> loadCellRange(final SpreadsheetCellRangeReference range) {
+                return Sets.of(
+                    cell("A1", 1),
+                    cell("B1", SpreadsheetErrorKind.NA.setMessage("B1")),
+                    cell("B2", SpreadsheetErrorKind.VALUE.setMessage("B2")),
+                    cell("C3", SpreadsheetErrorKind.NA.setMessage("C3"))
+                );
+            }
+
+            @Override
+            public ExpressionNumberKind expressionNumberKind() {
+                return KIND;
+            }
+        };
+    }
+
+    private static SpreadsheetCell cell(final String reference,
+                                        final Object value) {
+        return SpreadsheetSelection.parseCell(reference)
+            .setFormula(
+                SpreadsheetFormula.EMPTY.setText("=1")
+                    .setValue(
+                        Optional.of(value)
+                    )
+            );
+    }
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(
+            this.createBiFunction(),
+            "countErrors"
+        );
+    }
+
+    @Override
+    public SpreadsheetExpressionFunctionNumberCountErrors createBiFunction() {
+        return SpreadsheetExpressionFunctionNumberCountErrors.INSTANCE;
+    }
+
+    @Override
+    int purity() {
+        return SpreadsheetExpressionFunction.PURITY_READ;
+    }
+
+    @Override
+    public int minimumParameterCount() {
+        return 1;
+    }
+
+    @Override
+    public Class<SpreadsheetExpressionFunctionNumberCountErrors> type() {
+        return SpreadsheetExpressionFunctionNumberCountErrors.class;
+    }
+}
@@ -20,12 +20,19 @@ package walkingkooka.spreadsheet.expression.function;
 import org.junit.jupiter.api.Test;
 import walkingkooka.collect.list.Lists;
 import walkingkooka.spreadsheet.expression.SpreadsheetExpressionEvaluationContext;
+import walkingkooka.spreadsheet.reference.SpreadsheetCellRangeReference;
+import walkingkooka.spreadsheet.reference.SpreadsheetCellReference;
 import walkingkooka.spreadsheet.reference.SpreadsheetSelection;
+import walkingkooka.spreadsheet.value.HasSpreadsheetErrorKind;
 import walkingkooka.spreadsheet.value.SpreadsheetErrorKind;
+import walkingkooka.tree.expression.ExpressionNumber;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.Year;
+import java.time.temporal.Temporal;
+import java.util.Collection;
 
 public final class SpreadsheetExpressionFunctionNumberTypeTest extends SpreadsheetExpressionFunctionNumberTestCase<SpreadsheetExpressionFunctionNumberType> {
 
@@ -143,6 +150,66 @@ public final class SpreadsheetExpressionFunctionNumberTypeTest extends Spreadshe
         );
     }
 
+    @Test
+    public void testTagOrderMatchesTextFirstOrder() {
+        final SpreadsheetExpressionEvaluationContext context = this.createContext();
+
+        for (final Object value : Lists.of(
+            null,
+            KIND.create(123),
+            LocalDate.of(1999, 12, 31),
+            LocalDateTime.of(1999, 12, 31, 12, 58),
+            LocalTime.of(12, 58),
+            Year.of(1999),
+            SpreadsheetSelection.A1,
+            'A',
+            "Abc",
+            "TRUE",
+            "#VALUE!",
+            true,
+            false,
+            SpreadsheetErrorKind.VALUE.setMessage("message 123"),
+            SpreadsheetSelection.parseCellRange("A1:B2"),
+            Lists.empty(),
+            Lists.of("Abc"),
+            this
+        )) {
+            this.applyAndCheck2(
+                Lists.of(value),
+                KIND.create(
+                    textFirstType(
+                        value,
+                        context
+                    )
+                )
+            );
+        }
+    }
+
+    /**
+     * The type function before values were tagged, testing text before {@link Boolean}, errors and collections.
+     */
+    private static int textFirstType(final Object value,
+                                     final SpreadsheetExpressionEvaluationContext context) {
+        final int type;
+
+        if (null == value || value instanceof ExpressionNumber || value instanceof Temporal || value instanceof SpreadsheetCellReference) {
+            type = 1;
+        } else if (context.isText(value)) {
+            type = 2;
+        } else if (value instanceof Boolean) {
+            type = 4;
+        } else if (value instanceof HasSpreadsheetErrorKind) {
+            type = 16;
+        } else if (value instanceof Collection || value instanceof SpreadsheetCellRangeReference) {
+            type = 64;
+        } else {
+            type = 128;
+        }
+
+        return type;
+    }
+
     private void typeAndCheck(final Object value,
                               final int expected) {
         this.applyAndCheck2(
@@ -0,0 +1,364 @@
+/*
+ * Copyright 2022 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.expression.function;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.set.Sets;
+import walkingkooka.spreadsheet.expression.FakeSpreadsheetExpressionEvaluationContext;
+import walkingkooka.spreadsheet.expression.SpreadsheetExpressionEvaluationContext;
+import walkingkooka.spreadsheet.formula.SpreadsheetFormula;
+import walkingkooka.spreadsheet.reference.SpreadsheetCellRangeReference;
+import walkingkooka.spreadsheet.reference.SpreadsheetSelection;
+import walkingkooka.spreadsheet.value.SpreadsheetCell;
+import walkingkooka.spreadsheet.value.SpreadsheetError;
+import walkingkooka.spreadsheet.value.SpreadsheetErrorKind;
+import walkingkooka.tree.expression.ExpressionNumberKind;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class SpreadsheetExpressionFunctionObjectCellRangeTest extends SpreadsheetExpressionFunctionObjectTestCase<SpreadsheetExpressionFunctionObjectCellRange> {
+
+    private final static SpreadsheetCell A1 = SpreadsheetSelection.A1.setFormula(
+        SpreadsheetFormula.EMPTY.setText("=1")
+    );
+
+    private final static SpreadsheetCell B2 = SpreadsheetSelection.parseCell("B2")
+        .setFormula(SpreadsheetFormula.EMPTY);
+
+    private final static SpreadsheetError ERROR = SpreadsheetErrorKind.NA.setMessage("Not found");
+
+    private final static SpreadsheetCell C3 = SpreadsheetSelection.parseCell("C3")
+        .setFormula(
+            SpreadsheetFormula.EMPTY.setText("=3")
+                .setValue(
+                    Optional.of(ERROR)
+                )
+        );
+
+    private final static SpreadsheetCellRangeReference RANGE_WITH_ERROR = SpreadsheetSelection.parseCellRange("B2:C3");
+
+    private final static SpreadsheetCellRangeReference RANGE = SpreadsheetSelection.parseCellRange("A1:B2");
+
+    @Test
+    public void testTwoParametersFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> this.apply2(
+                RANGE,
+                RANGE
+            )
+        );
+    }
+
+    @Test
+    public void testIsBlanks() {
+        this.applyAndCheck2(
+            SpreadsheetExpressionFunctionObjectCellRange.IS_BLANKS,
+            Lists.of(RANGE),
+            Lists.of(
+                false,
+                true,
+                true,
+                false
+            )
+        );
+    }
+
+    @Test
+    public void testIsBlanksCell() {
+        this.applyAndCheck2(
+            SpreadsheetExpressionFunctionObjectCellRange.IS_BLANKS,
+            Lists.of(
+                SpreadsheetSelection.parseCell("B1")
+            ),
+            Lists.of(true)
+        );
+    }
+
+    @Test
+    public void testIsFormulas() {
+        this.applyAndCheck2(
+            SpreadsheetExpressionFunctionObjectCellRange.IS_FORMULAS,
+            Lists.of(RANGE),
+            Lists.of(
+                true,
+                false,
+                false,
+                false
+            )
+        );
+    }
+
+    @Test
+    public void testIsErrs() {
+        this.applyAndCheck2(
+            SpreadsheetExpressionFunctionObjectCellRange.IS_ERRS,
+            Lists.of(RANGE_WITH_ERROR),
+            Lists.of(
+                false,
+                false,
+                false,
+                false
+            )
+        );
+    }
+
+    @Test
+    public void testIsErrors() {
+        this.applyAndCheck2(
+            SpreadsheetExpressionFunctionObjectCellRange.IS_ERRORS,
+            Lists.of(RANGE_WITH_ERROR),
+            Lists.of(
+                false,
+                false,
+                false,
+                true
+            )
+        );
+    }
+
+    @Test
+    public void testIsNas() {
+        this.applyAndCheck2(
+            SpreadsheetExpressionFunctionObjectCellRange.IS_NAS,
+            Lists.of(RANGE_WITH_ERROR),
+            Lists.of(
+                false,
+                false,
+                false,
+                true
+            )
+        );
+    }
+
+    @Test
+    public void testErrorTypes() {
+        final SpreadsheetError na = SpreadsheetExpressionFunctionObjectErrorType.na(null);
+
+        this.applyAndCheck2(
+            SpreadsheetExpressionFunctionObjectCellRange.ERROR_TYPES,
+            Lists.of(RANGE_WITH_ERROR),
+            Lists.of(
+                na,
+                na,
+                na,
+                EXPRESSION_NUMBER_KIND.create(
+                    SpreadsheetErrorKind.NA.value()
+                )
+            )
+        );
+    }
+
+    @Test
+    public void testFormulaTexts() {
+        this.applyAndCheck2(
+            SpreadsheetExpressionFunctionObjectCellRange.FORMULA_TEXTS,
+            Lists.of(RANGE),
+            Arrays.asList(
+                "=1",
+                null,
+                null,
+                ""
+            )
+        );
+    }
+
+    @Test
+    public void testCellFormulas() {
+        this.applyAndCheck2(
+            SpreadsheetExpressionFunctionObjectCellRange.CELL_FORMULAS,
+            Lists.of(RANGE),
+            Arrays.asList(
+                A1.formula(),
+                null,
+                null,
+                B2.formula()
+            )
+        );
+    }
+
+    @Test
+    public void testCellStyles() {
+        this.applyAndCheck2(
+            SpreadsheetExpressionFunctionObjectCellRange.CELL_STYLES,
+            Lists.of(RANGE),
+            Arrays.asList(
+                A1.style(),
+                null,
+                null,
+                B2.style()
+            )
+        );
+    }
+
+    @Test
+    public void testCellValues() {
+        this.applyAndCheck2(
+            SpreadsheetExpressionFunctionObjectCellRange.CELL_VALUES,
+            Lists.of(RANGE),
+            Arrays.asList(
+                null,
+                null,
+                null,
+                null
+            )
+        );
+    }
+
+    @Test
+    public void testCellsIgnoresCellsOutsideRange() {
+        this.checkEquals(
+            Lists.of(
+                A1,
+                B2
+            ),
+            SpreadsheetExpressionFunctionObjectCellRange.cells(
+                RANGE,
+                this.createContext()
+            )
+        );
+    }
+
+    @Test
+    public void testCellsRowMajorOrder() {
+        final SpreadsheetCell b1 = SpreadsheetSelection.parseCell("B1")
+            .setFormula(SpreadsheetFormula.EMPTY);
+        final SpreadsheetCell a2 = SpreadsheetSelection.parseCell("A2")
+            .setFormula(SpreadsheetFormula.EMPTY);
+
+        this.checkEquals(
+            Lists.of(
+                A1,
+                b1,
+                a2,
+                B2
+            ),
+            SpreadsheetExpressionFunctionObjectCellRange.cells(
+                RANGE,
+                new FakeSpreadsheetExpressionEvaluationContext() {
+                    @Override
+                    public Set<SpreadsheetCell> loadCellRange(final SpreadsheetCellRangeReference range) {
+                        return Sets.of(
+                            B2,
+                            a2,
+                            b1,
+                            A1
+                        );
+                    }
+                }
+            )
+        );
+    }
+
+    @Test
+    public void testIsBlanksWholeColumn() {
+        final List<Object> values = SpreadsheetExpressionFunctionObjectCellRange.IS_BLANKS.apply(
+            Lists.of(
+                SpreadsheetSelection.parseCellRange("A1:A1048576")
+            ),
+            this.createContext()
+        );
+
+        this.checkEquals(
+            1048576,
+            values.size(),
+            "size"
+        );
+        this.checkEquals(
+            false,
+            values.get(0),
+            "A1"
+        );
+        this.checkEquals(
+            true,
+            values.get(1048575),
+            "A1048576"
+        );
+    }
+
+    @Test
+    public void testSize() {
+        this.checkEquals(
+            4,
+            SpreadsheetExpressionFunctionObjectCellRange.size(RANGE)
+        );
+    }
+
+    @Test
+    public void testSizeTooLargeFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> SpreadsheetExpressionFunctionObjectCellRange.size(
+                SpreadsheetSelection.parseCellRange("A1:XFD1048576")
+            )
+        );
+    }
+
+    @Override
+    public SpreadsheetExpressionEvaluationContext createContext() {
+        return new FakeSpreadsheetExpressionEvaluationContext() {
+            @Override
+            public Set<SpreadsheetCell> loadCellRange(final SpreadsheetCellRangeReference range) {
+                return Sets.of(
+                    A1,
+                    B2,
+                    C3 // outside RANGE and should be ignored
+                );
+            }
+
+            @Override
+            public ExpressionNumberKind expressionNumberKind() {
+                return EXPRESSION_NUMBER_KIND;
+            }
+        };
+    }
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(
+            SpreadsheetExpressionFunctionObjectCellRange.IS_BLANKS,
+            "isBlanks"
+        );
+    }
+
+    @Override
+    public SpreadsheetExpressionFunctionObjectCellRange createBiFunction() {
+        return SpreadsheetExpressionFunctionObjectCellRange.IS_BLANKS;
+    }
+
+    @Override
+    int purity() {
+        return SpreadsheetExpressionFunction.PURITY_READ;
+    }
+
+    @Override
+    public int minimumParameterCount() {
+        return 1;
+    }
+
+    @Override
+    public Class<SpreadsheetExpressionFunctionObjectCellRange> type() {
+        return SpreadsheetExpressionFunctionObjectCellRange.class;
+    }
+}
@@ -19,13 +19,18 @@ package walkingkooka.spreadsheet.expression.function;
 
 import org.junit.jupiter.api.Test;
 import walkingkooka.collect.list.Lists;
+import walkingkooka.color.Color;
 import walkingkooka.spreadsheet.expression.FakeSpreadsheetExpressionEvaluationContext;
 import walkingkooka.spreadsheet.expression.SpreadsheetExpressionEvaluationContext;
+import walkingkooka.spreadsheet.format.provider.SpreadsheetFormatterSelector;
 import walkingkooka.spreadsheet.formula.SpreadsheetFormula;
+import walkingkooka.spreadsheet.meta.SpreadsheetMetadata;
+import walkingkooka.spreadsheet.meta.SpreadsheetMetadataPropertyName;
 import walkingkooka.spreadsheet.reference.SpreadsheetCellRangeReference;
 import walkingkooka.spreadsheet.reference.SpreadsheetCellReference;
 import walkingkooka.spreadsheet.reference.SpreadsheetSelection;
 import walkingkooka.spreadsheet.value.SpreadsheetCell;
+import walkingkooka.tree.text.Length;
 import walkingkooka.tree.text.TextAlign;
 import walkingkooka.tree.text.TextNode;
 import walkingkooka.tree.text.TextStyle;
@@ -50,39 +55,11 @@ public final class SpreadsheetExpressionFunctionObjectCellTest extends Spreadshe
     }
 
     @Test
-    public void testColorFail() {
-        this.notYetImplemented("color");
-    }
-
-    @Test
-    public void testFormatFail() {
-        this.notYetImplemented("format");
-    }
-
-    @Test
-    public void testParenthesisFail() {
-        this.notYetImplemented("parenthesis");
-    }
-
-    @Test
-    public void testProtectFail() {
-        this.notYetImplemented("protect");
-    }
-
-    @Test
-    public void testTypeFail() {
-        this.notYetImplemented("type");
-    }
-
-    @Test
-    public void testWidthFail() {
-        this.notYetImplemented("width");
-    }
-
-    private void notYetImplemented(final Object... parameters) {
-        assertThrows(
-            UnsupportedOperationException.class,
-            () -> this.apply2(parameters)
+    public void testTypeInfoCaseInsensitive() {
+        this.cellAndCheck(
+            "ADDRESS",
+            REFERENCE2,
+            REFERENCE2
         );
     }
 
@@ -148,12 +125,39 @@ public final class SpreadsheetExpressionFunctionObjectCellTest extends Spreadshe
         );
     }
 
+    // color.........................................................................................................
+
+    @Test
+    public void testColorMissing() {
+        this.cellAndCheck(
+            "color",
+            REFERENCE,
+            CELL,
+            EXPRESSION_NUMBER_KIND.zero()
+        );
+    }
+
+    @Test
+    public void testColorPresent() {
+        this.cellAndCheck(
+            "color",
+            REFERENCE,
+            CELL.setStyle(
+                TextStyle.EMPTY.set(
+                    TextStylePropertyName.COLOR,
+                    Color.parse("#123456")
+                )
+            ),
+            EXPRESSION_NUMBER_KIND.one()
+        );
+    }
+
     // contents........................................................................................................
 
     @Test
     public void testContentsCellNotFound() {
         this.contentsAndCheck(
-            REFERENCE,
+            REFERENCE2,
             null,
             "0"
         );
@@ -164,9 +168,9 @@ public final class SpreadsheetExpressionFunctionObjectCellTest extends Spreadshe
         final String contents = "Contents 123";
 
         this.contentsAndCheck(
-            REFERENCE,
+            REFERENCE2,
             SpreadsheetCell.with(
-                REFERENCE,
+                REFERENCE2,
                 SpreadsheetFormula.EMPTY.setText("=function()")
             ).setFormattedValue(
                 Optional.of(
@@ -177,6 +181,22 @@ public final class SpreadsheetExpressionFunctionObjectCellTest extends Spreadshe
         );
     }
 
+    @Test
+    public void testContentsCurrentCellNotLoaded() {
+        final String contents = "Current 123";
+
+        this.cellAndCheck(
+            "contents",
+            REFERENCE,
+            CELL.setFormattedValue(
+                Optional.of(
+                    TextNode.text(contents)
+                )
+            ),
+            contents
+        );
+    }
+
     private void contentsAndCheck(final SpreadsheetCellReference reference,
                                   final SpreadsheetCell cell,
                                   final String expected) {
@@ -214,6 +234,62 @@ public final class SpreadsheetExpressionFunctionObjectCellTest extends Spreadshe
         );
     }
 
+    // format........................................................................................................
+
+    @Test
+    public void testFormatMissingFormatter() {
+        this.cellAndCheck(
+            "format",
+            REFERENCE,
+            CELL,
+            "G"
+        );
+    }
+
+    @Test
+    public void testFormat() {
+        final SpreadsheetFormatterSelector formatter = SpreadsheetFormatterSelector.parse("number-format-pattern #.00");
+
+        this.cellAndCheck(
+            "format",
+            REFERENCE,
+            CELL.setFormatter(
+                Optional.of(formatter)
+            ),
+            "F2"
+        );
+    }
+
+    // parenthesis......................................................................................................
+
+    @Test
+    public void testParenthesisMissing() {
+        this.cellAndCheck(
+            "parenthesis",
+            REFERENCE,
+            CELL.setFormatter(
+                Optional.of(
+                    SpreadsheetFormatterSelector.parse("number-format-pattern #.00")
+                )
+            ),
+            EXPRESSION_NUMBER_KIND.zero()
+        );
+    }
+
+    @Test
+    public void testParenthesisPresent() {
+        this.cellAndCheck(
+            "parenthesis",
+            REFERENCE,
+            CELL.setFormatter(
+                Optional.of(
+                    SpreadsheetFormatterSelector.parse("number-format-pattern (#.00)")
+                )
+            ),
+            EXPRESSION_NUMBER_KIND.one()
+        );
+    }
+
     // prefix...........................................................................................................
 
     @Test
@@ -267,6 +343,55 @@ public final class SpreadsheetExpressionFunctionObjectCellTest extends Spreadshe
         );
     }
 
+    @Test
+    public void testPrefixLoadsOtherCell() {
+        this.prefixOtherCellAndCheck(
+            SpreadsheetCell.with(
+                REFERENCE2,
+                SpreadsheetFormula.EMPTY.setText("'Hello")
+            ).setStyle(
+                TextStyle.EMPTY.set(
+                    TextStylePropertyName.TEXT_ALIGN,
+                    TextAlign.LEFT
+                )
+            ).setFormattedValue(
+                Optional.of(
+                    TextNode.text("Hello")
+                )
+            ),
+            "'"
+        );
+    }
+
+    @Test
+    public void testPrefixOtherCellMissing() {
+        this.prefixOtherCellAndCheck(
+            null,
+            ""
+        );
+    }
+
+    private void prefixOtherCellAndCheck(final SpreadsheetCell loaded,
+                                         final String expected) {
+        this.cellAndCheck(
+            "prefix",
+            REFERENCE2,
+            new FakeSpreadsheetExpressionEvaluationContext() {
+                @Override
+                public Optional<SpreadsheetCell> cell() {
+                    return Optional.of(CELL);
+                }
+
+                @Override
+                public Optional<SpreadsheetCell> loadCell(final SpreadsheetCellReference c) {
+                    checkEquals(REFERENCE2, c, "loadCell");
+                    return Optional.ofNullable(loaded);
+                }
+            },
+            expected
+        );
+    }
+
     private void prefixAndCheck(final TextAlign textAlign,
                                 final String expected) {
         this.prefixAndCheck(
@@ -306,6 +431,18 @@ public final class SpreadsheetExpressionFunctionObjectCellTest extends Spreadshe
         );
     }
 
+    // protect.......................................................................................................
+
+    @Test
+    public void testProtect() {
+        this.cellAndCheck(
+            "protect",
+            REFERENCE,
+            CELL,
+            EXPRESSION_NUMBER_KIND.one()
+        );
+    }
+
     // row...........................................................................................................
 
     @Test
@@ -343,6 +480,139 @@ public final class SpreadsheetExpressionFunctionObjectCellTest extends Spreadshe
         );
     }
 
+    // type..........................................................................................................
+
+    @Test
+    public void testTypeBlank() {
+        this.cellAndCheck(
+            "type",
+            REFERENCE,
+            CELL.setFormula(SpreadsheetFormula.EMPTY),
+            "b"
+        );
+    }
+
+    @Test
+    public void testTypeLabel() {
+        this.cellAndCheck(
+            "type",
+            REFERENCE,
+            CELL.setFormula(
+                SpreadsheetFormula.EMPTY.setText("'Hello")
+                    .setValue(
+                        Optional.of("Hello")
+                    )
+            ),
+            "l"
+        );
+    }
+
+    @Test
+    public void testTypeValue() {
+        this.cellAndCheck(
+            "type",
+            REFERENCE,
+            CELL.setFormula(
+                SpreadsheetFormula.EMPTY.setText("=1+2")
+                    .setValue(
+                        Optional.of(
+                            EXPRESSION_NUMBER_KIND.create(3)
+                        )
+                    )
+            ),
+            "v"
+        );
+    }
+
+    // width.........................................................................................................
+
+    @Test
+    public void testWidth() {
+        final SpreadsheetCell cell = CELL.setStyle(
+            TextStyle.EMPTY.set(
+                TextStylePropertyName.WIDTH,
+                Length.pixel(100.0)
+            )
+        );
+
+        this.cellAndCheck(
+            "width",
+            REFERENCE,
+            new FakeSpreadsheetExpressionEvaluationContext() {
+                @Override
+                public Optional<SpreadsheetCell> cell() {
+                    return Optional.of(cell);
+                }
+
+                @Override
+                public SpreadsheetMetadata spreadsheetMetadata() {
+                    return SpreadsheetMetadata.EMPTY.set(
+                        SpreadsheetMetadataPropertyName.CELL_CHARACTER_WIDTH,
+                        10
+                    );
+                }
+            },
+            EXPRESSION_NUMBER_KIND.create(10)
+        );
+    }
+
+    @Test
+    public void testWidthNoneUsesMetadataWidth() {
+        this.widthAndCheck(
+            Length.none(),
+            Length.pixel(50.0),
+            5
+        );
+    }
+
+    @Test
+    public void testWidthNormalMetadataWidth() {
+        this.widthAndCheck(
+            null,
+            Length.normal(),
+            0
+        );
+    }
+
+    private void widthAndCheck(final Length<?> cellWidth,
+                               final Length<?> metadataWidth,
+                               final int expected) {
+        final SpreadsheetCell cell = CELL.setStyle(
+            null != cellWidth ?
+                TextStyle.EMPTY.set(
+                    TextStylePropertyName.WIDTH,
+                    cellWidth
+                ) :
+                TextStyle.EMPTY
+        );
+
+        this.cellAndCheck(
+            "width",
+            REFERENCE,
+            new FakeSpreadsheetExpressionEvaluationContext() {
+                @Override
+                public Optional<SpreadsheetCell> cell() {
+                    return Optional.of(cell);
+                }
+
+                @Override
+                public SpreadsheetMetadata spreadsheetMetadata() {
+                    return SpreadsheetMetadata.EMPTY.set(
+                        SpreadsheetMetadataPropertyName.CELL_CHARACTER_WIDTH,
+                        10
+                    ).set(
+                        SpreadsheetMetadataPropertyName.STYLE,
+                        TextStyle.EMPTY.set(
+                            TextStylePropertyName.WIDTH,
+                            metadataWidth
+                        )
+                    );
+                }
+            },
+            EXPRESSION_NUMBER_KIND.create(expected)
+        );
+    }
+
     private void cellAndCheck(final String typeInfo,
                               final Object expected) {
         this.applyAndCheck2(
@@ -405,6 +675,11 @@ public final class SpreadsheetExpressionFunctionObjectCellTest extends Spreadshe
         return SpreadsheetExpressionFunctionObjectCell.INSTANCE;
     }
 
+    @Override
+    int purity() {
+        return SpreadsheetExpressionFunction.PURITY_CELL | SpreadsheetExpressionFunction.PURITY_READ;
+    }
+
     @Override
     public int minimumParameterCount() {
         return 2;
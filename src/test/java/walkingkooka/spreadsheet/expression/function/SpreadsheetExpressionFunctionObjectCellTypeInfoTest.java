@@ -17,11 +17,218 @@
 
 package walkingkooka.spreadsheet.expression.function;
 
+import org.junit.jupiter.api.Test;
 import walkingkooka.reflect.ClassTesting;
 import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.spreadsheet.format.provider.SpreadsheetFormatterSelector;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 public final class SpreadsheetExpressionFunctionObjectCellTypeInfoTest implements ClassTesting<SpreadsheetExpressionFunctionObjectCellTypeInfo> {
 
+    @Test
+    public void testFormatCodeGeneral() {
+        this.formatCodeAndCheck(
+            "general",
+            "G"
+        );
+    }
+
+    @Test
+    public void testFormatCodeNumberFixed() {
+        this.formatCodeAndCheck(
+            "number-format-pattern 0",
+            "F0"
+        );
+    }
+
+    @Test
+    public void testFormatCodeNumberFixedDecimals() {
+        this.formatCodeAndCheck(
+            "number-format-pattern 0.00",
+            "F2"
+        );
+    }
+
+    @Test
+    public void testFormatCodeNumberThousands() {
+        this.formatCodeAndCheck(
+            "number-format-pattern #,##0.00",
+            ",2"
+        );
+    }
+
+    @Test
+    public void testFormatCodeNumberCurrency() {
+        this.formatCodeAndCheck(
+            "number-format-pattern $#,##0.00",
+            "C2"
+        );
+    }
+
+    @Test
+    public void testFormatCodeNumberPercent() {
+        this.formatCodeAndCheck(
+            "number-format-pattern 0%",
+            "P0"
+        );
+    }
+
+    @Test
+    public void testFormatCodeNumberScientific() {
+        this.formatCodeAndCheck(
+            "number-format-pattern 0.00E+00",
+            "S2"
+        );
+    }
+
+    @Test
+    public void testFormatCodeNumberFraction() {
+        this.formatCodeAndCheck(
+            "number-format-pattern # ?/?",
+            "G"
+        );
+    }
+
+    @Test
+    public void testFormatCodeNumberNegativeColor() {
+        this.formatCodeAndCheck(
+            "number-format-pattern 0.00;[RED]0.00",
+            "F2-"
+        );
+    }
+
+    @Test
+    public void testFormatCodeNumberParenthesis() {
+        this.formatCodeAndCheck(
+            "number-format-pattern (0.00)",
+            "F2()"
+        );
+    }
+
+    @Test
+    public void testFormatCodeNumberQuotedText() {
+        this.formatCodeAndCheck(
+            "number-format-pattern 0.00\" %\"",
+            "F2"
+        );
+    }
+
+    @Test
+    public void testFormatCodeDate() {
+        this.formatCodeAndCheck(
+            "date-format-pattern d-mmm-yy",
+            "D1"
+        );
+    }
+
+    @Test
+    public void testFormatCodeDateDayMonth() {
+        this.formatCodeAndCheck(
+            "date-format-pattern d-mmm",
+            "D2"
+        );
+    }
+
+    @Test
+    public void testFormatCodeDateMonthYear() {
+        this.formatCodeAndCheck(
+            "date-format-pattern mmm-yy",
+            "D3"
+        );
+    }
+
+    @Test
+    public void testFormatCodeDateNumeric() {
+        this.formatCodeAndCheck(
+            "date-format-pattern m/d/yy",
+            "D4"
+        );
+    }
+
+    @Test
+    public void testFormatCodeDateNumericMonthDay() {
+        this.formatCodeAndCheck(
+            "date-format-pattern mm/dd",
+            "D5"
+        );
+    }
+
+    @Test
+    public void testFormatCodeDateTime() {
+        this.formatCodeAndCheck(
+            "date-time-format-pattern m/d/yy h:mm",
+            "D4"
+        );
+    }
+
+    @Test
+    public void testFormatCodeTimeSecondsAmPm() {
+        this.formatCodeAndCheck(
+            "time-format-pattern h:mm:ss AM/PM",
+            "D6"
+        );
+    }
+
+    @Test
+    public void testFormatCodeTimeAmPm() {
+        this.formatCodeAndCheck(
+            "time-format-pattern h:mm AM/PM",
+            "D7"
+        );
+    }
+
+    @Test
+    public void testFormatCodeTimeSeconds() {
+        this.formatCodeAndCheck(
+            "time-format-pattern h:mm:ss",
+            "D8"
+        );
+    }
+
+    @Test
+    public void testFormatCodeTime() {
+        this.formatCodeAndCheck(
+            "time-format-pattern h:mm",
+            "D9"
+        );
+    }
+
+    @Test
+    public void testFormatCodeText() {
+        this.formatCodeAndCheck(
+            "text-format-pattern @",
+            "@"
+        );
+    }
+
+    @Test
+    public void testFormatCodeUnsupportedFormatterFails() {
+        final IllegalArgumentException thrown = assertThrows(
+            IllegalArgumentException.class,
+            () -> SpreadsheetExpressionFunctionObjectCellTypeInfo.formatCode(
+                SpreadsheetFormatterSelector.parse("collection")
+            )
+        );
+        this.checkEquals(
+            "Unsupported formatter \"collection\" for format",
+            thrown.getMessage()
+        );
+    }
+
+    private void formatCodeAndCheck(final String selector,
+                                    final String expected) {
+        this.checkEquals(
+            expected,
+            SpreadsheetExpressionFunctionObjectCellTypeInfo.formatCode(
+                SpreadsheetFormatterSelector.parse(selector)
+            ),
+            selector
+        );
+    }
+
+    // class............................................................................................................
+
     @Override
     public Class<SpreadsheetExpressionFunctionObjectCellTypeInfo> type() {
         return SpreadsheetExpressionFunctionObjectCellTypeInfo.class;
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2022 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.expression.function;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.set.Sets;
+import walkingkooka.spreadsheet.expression.FakeSpreadsheetExpressionEvaluationContext;
+import walkingkooka.spreadsheet.expression.SpreadsheetExpressionEvaluationContext;
+import walkingkooka.spreadsheet.formula.SpreadsheetFormula;
+import walkingkooka.spreadsheet.reference.SpreadsheetCellRangeReference;
+import walkingkooka.spreadsheet.reference.SpreadsheetSelection;
+import walkingkooka.spreadsheet.value.SpreadsheetCell;
+import walkingkooka.spreadsheet.value.SpreadsheetError;
+import walkingkooka.spreadsheet.value.SpreadsheetErrorKind;
+
+import java.util.Optional;
+import java.util.Set;
+
+public final class SpreadsheetExpressionFunctionObjectFirstErrorTest extends SpreadsheetExpressionFunctionObjectTestCase<SpreadsheetExpressionFunctionObjectFirstError> {
+
+    private final static SpreadsheetError B2_ERROR = SpreadsheetErrorKind.VALUE.setMessage("B2");
+
+    private final static SpreadsheetError C1_ERROR = SpreadsheetErrorKind.NA.setMessage("C1");
+
+    @Test
+    public void testApplyRowMajorOrder() {
+        this.applyAndCheck2(
+            Lists.of(
+                SpreadsheetSelection.parseCellRange("A1:C3")
+            ),
+            C1_ERROR
+        );
+    }
+
+    @Test
+    public void testApplySkipsValues() {
+        this.applyAndCheck2(
+            Lists.of(
+                SpreadsheetSelection.parseCellRange("A2:B3")
+            ),
+            B2_ERROR
+        );
+    }
+
+    @Test
+    public void testApplyWithoutErrors() {
+        this.applyAndCheck2(
+            Lists.of(
+                SpreadsheetSelection.A1
+            ),
+            null
+        );
+    }
+
+    @Override
+    public SpreadsheetExpressionEvaluationContext createContext() {
+        return new FakeSpreadsheetExpressionEvaluationContext() {
+            @Override
+            public Set<SpreadsheetCell> loadCellRange(final SpreadsheetCellRangeReference range) {
+                return Sets.of(
+                    cell("A1", 1),
+                    cell("A2", 2),
+                    cell("B2", B2_ERROR),
+                    cell("C1", C1_ERROR)
+                );
+            }
+        };
+    }
+
+    private static SpreadsheetCell cell(final String reference,
+                                        final Object value) {
+        return SpreadsheetSelection.parseCell(reference)
+            .setFormula(
+                SpreadsheetFormula.EMPTY.setText("=1")
+                    .setValue(
+                        Optional.of(value)
+                    )
+            );
+    }
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(
+            this.createBiFunction(),
+            "firstError"
+        );
+    }
+
+    @Override
+    public SpreadsheetExpressionFunctionObjectFirstError createBiFunction() {
+        return SpreadsheetExpressionFunctionObjectFirstError.INSTANCE;
+    }
+
+    @Override
+    int purity() {
+        return SpreadsheetExpressionFunction.PURITY_READ;
+    }
+
+    @Override
+    public int minimumParameterCount() {
+        return 1;
+    }
+
+    @Override
+    public Class<SpreadsheetExpressionFunctionObjectFirstError> type() {
+        return SpreadsheetExpressionFunctionObjectFirstError.class;
+    }
+}
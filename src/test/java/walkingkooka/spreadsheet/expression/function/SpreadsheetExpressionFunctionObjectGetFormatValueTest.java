@@ -49,6 +49,11 @@ public final class SpreadsheetExpressionFunctionObjectGetFormatValueTest extends
         return SpreadsheetExpressionFunctionObjectGetFormatValue.INSTANCE;
     }
 
+    @Override
+    int purity() {
+        return SpreadsheetExpressionFunction.PURITY_CELL;
+    }
+
     @Override
     public int minimumParameterCount() {
         return 0;
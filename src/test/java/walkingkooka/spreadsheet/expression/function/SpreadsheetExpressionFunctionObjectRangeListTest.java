@@ -0,0 +1,159 @@
+/*
+ * Copyright 2022 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.expression.function;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.spreadsheet.reference.SpreadsheetCellRangeReference;
+import walkingkooka.spreadsheet.reference.SpreadsheetSelection;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class SpreadsheetExpressionFunctionObjectRangeListTest extends SpreadsheetExpressionFunctionObjectTestCase<SpreadsheetExpressionFunctionObjectRangeList> {
+
+    private final static SpreadsheetCellRangeReference RANGE = SpreadsheetSelection.parseCellRange("B2:C4");
+
+    @Test
+    public void testTwoParametersFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> this.apply2(
+                RANGE,
+                RANGE
+            )
+        );
+    }
+
+    @Test
+    public void testAddresses() {
+        this.applyAndCheck2(
+            SpreadsheetExpressionFunctionObjectRangeList.ADDRESSES,
+            Lists.of(RANGE),
+            Lists.of(
+                SpreadsheetSelection.parseCell("B2"),
+                SpreadsheetSelection.parseCell("C2"),
+                SpreadsheetSelection.parseCell("B3"),
+                SpreadsheetSelection.parseCell("C3"),
+                SpreadsheetSelection.parseCell("B4"),
+                SpreadsheetSelection.parseCell("C4")
+            )
+        );
+    }
+
+    @Test
+    public void testAddressesCell() {
+        this.applyAndCheck2(
+            SpreadsheetExpressionFunctionObjectRangeList.ADDRESSES,
+            Lists.of(
+                SpreadsheetSelection.A1
+            ),
+            Lists.of(
+                SpreadsheetSelection.A1
+            )
+        );
+    }
+
+    @Test
+    public void testAddressesTooLargeFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> SpreadsheetExpressionFunctionObjectRangeList.addresses(
+                SpreadsheetSelection.parseCellRange("A1:XFD1048576")
+            )
+        );
+    }
+
+    @Test
+    public void testColumnNumbers() {
+        this.applyAndCheck2(
+            SpreadsheetExpressionFunctionObjectRangeList.COLUMN_NUMBERS,
+            Lists.of(RANGE),
+            Lists.of(
+                KIND.create(
+                    SpreadsheetSelection.parseColumn("B")
+                        .value()
+                ),
+                KIND.create(
+                    SpreadsheetSelection.parseColumn("C")
+                        .value()
+                )
+            )
+        );
+    }
+
+    @Test
+    public void testRowNumbers() {
+        this.applyAndCheck2(
+            SpreadsheetExpressionFunctionObjectRangeList.ROW_NUMBERS,
+            Lists.of(RANGE),
+            Lists.of(
+                KIND.create(
+                    SpreadsheetSelection.parseRow("2")
+                        .value()
+                ),
+                KIND.create(
+                    SpreadsheetSelection.parseRow("3")
+                        .value()
+                ),
+                KIND.create(
+                    SpreadsheetSelection.parseRow("4")
+                        .value()
+                )
+            )
+        );
+    }
+
+    @Test
+    public void testNumbersGetInvalidIndexFails() {
+        final List<Object> numbers = SpreadsheetExpressionFunctionObjectRangeList.numbers(
+            1,
+            2,
+            KIND
+        );
+
+        assertThrows(
+            IndexOutOfBoundsException.class,
+            () -> numbers.get(2)
+        );
+    }
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(
+            SpreadsheetExpressionFunctionObjectRangeList.ROW_NUMBERS,
+            "rowNumbers"
+        );
+    }
+
+    @Override
+    public SpreadsheetExpressionFunctionObjectRangeList createBiFunction() {
+        return SpreadsheetExpressionFunctionObjectRangeList.ADDRESSES;
+    }
+
+    @Override
+    public int minimumParameterCount() {
+        return 1;
+    }
+
+    @Override
+    public Class<SpreadsheetExpressionFunctionObjectRangeList> type() {
+        return SpreadsheetExpressionFunctionObjectRangeList.class;
+    }
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright 2022 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.expression.function;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.spreadsheet.expression.FakeSpreadsheetExpressionEvaluationContext;
+import walkingkooka.spreadsheet.expression.SpreadsheetExpressionEvaluationContext;
+import walkingkooka.storage.StoragePath;
+import walkingkooka.storage.StorageValue;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class SpreadsheetExpressionFunctionObjectReadStorageLinesTest extends SpreadsheetExpressionFunctionObjectTestCase<SpreadsheetExpressionFunctionObjectReadStorageLines> {
+
+    private final static String PATH = "/dir/file.txt";
+
+    private final static String MISSING_PATH = "/dir/missing.txt";
+
+    @Test
+    public void testApply() {
+        this.applyAndCheck2(
+            Lists.of(PATH),
+            Lists.of(
+                "line1",
+                "line2",
+                "",
+                "line4"
+            )
+        );
+    }
+
+    @Test
+    public void testApplyMissing() {
+        this.applyAndCheck2(
+            Lists.of(MISSING_PATH),
+            null
+        );
+    }
+
+    @Test
+    public void testLinesEmpty() {
+        this.linesAndCheck(
+            ""
+        );
+    }
+
+    @Test
+    public void testLinesWithoutLineEnding() {
+        this.linesAndCheck(
+            "abc",
+            "abc"
+        );
+    }
+
+    @Test
+    public void testLinesTrailingLineEnding() {
+        this.linesAndCheck(
+            "abc\n",
+            "abc"
+        );
+    }
+
+    @Test
+    public void testLinesCrLfCrAndLf() {
+        this.linesAndCheck(
+            "a\r\nb\rc\nd",
+            "a",
+            "b",
+            "c",
+            "d"
+        );
+    }
+
+    @Test
+    public void testLinesEmptyLines() {
+        this.linesAndCheck(
+            "\n\r\n\r",
+            "",
+            "",
+            ""
+        );
+    }
+
+    @Test
+    public void testLinesMany() {
+        final StringBuilder text = new StringBuilder();
+        final List<String> expected = Lists.array();
+
+        for (int i = 0; i < 100; i++) {
+            text.append(i)
+                .append('\n');
+            expected.add(String.valueOf(i));
+        }
+
+        this.linesAndCheck(
+            text.toString(),
+            expected.toArray(new String[0])
+        );
+    }
+
+    @Test
+    public void testLinesGetBeforeSize() {
+        final List<String> lines = SpreadsheetExpressionFunctionObjectReadStorageLines.lines("a\nb\nc");
+
+        this.checkEquals(
+            "b",
+            lines.get(1)
+        );
+        this.checkEquals(
+            3,
+            lines.size()
+        );
+    }
+
+    @Test
+    public void testLinesGetInvalidIndexFails() {
+        final List<String> lines = SpreadsheetExpressionFunctionObjectReadStorageLines.lines("a\nb");
+
+        assertThrows(
+            IndexOutOfBoundsException.class,
+            () -> lines.get(2)
+        );
+        assertThrows(
+            IndexOutOfBoundsException.class,
+            () -> lines.get(-1)
+        );
+    }
+
+    private void linesAndCheck(final String text,
+                               final String... expected) {
+        this.checkEquals(
+            Lists.of(expected),
+            SpreadsheetExpressionFunctionObjectReadStorageLines.lines(text),
+            () -> "lines " + text
+        );
+    }
+
+    @Override
+    public SpreadsheetExpressionEvaluationContext createContext() {
+        return new FakeSpreadsheetExpressionEvaluationContext() {
+
+            @Override
+            public StoragePath parseStoragePath(final String path) {
+                return StoragePath.parse(path);
+            }
+
+            @Override
+            public Optional<StorageValue> loadStorage(final StoragePath path) {
+                return Optional.ofNullable(
+                    path.equals(StoragePath.parse(PATH)) ?
+                        StorageValue.with(path)
+                            .setValue(
+                                Optional.of("line1\nline2\n\nline4\n")
+                            ) :
+                        null
+                );
+            }
+        };
+    }
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(
+            this.createBiFunction(),
+            "readStorageLines"
+        );
+    }
+
+    @Override
+    public SpreadsheetExpressionFunctionObjectReadStorageLines createBiFunction() {
+        return SpreadsheetExpressionFunctionObjectReadStorageLines.INSTANCE;
+    }
+
+    @Override
+    int purity() {
+        return SpreadsheetExpressionFunction.PURITY_READ;
+    }
+
+    @Override
+    public int minimumParameterCount() {
+        return 1;
+    }
+
+    @Override
+    public Class<SpreadsheetExpressionFunctionObjectReadStorageLines> type() {
+        return SpreadsheetExpressionFunctionObjectReadStorageLines.class;
+    }
+}
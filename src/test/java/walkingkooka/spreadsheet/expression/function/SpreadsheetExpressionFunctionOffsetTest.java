@@ -128,6 +128,55 @@ public final class SpreadsheetExpressionFunctionOffsetTest extends SpreadsheetEx
 
     // OFFSET(A1,4,2) // returns reference to C5
 
+    @Test
+    public void testCellAbsoluteKeepsReferenceKinds() {
+        this.offsetReferenceKindsAndCheck(
+            "$B$3",
+            1,
+            2,
+            "$D$4"
+        );
+    }
+
+    @Test
+    public void testCellMixedKeepsReferenceKinds() {
+        this.offsetReferenceKindsAndCheck(
+            "$B3",
+            1,
+            2,
+            "$D4"
+        );
+    }
+
+    @Test
+    public void testCellOutsideCacheWindow() {
+        this.offsetReferenceKindsAndCheck(
+            "ZZ9999",
+            1,
+            1,
+            "AAA10000"
+        );
+    }
+
+    private void offsetReferenceKindsAndCheck(final String start,
+                                              final int rows,
+                                              final int columns,
+                                              final String expected) {
+        this.checkEquals(
+            expected,
+            this.createBiFunction()
+                .apply(
+                    this.parameters2(
+                        SpreadsheetSelection.parseCell(start),
+                        rows,
+                        columns
+                    ),
+                    this.createContext()
+                ).toString(),
+            () -> "offset " + start + " " + rows + " " + columns
+        );
+    }
+
     @Test
     public void testOffsetA1_4_2() {
         this.offsetAndCheck(
@@ -264,6 +313,35 @@ public final class SpreadsheetExpressionFunctionOffsetTest extends SpreadsheetEx
         return parameters;
     }
 
+    @Test
+    public void testWithNullListenerFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> SpreadsheetExpressionFunctionOffset.with(null)
+        );
+    }
+
+    @Test
+    public void testApplyReportsReferenceToListener() {
+        final List<SpreadsheetExpressionReference> references = Lists.array();
+
+        final SpreadsheetExpressionReference reference = SpreadsheetExpressionFunctionOffset.with(
+            (r, c) -> references.add(r)
+        ).apply(
+            this.parameters2(B2, 1, 1, 2, 2),
+            this.createContext()
+        );
+
+        this.checkEquals(
+            SpreadsheetSelection.parseCellRange("C3:D4"),
+            reference
+        );
+        this.checkEquals(
+            Lists.of(reference),
+            references
+        );
+    }
+
     @Test
     public void testToString() {
         this.toStringAndCheck(this.createBiFunction(), "offset");
@@ -274,6 +352,11 @@ public final class SpreadsheetExpressionFunctionOffsetTest extends SpreadsheetEx
         return SpreadsheetExpressionFunctionOffset.INSTANCE;
     }
 
+    @Override
+    int purity() {
+        return SpreadsheetExpressionFunction.PURITY_VOLATILE;
+    }
+
     @Override
     public int minimumParameterCount() {
         return 4;
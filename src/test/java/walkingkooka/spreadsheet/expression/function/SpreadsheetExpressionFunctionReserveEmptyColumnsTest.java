@@ -0,0 +1,148 @@
+/*
+ * Copyright 2022 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.expression.function;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.spreadsheet.expression.SpreadsheetExpressionEvaluationContext;
+import walkingkooka.spreadsheet.meta.SpreadsheetId;
+import walkingkooka.spreadsheet.reference.SpreadsheetColumnReference;
+import walkingkooka.spreadsheet.reference.SpreadsheetRowReference;
+import walkingkooka.spreadsheet.reference.SpreadsheetSelection;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class SpreadsheetExpressionFunctionReserveEmptyColumnsTest extends SpreadsheetExpressionFunctionTestCase<SpreadsheetExpressionFunctionReserveEmptyColumns, SpreadsheetColumnReference> {
+
+    @Test
+    public void testApplyZeroCountFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> this.apply2(
+                SpreadsheetSelection.parseRow("1"),
+                KIND.zero()
+            )
+        );
+    }
+
+    @Test
+    public void testApply() {
+        this.applyAndCheck2(
+            Lists.of(
+                SpreadsheetSelection.parseRow("1")
+            ),
+            SpreadsheetSelection.parseColumn("A")
+        );
+    }
+
+    @Test
+    public void testApplyReservedColumnsSkipped() {
+        final SpreadsheetRowReference row = SpreadsheetSelection.parseRow("1");
+
+        this.applyAndCheck2(
+            Lists.of(
+                row,
+                KIND.create(2)
+            ),
+            SpreadsheetSelection.parseColumn("A")
+        );
+
+        this.applyAndCheck2(
+            Lists.of(
+                row
+            ),
+            SpreadsheetSelection.parseColumn("C")
+        );
+
+        this.checkEquals(
+            SpreadsheetSelection.parseColumn("D"),
+            SpreadsheetExpressionFunctionNextEmptyColumn.with(this.reservations).apply(
+                Lists.of(row),
+                this.createContext()
+            ),
+            "nextEmptyColumn should skip reserved columns"
+        );
+    }
+
+    @Test
+    public void testApplyWithoutReservationsNothingHeld() {
+        final SpreadsheetExpressionFunctionReserveEmptyColumns function = SpreadsheetExpressionFunctionReserveEmptyColumns.INSTANCE;
+
+        this.applyAndCheck2(
+            function,
+            Lists.of(
+                SpreadsheetSelection.parseRow("1"),
+                KIND.create(2)
+            ),
+            this.createContext(),
+            SpreadsheetSelection.parseColumn("A")
+        );
+        this.applyAndCheck2(
+            function,
+            Lists.of(
+                SpreadsheetSelection.parseRow("1")
+            ),
+            this.createContext(),
+            SpreadsheetSelection.parseColumn("A")
+        );
+    }
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(
+            this.createBiFunction(),
+            "reserveEmptyColumns"
+        );
+    }
+
+    @Override
+    public SpreadsheetExpressionFunctionReserveEmptyColumns createBiFunction() {
+        return SpreadsheetExpressionFunctionReserveEmptyColumns.with(this.reservations);
+    }
+
+    @Override
+    int purity() {
+        return SpreadsheetExpressionFunction.PURITY_READ | SpreadsheetExpressionFunction.PURITY_WRITE;
+    }
+
+    @Override
+    public int minimumParameterCount() {
+        return 1;
+    }
+
+    @Override
+    public SpreadsheetExpressionEvaluationContext createContext() {
+        return this.context;
+    }
+
+    private final SpreadsheetExpressionEvaluationContext context = this.createContext0(
+        SpreadsheetId.with(1)
+    );
+
+    /**
+     * Each test has its own reservations, so reservations made by one test are never seen by another.
+     */
+    private final SpreadsheetExpressionFunctionNextEmptyReservations reservations = SpreadsheetExpressionFunctionNextEmptyReservations.columns();
+
+    // class............................................................................................................
+
+    @Override
+    public Class<SpreadsheetExpressionFunctionReserveEmptyColumns> type() {
+        return SpreadsheetExpressionFunctionReserveEmptyColumns.class;
+    }
+}
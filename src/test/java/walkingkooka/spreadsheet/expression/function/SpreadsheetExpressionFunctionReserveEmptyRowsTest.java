@@ -0,0 +1,148 @@
+/*
+ * Copyright 2022 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.expression.function;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.spreadsheet.expression.SpreadsheetExpressionEvaluationContext;
+import walkingkooka.spreadsheet.meta.SpreadsheetId;
+import walkingkooka.spreadsheet.reference.SpreadsheetColumnReference;
+import walkingkooka.spreadsheet.reference.SpreadsheetRowReference;
+import walkingkooka.spreadsheet.reference.SpreadsheetSelection;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class SpreadsheetExpressionFunctionReserveEmptyRowsTest extends SpreadsheetExpressionFunctionTestCase<SpreadsheetExpressionFunctionReserveEmptyRows, SpreadsheetRowReference> {
+
+    @Test
+    public void testApplyZeroCountFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> this.apply2(
+                SpreadsheetSelection.parseColumn("A"),
+                KIND.zero()
+            )
+        );
+    }
+
+    @Test
+    public void testApply() {
+        this.applyAndCheck2(
+            Lists.of(
+                SpreadsheetSelection.parseColumn("A")
+            ),
+            SpreadsheetSelection.parseRow("1")
+        );
+    }
+
+    @Test
+    public void testApplyReservedRowsSkipped() {
+        final SpreadsheetColumnReference column = SpreadsheetSelection.parseColumn("A");
+
+        this.applyAndCheck2(
+            Lists.of(
+                column,
+                KIND.create(2)
+            ),
+            SpreadsheetSelection.parseRow("1")
+        );
+
+        this.applyAndCheck2(
+            Lists.of(
+                column
+            ),
+            SpreadsheetSelection.parseRow("3")
+        );
+
+        this.checkEquals(
+            SpreadsheetSelection.parseRow("4"),
+            SpreadsheetExpressionFunctionNextEmptyRow.with(this.reservations).apply(
+                Lists.of(column),
+                this.createContext()
+            ),
+            "nextEmptyRow should skip reserved rows"
+        );
+    }
+
+    @Test
+    public void testApplyWithoutReservationsNothingHeld() {
+        final SpreadsheetExpressionFunctionReserveEmptyRows function = SpreadsheetExpressionFunctionReserveEmptyRows.INSTANCE;
+
+        this.applyAndCheck2(
+            function,
+            Lists.of(
+                SpreadsheetSelection.parseColumn("A"),
+                KIND.create(2)
+            ),
+            this.createContext(),
+            SpreadsheetSelection.parseRow("1")
+        );
+        this.applyAndCheck2(
+            function,
+            Lists.of(
+                SpreadsheetSelection.parseColumn("A")
+            ),
+            this.createContext(),
+            SpreadsheetSelection.parseRow("1")
+        );
+    }
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(
+            this.createBiFunction(),
+            "reserveEmptyRows"
+        );
+    }
+
+    @Override
+    public SpreadsheetExpressionFunctionReserveEmptyRows createBiFunction() {
+        return SpreadsheetExpressionFunctionReserveEmptyRows.with(this.reservations);
+    }
+
+    @Override
+    int purity() {
+        return SpreadsheetExpressionFunction.PURITY_READ | SpreadsheetExpressionFunction.PURITY_WRITE;
+    }
+
+    @Override
+    public int minimumParameterCount() {
+        return 1;
+    }
+
+    @Override
+    public SpreadsheetExpressionEvaluationContext createContext() {
+        return this.context;
+    }
+
+    private final SpreadsheetExpressionEvaluationContext context = this.createContext0(
+        SpreadsheetId.with(1)
+    );
+
+    /**
+     * Each test has its own reservations, so reservations made by one test are never seen by another.
+     */
+    private final SpreadsheetExpressionFunctionNextEmptyReservations reservations = SpreadsheetExpressionFunctionNextEmptyReservations.rows();
+
+    // class............................................................................................................
+
+    @Override
+    public Class<SpreadsheetExpressionFunctionReserveEmptyRows> type() {
+        return SpreadsheetExpressionFunctionReserveEmptyRows.class;
+    }
+}
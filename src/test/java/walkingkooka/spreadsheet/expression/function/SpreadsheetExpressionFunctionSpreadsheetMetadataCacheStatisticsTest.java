@@ -0,0 +1,202 @@
+/*
+ * Copyright 2022 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.expression.function;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.spreadsheet.expression.FakeSpreadsheetExpressionEvaluationContext;
+import walkingkooka.spreadsheet.expression.SpreadsheetExpressionEvaluationContext;
+import walkingkooka.spreadsheet.meta.SpreadsheetId;
+import walkingkooka.spreadsheet.meta.SpreadsheetMetadata;
+import walkingkooka.tree.expression.ExpressionNumberKind;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class SpreadsheetExpressionFunctionSpreadsheetMetadataCacheStatisticsTest extends SpreadsheetExpressionFunctionSpreadsheetMetadataTestCase<SpreadsheetExpressionFunctionSpreadsheetMetadataCacheStatistics, Object> {
+
+    private final static ExpressionNumberKind KIND = ExpressionNumberKind.BIG_DECIMAL;
+
+    private final static SpreadsheetId ID = SpreadsheetId.with(1);
+
+    @Test
+    public void testWithNullCacheFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> SpreadsheetExpressionFunctionSpreadsheetMetadataCacheStatistics.with(null)
+        );
+    }
+
+    @Test
+    public void testApplyWithoutCache() {
+        this.applyAndCheck2(
+            SpreadsheetExpressionFunctionSpreadsheetMetadataCacheStatistics.INSTANCE,
+            Lists.of("hits"),
+            this.createContext(),
+            null
+        );
+    }
+
+    @Test
+    public void testApplyWithoutStatistic() {
+        this.load();
+        this.load();
+
+        this.applyAndCheck(
+            Lists.empty(),
+            "hits=1 misses=1 evictions=0 size=1"
+        );
+    }
+
+    @Test
+    public void testApplyHits() {
+        this.load();
+        this.load();
+        this.load();
+
+        this.applyStatisticAndCheck(
+            "hits",
+            2
+        );
+    }
+
+    @Test
+    public void testApplyMissesIgnoresCase() {
+        this.load();
+
+        this.applyStatisticAndCheck(
+            "MISSES",
+            1
+        );
+    }
+
+    @Test
+    public void testApplyEvictions() {
+        this.applyStatisticAndCheck(
+            "evictions",
+            0
+        );
+    }
+
+    @Test
+    public void testApplySize() {
+        this.load();
+
+        this.applyStatisticAndCheck(
+            "size",
+            1
+        );
+    }
+
+    @Test
+    public void testApplyUnknownStatisticFails() {
+        final IllegalArgumentException thrown = assertThrows(
+            IllegalArgumentException.class,
+            () -> this.createBiFunction()
+                .apply(
+                    Lists.of("unknown"),
+                    this.createContext()
+                )
+        );
+        this.checkEquals(
+            "Unknown statistic \"unknown\"",
+            thrown.getMessage()
+        );
+    }
+
+    private void load() {
+        this.cache.load(
+            ID,
+            this.createContext()
+        );
+    }
+
+    private void applyStatisticAndCheck(final String statistic,
+                                        final long expected) {
+        this.applyAndCheck(
+            Lists.of(statistic),
+            KIND.create(expected)
+        );
+    }
+
+    private final SpreadsheetExpressionFunctionSpreadsheetMetadataCache cache = SpreadsheetExpressionFunctionSpreadsheetMetadataCache.with(
+        2,
+        5
+    );
+
+    @Override
+    public SpreadsheetExpressionFunctionSpreadsheetMetadataCacheStatistics createBiFunction() {
+        return SpreadsheetExpressionFunctionSpreadsheetMetadataCacheStatistics.with(this.cache);
+    }
+
+    @Override
+    int purity() {
+        return SpreadsheetExpressionFunction.PURITY_VOLATILE;
+    }
+
+    @Override
+    public SpreadsheetExpressionEvaluationContext createContext() {
+        return new FakeSpreadsheetExpressionEvaluationContext() {
+
+            @Override
+            public ExpressionNumberKind expressionNumberKind() {
+                return KIND;
+            }
+
+            @Override
+            public Optional<SpreadsheetMetadata> loadMetadata(final SpreadsheetId id) {
+                return Optional.empty();
+            }
+
+            @Override
+            public LocalDateTime now() {
+                return LocalDateTime.of(
+                    1999,
+                    12,
+                    31,
+                    12,
+                    58
+                );
+            }
+        };
+    }
+
+    @Override
+    public int minimumParameterCount() {
+        return 0;
+    }
+
+    // toString.........................................................................................................
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(
+            this.createBiFunction(),
+            "spreadsheetMetadataCacheStatistics"
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<SpreadsheetExpressionFunctionSpreadsheetMetadataCacheStatistics> type() {
+        return SpreadsheetExpressionFunctionSpreadsheetMetadataCacheStatistics.class;
+    }
+}
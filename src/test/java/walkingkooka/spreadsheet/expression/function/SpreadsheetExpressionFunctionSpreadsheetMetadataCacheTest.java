@@ -0,0 +1,348 @@
+/*
+ * Copyright 2022 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.expression.function;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.ToStringTesting;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.spreadsheet.expression.FakeSpreadsheetExpressionEvaluationContext;
+import walkingkooka.spreadsheet.meta.SpreadsheetId;
+import walkingkooka.spreadsheet.meta.SpreadsheetMetadata;
+import walkingkooka.spreadsheet.meta.SpreadsheetMetadataPropertyName;
+import walkingkooka.spreadsheet.meta.SpreadsheetMetadataTesting;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class SpreadsheetExpressionFunctionSpreadsheetMetadataCacheTest implements ClassTesting2<SpreadsheetExpressionFunctionSpreadsheetMetadataCache>,
+    SpreadsheetMetadataTesting,
+    ToStringTesting<SpreadsheetExpressionFunctionSpreadsheetMetadataCache> {
+
+    private final static SpreadsheetId ID1 = SpreadsheetId.with(1);
+
+    private final static SpreadsheetId ID2 = SpreadsheetId.with(2);
+
+    private final static SpreadsheetId ID3 = SpreadsheetId.with(3);
+
+    private final static SpreadsheetMetadata METADATA1 = METADATA_EN_AU.set(
+        SpreadsheetMetadataPropertyName.SPREADSHEET_ID,
+        ID1
+    );
+
+    private final static LocalDateTime NOW = LocalDateTime.of(
+        1999,
+        12,
+        31,
+        12,
+        58
+    );
+
+    @Test
+    public void testWithInvalidMaxSizeFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> SpreadsheetExpressionFunctionSpreadsheetMetadataCache.with(
+                0,
+                5
+            )
+        );
+    }
+
+    @Test
+    public void testWithInvalidTimeToLiveSecondsFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> SpreadsheetExpressionFunctionSpreadsheetMetadataCache.with(
+                2,
+                0
+            )
+        );
+    }
+
+    @Test
+    public void testLoadSameIdLoadedOnce() {
+        final SpreadsheetExpressionFunctionSpreadsheetMetadataCache cache = this.createCache();
+        final TestContext context = new TestContext();
+
+        this.loadAndCheck(cache, ID1, context, METADATA1);
+        this.loadAndCheck(cache, ID1, context, METADATA1);
+
+        this.checkEquals(1, context.loads, "loads");
+        this.checkEquals(1L, cache.hits(), "hits");
+        this.checkEquals(1L, cache.misses(), "misses");
+    }
+
+    @Test
+    public void testLoadUnknownIdRemembered() {
+        final SpreadsheetExpressionFunctionSpreadsheetMetadataCache cache = this.createCache();
+        final TestContext context = new TestContext();
+
+        this.loadAndCheck(cache, ID2, context, null);
+        this.loadAndCheck(cache, ID2, context, null);
+
+        this.checkEquals(1, context.loads, "loads");
+    }
+
+    @Test
+    public void testLoadExpired() {
+        final SpreadsheetExpressionFunctionSpreadsheetMetadataCache cache = this.createCache();
+        final TestContext context = new TestContext();
+
+        this.loadAndCheck(cache, ID1, context, METADATA1);
+
+        context.now = NOW.plusSeconds(60);
+        this.loadAndCheck(cache, ID1, context, METADATA1);
+
+        this.checkEquals(2, context.loads, "loads");
+        this.checkEquals(1L, cache.evictions(), "evictions");
+    }
+
+    @Test
+    public void testLoadLeastRecentlyUsedEvicted() {
+        final SpreadsheetExpressionFunctionSpreadsheetMetadataCache cache = this.createCache();
+        final TestContext context = new TestContext();
+
+        this.loadAndCheck(cache, ID1, context, METADATA1);
+        this.loadAndCheck(cache, ID2, context, null);
+        this.loadAndCheck(cache, ID1, context, METADATA1);
+        this.loadAndCheck(cache, ID3, context, null); // evicts ID2
+        this.loadAndCheck(cache, ID1, context, METADATA1);
+        this.loadAndCheck(cache, ID2, context, null);
+
+        this.checkEquals(4, context.loads, "loads");
+        this.checkEquals(2L, cache.evictions(), "evictions");
+    }
+
+    @Test
+    public void testLoadDifferentContextShared() {
+        final SpreadsheetExpressionFunctionSpreadsheetMetadataCache cache = this.createCache();
+        final TestContext context = new TestContext();
+        final TestContext context2 = new TestContext();
+
+        this.loadAndCheck(cache, ID1, context, METADATA1);
+        this.loadAndCheck(cache, ID1, context2, METADATA1);
+
+        this.checkEquals(1, context.loads, "loads");
+        this.checkEquals(0, context2.loads, "loads2");
+    }
+
+    @Test
+    public void testLoadSavedWhileLoadingNotRemembered() {
+        final SpreadsheetExpressionFunctionSpreadsheetMetadataCache cache = this.createCache();
+        final TestContext context = new TestContext();
+        context.whileLoading = () -> cache.save(
+            METADATA1,
+            context
+        );
+
+        this.loadAndCheck(cache, ID1, context, METADATA1);
+
+        context.whileLoading = null;
+        this.loadAndCheck(cache, ID1, context, METADATA1);
+
+        this.checkEquals(2, context.loads, "loads");
+        this.checkEquals(0, cache.size(), "size");
+    }
+
+    @Test
+    public void testLoadDeletedWhileLoadingNotRemembered() {
+        final SpreadsheetExpressionFunctionSpreadsheetMetadataCache cache = this.createCache();
+        final TestContext context = new TestContext();
+        context.whileLoading = () -> cache.delete(
+            ID1,
+            context
+        );
+
+        this.loadAndCheck(cache, ID1, context, METADATA1);
+
+        this.checkEquals(0, cache.size(), "size");
+    }
+
+    @Test
+    public void testLoadOtherIdDeletedWhileLoadingRemembered() {
+        final SpreadsheetExpressionFunctionSpreadsheetMetadataCache cache = this.createCache();
+        final TestContext context = new TestContext();
+        context.whileLoading = () -> cache.delete(
+            ID2,
+            context
+        );
+
+        this.loadAndCheck(cache, ID1, context, METADATA1);
+
+        context.whileLoading = null;
+        this.loadAndCheck(cache, ID1, context, METADATA1);
+
+        this.checkEquals(1, context.loads, "loads");
+    }
+
+    @Test
+    public void testLoadFailsNotRemembered() {
+        final SpreadsheetExpressionFunctionSpreadsheetMetadataCache cache = this.createCache();
+        final TestContext context = new TestContext();
+        context.whileLoading = () -> {
+            throw new IllegalStateException("Load failed");
+        };
+
+        assertThrows(
+            IllegalStateException.class,
+            () -> cache.load(
+                ID1,
+                context
+            )
+        );
+
+        context.whileLoading = null;
+        this.loadAndCheck(cache, ID1, context, METADATA1);
+
+        this.checkEquals(2, context.loads, "loads");
+    }
+
+    @Test
+    public void testSaveRemoves() {
+        final SpreadsheetExpressionFunctionSpreadsheetMetadataCache cache = this.createCache();
+        final TestContext context = new TestContext();
+
+        this.loadAndCheck(cache, ID1, context, METADATA1);
+
+        this.checkEquals(
+            METADATA1,
+            cache.save(
+                METADATA1,
+                context
+            )
+        );
+
+        this.loadAndCheck(cache, ID1, context, METADATA1);
+
+        this.checkEquals(2, context.loads, "loads");
+    }
+
+    @Test
+    public void testDeleteRemoves() {
+        final SpreadsheetExpressionFunctionSpreadsheetMetadataCache cache = this.createCache();
+        final TestContext context = new TestContext();
+
+        this.loadAndCheck(cache, ID1, context, METADATA1);
+
+        cache.delete(
+            ID1,
+            context
+        );
+        this.checkEquals(ID1, context.deleted, "deleted");
+
+        this.loadAndCheck(cache, ID1, context, METADATA1);
+
+        this.checkEquals(2, context.loads, "loads");
+    }
+
+    private SpreadsheetExpressionFunctionSpreadsheetMetadataCache createCache() {
+        return SpreadsheetExpressionFunctionSpreadsheetMetadataCache.with(
+            2,
+            5
+        );
+    }
+
+    private void loadAndCheck(final SpreadsheetExpressionFunctionSpreadsheetMetadataCache cache,
+                              final SpreadsheetId id,
+                              final TestContext context,
+                              final SpreadsheetMetadata expected) {
+        this.checkEquals(
+            Optional.ofNullable(expected),
+            cache.load(
+                id,
+                context
+            ),
+            "load " + id
+        );
+    }
+
+    static class TestContext extends FakeSpreadsheetExpressionEvaluationContext {
+
+        @Override
+        public Optional<SpreadsheetMetadata> loadMetadata(final SpreadsheetId id) {
+            this.loads++;
+
+            if (null != this.whileLoading) {
+                this.whileLoading.run();
+            }
+
+            return Optional.ofNullable(
+                ID1.equals(id) ?
+                    METADATA1 :
+                    null
+            );
+        }
+
+        int loads;
+
+        /**
+         * Runs in the middle of a load, when not null.
+         */
+        Runnable whileLoading;
+
+        @Override
+        public SpreadsheetMetadata saveMetadata(final SpreadsheetMetadata metadata) {
+            return metadata;
+        }
+
+        @Override
+        public void deleteMetadata(final SpreadsheetId id) {
+            this.deleted = id;
+        }
+
+        SpreadsheetId deleted;
+
+        @Override
+        public LocalDateTime now() {
+            return this.now;
+        }
+
+        LocalDateTime now = NOW;
+    }
+
+    // toString.........................................................................................................
+
+    @Test
+    public void testToString() {
+        final SpreadsheetExpressionFunctionSpreadsheetMetadataCache cache = this.createCache();
+        final TestContext context = new TestContext();
+
+        this.loadAndCheck(cache, ID1, context, METADATA1);
+        this.loadAndCheck(cache, ID1, context, METADATA1);
+
+        this.toStringAndCheck(
+            cache,
+            "hits=1 misses=1 evictions=0 size=1"
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<SpreadsheetExpressionFunctionSpreadsheetMetadataCache> type() {
+        return SpreadsheetExpressionFunctionSpreadsheetMetadataCache.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
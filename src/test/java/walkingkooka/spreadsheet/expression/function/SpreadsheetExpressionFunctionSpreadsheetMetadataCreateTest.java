@@ -78,6 +78,11 @@ public final class SpreadsheetExpressionFunctionSpreadsheetMetadataCreateTest ex
         return SpreadsheetExpressionFunctionSpreadsheetMetadataCreate.INSTANCE;
     }
 
+    @Override
+    int purity() {
+        return SpreadsheetExpressionFunction.PURITY_WRITE;
+    }
+
     @Override
     public SpreadsheetExpressionEvaluationContext createContext() {
         return new FakeSpreadsheetExpressionEvaluationContext() {
@@ -0,0 +1,188 @@
+/*
+ * Copyright 2022 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.expression.function;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.spreadsheet.expression.FakeSpreadsheetExpressionEvaluationContext;
+import walkingkooka.spreadsheet.expression.SpreadsheetExpressionEvaluationContext;
+import walkingkooka.spreadsheet.meta.SpreadsheetId;
+import walkingkooka.spreadsheet.meta.SpreadsheetMetadata;
+import walkingkooka.spreadsheet.meta.SpreadsheetMetadataPropertyName;
+import walkingkooka.spreadsheet.meta.SpreadsheetMetadataTesting;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+public final class SpreadsheetExpressionFunctionSpreadsheetMetadataLoadListTest extends SpreadsheetExpressionFunctionSpreadsheetMetadataTestCase<SpreadsheetExpressionFunctionSpreadsheetMetadataLoadList, List<SpreadsheetMetadata>>
+    implements SpreadsheetMetadataTesting {
+
+    private final static SpreadsheetId ID1 = SpreadsheetId.with(1);
+
+    private final static SpreadsheetId ID2 = SpreadsheetId.with(2);
+
+    private final static SpreadsheetId UNKNOWN = SpreadsheetId.with(404);
+
+    private final static SpreadsheetMetadata METADATA1 = METADATA_EN_AU.set(
+        SpreadsheetMetadataPropertyName.SPREADSHEET_ID,
+        ID1
+    );
+
+    private final static SpreadsheetMetadata METADATA2 = METADATA_EN_AU.set(
+        SpreadsheetMetadataPropertyName.SPREADSHEET_ID,
+        ID2
+    );
+
+    @Test
+    public void testApplyEmpty() {
+        this.applyAndCheck(
+            Lists.empty(),
+            Lists.empty()
+        );
+    }
+
+    @Test
+    public void testApplyInputOrder() {
+        this.applyAndCheck(
+            Lists.of(
+                ID2,
+                UNKNOWN,
+                ID1
+            ),
+            Arrays.asList(
+                METADATA2,
+                null,
+                METADATA1
+            )
+        );
+    }
+
+    @Test
+    public void testApplyList() {
+        this.applyAndCheck(
+            Lists.of(
+                Lists.of(
+                    ID1,
+                    ID2
+                ),
+                ID1
+            ),
+            Lists.of(
+                METADATA1,
+                METADATA2,
+                METADATA1
+            )
+        );
+    }
+
+    @Test
+    public void testApplyDuplicateIdsLoadedOnce() {
+        final SpreadsheetExpressionEvaluationContext context = this.createContext();
+
+        this.checkEquals(
+            Arrays.asList(
+                METADATA1,
+                null,
+                METADATA1,
+                null
+            ),
+            this.createBiFunction()
+                .apply(
+                    Lists.of(
+                        ID1,
+                        UNKNOWN,
+                        ID1,
+                        UNKNOWN
+                    ),
+                    context
+                )
+        );
+
+        this.checkEquals(
+            2,
+            this.loads,
+            "loads"
+        );
+    }
+
+    @Override
+    public SpreadsheetExpressionFunctionSpreadsheetMetadataLoadList createBiFunction() {
+        return SpreadsheetExpressionFunctionSpreadsheetMetadataLoadList.INSTANCE;
+    }
+
+    @Override
+    int purity() {
+        return SpreadsheetExpressionFunction.PURITY_READ;
+    }
+
+    @Override
+    public SpreadsheetExpressionEvaluationContext createContext() {
+        return new FakeSpreadsheetExpressionEvaluationContext() {
+
+            @Override
+            public Optional<SpreadsheetMetadata> loadMetadata(final SpreadsheetId id) {
+                SpreadsheetExpressionFunctionSpreadsheetMetadataLoadListTest.this.loads++;
+
+                return Optional.ofNullable(
+                    ID1.equals(id) ?
+                        METADATA1 :
+                        ID2.equals(id) ?
+                            METADATA2 :
+                            null
+                );
+            }
+
+            @Override
+            public LocalDateTime now() {
+                return LocalDateTime.of(
+                    1999,
+                    12,
+                    31,
+                    12,
+                    58
+                );
+            }
+        };
+    }
+
+    private int loads;
+
+    @Override
+    public int minimumParameterCount() {
+        return 0;
+    }
+
+    // toString.........................................................................................................
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(
+            this.createBiFunction(),
+            "loadSpreadsheetMetadatas"
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<SpreadsheetExpressionFunctionSpreadsheetMetadataLoadList> type() {
+        return SpreadsheetExpressionFunctionSpreadsheetMetadataLoadList.class;
+    }
+}
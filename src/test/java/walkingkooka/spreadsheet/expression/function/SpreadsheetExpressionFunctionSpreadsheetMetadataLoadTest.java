@@ -26,6 +26,7 @@ import walkingkooka.spreadsheet.meta.SpreadsheetMetadata;
 import walkingkooka.spreadsheet.meta.SpreadsheetMetadataPropertyName;
 import walkingkooka.spreadsheet.meta.SpreadsheetMetadataTesting;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 public final class SpreadsheetExpressionFunctionSpreadsheetMetadataLoadTest extends SpreadsheetExpressionFunctionSpreadsheetMetadataTestCase<SpreadsheetExpressionFunctionSpreadsheetMetadataLoad, SpreadsheetMetadata>
@@ -36,6 +37,14 @@ public final class SpreadsheetExpressionFunctionSpreadsheetMetadataLoadTest exte
         SPREADSHEET_ID
     );
 
+    private final static LocalDateTime NOW = LocalDateTime.of(
+        1999,
+        12,
+        31,
+        12,
+        58
+    );
+
     @Test
     public void testApplyUnknownSpreadsheet() {
         this.applyAndCheck(
@@ -59,6 +68,11 @@ public final class SpreadsheetExpressionFunctionSpreadsheetMetadataLoadTest exte
         return SpreadsheetExpressionFunctionSpreadsheetMetadataLoad.INSTANCE;
     }
 
+    @Override
+    int purity() {
+        return SpreadsheetExpressionFunction.PURITY_READ;
+    }
+
     @Override
     public SpreadsheetExpressionEvaluationContext createContext() {
         return new FakeSpreadsheetExpressionEvaluationContext() {
@@ -71,6 +85,11 @@ public final class SpreadsheetExpressionFunctionSpreadsheetMetadataLoadTest exte
                         null
                 );
             }
+
+            @Override
+            public LocalDateTime now() {
+                return NOW;
+            }
         };
     }
 
@@ -48,6 +48,11 @@ public final class SpreadsheetExpressionFunctionSpreadsheetMetadataSaveTest exte
         return SpreadsheetExpressionFunctionSpreadsheetMetadataSave.INSTANCE;
     }
 
+    @Override
+    int purity() {
+        return SpreadsheetExpressionFunction.PURITY_WRITE;
+    }
+
     @Override
     public SpreadsheetExpressionEvaluationContext createContext() {
         return new FakeSpreadsheetExpressionEvaluationContext() {
@@ -17,12 +17,77 @@
 
 package walkingkooka.spreadsheet.expression.function;
 
+import org.junit.jupiter.api.Test;
 import walkingkooka.Cast;
+import walkingkooka.Either;
 import walkingkooka.reflect.ClassTesting2;
 import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.spreadsheet.expression.FakeSpreadsheetExpressionEvaluationContext;
+import walkingkooka.spreadsheet.expression.SpreadsheetExpressionEvaluationContext;
+import walkingkooka.spreadsheet.meta.SpreadsheetMetadataPropertyName;
 
 public final class SpreadsheetExpressionFunctionSpreadsheetMetadataTest implements ClassTesting2<SpreadsheetExpressionFunctionSpreadsheetMetadata<?>> {
 
+    // propertyName.....................................................................................................
+
+    @Test
+    public void testPropertyNameWithPropertyName() {
+        this.checkEquals(
+            SpreadsheetMetadataPropertyName.LOCALE,
+            SpreadsheetExpressionFunctionSpreadsheetMetadata.propertyName(
+                SpreadsheetMetadataPropertyName.LOCALE,
+                this.context()
+            )
+        );
+
+        this.checkEquals(
+            0,
+            this.conversions,
+            "conversions"
+        );
+    }
+
+    @Test
+    public void testPropertyNameWithTextConvertedOnce() {
+        // text is unique to this test, so it cannot have been remembered by another test
+        final String text = "testPropertyNameWithTextConvertedOnce";
+
+        for (int i = 0; i < 3; i++) {
+            this.checkEquals(
+                SpreadsheetMetadataPropertyName.LOCALE,
+                SpreadsheetExpressionFunctionSpreadsheetMetadata.propertyName(
+                    text,
+                    this.context()
+                )
+            );
+        }
+
+        this.checkEquals(
+            1,
+            this.conversions,
+            "conversions"
+        );
+    }
+
+    private SpreadsheetExpressionEvaluationContext context() {
+        return new FakeSpreadsheetExpressionEvaluationContext() {
+            @Override
+            public <T> Either<T, String> convert(final Object value,
+                                                 final Class<T> target) {
+                SpreadsheetExpressionFunctionSpreadsheetMetadataTest.this.conversions++;
+
+                return this.successfulConversion(
+                    target.cast(SpreadsheetMetadataPropertyName.LOCALE),
+                    target
+                );
+            }
+        };
+    }
+
+    private int conversions;
+
+    // class............................................................................................................
+
     @Override
     public Class<SpreadsheetExpressionFunctionSpreadsheetMetadata<?>> type() {
         return Cast.to(SpreadsheetExpressionFunctionSpreadsheetMetadata.class);
@@ -92,6 +92,11 @@ public final class SpreadsheetExpressionFunctionSpreadsheetMetadataValueGetTest
         return SpreadsheetExpressionFunctionSpreadsheetMetadataValueGet.INSTANCE;
     }
 
+    @Override
+    int purity() {
+        return SpreadsheetExpressionFunction.PURITY_READ;
+    }
+
     @Override
     public SpreadsheetExpressionEvaluationContext createContext() {
         return new FakeSpreadsheetExpressionEvaluationContext() {
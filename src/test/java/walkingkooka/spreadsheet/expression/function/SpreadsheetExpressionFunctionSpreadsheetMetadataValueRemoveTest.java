@@ -74,6 +74,11 @@ public final class SpreadsheetExpressionFunctionSpreadsheetMetadataValueRemoveTe
         return SpreadsheetExpressionFunctionSpreadsheetMetadataValueRemove.INSTANCE;
     }
 
+    @Override
+    int purity() {
+        return SpreadsheetExpressionFunction.PURITY_READ;
+    }
+
     @Override
     public SpreadsheetExpressionEvaluationContext createContext() {
         return new FakeSpreadsheetExpressionEvaluationContext() {
@@ -87,6 +87,11 @@ public final class SpreadsheetExpressionFunctionSpreadsheetMetadataValueSetTest
         return SpreadsheetExpressionFunctionSpreadsheetMetadataValueSet.INSTANCE;
     }
 
+    @Override
+    int purity() {
+        return SpreadsheetExpressionFunction.PURITY_READ;
+    }
+
     @Override
     public SpreadsheetExpressionEvaluationContext createContext() {
         return new FakeSpreadsheetExpressionEvaluationContext() {
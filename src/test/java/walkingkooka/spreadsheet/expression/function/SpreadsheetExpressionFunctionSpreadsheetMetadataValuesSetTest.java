@@ -0,0 +1,194 @@
+/*
+ * Copyright 2022 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.expression.function;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.Either;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.spreadsheet.expression.FakeSpreadsheetExpressionEvaluationContext;
+import walkingkooka.spreadsheet.expression.SpreadsheetExpressionEvaluationContext;
+import walkingkooka.spreadsheet.meta.SpreadsheetMetadata;
+import walkingkooka.spreadsheet.meta.SpreadsheetMetadataPropertyName;
+import walkingkooka.spreadsheet.meta.SpreadsheetMetadataTesting;
+import walkingkooka.spreadsheet.meta.SpreadsheetName;
+
+import java.util.Locale;
+
+public final class SpreadsheetExpressionFunctionSpreadsheetMetadataValuesSetTest extends SpreadsheetExpressionFunctionSpreadsheetMetadataTestCase<SpreadsheetExpressionFunctionSpreadsheetMetadataValuesSet, SpreadsheetMetadata>
+    implements SpreadsheetMetadataTesting {
+
+    private final static SpreadsheetMetadata SPREADSHEET_METADATA = METADATA_EN_AU.set(
+        SpreadsheetMetadataPropertyName.SPREADSHEET_ID,
+        SPREADSHEET_ID
+    );
+
+    private final static Locale LOCALE = Locale.forLanguageTag("en-NZ");
+
+    @Test
+    public void testApplyWithoutValues() {
+        this.metadata = SPREADSHEET_METADATA;
+
+        this.applyAndCheck(
+            Lists.empty(),
+            SPREADSHEET_METADATA
+        );
+    }
+
+    @Test
+    public void testApplyWithPropertyNames() {
+        this.metadata = SPREADSHEET_METADATA;
+
+        this.applyAndCheck(
+            Lists.of(
+                SpreadsheetMetadataPropertyName.SPREADSHEET_NAME,
+                SPREADSHEET_NAME,
+                SpreadsheetMetadataPropertyName.LOCALE,
+                LOCALE
+            ),
+            SPREADSHEET_METADATA.set(
+                SpreadsheetMetadataPropertyName.SPREADSHEET_NAME,
+                SPREADSHEET_NAME
+            ).set(
+                SpreadsheetMetadataPropertyName.LOCALE,
+                LOCALE
+            )
+        );
+    }
+
+    @Test
+    public void testApplyWithSpreadsheetMetadataAndPropertyNames() {
+        final SpreadsheetMetadata metadata = SPREADSHEET_METADATA.set(
+            SpreadsheetMetadataPropertyName.LOCALE,
+            LOCALE
+        );
+        final SpreadsheetName spreadsheetName = SpreadsheetName.with("DifferentSpreadsheetName111");
+
+        this.applyAndCheck(
+            Lists.of(
+                metadata,
+                SpreadsheetMetadataPropertyName.SPREADSHEET_NAME,
+                spreadsheetName
+            ),
+            metadata.set(
+                SpreadsheetMetadataPropertyName.SPREADSHEET_NAME,
+                spreadsheetName
+            )
+        );
+    }
+
+    @Test
+    public void testApplyRepeatedPropertyNameLastValue() {
+        this.metadata = SPREADSHEET_METADATA;
+
+        final SpreadsheetName spreadsheetName = SpreadsheetName.with("LastSpreadsheetName");
+
+        this.applyAndCheck(
+            Lists.of(
+                SpreadsheetMetadataPropertyName.SPREADSHEET_NAME,
+                SPREADSHEET_NAME,
+                SpreadsheetMetadataPropertyName.SPREADSHEET_NAME,
+                spreadsheetName
+            ),
+            SPREADSHEET_METADATA.set(
+                SpreadsheetMetadataPropertyName.SPREADSHEET_NAME,
+                spreadsheetName
+            )
+        );
+    }
+
+    @Test
+    public void testApplyValueWithPropertyTypeNotConverted() {
+        this.metadata = SPREADSHEET_METADATA;
+        this.conversions = 0;
+
+        this.applyAndCheck(
+            Lists.of(
+                SpreadsheetMetadataPropertyName.SPREADSHEET_NAME,
+                SPREADSHEET_NAME
+            ),
+            SPREADSHEET_METADATA.set(
+                SpreadsheetMetadataPropertyName.SPREADSHEET_NAME,
+                SPREADSHEET_NAME
+            )
+        );
+
+        this.checkEquals(
+            0,
+            this.conversions,
+            "conversions"
+        );
+    }
+
+    @Override
+    public SpreadsheetExpressionFunctionSpreadsheetMetadataValuesSet createBiFunction() {
+        return SpreadsheetExpressionFunctionSpreadsheetMetadataValuesSet.INSTANCE;
+    }
+
+    @Override
+    int purity() {
+        return SpreadsheetExpressionFunction.PURITY_READ;
+    }
+
+    @Override
+    public SpreadsheetExpressionEvaluationContext createContext() {
+        return new FakeSpreadsheetExpressionEvaluationContext() {
+
+            @Override
+            public SpreadsheetMetadata spreadsheetMetadata() {
+                return SpreadsheetExpressionFunctionSpreadsheetMetadataValuesSetTest.this.metadata;
+            }
+
+            @Override
+            public <T> Either<T, String> convert(final Object value,
+                                                 final Class<T> target) {
+                SpreadsheetExpressionFunctionSpreadsheetMetadataValuesSetTest.this.conversions++;
+
+                return this.successfulConversion(
+                    target.cast(value),
+                    target
+                );
+            }
+        };
+    }
+
+    private SpreadsheetMetadata metadata;
+
+    private int conversions;
+
+    @Override
+    public int minimumParameterCount() {
+        return 0;
+    }
+
+    // toString.........................................................................................................
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(
+            this.createBiFunction(),
+            "setSpreadsheetMetadataValues"
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<SpreadsheetExpressionFunctionSpreadsheetMetadataValuesSet> type() {
+        return SpreadsheetExpressionFunctionSpreadsheetMetadataValuesSet.class;
+    }
+}
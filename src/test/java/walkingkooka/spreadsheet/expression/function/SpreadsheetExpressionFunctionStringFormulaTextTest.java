@@ -53,6 +53,11 @@ public final class SpreadsheetExpressionFunctionStringFormulaTextTest extends Sp
         return SpreadsheetExpressionFunctionStringFormulaText.INSTANCE;
     }
 
+    @Override
+    int purity() {
+        return SpreadsheetExpressionFunction.PURITY_READ;
+    }
+
     @Override
     public int minimumParameterCount() {
         return 1;
@@ -141,6 +141,11 @@ public final class SpreadsheetExpressionFunctionStringTemplateTest extends Sprea
         return SpreadsheetExpressionFunctionStringTemplate.INSTANCE;
     }
 
+    @Override
+    int purity() {
+        return SpreadsheetExpressionFunction.PURITY_CELL;
+    }
+
     @Override
     public int minimumParameterCount() {
         return 1;
@@ -96,23 +96,37 @@ public abstract class SpreadsheetExpressionFunctionTestCase<F extends Spreadshee
 
     @Test
     public final void testIsPure() {
-        final F function = this.createBiFunction();
-        final String name = function.name()
-            .get()
-            .value()
-            .toLowerCase();
-
         this.isPureAndCheck(
-            function,
+            this.createBiFunction(),
             ExpressionEvaluationContexts.fake(),
-            !(name.equals("cell") || name.equals("offset"))
+            SpreadsheetExpressionFunction.PURITY_PURE == this.purity()
+        );
+    }
+
+    @Test
+    public final void testPurity() {
+        this.checkEquals(
+            this.purity(),
+            this.createBiFunction()
+                .purity()
         );
     }
 
+    /**
+     * The expected purity bits of {@link #createBiFunction()}, sub-classes testing impure functions should override.
+     */
+    int purity() {
+        return SpreadsheetExpressionFunction.PURITY_PURE;
+    }
+
     final SpreadsheetExpressionEvaluationContext createContext0() {
-        final Locale locale = Locale.ENGLISH;
+        return this.createContext0(
+            SpreadsheetId.parse("1234")
+        );
+    }
 
-        final SpreadsheetId spreadsheetId = SpreadsheetId.parse("1234");
+    final SpreadsheetExpressionEvaluationContext createContext0(final SpreadsheetId spreadsheetId) {
+        final Locale locale = Locale.ENGLISH;
 
         final SpreadsheetMetadata metadata = SpreadsheetMetadata.EMPTY
             .set(SpreadsheetMetadataPropertyName.SPREADSHEET_ID, spreadsheetId)
@@ -56,6 +56,11 @@ public final class SpreadsheetExpressionFunctionTextNodeFormatValueTest extends
         return SpreadsheetExpressionFunctionTextNodeFormatValue.INSTANCE;
     }
 
+    @Override
+    int purity() {
+        return SpreadsheetExpressionFunction.PURITY_CELL;
+    }
+
     @Override
     public SpreadsheetExpressionEvaluationContext createContext() {
         final SpreadsheetId spreadsheetId = SpreadsheetId.parse("1234");
@@ -52,6 +52,11 @@ public final class SpreadsheetExpressionFunctionValidationErrorTest extends Spre
         return SpreadsheetExpressionFunctionValidationError.INSTANCE;
     }
 
+    @Override
+    int purity() {
+        return SpreadsheetExpressionFunction.PURITY_CELL;
+    }
+
     @Override
     public int minimumParameterCount() {
         return 1;
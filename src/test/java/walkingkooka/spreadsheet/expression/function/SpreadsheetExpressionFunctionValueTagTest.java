@@ -0,0 +1,239 @@
+/*
+ * Copyright 2022 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.expression.function;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.spreadsheet.meta.SpreadsheetMetadataTesting;
+import walkingkooka.spreadsheet.reference.SpreadsheetSelection;
+import walkingkooka.spreadsheet.value.SpreadsheetError;
+import walkingkooka.spreadsheet.value.SpreadsheetErrorKind;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.Year;
+
+public final class SpreadsheetExpressionFunctionValueTagTest implements ClassTesting2<SpreadsheetExpressionFunctionValueTag>,
+    SpreadsheetMetadataTesting {
+
+    @Test
+    public void testTagNull() {
+        this.tagAndCheck(
+            null,
+            SpreadsheetExpressionFunctionValueTag.NULL
+        );
+    }
+
+    @Test
+    public void testTagNumber() {
+        this.tagAndCheck(
+            EXPRESSION_NUMBER_KIND.one(),
+            SpreadsheetExpressionFunctionValueTag.NUMBER
+        );
+    }
+
+    @Test
+    public void testTagDate() {
+        this.tagAndCheck(
+            LocalDate.of(1999, 12, 31),
+            SpreadsheetExpressionFunctionValueTag.DATE
+        );
+    }
+
+    @Test
+    public void testTagDateTime() {
+        this.tagAndCheck(
+            LocalDateTime.of(1999, 12, 31, 12, 58),
+            SpreadsheetExpressionFunctionValueTag.DATE_TIME
+        );
+    }
+
+    @Test
+    public void testTagTime() {
+        this.tagAndCheck(
+            LocalTime.of(12, 58),
+            SpreadsheetExpressionFunctionValueTag.TIME
+        );
+    }
+
+    @Test
+    public void testTagTemporal() {
+        this.tagAndCheck(
+            Year.of(1999),
+            SpreadsheetExpressionFunctionValueTag.TEMPORAL
+        );
+    }
+
+    @Test
+    public void testTagBoolean() {
+        this.tagAndCheck(
+            true,
+            SpreadsheetExpressionFunctionValueTag.BOOLEAN
+        );
+    }
+
+    @Test
+    public void testTagError() {
+        this.tagAndCheck(
+            SpreadsheetErrorKind.VALUE.setMessage("Hello"),
+            SpreadsheetExpressionFunctionValueTag.ERROR
+        );
+    }
+
+    @Test
+    public void testTagCell() {
+        this.tagAndCheck(
+            SpreadsheetSelection.A1,
+            SpreadsheetExpressionFunctionValueTag.CELL
+        );
+    }
+
+    @Test
+    public void testTagCellRange() {
+        this.tagAndCheck(
+            SpreadsheetSelection.parseCellRange("A1:B2"),
+            SpreadsheetExpressionFunctionValueTag.CELL_RANGE
+        );
+    }
+
+    @Test
+    public void testTagCollection() {
+        this.tagAndCheck(
+            Lists.of(1, 2),
+            SpreadsheetExpressionFunctionValueTag.COLLECTION
+        );
+    }
+
+    @Test
+    public void testTagOther() {
+        this.tagAndCheck(
+            "abc",
+            SpreadsheetExpressionFunctionValueTag.OTHER
+        );
+    }
+
+    private void tagAndCheck(final Object value,
+                             final int expected) {
+        this.checkEquals(
+            expected,
+            SpreadsheetExpressionFunctionValueTag.tag(value),
+            () -> "tag " + value
+        );
+    }
+
+    @Test
+    public void testIsNumber() {
+        this.checkEquals(
+            true,
+            SpreadsheetExpressionFunctionValueTag.isNumber(LocalTime.of(12, 58))
+        );
+    }
+
+    @Test
+    public void testIsNumberText() {
+        this.checkEquals(
+            false,
+            SpreadsheetExpressionFunctionValueTag.isNumber("1")
+        );
+    }
+
+    @Test
+    public void testIsPresentNull() {
+        this.checkEquals(
+            false,
+            SpreadsheetExpressionFunctionValueTag.isPresent(null)
+        );
+    }
+
+    @Test
+    public void testIsPresentMissingCell() {
+        this.checkEquals(
+            false,
+            SpreadsheetExpressionFunctionValueTag.isPresent(
+                SpreadsheetError.selectionNotFound(SpreadsheetSelection.A1)
+            )
+        );
+    }
+
+    @Test
+    public void testIsPresentError() {
+        this.checkEquals(
+            true,
+            SpreadsheetExpressionFunctionValueTag.isPresent(
+                SpreadsheetErrorKind.VALUE.setMessage("Hello")
+            )
+        );
+    }
+
+    @Test
+    public void testIsNumberAndIsPresentMatchTag() {
+        for (final Object value : Lists.of(
+            null,
+            EXPRESSION_NUMBER_KIND.one(),
+            LocalDate.of(1999, 12, 31),
+            LocalDateTime.of(1999, 12, 31, 12, 58),
+            LocalTime.of(12, 58),
+            Year.of(1999),
+            true,
+            SpreadsheetErrorKind.VALUE.setMessage("Hello"),
+            SpreadsheetError.selectionNotFound(SpreadsheetSelection.A1),
+            SpreadsheetSelection.A1,
+            SpreadsheetSelection.parseCellRange("A1:B2"),
+            Lists.of(1, 2),
+            "abc",
+            'A'
+        )) {
+            final int tag = SpreadsheetExpressionFunctionValueTag.tag(value);
+
+            this.checkEquals(
+                tag >= SpreadsheetExpressionFunctionValueTag.NUMBER && tag <= SpreadsheetExpressionFunctionValueTag.TIME,
+                SpreadsheetExpressionFunctionValueTag.isNumber(value),
+                () -> "isNumber " + value
+            );
+            this.checkEquals(
+                SpreadsheetExpressionFunctionValueTag.NULL != tag &&
+                    false == (SpreadsheetExpressionFunctionValueTag.ERROR == tag && value instanceof SpreadsheetError && ((SpreadsheetError) value).isMissingCell()),
+                SpreadsheetExpressionFunctionValueTag.isPresent(value),
+                () -> "isPresent " + value
+            );
+        }
+    }
+
+    @Test
+    public void testIsPresentText() {
+        this.checkEquals(
+            true,
+            SpreadsheetExpressionFunctionValueTag.isPresent("abc")
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<SpreadsheetExpressionFunctionValueTag> type() {
+        return SpreadsheetExpressionFunctionValueTag.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
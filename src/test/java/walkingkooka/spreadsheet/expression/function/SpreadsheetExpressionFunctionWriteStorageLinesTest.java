@@ -0,0 +1,157 @@
+/*
+ * Copyright 2022 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.expression.function;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.spreadsheet.expression.FakeSpreadsheetExpressionEvaluationContext;
+import walkingkooka.spreadsheet.expression.SpreadsheetExpressionEvaluationContext;
+import walkingkooka.storage.StoragePath;
+import walkingkooka.storage.StorageValue;
+
+import java.util.List;
+import java.util.Optional;
+
+public final class SpreadsheetExpressionFunctionWriteStorageLinesTest extends SpreadsheetExpressionFunctionTestCase<SpreadsheetExpressionFunctionWriteStorageLines, Void> {
+
+    private final static String PATH = "/dir/file.txt";
+
+    @Test
+    public void testApplyLines() {
+        this.applyAndSavedCheck(
+            Lists.of(
+                PATH,
+                "line1",
+                "line2"
+            ),
+            "line1\nline2\n"
+        );
+    }
+
+    @Test
+    public void testApplyListsAndLines() {
+        this.applyAndSavedCheck(
+            Lists.of(
+                PATH,
+                Lists.of(
+                    "line1",
+                    "line2"
+                ),
+                "line3"
+            ),
+            "line1\nline2\nline3\n"
+        );
+    }
+
+    @Test
+    public void testApplyReadStorageLines() {
+        this.applyAndSavedCheck(
+            Lists.of(
+                PATH,
+                SpreadsheetExpressionFunctionObjectReadStorageLines.lines("a\r\nb\rc")
+            ),
+            "a\nb\nc\n"
+        );
+    }
+
+    @Test
+    public void testApplyNullLine() {
+        this.applyAndSavedCheck(
+            Lists.of(
+                PATH,
+                "line1",
+                null
+            ),
+            "line1\n\n"
+        );
+    }
+
+    @Test
+    public void testApplyWithoutLines() {
+        this.applyAndSavedCheck(
+            Lists.of(
+                PATH
+            ),
+            ""
+        );
+    }
+
+    private void applyAndSavedCheck(final List<Object> parameters,
+                                    final String text) {
+        this.applyAndCheck2(
+            parameters,
+            null
+        );
+
+        this.checkEquals(
+            StorageValue.with(
+                StoragePath.parse(PATH)
+            ).setValue(
+                Optional.of(text)
+            ),
+            this.saved.get(this.saved.size() - 1)
+        );
+    }
+
+    @Override
+    public SpreadsheetExpressionEvaluationContext createContext() {
+        return new FakeSpreadsheetExpressionEvaluationContext() {
+
+            @Override
+            public StoragePath parseStoragePath(final String path) {
+                return StoragePath.parse(path);
+            }
+
+            @Override
+            public StorageValue saveStorage(final StorageValue value) {
+                SpreadsheetExpressionFunctionWriteStorageLinesTest.this.saved.add(value);
+                return value;
+            }
+        };
+    }
+
+    private final List<StorageValue> saved = Lists.array();
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(
+            this.createBiFunction(),
+            "writeStorageLines"
+        );
+    }
+
+    @Override
+    public SpreadsheetExpressionFunctionWriteStorageLines createBiFunction() {
+        return SpreadsheetExpressionFunctionWriteStorageLines.INSTANCE;
+    }
+
+    @Override
+    int purity() {
+        return SpreadsheetExpressionFunction.PURITY_WRITE;
+    }
+
+    @Override
+    public int minimumParameterCount() {
+        return 1;
+    }
+
+    @Override
+    public Class<SpreadsheetExpressionFunctionWriteStorageLines> type() {
+        return SpreadsheetExpressionFunctionWriteStorageLines.class;
+    }
+}
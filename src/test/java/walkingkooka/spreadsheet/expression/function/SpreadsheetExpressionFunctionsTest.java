@@ -152,6 +152,8 @@ import java.util.Set;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
 public final class SpreadsheetExpressionFunctionsTest implements PublicStaticHelperTesting<SpreadsheetExpressionFunctions>,
     SpreadsheetMetadataTesting,
     TreePrintableTesting,
@@ -2770,6 +2772,21 @@ public final class SpreadsheetExpressionFunctionsTest implements PublicStaticHel
         );
     }
 
+    @Test
+    public void testEvaluateListStoragePageWithPrefix() {
+        final StorageEnvironmentContext storageEnvironmentContext = STORAGE_ENVIRONMENT_CONTEXT.cloneEnvironment();
+        storageEnvironmentContext.setUser(
+            Optional.of(STORAGE_LIST_USER)
+        );
+
+        this.evaluateAndPrintedCheck(
+            "=listStoragePage(\"/path1/\", 0, 10, \"file\")",
+            storageEnvironmentContext,
+            STORAGE_VALUE_INFO_LIST, // expected value
+            "" // printed
+        );
+    }
+
     @Test
     public void testEvaluateLnWithNumber() {
         this.evaluateAndValueCheck(
@@ -3425,6 +3442,24 @@ public final class SpreadsheetExpressionFunctionsTest implements PublicStaticHel
         );
     }
 
+    @Test
+    public void testEvaluateReadStorageLinesWithTxtFile() {
+        final StorageEnvironmentContext storageEnvironmentContext = STORAGE_ENVIRONMENT_CONTEXT.cloneEnvironment();
+        storageEnvironmentContext.setUser(
+            Optional.of(READ_STORAGE_TEXT_USER)
+        );
+
+        this.evaluateAndPrintedCheck(
+            "=readStorageLines(\"/parent123/file.txt\")",
+            storageEnvironmentContext,
+            Lists.of(
+                "FileContentText123",
+                "line2"
+            ), // expected value
+            "" // printed
+        );
+    }
+
     @Test
     public void testEvaluateReadStorageTextAndEnvironmentValueCurrentWorkingDirectoryAndRelativePath() {
         final StorageEnvironmentContext storageEnvironmentContext = STORAGE_ENVIRONMENT_CONTEXT.cloneEnvironment();
@@ -5860,6 +5895,7 @@ public final class SpreadsheetExpressionFunctionsTest implements PublicStaticHel
                         case "rand":
                         case "randbetween":
                         case "offset":
+                        case "indirect":
                         case "cell":
                         case "info":
                         case "deletestorage":
@@ -5903,6 +5939,64 @@ public final class SpreadsheetExpressionFunctionsTest implements PublicStaticHel
                         case "writestoragetext":
                         case "exit":
                         case "shell":
+                        case "cellcurrency":
+                        case "celldatetimesymbols":
+                        case "celldecimalnumbersymbols":
+                        case "cellformattedvalue":
+                        case "cellformatter":
+                        case "cellformula":
+                        case "celllocale":
+                        case "cellparser":
+                        case "cellstyle":
+                        case "cellvalidator":
+                        case "cellvalue":
+                        case "cellvaluetype":
+                        case "column":
+                        case "row":
+                        case "createspreadsheetmetadata":
+                        case "deletespreadsheetmetadata":
+                        case "formatvalue":
+                        case "formulatext":
+                        case "getformatvalue":
+                        case "getspreadsheetmetadatavalue":
+                        case "isblank":
+                        case "isformula":
+                        case "loadspreadsheetmetadata":
+                        case "nextemptycolumn":
+                        case "nextemptyrow":
+                        case "removespreadsheetmetadatavalue":
+                        case "savespreadsheetmetadata":
+                        case "setspreadsheetmetadatavalue":
+                        case "template":
+                        case "validationerror":
+                        case "cellcontents":
+                        case "formulatexts":
+                        case "isblanks":
+                        case "isformulas":
+                        case "reserveemptycolumns":
+                        case "reserveemptyrows":
+                        case "cellformattedvalues":
+                        case "cellformatters":
+                        case "cellformulas":
+                        case "cellparsers":
+                        case "cellstyles":
+                        case "cellvalidators":
+                        case "cellvalues":
+                        case "cellvaluetypes":
+                        case "counta":
+                        case "countblank":
+                        case "counterrors":
+                        case "errortypes":
+                        case "firsterror":
+                        case "iserrors":
+                        case "iserrs":
+                        case "isnas":
+                        case "setspreadsheetmetadatavalues":
+                        case "loadspreadsheetmetadatas":
+                        case "readstoragelines":
+                        case "writestoragelines":
+                        case "liststoragepage":
+                        case "spreadsheetmetadatacachestatistics":
                             pure = false;
                             break;
                         default:
@@ -5927,6 +6021,204 @@ public final class SpreadsheetExpressionFunctionsTest implements PublicStaticHel
         );
     }
 
+    @Test
+    public void testPurityMatchesIsPure() {
+        final SpreadsheetExpressionEvaluationContext context = SpreadsheetExpressionEvaluationContexts.fake();
+
+        final List<ExpressionFunction<?, SpreadsheetExpressionEvaluationContext>> different = Lists.array();
+        final ExpressionFunctionProvider<SpreadsheetExpressionEvaluationContext> provider = SpreadsheetExpressionFunctionProviders.expressionFunctionProvider(walkingkooka.spreadsheet.expression.SpreadsheetExpressionFunctions.NAME_CASE_SENSITIVITY);
+
+        provider.expressionFunctionInfos()
+            .forEach(
+                i -> {
+                    final ExpressionFunction<?, SpreadsheetExpressionEvaluationContext> function = provider.expressionFunction(
+                        i.name(),
+                        Lists.empty(),
+                        PROVIDER_CONTEXT
+                    );
+                    if (function.isPure(context) != (SpreadsheetExpressionFunctions.PURITY_PURE == SpreadsheetExpressionFunctions.purity(function, context))) {
+                        different.add(function);
+                    }
+                });
+
+        this.checkEquals(
+            Lists.empty(),
+            different,
+            () -> "functions"
+        );
+    }
+
+    @Test
+    public void testPurityCell() {
+        this.purityAndCheck(
+            SpreadsheetExpressionFunctions.cellValue(),
+            SpreadsheetExpressionFunctions.PURITY_CELL
+        );
+    }
+
+    @Test
+    public void testPurityCellFunction() {
+        this.purityAndCheck(
+            SpreadsheetExpressionFunctions.cell(),
+            SpreadsheetExpressionFunctions.PURITY_CELL | SpreadsheetExpressionFunctions.PURITY_READ
+        );
+    }
+
+    @Test
+    public void testPurityNow() {
+        this.purityAndCheck(
+            SpreadsheetExpressionFunctions.now(),
+            SpreadsheetExpressionFunctions.PURITY_VOLATILE
+        );
+    }
+
+    @Test
+    public void testPurityRandIsPure() {
+        this.checkEquals(
+            false,
+            SpreadsheetExpressionFunctions.rand()
+                .isPure(SpreadsheetExpressionEvaluationContexts.fake())
+        );
+    }
+
+    @Test
+    public void testPurityPure() {
+        this.purityAndCheck(
+            SpreadsheetExpressionFunctions.text(),
+            SpreadsheetExpressionFunctions.PURITY_PURE
+        );
+    }
+
+    @Test
+    public void testPuritySaveSpreadsheetMetadata() {
+        this.purityAndCheck(
+            SpreadsheetExpressionFunctions.saveSpreadsheetMetadata(),
+            SpreadsheetExpressionFunctions.PURITY_WRITE
+        );
+    }
+
+    @Test
+    public void testPurityWriteStorage() {
+        this.purityAndCheck(
+            SpreadsheetExpressionFunctions.writeStorage(),
+            SpreadsheetExpressionFunctions.PURITY_WRITE
+        );
+    }
+
+    @Test
+    public void testPurityReadStorageText() {
+        this.purityAndCheck(
+            SpreadsheetExpressionFunctions.readStorageText(),
+            SpreadsheetExpressionFunctions.PURITY_READ
+        );
+    }
+
+    @Test
+    public void testPurityPrint() {
+        this.purityAndCheck(
+            SpreadsheetExpressionFunctions.print(),
+            SpreadsheetExpressionFunctions.PURITY_WRITE
+        );
+    }
+
+    @Test
+    public void testPurityReadStorage() {
+        this.purityAndCheck(
+            SpreadsheetExpressionFunctions.readStorage(),
+            SpreadsheetExpressionFunctions.PURITY_READ
+        );
+    }
+
+    @Test
+    public void testPurityValidationValue() {
+        this.purityAndCheck(
+            SpreadsheetExpressionFunctions.validationValue(),
+            SpreadsheetExpressionFunctions.PURITY_CELL
+        );
+    }
+
+    @Test
+    public void testPurityIndirect() {
+        this.purityAndCheck(
+            SpreadsheetExpressionFunctions.indirect(),
+            SpreadsheetExpressionFunctions.PURITY_VOLATILE
+        );
+    }
+
+    @Test
+    public void testPurityIndirectWithListener() {
+        this.purityAndCheck(
+            SpreadsheetExpressionFunctions.indirect(
+                (r, c) -> {
+                }
+            ),
+            SpreadsheetExpressionFunctions.PURITY_VOLATILE
+        );
+    }
+
+    @Test
+    public void testPurityOffsetWithListener() {
+        this.purityAndCheck(
+            SpreadsheetExpressionFunctions.offset(
+                (r, c) -> {
+                }
+            ),
+            SpreadsheetExpressionFunctions.PURITY_VOLATILE
+        );
+    }
+
+    @Test
+    public void testSetPurity() {
+        final ExpressionFunction<?, SpreadsheetExpressionEvaluationContext> function = SpreadsheetExpressionFunctions.setPurity(
+            SpreadsheetExpressionFunctions.abs(),
+            SpreadsheetExpressionFunctions.PURITY_READ
+        );
+
+        this.purityAndCheck(
+            function,
+            SpreadsheetExpressionFunctions.PURITY_READ
+        );
+        this.checkEquals(
+            false,
+            function.isPure(SpreadsheetExpressionEvaluationContexts.fake()),
+            "isPure"
+        );
+    }
+
+    @Test
+    public void testSetPurityAlreadyAttachedFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> SpreadsheetExpressionFunctions.setPurity(
+                SpreadsheetExpressionFunctions.print(),
+                SpreadsheetExpressionFunctions.PURITY_READ
+            )
+        );
+    }
+
+    @Test
+    public void testSetPurityWithSpreadsheetExpressionFunctionFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> SpreadsheetExpressionFunctions.setPurity(
+                SpreadsheetExpressionFunctions.cellValue(),
+                SpreadsheetExpressionFunctions.PURITY_READ
+            )
+        );
+    }
+
+    private void purityAndCheck(final ExpressionFunction<?, SpreadsheetExpressionEvaluationContext> function,
+                                final int expected) {
+        this.checkEquals(
+            expected,
+            SpreadsheetExpressionFunctions.purity(
+                function,
+                SpreadsheetExpressionEvaluationContexts.fake()
+            ),
+            function::toString
+        );
+    }
+
     // README...........................................................................................................
 
     // not really a test, basically a tool to help update the function list present in the README.
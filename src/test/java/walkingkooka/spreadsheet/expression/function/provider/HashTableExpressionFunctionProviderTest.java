@@ -0,0 +1,196 @@
+/*
+ * Copyright 2022 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.expression.function.provider;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.set.Sets;
+import walkingkooka.net.Url;
+import walkingkooka.plugin.ProviderContexts;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.spreadsheet.expression.SpreadsheetExpressionEvaluationContext;
+import walkingkooka.spreadsheet.expression.function.SpreadsheetExpressionFunctions;
+import walkingkooka.text.CaseSensitivity;
+import walkingkooka.tree.expression.function.ExpressionFunction;
+import walkingkooka.tree.expression.function.provider.ExpressionFunctionProviders;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class HashTableExpressionFunctionProviderTest implements ClassTesting2<HashTableExpressionFunctionProvider> {
+
+    private final static Set<ExpressionFunction<?, SpreadsheetExpressionEvaluationContext>> FUNCTIONS = Sets.of(
+        SpreadsheetExpressionFunctions.abs(),
+        SpreadsheetExpressionFunctions.address(),
+        SpreadsheetExpressionFunctions.cellValue(),
+        SpreadsheetExpressionFunctions.isBlank(),
+        SpreadsheetExpressionFunctions.textJoin()
+    );
+
+    @Test
+    public void testGetCaseInsensitive() {
+        final HashTableExpressionFunctionProvider provider = this.createProvider(CaseSensitivity.INSENSITIVE);
+
+        for (final ExpressionFunction<?, SpreadsheetExpressionEvaluationContext> function : FUNCTIONS) {
+            final String name = function.name()
+                .get()
+                .value();
+
+            this.checkEquals(
+                function,
+                provider.get(name),
+                name
+            );
+            this.checkEquals(
+                function,
+                provider.get(name.toUpperCase()),
+                name
+            );
+            this.checkEquals(
+                function,
+                provider.get(name.toLowerCase()),
+                name
+            );
+        }
+    }
+
+    @Test
+    public void testGetCaseSensitive() {
+        final HashTableExpressionFunctionProvider provider = this.createProvider(CaseSensitivity.SENSITIVE);
+
+        this.checkEquals(
+            SpreadsheetExpressionFunctions.cellValue(),
+            provider.get("cellValue")
+        );
+        this.checkEquals(
+            null,
+            provider.get("CELLVALUE")
+        );
+    }
+
+    @Test
+    public void testGetUnknown() {
+        this.checkEquals(
+            null,
+            this.createProvider(CaseSensitivity.INSENSITIVE)
+                .get("unknown123")
+        );
+    }
+
+    @Test
+    public void testCategories() {
+        final HashTableExpressionFunctionProvider provider = this.createProvider(CaseSensitivity.INSENSITIVE);
+
+        this.checkEquals(
+            SpreadsheetExpressionFunctionProviders.CATEGORY_VALIDATION,
+            provider.categories("ISBLANK")
+        );
+        this.checkEquals(
+            SpreadsheetExpressionFunctionProviders.CATEGORY_NONE,
+            provider.categories("abs")
+        );
+    }
+
+    @Test
+    public void testCategoriesUnknown() {
+        this.checkEquals(
+            SpreadsheetExpressionFunctionProviders.CATEGORY_NONE,
+            this.createProvider(CaseSensitivity.INSENSITIVE)
+                .categories("unknown123")
+        );
+    }
+
+    @Test
+    public void testExpressionFunction() {
+        this.checkEquals(
+            SpreadsheetExpressionFunctions.textJoin(),
+            this.createProvider(CaseSensitivity.INSENSITIVE)
+                .expressionFunction(
+                    walkingkooka.spreadsheet.expression.SpreadsheetExpressionFunctions.name("TEXTJOIN"),
+                    Lists.empty(),
+                    ProviderContexts.fake()
+                )
+        );
+    }
+
+    @Test
+    public void testExpressionFunctionUnknownFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> this.createProvider(CaseSensitivity.INSENSITIVE)
+                .expressionFunction(
+                    walkingkooka.spreadsheet.expression.SpreadsheetExpressionFunctions.name("unknown123"),
+                    Lists.empty(),
+                    ProviderContexts.fake()
+                )
+        );
+    }
+
+    @Test
+    public void testExpressionFunctionInfos() {
+        final CaseSensitivity caseSensitivity = CaseSensitivity.INSENSITIVE;
+
+        this.checkEquals(
+            ExpressionFunctionProviders.basic(
+                Url.parseAbsolute("https://example.com/"),
+                caseSensitivity,
+                FUNCTIONS
+            ).expressionFunctionInfos(),
+            this.createProvider(caseSensitivity)
+                .expressionFunctionInfos()
+        );
+    }
+
+    private HashTableExpressionFunctionProvider createProvider(final CaseSensitivity caseSensitivity) {
+        final Map<ExpressionFunction<?, SpreadsheetExpressionEvaluationContext>, Integer> functions = new LinkedHashMap<>();
+        for (final ExpressionFunction<?, SpreadsheetExpressionEvaluationContext> function : FUNCTIONS) {
+            functions.put(
+                function,
+                function.name().get().value().equals("isBlank") ?
+                    SpreadsheetExpressionFunctionProviders.CATEGORY_VALIDATION :
+                    SpreadsheetExpressionFunctionProviders.CATEGORY_NONE
+            );
+        }
+
+        return HashTableExpressionFunctionProvider.with(
+            ExpressionFunctionProviders.basic(
+                Url.parseAbsolute("https://example.com/"),
+                caseSensitivity,
+                FUNCTIONS
+            ),
+            functions,
+            caseSensitivity
+        );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<HashTableExpressionFunctionProvider> type() {
+        return HashTableExpressionFunctionProvider.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright 2022 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.expression.function.provider;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.set.Sets;
+import walkingkooka.plugin.ProviderContext;
+import walkingkooka.plugin.ProviderContexts;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.spreadsheet.expression.SpreadsheetExpressionEvaluationContext;
+import walkingkooka.text.CaseSensitivity;
+import walkingkooka.tree.expression.ExpressionFunctionName;
+import walkingkooka.tree.expression.function.ExpressionFunction;
+import walkingkooka.tree.expression.function.provider.ExpressionFunctionInfoSet;
+import walkingkooka.tree.expression.function.provider.ExpressionFunctionProvider;
+import walkingkooka.tree.expression.function.provider.ExpressionFunctionSelector;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class MemoizingExpressionFunctionProviderTest implements ClassTesting2<MemoizingExpressionFunctionProvider> {
+
+    private final static ExpressionFunctionName NAME = walkingkooka.spreadsheet.expression.SpreadsheetExpressionFunctions.name("upper");
+
+    @Test
+    public void testWithNullProviderFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> MemoizingExpressionFunctionProvider.with(
+                null,
+                Sets.of(NAME),
+                1
+            )
+        );
+    }
+
+    @Test
+    public void testWithInvalidMaxSizeFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> MemoizingExpressionFunctionProvider.with(
+                this.provider,
+                Sets.of(NAME),
+                0
+            )
+        );
+    }
+
+    @Test
+    public void testExpressionFunctionSameWrapper() {
+        final MemoizingExpressionFunctionProvider provider = this.createProvider();
+
+        final ExpressionFunction<?, SpreadsheetExpressionEvaluationContext> wrapper = this.expressionFunction(provider);
+
+        this.checkEquals(
+            true,
+            ((MemoizingExpressionFunction<?>) wrapper).wraps(this.function)
+        );
+        assertSame(
+            wrapper,
+            this.expressionFunction(provider)
+        );
+    }
+
+    @Test
+    public void testExpressionFunctionDifferentFunctionNewWrapper() {
+        final MemoizingExpressionFunctionProvider provider = this.createProvider();
+
+        final ExpressionFunction<?, SpreadsheetExpressionEvaluationContext> wrapper = this.expressionFunction(provider);
+
+        this.function = new MemoizingExpressionFunctionTest.CountingFunction(true);
+
+        final ExpressionFunction<?, SpreadsheetExpressionEvaluationContext> wrapper2 = this.expressionFunction(provider);
+        assertNotSame(
+            wrapper,
+            wrapper2
+        );
+        this.checkEquals(
+            true,
+            ((MemoizingExpressionFunction<?>) wrapper2).wraps(this.function)
+        );
+    }
+
+    @Test
+    public void testExpressionFunctionWithValuesNotWrapped() {
+        assertSame(
+            this.function,
+            this.createProvider()
+                .expressionFunction(
+                    NAME,
+                    Lists.of(1),
+                    ProviderContexts.fake()
+                )
+        );
+    }
+
+    @Test
+    public void testExpressionFunctionOtherNameNotWrapped() {
+        assertSame(
+            this.function,
+            this.expressionFunction(
+                MemoizingExpressionFunctionProvider.with(
+                    this.provider,
+                    Sets.empty(),
+                    10
+                )
+            )
+        );
+    }
+
+    private MemoizingExpressionFunctionProvider createProvider() {
+        return MemoizingExpressionFunctionProvider.with(
+            this.provider,
+            Sets.of(NAME),
+            10
+        );
+    }
+
+    private ExpressionFunction<?, SpreadsheetExpressionEvaluationContext> expressionFunction(final MemoizingExpressionFunctionProvider provider) {
+        return provider.expressionFunction(
+            NAME,
+            Lists.empty(),
+            ProviderContexts.fake()
+        );
+    }
+
+    /**
+     * The function returned by {@link #provider}, which may be replaced by a test.
+     */
+    private ExpressionFunction<?, SpreadsheetExpressionEvaluationContext> function = new MemoizingExpressionFunctionTest.CountingFunction(true);
+
+    private final ExpressionFunctionProvider<SpreadsheetExpressionEvaluationContext> provider = new ExpressionFunctionProvider<SpreadsheetExpressionEvaluationContext>() {
+
+        @Override
+        public ExpressionFunction<?, SpreadsheetExpressionEvaluationContext> expressionFunction(final ExpressionFunctionSelector selector,
+                                                                                                final ProviderContext context) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public ExpressionFunction<?, SpreadsheetExpressionEvaluationContext> expressionFunction(final ExpressionFunctionName name,
+                                                                                                final List<?> values,
+                                                                                                final ProviderContext context) {
+            return MemoizingExpressionFunctionProviderTest.this.function;
+        }
+
+        @Override
+        public ExpressionFunctionInfoSet expressionFunctionInfos() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public CaseSensitivity expressionFunctionNameCaseSensitivity() {
+            return CaseSensitivity.SENSITIVE;
+        }
+    };
+
+    // class............................................................................................................
+
+    @Override
+    public Class<MemoizingExpressionFunctionProvider> type() {
+        return MemoizingExpressionFunctionProvider.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
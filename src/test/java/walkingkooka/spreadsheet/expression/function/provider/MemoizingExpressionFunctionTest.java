@@ -0,0 +1,442 @@
+/*
+ * Copyright 2022 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.expression.function.provider;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.Cast;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.environment.EnvironmentValueName;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.spreadsheet.expression.FakeSpreadsheetExpressionEvaluationContext;
+import walkingkooka.spreadsheet.expression.SpreadsheetExpressionEvaluationContext;
+import walkingkooka.spreadsheet.expression.function.SpreadsheetExpressionFunction;
+import walkingkooka.spreadsheet.expression.function.SpreadsheetExpressionFunctions;
+import walkingkooka.spreadsheet.meta.SpreadsheetMetadata;
+import walkingkooka.spreadsheet.meta.SpreadsheetMetadataPropertyName;
+import walkingkooka.spreadsheet.meta.SpreadsheetMetadataTesting;
+import walkingkooka.spreadsheet.reference.SpreadsheetSelection;
+import walkingkooka.tree.expression.ExpressionFunctionName;
+import walkingkooka.tree.expression.ExpressionPurityContext;
+import walkingkooka.tree.expression.function.ExpressionFunction;
+import walkingkooka.tree.expression.function.ExpressionFunctionParameter;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class MemoizingExpressionFunctionTest implements ClassTesting2<MemoizingExpressionFunction<?>>,
+    SpreadsheetMetadataTesting {
+
+    @Test
+    public void testWithNullFunctionFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> MemoizingExpressionFunction.with(
+                null,
+                1
+            )
+        );
+    }
+
+    @Test
+    public void testWithInvalidMaxSizeFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> MemoizingExpressionFunction.with(
+                new CountingFunction(true),
+                0
+            )
+        );
+    }
+
+    @Test
+    public void testApplySameParametersEvaluatedOnce() {
+        final CountingFunction function = new CountingFunction(true);
+        final MemoizingExpressionFunction<String> memoizing = MemoizingExpressionFunction.with(
+            function,
+            10
+        );
+
+        this.applyAndCheck(memoizing, "a1");
+        this.applyAndCheck(memoizing, "a1");
+        this.applyAndCheck(memoizing, "b2");
+
+        this.checkEquals(
+            2,
+            function.count
+        );
+    }
+
+    @Test
+    public void testApplyImpureAlwaysEvaluated() {
+        final CountingFunction function = new CountingFunction(false);
+        final MemoizingExpressionFunction<String> memoizing = MemoizingExpressionFunction.with(
+            function,
+            10
+        );
+
+        this.applyAndCheck(memoizing, "a1");
+        this.applyAndCheck(memoizing, "a1");
+
+        this.checkEquals(
+            2,
+            function.count
+        );
+    }
+
+    @Test
+    public void testApplyReferenceAlwaysEvaluated() {
+        final CountingFunction function = new CountingFunction(true);
+        final MemoizingExpressionFunction<String> memoizing = MemoizingExpressionFunction.with(
+            function,
+            10
+        );
+
+        final List<Object> parameters = Lists.of(
+            SpreadsheetSelection.A1
+        );
+        memoizing.apply(parameters, this.context);
+        memoizing.apply(parameters, this.context);
+
+        this.checkEquals(
+            2,
+            function.count
+        );
+    }
+
+    @Test
+    public void testApplyLeastRecentlyUsedDiscarded() {
+        final CountingFunction function = new CountingFunction(true);
+        final MemoizingExpressionFunction<String> memoizing = MemoizingExpressionFunction.with(
+            function,
+            2
+        );
+
+        this.applyAndCheck(memoizing, "a1");
+        this.applyAndCheck(memoizing, "b2");
+        this.applyAndCheck(memoizing, "a1");
+        this.applyAndCheck(memoizing, "c3"); // discards b2
+        this.applyAndCheck(memoizing, "a1");
+        this.applyAndCheck(memoizing, "b2");
+
+        this.checkEquals(
+            4,
+            function.count
+        );
+    }
+
+    @Test
+    public void testApplyMetadataChangeDiscardsResults() {
+        final CountingFunction function = new CountingFunction(true);
+        final MemoizingExpressionFunction<String> memoizing = MemoizingExpressionFunction.with(
+            function,
+            10
+        );
+
+        this.applyAndCheck(memoizing, "a1");
+
+        this.metadata = METADATA_EN_AU.set(
+            SpreadsheetMetadataPropertyName.LOCALE,
+            Locale.forLanguageTag("en-NZ")
+        );
+
+        this.applyAndCheck(memoizing, "a1");
+
+        this.checkEquals(
+            2,
+            function.count
+        );
+    }
+
+    @Test
+    public void testApplyLocaleChangeDiscardsResults() {
+        final CountingFunction function = new CountingFunction(true);
+        final MemoizingExpressionFunction<String> memoizing = MemoizingExpressionFunction.with(
+            function,
+            10
+        );
+
+        this.applyAndCheck(memoizing, "a1");
+
+        this.locale = Locale.FRANCE;
+
+        this.applyAndCheck(memoizing, "a1");
+
+        this.checkEquals(
+            2,
+            function.count
+        );
+    }
+
+    @Test
+    public void testApplyEnvironmentValueChangeDiscardsResults() {
+        final CountingFunction function = new CountingFunction(true);
+        final MemoizingExpressionFunction<String> memoizing = MemoizingExpressionFunction.with(
+            function,
+            10
+        );
+
+        final EnvironmentValueName<String> name = EnvironmentValueName.with(
+            "hello",
+            String.class
+        );
+        this.environment.put(name, "1");
+
+        this.applyAndCheck(memoizing, "a1");
+
+        this.environment.put(name, "2");
+
+        this.applyAndCheck(memoizing, "a1");
+
+        this.checkEquals(
+            2,
+            function.count
+        );
+    }
+
+    @Test
+    public void testApplyNestedReferenceAlwaysEvaluated() {
+        final CountingFunction function = new CountingFunction(true);
+        final MemoizingExpressionFunction<String> memoizing = MemoizingExpressionFunction.with(
+            function,
+            10
+        );
+
+        final List<Object> parameters = Lists.of(
+            Lists.of(
+                SpreadsheetSelection.A1
+            )
+        );
+        memoizing.apply(parameters, this.context);
+        memoizing.apply(parameters, this.context);
+
+        this.checkEquals(
+            2,
+            function.count
+        );
+    }
+
+    @Test
+    public void testApplyPurityBitsImpureAlwaysEvaluated() {
+        final CountingFunction function = new CountingFunction(true);
+        final MemoizingExpressionFunction<String> memoizing = MemoizingExpressionFunction.with(
+            SpreadsheetExpressionFunctions.setPurity(
+                function,
+                SpreadsheetExpressionFunction.PURITY_VOLATILE
+            ),
+            10
+        );
+
+        this.applyAndCheck(memoizing, "a1");
+        this.applyAndCheck(memoizing, "a1");
+
+        this.checkEquals(
+            2,
+            function.count
+        );
+    }
+
+    @Test
+    public void testApplyRememberedReadsLessThanCall() {
+        for (final String name : Lists.of("a", "b", "c")) {
+            this.environment.put(
+                EnvironmentValueName.with(
+                    name,
+                    String.class
+                ),
+                name
+            );
+        }
+
+        // like formatting or conversion, reads the environment several times for each call
+        final CountingFunction function = new CountingFunction(true) {
+            @Override
+            public String apply(final List<Object> parameters,
+                                final SpreadsheetExpressionEvaluationContext context) {
+                for (int i = 0; i < 10; i++) {
+                    for (final EnvironmentValueName<?> name : context.environmentValueNames()) {
+                        context.environmentValue(name);
+                    }
+                }
+                return super.apply(
+                    parameters,
+                    context
+                );
+            }
+        };
+
+        for (int i = 0; i < 10; i++) {
+            function.apply(
+                Lists.of("a1"),
+                this.context
+            );
+        }
+        final int direct = this.environmentValueReads;
+
+        this.environmentValueReads = 0;
+
+        final MemoizingExpressionFunction<String> memoizing = MemoizingExpressionFunction.with(
+            function,
+            10
+        );
+        for (int i = 0; i < 10; i++) {
+            this.applyAndCheck(memoizing, "a1");
+        }
+        final int memoized = this.environmentValueReads;
+
+        this.checkEquals(
+            true,
+            memoized < direct,
+            () -> "memoized reads " + memoized + " should be less than direct reads " + direct
+        );
+    }
+
+    @Test
+    public void testApplyEqualMetadataDifferentInstanceEvaluatedAgain() {
+        final CountingFunction function = new CountingFunction(true);
+        final MemoizingExpressionFunction<String> memoizing = MemoizingExpressionFunction.with(
+            function,
+            10
+        );
+
+        this.applyAndCheck(memoizing, "a1");
+
+        this.metadata = METADATA_EN_AU.set(
+            SpreadsheetMetadataPropertyName.LOCALE,
+            Locale.forLanguageTag("en-NZ")
+        ).set(
+            SpreadsheetMetadataPropertyName.LOCALE,
+            METADATA_EN_AU.getOrFail(SpreadsheetMetadataPropertyName.LOCALE)
+        );
+
+        this.applyAndCheck(memoizing, "a1");
+
+        this.checkEquals(
+            2,
+            function.count
+        );
+    }
+
+    private void applyAndCheck(final MemoizingExpressionFunction<String> function,
+                               final String parameter) {
+        this.checkEquals(
+            parameter.toUpperCase(),
+            function.apply(
+                Lists.of(parameter),
+                this.context
+            ),
+            parameter
+        );
+    }
+
+    private SpreadsheetMetadata metadata = METADATA_EN_AU;
+
+    private Locale locale = Locale.ENGLISH;
+
+    private final Map<EnvironmentValueName<?>, Object> environment = Maps.sorted();
+
+    private int environmentValueReads;
+
+    private final SpreadsheetExpressionEvaluationContext context = new FakeSpreadsheetExpressionEvaluationContext() {
+        @Override
+        public SpreadsheetMetadata spreadsheetMetadata() {
+            return MemoizingExpressionFunctionTest.this.metadata;
+        }
+
+        @Override
+        public Locale locale() {
+            return MemoizingExpressionFunctionTest.this.locale;
+        }
+
+        @Override
+        public Set<EnvironmentValueName<?>> environmentValueNames() {
+            return MemoizingExpressionFunctionTest.this.environment.keySet();
+        }
+
+        @Override
+        public <T> Optional<T> environmentValue(final EnvironmentValueName<T> name) {
+            MemoizingExpressionFunctionTest.this.environmentValueReads++;
+
+            return Optional.ofNullable(
+                Cast.to(
+                    MemoizingExpressionFunctionTest.this.environment.get(name)
+                )
+            );
+        }
+    };
+
+    static class CountingFunction implements ExpressionFunction<String, SpreadsheetExpressionEvaluationContext> {
+
+        CountingFunction(final boolean pure) {
+            this.pure = pure;
+        }
+
+        @Override
+        public Optional<ExpressionFunctionName> name() {
+            return Optional.of(
+                walkingkooka.spreadsheet.expression.SpreadsheetExpressionFunctions.name("upper")
+            );
+        }
+
+        @Override
+        public List<ExpressionFunctionParameter<?>> parameters(final int count) {
+            return Lists.empty();
+        }
+
+        @Override
+        public Class<String> returnType() {
+            return String.class;
+        }
+
+        @Override
+        public boolean isPure(final ExpressionPurityContext context) {
+            return this.pure;
+        }
+
+        private final boolean pure;
+
+        @Override
+        public String apply(final List<Object> parameters,
+                            final SpreadsheetExpressionEvaluationContext context) {
+            this.count++;
+            return parameters.get(0)
+                .toString()
+                .toUpperCase();
+        }
+
+        int count;
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<MemoizingExpressionFunction<?>> type() {
+        return Cast.to(MemoizingExpressionFunction.class);
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2022 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.expression.function.provider;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.reflect.ClassTesting;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.tree.expression.function.provider.ExpressionFunctionInfo;
+
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Verifies the generated snapshot matches the registered function categories, printing the replacement array when they differ.
+ */
+public final class SpreadsheetExpressionFunctionProvidersSnapshotTest implements ClassTesting<SpreadsheetExpressionFunctionProvidersSnapshot> {
+
+    @Test
+    public void testFind() {
+        this.snapshotAndCheck(
+            "FIND",
+            SpreadsheetExpressionFunctionProvidersSnapshot.FIND,
+            SpreadsheetExpressionFunctionProviders.CATEGORY_COLOR |
+                SpreadsheetExpressionFunctionProviders.CATEGORY_FORMATTING |
+                SpreadsheetExpressionFunctionProviders.CATEGORY_METADATA |
+                SpreadsheetExpressionFunctionProviders.CATEGORY_STYLE |
+                SpreadsheetExpressionFunctionProviders.CATEGORY_TERMINAL |
+                SpreadsheetExpressionFunctionProviders.CATEGORY_VALIDATION
+        );
+    }
+
+    @Test
+    public void testFormatting() {
+        this.snapshotAndCheck(
+            "FORMATTING",
+            SpreadsheetExpressionFunctionProvidersSnapshot.FORMATTING,
+            SpreadsheetExpressionFunctionProviders.CATEGORY_METADATA |
+                SpreadsheetExpressionFunctionProviders.CATEGORY_TERMINAL |
+                SpreadsheetExpressionFunctionProviders.CATEGORY_VALIDATION
+        );
+    }
+
+    @Test
+    public void testFormula() {
+        this.snapshotAndCheck(
+            "FORMULA",
+            SpreadsheetExpressionFunctionProvidersSnapshot.FORMULA,
+            SpreadsheetExpressionFunctionProviders.CATEGORY_COLOR |
+                SpreadsheetExpressionFunctionProviders.CATEGORY_FORMATTING |
+                SpreadsheetExpressionFunctionProviders.CATEGORY_METADATA |
+                SpreadsheetExpressionFunctionProviders.CATEGORY_STYLE |
+                SpreadsheetExpressionFunctionProviders.CATEGORY_TERMINAL |
+                SpreadsheetExpressionFunctionProviders.CATEGORY_VALIDATION
+        );
+    }
+
+    @Test
+    public void testTerminal() {
+        this.snapshotAndCheck(
+            "TERMINAL",
+            SpreadsheetExpressionFunctionProvidersSnapshot.TERMINAL,
+            SpreadsheetExpressionFunctionProviders.CATEGORY_NONE
+        );
+    }
+
+    @Test
+    public void testValidation() {
+        this.snapshotAndCheck(
+            "VALIDATION",
+            SpreadsheetExpressionFunctionProvidersSnapshot.VALIDATION,
+            SpreadsheetExpressionFunctionProviders.CATEGORY_COLOR |
+                SpreadsheetExpressionFunctionProviders.CATEGORY_FORMATTING |
+                SpreadsheetExpressionFunctionProviders.CATEGORY_METADATA |
+                SpreadsheetExpressionFunctionProviders.CATEGORY_STYLE |
+                SpreadsheetExpressionFunctionProviders.CATEGORY_TERMINAL
+        );
+    }
+
+    private void snapshotAndCheck(final String constant,
+                                  final String[] snapshot,
+                                  final int excludedCategories) {
+        final HashTableExpressionFunctionProvider provider = (HashTableExpressionFunctionProvider) SpreadsheetExpressionFunctionProviders.expressionFunctionProvider(
+            walkingkooka.spreadsheet.expression.SpreadsheetExpressionFunctions.NAME_CASE_SENSITIVITY
+        );
+
+        this.checkEquals(
+            generate(
+                constant,
+                (i) -> 0 != (excludedCategories & provider.categories(i.name().value()))
+            ),
+            generate(
+                constant,
+                SpreadsheetExpressionFunctionProvidersSnapshot.names(snapshot)
+            ),
+            "Snapshot " + constant + " out of date"
+        );
+
+        this.checkEquals(
+            SpreadsheetExpressionFunctionProviders.ALL.deleteIf(
+                SpreadsheetExpressionFunctionProvidersSnapshot.names(snapshot)
+            ).aliasSet(),
+            SpreadsheetExpressionFunctionProviders.aliasSet(excludedCategories),
+            constant
+        );
+    }
+
+    private static String generate(final String constant,
+                                   final Predicate<ExpressionFunctionInfo> filter) {
+        return SpreadsheetExpressionFunctionProviders.ALL.stream()
+            .filter(filter)
+            .map(i -> i.name().value())
+            .sorted(String.CASE_INSENSITIVE_ORDER)
+            .map(n -> "        \"" + n + "\"")
+            .collect(
+                Collectors.joining(
+                    ",\n",
+                    "    static final String[] " + constant + " = {\n",
+                    "\n    };\n"
+                )
+            );
+    }
+
+    // class............................................................................................................
+
+    @Override
+    public Class<SpreadsheetExpressionFunctionProvidersSnapshot> type() {
+        return SpreadsheetExpressionFunctionProvidersSnapshot.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
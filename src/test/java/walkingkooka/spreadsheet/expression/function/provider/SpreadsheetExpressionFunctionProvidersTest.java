@@ -18,15 +18,24 @@
 package walkingkooka.spreadsheet.expression.function.provider;
 
 import org.junit.jupiter.api.Test;
+import walkingkooka.collect.list.Lists;
 import walkingkooka.collect.set.SortedSets;
+import walkingkooka.plugin.ProviderContexts;
 import walkingkooka.reflect.JavaVisibility;
 import walkingkooka.reflect.PublicStaticHelperTesting;
+import walkingkooka.spreadsheet.expression.FakeSpreadsheetExpressionEvaluationContext;
+import walkingkooka.spreadsheet.expression.SpreadsheetExpressionEvaluationContext;
 import walkingkooka.spreadsheet.expression.function.SpreadsheetExpressionFunctions;
+import walkingkooka.spreadsheet.meta.SpreadsheetId;
+import walkingkooka.spreadsheet.meta.SpreadsheetMetadata;
 import walkingkooka.text.printer.TreePrintableTesting;
 import walkingkooka.tree.expression.function.ExpressionFunction;
+import walkingkooka.tree.expression.function.provider.ExpressionFunctionProvider;
 
 import java.lang.reflect.Method;
+import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 public final class SpreadsheetExpressionFunctionProvidersTest implements PublicStaticHelperTesting<SpreadsheetExpressionFunctionProviders>,
@@ -86,7 +95,7 @@ public final class SpreadsheetExpressionFunctionProvidersTest implements PublicS
     @Test
     public void testExpressionFunctionInfosCount() {
         this.checkEquals(
-            270, // Remember to update README function count.
+            299, // Remember to update README function count.
             SpreadsheetExpressionFunctionProviders.expressionFunctionProvider(
                     walkingkooka.spreadsheet.expression.SpreadsheetExpressionFunctions.NAME_CASE_SENSITIVITY
                 ).expressionFunctionInfos()
@@ -94,6 +103,102 @@ public final class SpreadsheetExpressionFunctionProvidersTest implements PublicS
         );
     }
 
+    @Test
+    public void testExpressionFunctionProviderWithMetadataCacheInfosCount() {
+        this.checkEquals(
+            SpreadsheetExpressionFunctionProviders.expressionFunctionProvider(
+                    walkingkooka.spreadsheet.expression.SpreadsheetExpressionFunctions.NAME_CASE_SENSITIVITY
+                ).expressionFunctionInfos(),
+            SpreadsheetExpressionFunctionProviders.expressionFunctionProvider(
+                    walkingkooka.spreadsheet.expression.SpreadsheetExpressionFunctions.NAME_CASE_SENSITIVITY,
+                    2,
+                    5
+                ).expressionFunctionInfos()
+        );
+    }
+
+    @Test
+    public void testExpressionFunctionProviderWithMetadataCacheSharedByFunctions() {
+        final ExpressionFunctionProvider<SpreadsheetExpressionEvaluationContext> provider = SpreadsheetExpressionFunctionProviders.expressionFunctionProvider(
+            walkingkooka.spreadsheet.expression.SpreadsheetExpressionFunctions.NAME_CASE_SENSITIVITY,
+            2,
+            5
+        );
+
+        this.apply(provider, "loadSpreadsheetMetadata", SpreadsheetId.with(1));
+        this.apply(provider, "loadSpreadsheetMetadata", SpreadsheetId.with(1));
+
+        this.checkEquals(
+            "hits=1 misses=1 evictions=0 size=1",
+            this.apply(provider, "spreadsheetMetadataCacheStatistics")
+        );
+    }
+
+    @Test
+    public void testExpressionFunctionProviderWithMetadataCacheNotSharedByProviders() {
+        final ExpressionFunctionProvider<SpreadsheetExpressionEvaluationContext> provider = SpreadsheetExpressionFunctionProviders.expressionFunctionProvider(
+            walkingkooka.spreadsheet.expression.SpreadsheetExpressionFunctions.NAME_CASE_SENSITIVITY,
+            2,
+            5
+        );
+        this.apply(provider, "loadSpreadsheetMetadata", SpreadsheetId.with(1));
+
+        this.checkEquals(
+            "hits=0 misses=0 evictions=0 size=0",
+            this.apply(
+                SpreadsheetExpressionFunctionProviders.expressionFunctionProvider(
+                    walkingkooka.spreadsheet.expression.SpreadsheetExpressionFunctions.NAME_CASE_SENSITIVITY,
+                    2,
+                    5
+                ),
+                "spreadsheetMetadataCacheStatistics"
+            )
+        );
+    }
+
+    @Test
+    public void testExpressionFunctionProviderWithoutMetadataCacheStatisticsNull() {
+        this.checkEquals(
+            null,
+            this.apply(
+                SpreadsheetExpressionFunctionProviders.expressionFunctionProvider(
+                    walkingkooka.spreadsheet.expression.SpreadsheetExpressionFunctions.NAME_CASE_SENSITIVITY
+                ),
+                "spreadsheetMetadataCacheStatistics"
+            )
+        );
+    }
+
+    private Object apply(final ExpressionFunctionProvider<SpreadsheetExpressionEvaluationContext> provider,
+                         final String name,
+                         final Object... parameters) {
+        return provider.expressionFunction(
+            walkingkooka.spreadsheet.expression.SpreadsheetExpressionFunctions.name(name),
+            Lists.empty(),
+            ProviderContexts.fake()
+        ).apply(
+            Lists.of(parameters),
+            new FakeSpreadsheetExpressionEvaluationContext() {
+
+                @Override
+                public Optional<SpreadsheetMetadata> loadMetadata(final SpreadsheetId id) {
+                    return Optional.empty();
+                }
+
+                @Override
+                public LocalDateTime now() {
+                    return LocalDateTime.of(
+                        1999,
+                        12,
+                        31,
+                        12,
+                        58
+                    );
+                }
+            }
+        );
+    }
+
     @Override
     public Class<SpreadsheetExpressionFunctionProviders> type() {
         return SpreadsheetExpressionFunctionProviders.class;